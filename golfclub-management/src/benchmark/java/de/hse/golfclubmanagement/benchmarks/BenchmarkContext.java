@@ -0,0 +1,100 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.benchmarks;
+
+import de.hse.golfclubmanagement.GolfclubManagementApplication;
+import de.hse.golfclubmanagement.dataset.DatasetGenerator;
+import de.hse.golfclubmanagement.dataset.DatasetLoader;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Starts the application without a web server against an in-memory H2
+ * database and fills it with test data for the benchmarks.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+final class BenchmarkContext {
+
+    private static final DatasetGenerator GENERATOR = new DatasetGenerator(42);
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * The configuration of the application, without the configurations of the
+     * unit tests which are on the class path of the benchmarks as well.
+     */
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @AutoConfigurationPackage(basePackageClasses = GolfclubManagementApplication.class)
+    @ComponentScan(basePackageClasses = GolfclubManagementApplication.class,
+            excludeFilters = {
+                @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = GolfclubManagementApplication.class),
+                @ComponentScan.Filter(type = FilterType.REGEX, pattern = ".*Test(\\$.*)?")
+            })
+    static class Application {
+    }
+
+    /**
+     * Starts the application on its own in-memory database. The schema is
+     * created by the Flyway migrations.
+     *
+     * @param database the name of the in-memory database
+     * @return the started application context
+     */
+    static ConfigurableApplicationContext start(String database) {
+        return new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run("--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driverClassName=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--golfclub.notification.enabled=false",
+                        "--logging.level.root=warn");
+    }
+
+    /**
+     * Replaces all Members by the given number of generated Members,
+     * inserted with JDBC batches.
+     *
+     * @param context the application context
+     * @param rows the number of Members
+     * @return the id of the first Member
+     */
+    static long seedMembers(ConfigurableApplicationContext context, int rows) {
+        context.getBean(JdbcTemplate.class).update("DELETE FROM club_member");
+        return context.getBean(DatasetLoader.class).loadMembers(GENERATOR, rows);
+    }
+
+    /**
+     * Gets the name of a generated Member.
+     *
+     * @param id the id of the Member
+     * @return the name of the Member
+     */
+    static String memberName(long id) {
+        return GENERATOR.memberName(id);
+    }
+}
@@ -0,0 +1,108 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.benchmarks;
+
+import de.hse.golfclubmanagement.dto.BulkImportResult;
+import de.hse.golfclubmanagement.services.BulkImportService;
+import de.hse.golfclubmanagement.services.MemberNameIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the bulk import of Members from CSV, including validation, the
+ * batched inserts and the update of the member name index. The imported
+ * Members are deleted after every invocation.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkImportBenchmark {
+
+    @Param({"1000", "10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private BulkImportService bulkImportService;
+
+    private MemberNameIndex memberNameIndex;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private String csv;
+
+    /**
+     * Starts the application and creates the CSV data.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("bulk");
+        bulkImportService = context.getBean(BulkImportService.class);
+        memberNameIndex = context.getBean(MemberNameIndex.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        StringBuilder builder = new StringBuilder("name,membershipStatus,handicap\n");
+        for (int id = 1; id <= rows; id++) {
+            builder.append(BenchmarkContext.memberName(id)).append(",active,").append(id % 55).append('\n');
+        }
+        csv = builder.toString();
+    }
+
+    /**
+     * Deletes the imported Members.
+     */
+    @TearDown(Level.Invocation)
+    public void deleteMembers() {
+        jdbcTemplate.update("DELETE FROM club_member");
+        memberNameIndex.rebuild();
+    }
+
+    /**
+     * Stops the application.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Imports the Members.
+     *
+     * @return the import report
+     */
+    @Benchmark
+    public BulkImportResult importMembersCsv() throws IOException {
+        return bulkImportService.importMembersCsv(new StringReader(csv));
+    }
+}
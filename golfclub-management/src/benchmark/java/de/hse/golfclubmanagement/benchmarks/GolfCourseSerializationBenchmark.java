@@ -0,0 +1,106 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.hse.golfclubmanagement.models.GolfCourse;
+import de.hse.golfclubmanagement.models.Hole;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the JSON serialisation of a GolfCourse with its Holes, as done by the
+ * GolfCourse endpoints, for courses of 18, 27 and 36 holes.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GolfCourseSerializationBenchmark {
+
+    @Param({"18", "27", "36"})
+    private int holes;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private GolfCourse golfCourse;
+
+    private byte[] json;
+
+    /**
+     * Creates the GolfCourse and its JSON representation.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        golfCourse = new GolfCourse();
+        golfCourse.setId(1L);
+        golfCourse.setName("Golfclub Esslingen");
+        golfCourse.setLocation("Esslingen am Neckar");
+        golfCourse.setCourseRating(71.8);
+        golfCourse.setSlopeRating(131);
+        List<Hole> courseHoles = new ArrayList<>();
+        for (int number = 1; number <= holes; number++) {
+            Hole hole = new Hole();
+            hole.setId((long) number);
+            hole.setNummer(number);
+            hole.setPar(3 + number % 3);
+            hole.setLength(120 + 17 * number);
+            hole.setStrokeIndex(1 + (number * 7) % holes);
+            hole.setGolfCourse(golfCourse);
+            courseHoles.add(hole);
+        }
+        golfCourse.setHoles(courseHoles);
+        json = objectMapper.writeValueAsBytes(golfCourse);
+    }
+
+    /**
+     * Serialises the GolfCourse.
+     *
+     * @return the JSON representation
+     */
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(golfCourse);
+    }
+
+    /**
+     * Deserialises the GolfCourse.
+     *
+     * @return the GolfCourse read from its JSON representation
+     */
+    @Benchmark
+    public GolfCourse deserialize() throws IOException {
+        return objectMapper.readValue(json, GolfCourse.class);
+    }
+}
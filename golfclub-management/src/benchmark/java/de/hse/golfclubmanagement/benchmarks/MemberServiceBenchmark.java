@@ -0,0 +1,122 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.benchmarks;
+
+import de.hse.golfclubmanagement.models.Member;
+import de.hse.golfclubmanagement.repositories.MemberRepository;
+import de.hse.golfclubmanagement.services.MemberService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Member lookups of the MemberService against H2 holding 1k, 100k
+ * and 1M Members. The names looked up are spread over the whole table and fit
+ * into the name lookup cache, so {@code findByName} measures the cached path and
+ * {@code findByNameInDatabase} the query behind it.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class MemberServiceBenchmark {
+
+    private static final int NAMES = 1000;
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private MemberService memberService;
+
+    private MemberRepository memberRepository;
+
+    private final String[] names = new String[NAMES];
+
+    /**
+     * Starts the application and inserts the Members.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("members");
+        long first = BenchmarkContext.seedMembers(context, rows);
+        memberService = context.getBean(MemberService.class);
+        memberRepository = context.getBean(MemberRepository.class);
+        for (int i = 0; i < NAMES; i++) {
+            names[i] = BenchmarkContext.memberName(first + (long) i * rows / NAMES);
+        }
+    }
+
+    /**
+     * Stops the application.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private String nextName() {
+        return names[ThreadLocalRandom.current().nextInt(NAMES)];
+    }
+
+    /**
+     * Looks up a Member by name through the service.
+     *
+     * @return the Member found
+     */
+    @Benchmark
+    public Member findByName() {
+        return memberService.findByName(nextName());
+    }
+
+    /**
+     * Looks up a Member by name in the database.
+     *
+     * @return the Member found
+     */
+    @Benchmark
+    public Member findByNameInDatabase() {
+        return memberRepository.findByName(nextName());
+    }
+
+    /**
+     * Loads all Members.
+     *
+     * @return all Members
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Member> getAllMembers() {
+        return memberService.getAllMembers();
+    }
+}
@@ -0,0 +1,120 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.hse.golfclubmanagement.dataset.DatasetGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Measures the encoding of the standard payloads in the response formats, with
+ * and without gzip: a GolfCourse of 18 holes, the list of 100 GolfCourses and
+ * the list of 10,000 Members, all generated with seed 42. The payload sizes are
+ * printed once per trial, as JMH only reports times.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadFormatBenchmark {
+
+    @Param({"golf-course", "golf-courses", "members"})
+    private String payload;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"identity", "gzip"})
+    private String encoding;
+
+    private ObjectMapper objectMapper;
+
+    private Object value;
+
+    /**
+     * Generates the payload and prints its encoded size.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        switch (format) {
+            case "cbor":
+                objectMapper = Jackson2ObjectMapperBuilder.cbor().build();
+                break;
+            case "smile":
+                objectMapper = Jackson2ObjectMapperBuilder.smile().build();
+                break;
+            default:
+                objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        }
+        DatasetGenerator generator = new DatasetGenerator(42);
+        switch (payload) {
+            case "golf-courses":
+                List<Object> golfCourses = new ArrayList<>();
+                for (long id = 1; id <= 100; id++) {
+                    golfCourses.add(generator.golfCourse(id));
+                }
+                value = golfCourses;
+                break;
+            case "members":
+                List<Object> members = new ArrayList<>();
+                for (long id = 1; id <= 10_000; id++) {
+                    members.add(generator.member(id));
+                }
+                value = members;
+                break;
+            default:
+                value = generator.golfCourse(1);
+        }
+        System.out.printf("%n%s as %s with %s encoding: %,d bytes%n", payload, format, encoding, encode().length);
+    }
+
+    /**
+     * Encodes the payload.
+     *
+     * @return the encoded payload
+     */
+    @Benchmark
+    public byte[] encode() throws IOException {
+        if (!"gzip".equals(encoding)) {
+            return objectMapper.writeValueAsBytes(value);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, value);
+        }
+        return bytes.toByteArray();
+    }
+}
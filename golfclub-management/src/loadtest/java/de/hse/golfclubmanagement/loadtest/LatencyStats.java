@@ -0,0 +1,109 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * The latencies and errors of the requests to one endpoint. Every virtual
+ * user records into its own instance, they are merged after the run.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+final class LatencyStats {
+
+    private long[] latencies = new long[1024];
+
+    private int count;
+
+    private int errors;
+
+    private boolean sorted;
+
+    /**
+     * Records a request.
+     *
+     * @param latencyNanos the time from sending the request to receiving the complete response
+     * @param success whether the request was answered with a 2xx status
+     */
+    void record(long latencyNanos, boolean success) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+        sorted = false;
+    }
+
+    /**
+     * Adds the requests recorded by another instance.
+     *
+     * @param other the other instance
+     */
+    void merge(LatencyStats other) {
+        if (count + other.count > latencies.length) {
+            latencies = Arrays.copyOf(latencies, count + other.count);
+        }
+        System.arraycopy(other.latencies, 0, latencies, count, other.count);
+        count += other.count;
+        errors += other.errors;
+        sorted = false;
+    }
+
+    /**
+     * Gets the number of requests.
+     *
+     * @return the number of requests
+     */
+    int getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the number of failed requests.
+     *
+     * @return the number of failed requests
+     */
+    int getErrors() {
+        return errors;
+    }
+
+    /**
+     * Gets the share of failed requests.
+     *
+     * @return the error rate between 0 and 1, 0 without requests
+     */
+    double getErrorRate() {
+        return count == 0 ? 0 : (double) errors / count;
+    }
+
+    /**
+     * Gets a percentile of the latencies (nearest rank).
+     *
+     * @param percentile the percentile between 0 (exclusive) and 100
+     * @return the latency in nanoseconds, 0 without requests
+     */
+    long percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        if (!sorted) {
+            Arrays.sort(latencies, 0, count);
+            sorted = true;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * count);
+        return latencies[Math.max(rank, 1) - 1];
+    }
+}
@@ -0,0 +1,178 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Load test of the REST endpoints. Boots the application on H2 with a seeded
+ * dataset, lets a fixed number of virtual users send the requests of the
+ * {@link Scenario} one after the other (closed model) and reports latency
+ * percentiles and throughput per endpoint. The run fails with exit code 1 if
+ * an endpoint breaches the latency or error rate objective.
+ * <p>
+ * The client runs in the same JVM as the application, so the numbers compare
+ * runs on the same machine, not machines.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+public final class LoadTest {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private LoadTest() {
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @param args not used, the settings are read from the system properties
+     * @throws Exception if the load test cannot be run
+     */
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = new LoadTestSettings();
+        boolean passed;
+        try (ConfigurableApplicationContext context = LoadTestContext.start()) {
+            LoadTestContext.seed(context, settings);
+            Scenario scenario = new Scenario(URI.create("http://localhost:" + LoadTestContext.port(context)), settings);
+            Map<String, LatencyStats> results = run(scenario, settings);
+            passed = report(results, settings);
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static Map<String, LatencyStats> run(Scenario scenario, LoadTestSettings settings) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long measureFrom = System.nanoTime() + settings.getWarmup().toNanos();
+        long end = measureFrom + settings.getDuration().toNanos();
+        ExecutorService users = Executors.newFixedThreadPool(settings.getUsers());
+        try {
+            List<Future<Map<String, LatencyStats>>> futures = new ArrayList<>();
+            for (int user = 0; user < settings.getUsers(); user++) {
+                Random random = new Random(settings.getSeed() + user);
+                futures.add(users.submit(() -> runUser(client, scenario, random, measureFrom, end)));
+            }
+            Map<String, LatencyStats> results = new TreeMap<>();
+            for (Future<Map<String, LatencyStats>> future : futures) {
+                future.get().forEach((name, stats) -> results.computeIfAbsent(name, n -> new LatencyStats()).merge(stats));
+            }
+            return results;
+        } finally {
+            users.shutdownNow();
+        }
+    }
+
+    private static Map<String, LatencyStats> runUser(HttpClient client, Scenario scenario, Random random,
+            long measureFrom, long end) throws InterruptedException {
+        Map<String, LatencyStats> results = new HashMap<>();
+        long start;
+        while ((start = System.nanoTime()) < end) {
+            Scenario.Endpoint endpoint = scenario.pick(random);
+            boolean success;
+            try {
+                HttpResponse<Void> response = client.send(scenario.request(endpoint, random),
+                        HttpResponse.BodyHandlers.discarding());
+                success = response.statusCode() / 100 == 2;
+            } catch (IOException e) {
+                success = false;
+            }
+            long latency = System.nanoTime() - start;
+            if (start >= measureFrom) {
+                results.computeIfAbsent(endpoint.getName(), name -> new LatencyStats()).record(latency, success);
+            }
+        }
+        return results;
+    }
+
+    private static boolean report(Map<String, LatencyStats> results, LoadTestSettings settings) throws IOException {
+        double seconds = settings.getDuration().toNanos() / 1e9;
+        double p99Objective = settings.getP99Objective().toNanos() / NANOS_PER_MILLI;
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        List<String> breaches = new ArrayList<>();
+        LatencyStats total = new LatencyStats();
+
+        System.out.printf("%n%-40s %9s %7s %9s %9s %9s %9s%n", "Endpoint", "Requests", "Errors", "Req/s", "p50 ms",
+                "p99 ms", "max ms");
+        for (Map.Entry<String, LatencyStats> entry : results.entrySet()) {
+            LatencyStats stats = entry.getValue();
+            endpoints.add(row(entry.getKey(), stats, seconds));
+            total.merge(stats);
+            double p99 = stats.percentile(99) / NANOS_PER_MILLI;
+            if (p99 > p99Objective) {
+                breaches.add(String.format("%s: p99 %.1f ms exceeds %.1f ms", entry.getKey(), p99, p99Objective));
+            }
+            if (stats.getErrorRate() > settings.getErrorRateObjective()) {
+                breaches.add(String.format("%s: error rate %.4f exceeds %.4f", entry.getKey(), stats.getErrorRate(),
+                        settings.getErrorRateObjective()));
+            }
+        }
+        Map<String, Object> totalRow = row("TOTAL", total, seconds);
+        if (total.getCount() == 0) {
+            breaches.add("no request completed");
+        }
+        breaches.forEach(breach -> System.out.println("SLO breached: " + breach));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("users", settings.getUsers());
+        report.put("durationSeconds", seconds);
+        report.put("seed", settings.getSeed());
+        report.put("members", settings.getMembers());
+        report.put("golfCourses", settings.getGolfCourses());
+        report.put("tournaments", settings.getTournaments());
+        report.put("p99ObjectiveMillis", p99Objective);
+        report.put("errorRateObjective", settings.getErrorRateObjective());
+        report.put("endpoints", endpoints);
+        report.put("total", totalRow);
+        report.put("breaches", breaches);
+        Files.createDirectories(settings.getReport().toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(settings.getReport().toFile(), report);
+        System.out.println("Report written to " + settings.getReport());
+        return breaches.isEmpty();
+    }
+
+    private static Map<String, Object> row(String name, LatencyStats stats, double seconds) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("endpoint", name);
+        row.put("requests", stats.getCount());
+        row.put("errors", stats.getErrors());
+        row.put("throughput", stats.getCount() / seconds);
+        row.put("p50Millis", stats.percentile(50) / NANOS_PER_MILLI);
+        row.put("p99Millis", stats.percentile(99) / NANOS_PER_MILLI);
+        row.put("maxMillis", stats.percentile(100) / NANOS_PER_MILLI);
+        System.out.printf("%-40s %9d %7d %9.1f %9.2f %9.2f %9.2f%n", name, stats.getCount(), stats.getErrors(),
+                row.get("throughput"), row.get("p50Millis"), row.get("p99Millis"), row.get("maxMillis"));
+        return row;
+    }
+}
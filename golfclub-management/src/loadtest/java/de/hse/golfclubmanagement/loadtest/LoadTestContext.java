@@ -0,0 +1,141 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.loadtest;
+
+import de.hse.golfclubmanagement.GolfclubManagementApplication;
+import de.hse.golfclubmanagement.models.GolfCourse;
+import de.hse.golfclubmanagement.models.Hole;
+import de.hse.golfclubmanagement.models.Member;
+import de.hse.golfclubmanagement.models.Tournament;
+import de.hse.golfclubmanagement.services.BulkImportService;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Starts the application on a random port against an in-memory H2 database
+ * and fills it with a dataset derived from a seed.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+final class LoadTestContext {
+
+    private static final LocalDate SEASON_START = LocalDate.of(2025, 1, 1);
+
+    private LoadTestContext() {
+    }
+
+    /**
+     * The configuration of the application, without the configurations of the
+     * unit tests which are on the class path of the load test as well.
+     */
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @AutoConfigurationPackage(basePackageClasses = GolfclubManagementApplication.class)
+    @ComponentScan(basePackageClasses = GolfclubManagementApplication.class,
+            excludeFilters = {
+                @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = GolfclubManagementApplication.class),
+                @ComponentScan.Filter(type = FilterType.REGEX, pattern = ".*Test(\\$.*)?")
+            })
+    static class Application {
+    }
+
+    /**
+     * Starts the application on a random port. The schema is created by the Flyway migrations.
+     *
+     * @return the started application context
+     */
+    static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(Application.class)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driverClassName=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--golfclub.notification.enabled=false",
+                        "--logging.level.root=warn");
+    }
+
+    /**
+     * Gets the port the application listens on.
+     *
+     * @param context the application context
+     * @return the port
+     */
+    static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    /**
+     * Imports the dataset through the bulk import, so ids, caches and the member
+     * name index are in the same state as after an import in production.
+     *
+     * @param context the application context
+     * @param settings the settings holding the seed and the size of the dataset
+     */
+    static void seed(ConfigurableApplicationContext context, LoadTestSettings settings) {
+        BulkImportService bulkImportService = context.getBean(BulkImportService.class);
+        Random random = new Random(settings.getSeed());
+
+        List<Member> members = new ArrayList<>(settings.getMembers());
+        for (int i = 1; i <= settings.getMembers(); i++) {
+            Member member = new Member();
+            member.setName(Scenario.memberName(i));
+            member.setMembershipStatus(random.nextInt(10) == 0 ? "inactive" : "active");
+            member.setHandicap(random.nextInt(55));
+            members.add(member);
+        }
+        bulkImportService.importMembers(members);
+
+        List<GolfCourse> golfCourses = new ArrayList<>(settings.getGolfCourses());
+        for (int i = 1; i <= settings.getGolfCourses(); i++) {
+            GolfCourse golfCourse = new GolfCourse();
+            golfCourse.setName(Scenario.golfCourseName(i));
+            golfCourse.setLocation("Location " + random.nextInt(50));
+            List<Hole> holes = new ArrayList<>();
+            for (int number = 1; number <= 18; number++) {
+                Hole hole = new Hole();
+                hole.setNummer(number);
+                hole.setPar(3 + random.nextInt(3));
+                hole.setLength(100 + random.nextInt(450));
+                holes.add(hole);
+            }
+            golfCourse.setHoles(holes);
+            golfCourses.add(golfCourse);
+        }
+        bulkImportService.importGolfCourses(golfCourses);
+
+        List<Tournament> tournaments = new ArrayList<>(settings.getTournaments());
+        for (int i = 1; i <= settings.getTournaments(); i++) {
+            Tournament tournament = new Tournament();
+            tournament.setName(Scenario.tournamentName(i));
+            tournament.setDate(java.sql.Date.valueOf(SEASON_START.plusDays(random.nextInt(365))));
+            tournaments.add(tournament);
+        }
+        bulkImportService.importTournaments(tournaments);
+    }
+}
@@ -0,0 +1,140 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * The settings of a load test run, read from the {@code loadtest.*} system properties.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+final class LoadTestSettings {
+
+    private final int users = Integer.getInteger("loadtest.users", 16);
+
+    private final Duration warmup = duration("loadtest.warmup", "10s");
+
+    private final Duration duration = duration("loadtest.duration", "30s");
+
+    private final long seed = Long.getLong("loadtest.seed", 42);
+
+    private final int members = Integer.getInteger("loadtest.members", 10000);
+
+    private final int golfCourses = Integer.getInteger("loadtest.golf-courses", 200);
+
+    private final int tournaments = Integer.getInteger("loadtest.tournaments", 500);
+
+    private final Duration p99Objective = duration("loadtest.slo.p99", "250ms");
+
+    private final double errorRateObjective = Double.parseDouble(System.getProperty("loadtest.slo.error-rate", "0.01"));
+
+    private final Path report = Path.of(System.getProperty("loadtest.report", "target/load-test-report.json"));
+
+    private static Duration duration(String property, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(property, defaultValue));
+    }
+
+    /**
+     * Gets the number of virtual users, each sending one request after the other.
+     *
+     * @return the number of virtual users
+     */
+    int getUsers() {
+        return users;
+    }
+
+    /**
+     * Gets the time the virtual users run before the measurement starts.
+     *
+     * @return the warmup time
+     */
+    Duration getWarmup() {
+        return warmup;
+    }
+
+    /**
+     * Gets the time of the measurement.
+     *
+     * @return the measurement time
+     */
+    Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Gets the seed of the dataset and of the request mix of the virtual users.
+     *
+     * @return the seed
+     */
+    long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the number of Members in the dataset.
+     *
+     * @return the number of Members
+     */
+    int getMembers() {
+        return members;
+    }
+
+    /**
+     * Gets the number of GolfCourses in the dataset.
+     *
+     * @return the number of GolfCourses
+     */
+    int getGolfCourses() {
+        return golfCourses;
+    }
+
+    /**
+     * Gets the number of Tournaments in the dataset.
+     *
+     * @return the number of Tournaments
+     */
+    int getTournaments() {
+        return tournaments;
+    }
+
+    /**
+     * Gets the 99th percentile latency every endpoint must stay below.
+     *
+     * @return the latency objective
+     */
+    Duration getP99Objective() {
+        return p99Objective;
+    }
+
+    /**
+     * Gets the share of failed requests every endpoint must stay below.
+     *
+     * @return the error rate objective between 0 and 1
+     */
+    double getErrorRateObjective() {
+        return errorRateObjective;
+    }
+
+    /**
+     * Gets the file the JSON report is written to.
+     *
+     * @return the report file
+     */
+    Path getReport() {
+        return report;
+    }
+}
@@ -0,0 +1,177 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * The traffic mix of the load test: the endpoints called by the virtual users,
+ * each with its share of the requests and the requests built from the dataset.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+final class Scenario {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final URI baseUri;
+
+    private final List<Endpoint> endpoints;
+
+    private final int totalWeight;
+
+    private final AtomicLong addedMembers = new AtomicLong();
+
+    /**
+     * An endpoint of the mix.
+     */
+    static final class Endpoint {
+
+        private final String name;
+
+        private final int weight;
+
+        private final Function<Random, HttpRequest.Builder> request;
+
+        private Endpoint(String name, int weight, Function<Random, HttpRequest.Builder> request) {
+            this.name = name;
+            this.weight = weight;
+            this.request = request;
+        }
+
+        /**
+         * Gets the name of the endpoint, the HTTP method and the path.
+         *
+         * @return the name of the endpoint
+         */
+        String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * Creates the mix for the given dataset.
+     *
+     * @param baseUri the URI of the application
+     * @param settings the settings holding the size of the dataset
+     */
+    Scenario(URI baseUri, LoadTestSettings settings) {
+        this.baseUri = baseUri;
+        int members = settings.getMembers();
+        int golfCourses = settings.getGolfCourses();
+        int tournaments = settings.getTournaments();
+        this.endpoints = List.of(
+                new Endpoint("GET /api/v1/members/page", 20, random ->
+                        get("/api/v1/members/page?size=50&after=" + random.nextInt(members))),
+                new Endpoint("GET /api/v1/members/findByName", 20, random ->
+                        get("/api/v1/members/findByName?name=" + encode(memberName(1 + random.nextInt(members))))),
+                new Endpoint("GET /api/v1/members/suggest", 15, random ->
+                        get("/api/v1/members/suggest?prefix=" + encode("member " + (1 + random.nextInt(99))))),
+                new Endpoint("POST /api/v1/members", 5, random -> post("/api/v1/members",
+                        "{\"name\":\"Load Test Member " + addedMembers.incrementAndGet()
+                                + "\",\"membershipStatus\":\"active\",\"handicap\":" + random.nextInt(55) + "}")),
+                new Endpoint("GET /api/v1/golfcourses/page", 10, random ->
+                        get("/api/v1/golfcourses/page?size=20&after=" + random.nextInt(golfCourses))),
+                new Endpoint("GET /api/v1/golfcourses/findByName", 10, random ->
+                        get("/api/v1/golfcourses/findByName?name=" + encode(golfCourseName(1 + random.nextInt(golfCourses))))),
+                new Endpoint("GET /api/v1/tournaments/calendar", 10, random -> {
+                    int month = 1 + random.nextInt(10);
+                    return get(String.format("/api/v1/tournaments/calendar?from=2025-%02d-01&to=2025-%02d-28", month, month + 2));
+                }),
+                new Endpoint("GET /api/v1/tournaments/page", 5, random ->
+                        get("/api/v1/tournaments/page?size=50&after=" + random.nextInt(tournaments))),
+                new Endpoint("GET /api/v1/tournaments/findByName", 5, random ->
+                        get("/api/v1/tournaments/findByName?name=" + encode(tournamentName(1 + random.nextInt(tournaments))))));
+        this.totalWeight = endpoints.stream().mapToInt(endpoint -> endpoint.weight).sum();
+    }
+
+    /**
+     * Gets the name of a Member of the dataset.
+     *
+     * @param number the number of the Member, starting at 1
+     * @return the name of the Member
+     */
+    static String memberName(int number) {
+        return "Member " + number;
+    }
+
+    /**
+     * Gets the name of a GolfCourse of the dataset.
+     *
+     * @param number the number of the GolfCourse, starting at 1
+     * @return the name of the GolfCourse
+     */
+    static String golfCourseName(int number) {
+        return "Golf Course " + number;
+    }
+
+    /**
+     * Gets the name of a Tournament of the dataset.
+     *
+     * @param number the number of the Tournament, starting at 1
+     * @return the name of the Tournament
+     */
+    static String tournamentName(int number) {
+        return "Tournament " + number;
+    }
+
+    /**
+     * Picks the endpoint of the next request according to the weights of the endpoints.
+     *
+     * @param random the random numbers of the virtual user
+     * @return the endpoint
+     */
+    Endpoint pick(Random random) {
+        int value = random.nextInt(totalWeight);
+        for (Endpoint endpoint : endpoints) {
+            value -= endpoint.weight;
+            if (value < 0) {
+                return endpoint;
+            }
+        }
+        throw new IllegalStateException("weights do not add up");
+    }
+
+    /**
+     * Builds the next request to an endpoint.
+     *
+     * @param endpoint the endpoint
+     * @param random the random numbers of the virtual user
+     * @return the request
+     */
+    HttpRequest request(Endpoint endpoint, Random random) {
+        return endpoint.request.apply(random).timeout(REQUEST_TIMEOUT).build();
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).GET();
+    }
+
+    private HttpRequest.Builder post(String path, String json) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,129 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configures the in-process caches in front of the {@code findByName} lookups,
+ * the tournament calendar and the course layouts. Each cache is bounded in size, entries expire after a fixed time, and lookups
+ * that found nothing are cached as well, but only for a much shorter time.
+ * The entries of each club are kept apart, see {@link ClubScopedCache}.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * The cache of GolfCourses by name.
+     */
+    public static final String GOLF_COURSE_BY_NAME = "golfCourseByName";
+
+    /**
+     * The cache of Members by name.
+     */
+    public static final String MEMBER_BY_NAME = "memberByName";
+
+    /**
+     * The cache of Tournaments by name.
+     */
+    public static final String TOURNAMENT_BY_NAME = "tournamentByName";
+
+    /**
+     * The cache of tournament calendars by date range.
+     */
+    public static final String TOURNAMENT_CALENDAR = "tournamentCalendar";
+
+    /**
+     * The cache of course layouts by golf course id.
+     */
+    public static final String COURSE_LAYOUT = "courseLayout";
+
+    @Value("${golfclub.cache.name-lookup.max-size:10000}")
+    private long maxSize;
+
+    @Value("${golfclub.cache.name-lookup.ttl:10m}")
+    private Duration ttl;
+
+    @Value("${golfclub.cache.name-lookup.negative-ttl:30s}")
+    private Duration negativeTtl;
+
+    /**
+     * Creates the cache manager holding the caches.
+     *
+     * @return the Caffeine based cache manager
+     */
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new ClubScopedCache(name, cache, isAllowNullValues());
+            }
+        };
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new NameLookupExpiry(ttl.toNanos(), negativeTtl.toNanos()))
+                .recordStats());
+        cacheManager.setAllowNullValues(true);
+        cacheManager.setCacheNames(List.of(GOLF_COURSE_BY_NAME, MEMBER_BY_NAME, TOURNAMENT_BY_NAME, TOURNAMENT_CALENDAR,
+                COURSE_LAYOUT));
+        return cacheManager;
+    }
+
+    /**
+     * Expires found entities after the regular time to live and cached misses,
+     * which Spring stores as {@link NullValue}, after the negative time to live.
+     * Reading an entry does not extend its lifetime.
+     */
+    static final class NameLookupExpiry implements Expiry<Object, Object> {
+
+        private final long ttlNanos;
+
+        private final long negativeTtlNanos;
+
+        NameLookupExpiry(long ttlNanos, long negativeTtlNanos) {
+            this.ttlNanos = ttlNanos;
+            this.negativeTtlNanos = negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(Object key, Object value, long currentTime) {
+            return value instanceof NullValue ? negativeTtlNanos : ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
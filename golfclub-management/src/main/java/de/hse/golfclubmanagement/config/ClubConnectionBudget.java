@@ -0,0 +1,210 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounds the connections one club holds at a time, so the requests of one
+ * club, e.g. a bulk import, leave connections of the shared pool to the others.
+ * <p>
+ * Each club has a semaphore with a permit per connection, created when the
+ * club first asks for one. A thread already holding a connection of its club
+ * gets further ones, e.g. for a nested transaction, without another permit;
+ * otherwise threads waiting for their second connection could block each other.
+ * The permit is returned once the last of these connections is closed. If no
+ * permit becomes free within the timeout, the connection is refused like one
+ * of an exhausted pool. Threads without a club are not bounded.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public class ClubConnectionBudget extends DelegatingDataSource {
+
+    private final int maxConnections;
+
+    private final long timeoutNanos;
+
+    private final ConcurrentMap<Long, Semaphore> budgets = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<Lease> leases = new ThreadLocal<>();
+
+    /**
+     * Creates the budget.
+     *
+     * @param dataSource the data source handing out the connections
+     * @param maxConnections the number of connections a club may hold at a time
+     * @param timeout how long to wait for a permit before the connection is refused
+     */
+    public ClubConnectionBudget(DataSource dataSource, int maxConnections, Duration timeout) {
+        super(dataSource);
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("A club needs at least one connection");
+        }
+        this.maxConnections = maxConnections;
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Lease lease = lease();
+        if (lease == null) {
+            return super.getConnection();
+        }
+        return open(lease, () -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Lease lease = lease();
+        if (lease == null) {
+            return super.getConnection(username, password);
+        }
+        return open(lease, () -> super.getConnection(username, password));
+    }
+
+    /**
+     * Gets the number of connections the club may still open without waiting.
+     *
+     * @param clubId the id of the club
+     * @return the number of free permits of the club
+     */
+    public int getAvailableConnections(long clubId) {
+        Semaphore budget = budgets.get(clubId);
+        return budget == null ? maxConnections : budget.availablePermits();
+    }
+
+    /**
+     * Joins the lease of the thread or takes a permit for a new one.
+     *
+     * @return the lease the connection counts against, null if the thread has no club
+     */
+    private Lease lease() throws SQLException {
+        Long clubId = ClubContext.getClubId();
+        if (clubId == null) {
+            return null;
+        }
+        Lease lease = leases.get();
+        if (lease != null && lease.clubId.equals(clubId) && lease.join()) {
+            return lease;
+        }
+        Semaphore budget = budgets.computeIfAbsent(clubId, id -> new Semaphore(maxConnections, true));
+        try {
+            if (!budget.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException("Club " + clubId + " holds all of its " + maxConnections
+                        + " connections");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection of club " + clubId, e);
+        }
+        lease = new Lease(clubId, budget);
+        leases.set(lease);
+        return lease;
+    }
+
+    private static Connection open(Lease lease, ConnectionSupplier target) throws SQLException {
+        Connection connection;
+        try {
+            connection = target.get();
+        } catch (SQLException | RuntimeException e) {
+            lease.leave();
+            throw e;
+        }
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(ClubConnectionBudget.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "close":
+                            if (closed.compareAndSet(false, true)) {
+                                try {
+                                    connection.close();
+                                } finally {
+                                    lease.leave();
+                                }
+                            }
+                            return null;
+                        default:
+                            try {
+                                return method.invoke(connection, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getTargetException();
+                            }
+                    }
+                });
+    }
+
+    /**
+     * The permit of a club shared by the open connections of one thread.
+     */
+    private static final class Lease {
+
+        private final Long clubId;
+
+        private final Semaphore budget;
+
+        private final AtomicInteger connections = new AtomicInteger(1);
+
+        Lease(Long clubId, Semaphore budget) {
+            this.clubId = clubId;
+            this.budget = budget;
+        }
+
+        /**
+         * Counts another connection against the permit, unless it was returned already.
+         */
+        boolean join() {
+            for (int open = connections.get(); open > 0; open = connections.get()) {
+                if (connections.compareAndSet(open, open + 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Returns the permit once the last connection is closed.
+         */
+        void leave() {
+            if (connections.decrementAndGet() == 0) {
+                budget.release();
+            }
+        }
+    }
+
+    /**
+     * Opens a connection of the target data source.
+     */
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+
+        Connection get() throws SQLException;
+    }
+}
@@ -0,0 +1,87 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.config;
+
+/**
+ * Holds the club the current thread works for. The {@link ClubFilter} sets it
+ * for every request; background jobs, which run without a club, see the rows
+ * of all clubs. Rows created without a club belong to the default club, which
+ * owns all rows created before the clubs were introduced.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public final class ClubContext {
+
+    /**
+     * The id of the default club.
+     */
+    public static final long DEFAULT_CLUB_ID = 1L;
+
+    /**
+     * The name of the Hibernate filter restricting queries to the rows of one club.
+     */
+    public static final String FILTER = "club";
+
+    /**
+     * The parameter of the filter holding the id of the club.
+     */
+    public static final String FILTER_PARAMETER = "clubId";
+
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+    private ClubContext() {
+    }
+
+    /**
+     * Gets the club of the current thread.
+     *
+     * @return the id of the club, or null if the thread works for all clubs
+     */
+    public static Long getClubId() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Gets the club new rows of the current thread belong to.
+     *
+     * @return the id of the club, or the default club if the thread works for all clubs
+     */
+    public static long getClubIdOrDefault() {
+        Long clubId = CURRENT.get();
+        return clubId == null ? DEFAULT_CLUB_ID : clubId;
+    }
+
+    /**
+     * Sets the club of the current thread.
+     *
+     * @param clubId the id of the club, null to work for all clubs
+     */
+    public static void setClubId(Long clubId) {
+        if (clubId == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(clubId);
+        }
+    }
+
+    /**
+     * Checks whether a row is visible to the current thread.
+     *
+     * @param clubId the club of the row
+     * @return true if the row belongs to the club of the thread or the thread works for all clubs
+     */
+    public static boolean isVisible(Long clubId) {
+        Long current = CURRENT.get();
+        return current == null || current.equals(clubId);
+    }
+}
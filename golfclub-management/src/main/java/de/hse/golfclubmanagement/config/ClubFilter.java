@@ -0,0 +1,101 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.config;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Resolves the club of every request from the {@code X-Club-Id} header and
+ * holds it in the {@link ClubContext} while the request is processed. Requests
+ * without the header work for the default club, requests with an id that is
+ * not a positive number are rejected with 400 Bad Request.
+ * <p>
+ * The header only selects the club, it does not grant access to it: the user
+ * the request was authenticated for, e.g. by the servlet container or a
+ * filter in front of this one, has to have the role {@code club-<id>} of the
+ * club. Requests without an authenticated user may only work for the default
+ * club, as before clubs were introduced. Other requests are rejected with
+ * 403 Forbidden.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+public class ClubFilter extends OncePerRequestFilter {
+
+    /**
+     * The name of the header holding the id of the club.
+     */
+    public static final String HEADER = "X-Club-Id";
+
+    /**
+     * The prefix of the roles of the users of a club, followed by the id of the club.
+     */
+    public static final String ROLE_PREFIX = "club-";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Long clubId = clubId(request.getHeader(HEADER));
+        if (clubId == null) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid " + HEADER + " header");
+            return;
+        }
+        if (!isMember(request, clubId)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "No access to club " + clubId);
+            return;
+        }
+        ClubContext.setClubId(clubId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ClubContext.setClubId(null);
+        }
+    }
+
+    /**
+     * Checks whether the user of the request may work for the club.
+     */
+    private static boolean isMember(HttpServletRequest request, long clubId) {
+        if (request.getUserPrincipal() == null) {
+            return clubId == ClubContext.DEFAULT_CLUB_ID;
+        }
+        return request.isUserInRole(ROLE_PREFIX + clubId);
+    }
+
+    /**
+     * Parses the header value.
+     *
+     * @return the id of the club, the default club without a header, or null if the value is invalid
+     */
+    private static Long clubId(String header) {
+        if (header == null || header.trim().isEmpty()) {
+            return ClubContext.DEFAULT_CLUB_ID;
+        }
+        try {
+            long clubId = Long.parseLong(header.trim());
+            return clubId > 0 ? clubId : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
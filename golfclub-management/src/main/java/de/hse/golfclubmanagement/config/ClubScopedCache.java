@@ -0,0 +1,116 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.config;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+/**
+ * Caffeine cache keeping the entries of each club apart: every key is combined
+ * with the club of the current thread, so two clubs may cache different values
+ * for the same name or id. Threads without a club use the plain keys. Evicting
+ * a key drops the entry of the club and the plain one, as a club may change a
+ * row that a background job cached; clearing drops the entries of all clubs.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public class ClubScopedCache extends CaffeineCache {
+
+    /**
+     * Creates the cache.
+     *
+     * @param name the name of the cache
+     * @param cache the Caffeine cache holding the entries
+     * @param allowNullValues whether lookups without a result are cached
+     */
+    public ClubScopedCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+            boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        return super.lookup(scoped(key));
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return super.get(scoped(key), valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        super.put(scoped(key), value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return super.putIfAbsent(scoped(key), value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        super.evict(scoped(key));
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean scoped = super.evictIfPresent(scoped(key));
+        return super.evictIfPresent(key) || scoped;
+    }
+
+    private static Object scoped(Object key) {
+        Long clubId = ClubContext.getClubId();
+        return clubId == null ? key : new ClubKey(clubId, key);
+    }
+
+    /**
+     * A key of the cache combined with the club it was cached for.
+     */
+    static final class ClubKey {
+
+        private final long clubId;
+
+        private final Object key;
+
+        ClubKey(long clubId, Object key) {
+            this.clubId = clubId;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof ClubKey)) {
+                return false;
+            }
+            ClubKey that = (ClubKey) other;
+            return clubId == that.clubId && Objects.equals(key, that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(clubId) + Objects.hashCode(key);
+        }
+
+        @Override
+        public String toString() {
+            return clubId + ":" + key;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+
+/**
+ * Sets the Content-Length of responses smaller than the compression threshold.
+ * Tomcat only applies {@code server.compression.min-response-size} to responses
+ * of known length, but the message converters write JSON, CBOR and Smile without
+ * one, so every response would be compressed. The filter holds back the body
+ * until it exceeds the threshold; smaller bodies are sent with their length
+ * once the request is processed, larger ones are streamed as before. Event
+ * streams are not held back at all, as each event has to reach the client
+ * when it is flushed.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@Component
+@ConditionalOnProperty(name = "server.compression.enabled", havingValue = "true")
+public class ContentLengthFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private ServerProperties serverProperties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        BufferingResponse bufferingResponse = new BufferingResponse(response,
+                (int) serverProperties.getCompression().getMinResponseSize().toBytes());
+        chain.doFilter(request, bufferingResponse);
+        if (request.isAsyncStarted()) {
+            bufferingResponse.startStreaming(); // the body is written later, its length is unknown
+        } else {
+            bufferingResponse.finish();
+        }
+    }
+
+    /**
+     * Response holding back the body up to the threshold. Flushes are ignored
+     * while the body is held back. The methods are synchronized, as the body of
+     * an asynchronous request may be written while the filter returns.
+     */
+    static class BufferingResponse extends HttpServletResponseWrapper {
+
+        private final int threshold;
+
+        private final ByteArrayOutputStream buffer;
+
+        private boolean streaming;
+
+        private ServletOutputStream outputStream;
+
+        private PrintWriter writer;
+
+        BufferingResponse(HttpServletResponse response, int threshold) {
+            super(response);
+            this.threshold = threshold;
+            this.buffer = new ByteArrayOutputStream(Math.min(threshold, 8192));
+        }
+
+        @Override
+        public synchronized ServletOutputStream getOutputStream() {
+            if (outputStream == null) {
+                outputStream = new BufferingOutputStream();
+            }
+            return outputStream;
+        }
+
+        @Override
+        public synchronized PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public synchronized void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (streaming) {
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public synchronized void resetBuffer() {
+            super.resetBuffer();
+            buffer.reset();
+        }
+
+        @Override
+        public synchronized void reset() {
+            super.reset();
+            buffer.reset();
+        }
+
+        @Override
+        public synchronized void sendError(int status) throws IOException {
+            buffer.reset();
+            super.sendError(status);
+        }
+
+        @Override
+        public synchronized void sendError(int status, String message) throws IOException {
+            buffer.reset();
+            super.sendError(status, message);
+        }
+
+        private synchronized void write(byte[] bytes, int offset, int length) throws IOException {
+            if (!streaming && (buffer.size() + length > threshold || isEventStream())) {
+                startStreaming();
+            }
+            if (streaming) {
+                super.getOutputStream().write(bytes, offset, length);
+            } else {
+                buffer.write(bytes, offset, length);
+            }
+        }
+
+        private boolean isEventStream() {
+            String contentType = getContentType();
+            return contentType != null && contentType.startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        }
+
+        private synchronized boolean isReady() throws IOException {
+            return !streaming || super.getOutputStream().isReady();
+        }
+
+        private synchronized void setWriteListener(WriteListener writeListener) throws IOException {
+            startStreaming(); // non-blocking writes go to the response directly
+            super.getOutputStream().setWriteListener(writeListener);
+        }
+
+        private synchronized void flush() throws IOException {
+            if (streaming) {
+                super.getOutputStream().flush();
+            }
+        }
+
+        /**
+         * Writes the body held back and passes all further writes through.
+         */
+        synchronized void startStreaming() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (!streaming) {
+                streaming = true;
+                if (buffer.size() > 0) {
+                    buffer.writeTo(super.getOutputStream());
+                    buffer.reset();
+                }
+            }
+        }
+
+        /**
+         * Sends the body held back with its length.
+         */
+        synchronized void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (!streaming && buffer.size() > 0) {
+                if (!isCommitted()) {
+                    setContentLength(buffer.size());
+                }
+                startStreaming();
+            }
+        }
+
+        private class BufferingOutputStream extends ServletOutputStream {
+
+            @Override
+            public void write(int b) throws IOException {
+                BufferingResponse.this.write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                BufferingResponse.this.write(bytes, offset, length);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                BufferingResponse.this.flush();
+            }
+
+            @Override
+            public boolean isReady() {
+                try {
+                    return BufferingResponse.this.isReady();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                try {
+                    BufferingResponse.this.setWriteListener(writeListener);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+}
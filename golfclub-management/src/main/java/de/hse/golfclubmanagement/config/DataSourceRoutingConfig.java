@@ -0,0 +1,189 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configures the read replicas if {@code golfclub.datasource.replicas} are set.
+ * The primary database is still configured by {@code spring.datasource}; each
+ * replica gets a connection pool of its own with the same settings. Read-only
+ * transactions of requests, like those of the {@code getAll*} and {@code findByName}
+ * service methods, read from an available replica, everything else goes to the primary.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "golfclub.datasource", name = "replicas[0].url")
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+public class DataSourceRoutingConfig {
+
+    /**
+     * How long to wait for a connection of a replica, in milliseconds, before
+     * reading from the primary instead.
+     */
+    private static final long REPLICA_CONNECTION_TIMEOUT = 1000;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private DataSourceRoutingProperties routingProperties;
+
+    private final Map<String, DataSource> replicas = new LinkedHashMap<>();
+
+    /**
+     * Creates the connection pool of the primary database.
+     *
+     * @return the pool, configured like the one Spring Boot creates without replicas
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource() {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    /**
+     * Creates the connection pools of the replicas and starts checking them.
+     *
+     * @param primaryDataSource the pool of the primary database
+     * @return the monitor of the replicas
+     */
+    @Bean(destroyMethod = "stop")
+    public ReplicaMonitor replicaMonitor(HikariDataSource primaryDataSource) {
+        List<DataSourceRoutingProperties.Replica> configured = routingProperties.getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            String name = "replica-" + i;
+            replicas.put(name, replicaDataSource(primaryDataSource, configured.get(i), name));
+        }
+        ReplicaMonitor monitor = new ReplicaMonitor(primaryDataSource, replicas, routingProperties.getMaxLag(),
+                Clock.systemUTC());
+        monitor.start(routingProperties.getCheckInterval());
+        return monitor;
+    }
+
+    /**
+     * Publishes the replication lag of every replica as the gauge {@code golfclub.datasource.replica.lag}.
+     *
+     * @param replicaMonitor the monitor of the replicas
+     * @return the binder of the gauges
+     */
+    @Bean
+    public MeterBinder replicaLagMetrics(ReplicaMonitor replicaMonitor) {
+        return registry -> replicaMonitor.getReplicaNames().forEach(name ->
+                Gauge.builder("golfclub.datasource.replica.lag", replicaMonitor, monitor -> monitor.getLagSeconds(name))
+                        .description("Replication lag of the replica, NaN while it is unavailable")
+                        .baseUnit("seconds")
+                        .tag("replica", name)
+                        .register(registry));
+    }
+
+    /**
+     * Creates the data source choosing between the primary and the replicas.
+     *
+     * @param primaryDataSource the pool of the primary database
+     * @param replicaMonitor the monitor of the replicas
+     * @return the routing data source
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             ReplicaMonitor replicaMonitor) {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, replicaMonitor);
+    }
+
+    /**
+     * Creates the data source used by JPA, JDBC and Flyway. It takes a connection
+     * from the routing data source only once the first statement runs, when it is
+     * known whether the transaction is read-only.
+     *
+     * @param replicaRoutingDataSource the routing data source
+     * @return the lazy data source
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * Creates the filter pinning the requests of a client to the primary after its writes.
+     *
+     * @return the filter
+     */
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter() {
+        return new ReadYourWritesFilter(routingProperties.getReadYourWrites(), Clock.systemUTC());
+    }
+
+    /**
+     * Lets Hibernate return the connection after every transaction, so the next
+     * transaction of the same persistence context is routed again.
+     *
+     * @return the customizer of the Hibernate properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer routingHibernatePropertiesCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    /**
+     * Closes the connection pools of the replicas.
+     */
+    @PreDestroy
+    void closeReplicas() {
+        replicas.values().forEach(replica -> ((HikariDataSource) replica).close());
+    }
+
+    private static DataSource replicaDataSource(HikariDataSource primary, DataSourceRoutingProperties.Replica replica,
+                                                String name) {
+        HikariConfig config = new HikariConfig();
+        primary.copyStateTo(config);
+        config.setPoolName(name);
+        config.setJdbcUrl(replica.getUrl());
+        if (replica.getUsername() != null) {
+            config.setUsername(replica.getUsername());
+        }
+        if (replica.getPassword() != null) {
+            config.setPassword(replica.getPassword());
+        }
+        config.setReadOnly(true);
+        config.setConnectionTimeout(REPLICA_CONNECTION_TIMEOUT);
+        config.setInitializationFailTimeout(-1); // start even if a replica is down
+        return new HikariDataSource(config);
+    }
+}
@@ -0,0 +1,196 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings of the read replicas, bound from the {@code golfclub.datasource}
+ * properties. Without replicas, all statements go to {@code spring.datasource}.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@ConfigurationProperties(prefix = "golfclub.datasource")
+public class DataSourceRoutingProperties {
+
+    /**
+     * The read replicas of the primary database.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * How long the reads of a client go to the primary after a write of the client.
+     */
+    private Duration readYourWrites = Duration.ofSeconds(5);
+
+    /**
+     * The replication lag above which a replica is not read from.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * The interval of the heartbeat and of the checks of the replicas.
+     */
+    private Duration checkInterval = Duration.ofSeconds(1);
+
+    /**
+     * Gets the read replicas.
+     *
+     * @return the read replicas
+     */
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Sets the read replicas.
+     *
+     * @param replicas the read replicas
+     */
+    public void setReplicas(List<Replica> replicas) {
+        this.replicas = replicas;
+    }
+
+    /**
+     * Gets the read-your-writes window.
+     *
+     * @return the read-your-writes window
+     */
+    public Duration getReadYourWrites() {
+        return readYourWrites;
+    }
+
+    /**
+     * Sets the read-your-writes window.
+     *
+     * @param readYourWrites the read-your-writes window
+     */
+    public void setReadYourWrites(Duration readYourWrites) {
+        this.readYourWrites = readYourWrites;
+    }
+
+    /**
+     * Gets the maximum replication lag.
+     *
+     * @return the maximum replication lag
+     */
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+
+    /**
+     * Sets the maximum replication lag.
+     *
+     * @param maxLag the maximum replication lag
+     */
+    public void setMaxLag(Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    /**
+     * Gets the check interval.
+     *
+     * @return the check interval
+     */
+    public Duration getCheckInterval() {
+        return checkInterval;
+    }
+
+    /**
+     * Sets the check interval.
+     *
+     * @param checkInterval the check interval
+     */
+    public void setCheckInterval(Duration checkInterval) {
+        this.checkInterval = checkInterval;
+    }
+
+    /**
+     * The connection settings of a read replica.
+     */
+    public static class Replica {
+
+        /**
+         * The JDBC URL of the replica.
+         */
+        private String url;
+
+        /**
+         * The user name, by default the one of the primary.
+         */
+        private String username;
+
+        /**
+         * The password, by default the one of the primary.
+         */
+        private String password;
+
+        /**
+         * Gets the JDBC URL.
+         *
+         * @return the JDBC URL
+         */
+        public String getUrl() {
+            return url;
+        }
+
+        /**
+         * Sets the JDBC URL.
+         *
+         * @param url the JDBC URL
+         */
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        /**
+         * Gets the user name.
+         *
+         * @return the user name, or null for the one of the primary
+         */
+        public String getUsername() {
+            return username;
+        }
+
+        /**
+         * Sets the user name.
+         *
+         * @param username the user name
+         */
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        /**
+         * Gets the password.
+         *
+         * @return the password, or null for the one of the primary
+         */
+        public String getPassword() {
+            return password;
+        }
+
+        /**
+         * Sets the password.
+         *
+         * @param password the password
+         */
+        public void setPassword(String password) {
+            this.password = password;
+        }
+    }
+}
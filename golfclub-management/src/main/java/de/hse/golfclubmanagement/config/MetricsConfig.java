@@ -0,0 +1,51 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configures the operational metrics which are not covered by the Actuator
+ * defaults. Actuator already publishes the HTTP request timers, the HikariCP
+ * pool gauges and, as Hibernate statistics are enabled, the {@code hibernate.*}
+ * meters. This class adds the statements per request and the slow query log.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Value("${golfclub.metrics.slow-query-threshold:200ms}")
+    private Duration slowQueryThreshold;
+
+    /**
+     * Registers the query counter with Hibernate and logs every statement running
+     * longer than the slow query threshold to the {@code org.hibernate.SQL_SLOW} logger.
+     *
+     * @param queryCounter the counter of the statements of the current request
+     * @return the customizer of the Hibernate properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer metricsHibernatePropertiesCustomizer(QueryCounter queryCounter) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, queryCounter);
+            properties.put(AvailableSettings.LOG_SLOW_QUERY, slowQueryThreshold.toMillis());
+        };
+    }
+}
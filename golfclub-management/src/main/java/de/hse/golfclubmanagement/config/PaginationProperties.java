@@ -0,0 +1,87 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Page size settings of the keyset-paginated list endpoints,
+ * bound from the {@code golfclub.pagination} properties.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@Component
+@ConfigurationProperties(prefix = "golfclub.pagination")
+public class PaginationProperties {
+
+    /**
+     * The page size used if a client does not request one.
+     */
+    private int defaultPageSize = 50;
+
+    /**
+     * The largest page size a client may request.
+     */
+    private int maxPageSize = 500;
+
+    /**
+     * Resolves the page size for a request.
+     *
+     * @param requested the page size requested by the client, or null
+     * @return the default page size if none was requested, otherwise the
+     *         requested size limited to the range 1 to the maximum page size
+     */
+    public int resolvePageSize(Integer requested) {
+        if (requested == null) {
+            return defaultPageSize;
+        }
+        return Math.max(1, Math.min(requested, maxPageSize));
+    }
+
+    /**
+     * Gets the default page size.
+     *
+     * @return the default page size
+     */
+    public int getDefaultPageSize() {
+        return defaultPageSize;
+    }
+
+    /**
+     * Sets the default page size.
+     *
+     * @param defaultPageSize the default page size
+     */
+    public void setDefaultPageSize(int defaultPageSize) {
+        this.defaultPageSize = defaultPageSize;
+    }
+
+    /**
+     * Gets the maximum page size.
+     *
+     * @return the maximum page size
+     */
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    /**
+     * Sets the maximum page size.
+     *
+     * @param maxPageSize the maximum page size
+     */
+    public void setMaxPageSize(int maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+}
@@ -0,0 +1,162 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps track of the replication lag of the read replicas.
+ * On every check, the current time is written to the heartbeat on the primary
+ * and read back from every replica; the age of the heartbeat read from a replica
+ * is its lag. A replica is available while it answers and lags no more than the
+ * maximum lag. A replica found unavailable in between is skipped until the next
+ * check finds it available again.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public class ReplicaMonitor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReplicaMonitor.class);
+
+    private final JdbcTemplate primary;
+
+    private final Map<String, JdbcTemplate> replicas = new LinkedHashMap<>();
+
+    private final long maxLag;
+
+    private final Clock clock;
+
+    private final Map<String, Long> lags = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService executor;
+
+    /**
+     * Creates a monitor which considers all replicas unavailable until checked.
+     *
+     * @param primary the primary database
+     * @param replicas the read replicas by name
+     * @param maxLag the replication lag above which a replica is unavailable
+     * @param clock the clock of the heartbeat
+     */
+    public ReplicaMonitor(DataSource primary, Map<String, DataSource> replicas, Duration maxLag, Clock clock) {
+        this.primary = new JdbcTemplate(primary);
+        replicas.forEach((name, replica) -> this.replicas.put(name, new JdbcTemplate(replica)));
+        this.maxLag = maxLag.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Starts checking the replicas at a fixed interval.
+     *
+     * @param interval the interval of the checks
+     */
+    public void start(Duration interval) {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::check, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops checking the replicas.
+     */
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Writes the heartbeat and measures the lag of every replica.
+     */
+    public void check() {
+        try {
+            primary.update("UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1", clock.millis());
+        } catch (DataAccessException e) {
+            LOG.warn("Writing the replication heartbeat failed: {}", e.getMessage());
+        }
+        replicas.forEach((name, replica) -> {
+            try {
+                Long beatAt = replica.queryForObject("SELECT beat_at FROM replication_heartbeat WHERE id = 1", Long.class);
+                long lag = Math.max(0, clock.millis() - beatAt);
+                if (lag <= maxLag) {
+                    if (lags.put(name, lag) == null) {
+                        LOG.info("Replica {} is available, lag {} ms", name, lag);
+                    }
+                } else {
+                    markUnavailable(name, "lag " + lag + " ms");
+                }
+            } catch (DataAccessException e) {
+                markUnavailable(name, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Skips a replica until the next check finds it available.
+     *
+     * @param name the name of the replica
+     * @param reason why the replica is unavailable
+     */
+    public void markUnavailable(String name, String reason) {
+        if (lags.remove(name) != null) {
+            LOG.warn("Replica {} is unavailable: {}", name, reason);
+        }
+    }
+
+    /**
+     * Checks whether a replica can be read from.
+     *
+     * @param name the name of the replica
+     * @return true if the replica answered the last check in time
+     */
+    public boolean isAvailable(String name) {
+        return lags.containsKey(name);
+    }
+
+    /**
+     * Gets the lag of a replica measured by the last check.
+     *
+     * @param name the name of the replica
+     * @return the lag in seconds, or NaN if the replica is unavailable
+     */
+    public double getLagSeconds(String name) {
+        Long lag = lags.get(name);
+        return lag == null ? Double.NaN : lag / 1000.0;
+    }
+
+    /**
+     * Gets the names of the replicas.
+     *
+     * @return the names of the replicas in the configured order
+     */
+    public Set<String> getReplicaNames() {
+        return replicas.keySet();
+    }
+}
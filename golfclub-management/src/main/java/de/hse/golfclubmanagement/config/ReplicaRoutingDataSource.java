@@ -0,0 +1,146 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends the statements of the read-only transactions of requests to the read
+ * replicas and all others to the primary database. Background work, like the
+ * polling of the notification outbox, runs outside of a request and always reads
+ * the primary, since it may act on what it reads again before a replica has
+ * caught up with its own writes. The replicas available according to the
+ * {@link ReplicaMonitor} take turns; if none is available, or getting a connection
+ * from the chosen one fails, the primary is used.
+ * <p>
+ * Within a request, all read-only transactions go to the same replica, so the
+ * version of a table and its rows are read from the same state. A request may also
+ * be pinned to the primary, after a write of the client. The transaction is only
+ * known once the first statement runs, so this data source has to be used through
+ * a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * The key of the primary database.
+     */
+    public static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<RequestScope> REQUEST_SCOPE = new ThreadLocal<>();
+
+    private final ReplicaMonitor monitor;
+
+    private final List<String> replicas;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Creates the data source.
+     *
+     * @param primary the primary database
+     * @param replicas the read replicas by name
+     * @param monitor the monitor of the replicas
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, ReplicaMonitor monitor) {
+        Map<Object, Object> targets = new LinkedHashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        this.monitor = monitor;
+        this.replicas = new ArrayList<>(replicas.keySet());
+    }
+
+    /**
+     * Starts the request of the current thread.
+     *
+     * @param primaryOnly true if all statements of the request go to the primary
+     */
+    public static void beginRequest(boolean primaryOnly) {
+        REQUEST_SCOPE.set(new RequestScope(primaryOnly));
+    }
+
+    /**
+     * Ends the request of the current thread.
+     */
+    public static void endRequest() {
+        REQUEST_SCOPE.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        RequestScope scope = REQUEST_SCOPE.get();
+        if (scope == null || scope.primaryOnly) {
+            return PRIMARY;
+        }
+        if (scope.replica == null || !monitor.isAvailable(scope.replica)) {
+            scope.replica = nextReplica();
+        }
+        return scope.replica;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        DataSource target = getResolvedDataSources().get(key);
+        if (PRIMARY.equals(key)) {
+            return target.getConnection();
+        }
+        try {
+            return target.getConnection();
+        } catch (SQLException e) {
+            monitor.markUnavailable((String) key, e.getMessage());
+            return getResolvedDataSources().get(PRIMARY).getConnection();
+        }
+    }
+
+    private String nextReplica() {
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, replicas.size()));
+        for (int i = 0; i < replicas.size(); i++) {
+            String replica = replicas.get((start + i) % replicas.size());
+            if (monitor.isAvailable(replica)) {
+                return replica;
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * The routing state of a request.
+     */
+    private static final class RequestScope {
+
+        private final boolean primaryOnly;
+
+        private String replica;
+
+        private RequestScope(boolean primaryOnly) {
+            this.primaryOnly = primaryOnly;
+        }
+    }
+}
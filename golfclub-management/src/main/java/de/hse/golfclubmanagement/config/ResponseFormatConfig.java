@@ -0,0 +1,61 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Configures the binary response formats and the response compression.
+ * <p>
+ * Besides JSON, the endpoints answer in CBOR ({@code application/cbor}) or
+ * Smile ({@code application/x-jackson-smile}) if the client asks for it in the
+ * Accept header. Both encode the same documents as JSON, so the binary formats
+ * need no schema of their own. JSON stays the default for {@code Accept: *}{@code /*}.
+ * <p>
+ * Responses above {@code server.compression.min-response-size} are compressed
+ * with gzip by Tomcat if the client accepts it. Tomcat leaves responses with a
+ * strong ETag uncompressed, so the conditional endpoints send weak ETags.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@Configuration
+public class ResponseFormatConfig {
+
+    /**
+     * Creates the CBOR converter from the Jackson settings of the JSON converter.
+     *
+     * @param builder the builder configured by Spring Boot
+     * @return the CBOR converter, ordered after the JSON converter
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Creates the Smile converter from the Jackson settings of the JSON converter.
+     *
+     * @param builder the builder configured by Spring Boot
+     * @return the Smile converter, ordered after the JSON converter
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,67 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.TypesafeConfigurator;
+import com.typesafe.config.ConfigFactory;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Provides the regions of the Hibernate second-level cache from Caffeine.
+ * The regions are configured in {@code second-level-cache.conf} on the class path.
+ * Every session factory gets a cache manager of its own, as Hibernate closes the
+ * cache manager together with the session factory.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public class SecondLevelCacheRegionFactory extends JCacheRegionFactory {
+
+    /**
+     * The region of the GolfCourse entities.
+     */
+    public static final String GOLF_COURSE = "golfCourse";
+
+    /**
+     * The region of the Hole entities.
+     */
+    public static final String HOLE = "hole";
+
+    /**
+     * The region of the holes collections of the GolfCourses.
+     */
+    public static final String GOLF_COURSE_HOLES = "golfCourseHoles";
+
+    /**
+     * The region of the results of the GolfCourse queries.
+     */
+    public static final String GOLF_COURSE_QUERY = "golfCourseQuery";
+
+    /**
+     * The base name of the configuration resource of the regions.
+     */
+    static final String CONFIGURATION = "second-level-cache";
+
+    static {
+        TypesafeConfigurator.setConfigSource(() -> ConfigFactory.load(CONFIGURATION));
+    }
+
+    @Override
+    protected URI getUri(SessionFactoryOptions settings, Map properties) {
+        URI uri = super.getUri(settings, properties);
+        return uri != null ? uri : URI.create("urn:golfclub:second-level-cache:" + settings.getUuid());
+    }
+}
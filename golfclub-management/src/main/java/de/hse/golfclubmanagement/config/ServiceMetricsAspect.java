@@ -0,0 +1,68 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public method of the services in the timer {@code golfclub.service},
+ * tagged with the service class, the method and the exception thrown, if any.
+ * Calls of a service to its own methods are not timed separately.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    /**
+     * The name of the timer.
+     */
+    public static final String METRIC_NAME = "golfclub.service";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Times a service method.
+     *
+     * @param joinPoint the service method called
+     * @return the result of the method
+     * @throws Throwable the exception thrown by the method
+     */
+    @Around("execution(public * de.hse.golfclubmanagement.services..*(..)) "
+            + "&& @within(org.springframework.stereotype.Service)")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METRIC_NAME)
+                    .description("Duration of the service calls")
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.config;
+
+import org.hibernate.Session;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaVendorAdapter;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Configures the partitioning of Members, GolfCourses and Tournaments by club.
+ * <p>
+ * Every EntityManager opened for a club, for a request or a transaction, has
+ * the Hibernate filter {@value ClubContext#FILTER} enabled, so the queries of
+ * the repositories only return the rows of the club. Lookups by id through
+ * {@code EntityManager.find} are not filtered; the services check the club of
+ * the entities they load that way. The club is handed on to the threads
+ * serving asynchronous requests, like the streaming endpoints, and each club
+ * may hold only {@code golfclub.tenancy.max-connections-per-club} connections
+ * of the pool at a time.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@Configuration
+public class TenancyConfig {
+
+    /**
+     * Creates the JPA vendor adapter, configured like the one Spring Boot creates,
+     * which enables the club filter on every new EntityManager.
+     *
+     * @param properties the JPA settings of the application
+     * @return the vendor adapter
+     */
+    @Bean
+    public JpaVendorAdapter jpaVendorAdapter(JpaProperties properties) {
+        HibernateJpaVendorAdapter adapter = new HibernateJpaVendorAdapter() {
+            @Override
+            public void postProcessEntityManager(EntityManager entityManager) {
+                super.postProcessEntityManager(entityManager);
+                Long clubId = ClubContext.getClubId();
+                if (clubId != null) {
+                    entityManager.unwrap(Session.class).enableFilter(ClubContext.FILTER)
+                            .setParameter(ClubContext.FILTER_PARAMETER, clubId);
+                }
+            }
+        };
+        adapter.setShowSql(properties.isShowSql());
+        if (properties.getDatabase() != null) {
+            adapter.setDatabase(properties.getDatabase());
+        }
+        if (properties.getDatabasePlatform() != null) {
+            adapter.setDatabasePlatform(properties.getDatabasePlatform());
+        }
+        adapter.setGenerateDdl(properties.isGenerateDdl());
+        return adapter;
+    }
+
+    /**
+     * Creates the decorator of the tasks of the application executor, which also
+     * runs the asynchronous requests, handing the club on to the executing thread.
+     *
+     * @return the task decorator
+     */
+    @Bean
+    public TaskDecorator clubTaskDecorator() {
+        return task -> {
+            Long clubId = ClubContext.getClubId();
+            return () -> {
+                Long previous = ClubContext.getClubId();
+                ClubContext.setClubId(clubId);
+                try {
+                    task.run();
+                } finally {
+                    ClubContext.setClubId(previous);
+                }
+            };
+        };
+    }
+
+    /**
+     * Creates the post processor wrapping the data source of the application in
+     * the connection budget of the clubs. A lazy data source, which hands out
+     * proxies that take a connection only once the first statement runs, keeps
+     * its place in front: the budget wraps its target, so a permit is only
+     * taken along with a connection of the pool.
+     *
+     * @param environment the environment holding the size of the budget and the timeout,
+     *        read directly as the post processor is created before placeholders are resolved
+     * @return the post processor
+     */
+    @Bean
+    public static BeanPostProcessor clubConnectionBudgetPostProcessor(Environment environment) {
+        Binder binder = Binder.get(environment);
+        int maxConnections = binder.bind("golfclub.tenancy.max-connections-per-club", Integer.class).orElse(4);
+        Duration timeout = binder.bind("golfclub.tenancy.connection-timeout", Duration.class).orElse(Duration.ofSeconds(5));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof LazyConnectionDataSourceProxy) {
+                    LazyConnectionDataSourceProxy lazy = (LazyConnectionDataSourceProxy) bean;
+                    lazy.setTargetDataSource(new ClubConnectionBudget(lazy.getTargetDataSource(), maxConnections,
+                            timeout));
+                    return lazy;
+                }
+                if ("dataSource".equals(beanName) && bean instanceof DataSource) {
+                    return new ClubConnectionBudget((DataSource) bean, maxConnections, timeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
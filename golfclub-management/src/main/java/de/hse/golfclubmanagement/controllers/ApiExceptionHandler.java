@@ -0,0 +1,68 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.controllers;
+
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+/**
+ * Translates exceptions thrown by the REST controllers into error responses.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    /**
+     * Answers invalid client input with 400 Bad Request.
+     *
+     * @param e the exception describing the invalid input
+     * @return the error response containing the exception message
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleIllegalArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
+    }
+
+    /**
+     * Answers writes rejected by a database constraint, e.g. a duplicate golf
+     * course name, with 409 Conflict.
+     *
+     * @param e the exception raised by the violated constraint
+     * @return the error response
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Map<String, String>> handleDataIntegrityViolation(DataIntegrityViolationException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", "The request conflicts with existing data"));
+    }
+
+    /**
+     * Answers writes that kept losing against concurrent changes of the same
+     * data with 409 Conflict; the client may repeat the request.
+     *
+     * @param e the exception raised by the failed version check or lock
+     * @return the error response
+     */
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<Map<String, String>> handleConcurrencyFailure(ConcurrencyFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", "The data was changed concurrently, please try again"));
+    }
+}
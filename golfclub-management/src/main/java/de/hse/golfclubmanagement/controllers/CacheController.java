@@ -0,0 +1,79 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.controllers;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import de.hse.golfclubmanagement.dto.CacheStatistics;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * REST controller exposing the counters of the in-process caches and of the
+ * regions of the Hibernate second-level cache.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@RestController
+@RequestMapping("/api/v1/caches")
+public class CacheController {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Retrieves the hit, miss and eviction counters of all caches and second-level cache regions.
+     *
+     * @return the statistics of every cache
+     */
+    @GetMapping
+    public ResponseEntity<List<CacheStatistics>> getCacheStatistics() {
+        List<CacheStatistics> statistics = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof CaffeineCache) {
+                com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = ((CaffeineCache) cache).getNativeCache();
+                statistics.add(statisticsOf(name, nativeCache));
+            }
+        }
+        RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getCache().getRegionFactory();
+        if (regionFactory instanceof JCacheRegionFactory) {
+            javax.cache.CacheManager regions = ((JCacheRegionFactory) regionFactory).getCacheManager();
+            for (String name : regions.getCacheNames()) {
+                javax.cache.Cache<?, ?> region = regions.getCache(name);
+                statistics.add(statisticsOf(name, region.unwrap(com.github.benmanes.caffeine.cache.Cache.class)));
+            }
+        }
+        return ResponseEntity.ok(statistics);
+    }
+
+    private static CacheStatistics statisticsOf(String name, com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+        CacheStats stats = nativeCache.stats();
+        return new CacheStatistics(name, nativeCache.estimatedSize(),
+                stats.hitCount(), stats.missCount(), stats.evictionCount());
+    }
+}
@@ -0,0 +1,101 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.controllers;
+
+import de.hse.golfclubmanagement.config.ClubContext;
+import de.hse.golfclubmanagement.config.ClubFilter;
+import de.hse.golfclubmanagement.services.ChangeVersions;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Helper for the GET endpoints whose responses only depend on one table.
+ * The version of the table is sent as weak ETag and Last-Modified, and a
+ * request carrying the current version is answered with 304 Not Modified
+ * without reading or serializing the entities, and usually without reading
+ * the version from the database. As the format and the
+ * compression of the response follow the Accept and Accept-Encoding headers,
+ * the ETag differs between values of these headers, and between clubs.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+final class ConditionalResponses {
+
+    private ConditionalResponses() {
+    }
+
+    /**
+     * Creates the response of a conditional GET request. A client holding the
+     * version kept in memory is answered without a database round-trip;
+     * otherwise the version is read before the entities, so the response never
+     * carries a version newer than its entities.
+     *
+     * @param request the current request holding the conditional headers
+     * @param versions the versions of the tables
+     * @param table the table the response depends on
+     * @param response creates the response if the client does not hold the current version
+     * @param <T> the type of the response body
+     * @return a 304 response, or the created response with the validators of the version
+     */
+    static <T> ResponseEntity<T> of(WebRequest request, ChangeVersions versions, String table,
+            Supplier<ResponseEntity<T>> response) {
+        String variant = variant(request);
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            ChangeVersions.Version cached = versions.cached(table);
+            String eTag = cached.getETag(variant);
+            if (ifNoneMatch.contains(eTag) && request.checkNotModified(eTag, cached.getChangedAt().toEpochMilli())) {
+                return notModified();
+            }
+        }
+        ChangeVersions.Version version = versions.current(table);
+        String eTag = version.getETag(variant);
+        if (request.checkNotModified(eTag, version.getChangedAt().toEpochMilli())) {
+            return notModified();
+        }
+        ResponseEntity<T> created = response.get();
+        return ResponseEntity.status(created.getStatusCode())
+                .headers(created.getHeaders())
+                .eTag(eTag)
+                .lastModified(version.getChangedAt())
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING, ClubFilter.HEADER)
+                .body(created.getBody());
+    }
+
+    private static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING, ClubFilter.HEADER)
+                .build();
+    }
+
+    /**
+     * Gets the suffix of the ETag identifying the representation requested,
+     * empty if the request leaves format and encoding to the server and is one
+     * of the default club.
+     */
+    private static String variant(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        long clubId = ClubContext.getClubIdOrDefault();
+        String club = clubId == ClubContext.DEFAULT_CLUB_ID ? "" : "-c" + clubId;
+        if (accept == null && acceptEncoding == null) {
+            return club;
+        }
+        return club + "-" + Integer.toHexString(Objects.hash(accept, acceptEncoding));
+    }
+}
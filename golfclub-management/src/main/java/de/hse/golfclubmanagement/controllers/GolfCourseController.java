@@ -12,12 +12,23 @@
  */
 package de.hse.golfclubmanagement.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.hse.golfclubmanagement.config.PaginationProperties;
+import de.hse.golfclubmanagement.dto.BulkImportResult;
+import de.hse.golfclubmanagement.dto.KeysetPage;
 import de.hse.golfclubmanagement.models.GolfCourse;
+import de.hse.golfclubmanagement.services.BulkImportService;
+import de.hse.golfclubmanagement.services.ChangeVersions;
 import de.hse.golfclubmanagement.services.GolfCourseService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.util.List;
 
 /**
@@ -33,11 +44,23 @@ public class GolfCourseController {
     @Autowired
     private GolfCourseService golfCourseService;
 
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private ChangeVersions changeVersions;
+
+    @Autowired
+    private PaginationProperties paginationProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * Adds a new GolfCourse entity to the system.
      *
      * @param golfCourse the GolfCourse entity to be added
-     * @return the added GolfCourse entity
+     * @return the added GolfCourse entity, or a 404 response if there is no GolfCourse with its id
      * @throws IllegalArgumentException if the golfCourse is null
      */
     @PostMapping
@@ -46,29 +69,94 @@ public class GolfCourseController {
             throw new IllegalArgumentException("GolfCourse must not be null"); // Check for null and throw exception
         }
         GolfCourse savedGolfCourse = golfCourseService.saveGolfCourse(golfCourse);
-        return ResponseEntity.ok(savedGolfCourse);
+        return savedGolfCourse != null ? ResponseEntity.ok(savedGolfCourse) : ResponseEntity.notFound().build();
     }
 
     /**
      * Retrieves a list of all GolfCourse entities.
+     * The list is not read again if the client holds its current version.
      *
-     * @return a list of all GolfCourse entities
+     * @param request the request holding the conditional headers
+     * @return a list of all GolfCourse entities, or a 304 response if the list has not changed
      */
     @GetMapping
-    public ResponseEntity<List<GolfCourse>> getAllGolfCourses() {
-        List<GolfCourse> golfCourses = golfCourseService.getAllGolfCourses();
-        return ResponseEntity.ok(golfCourses);
+    public ResponseEntity<List<GolfCourse>> getAllGolfCourses(WebRequest request) {
+        return ConditionalResponses.of(request, changeVersions, ChangeVersions.GOLF_COURSES,
+                () -> ResponseEntity.ok(golfCourseService.getAllGolfCourses()));
     }
 
     /**
      * Finds a GolfCourse by its name.
      *
      * @param name the name of the GolfCourse to find
-     * @return the GolfCourse entity if found, or a 404 response if not
+     * @param request the request holding the conditional headers
+     * @return the GolfCourse entity if found, a 404 response if not,
+     *         or a 304 response if the GolfCourse entities have not changed
      */
     @GetMapping("/findByName")
-    public ResponseEntity<GolfCourse> findByName(@RequestParam String name) {
-        GolfCourse golfCourse = golfCourseService.findByName(name);
-        return golfCourse != null ? ResponseEntity.ok(golfCourse) : ResponseEntity.notFound().build();
+    public ResponseEntity<GolfCourse> findByName(@RequestParam String name, WebRequest request) {
+        return ConditionalResponses.of(request, changeVersions, ChangeVersions.GOLF_COURSES, () -> {
+            GolfCourse golfCourse = golfCourseService.findByName(name);
+            return golfCourse != null ? ResponseEntity.ok(golfCourse) : ResponseEntity.notFound().build();
+        });
+    }
+
+    /**
+     * Retrieves one page of GolfCourse entities ordered by id. The next page is
+     * requested by passing the returned cursor as {@code after} parameter.
+     *
+     * @param after the id after which the page starts, 0 for the first page
+     * @param size the requested page size, limited by the configured maximum
+     * @param request the request holding the conditional headers
+     * @return the page of GolfCourse entities and the cursor of the next page,
+     *         or a 304 response if the GolfCourse entities have not changed
+     */
+    @GetMapping("/page")
+    public ResponseEntity<KeysetPage<GolfCourse>> getGolfCoursesPage(@RequestParam(defaultValue = "0") long after,
+            @RequestParam(required = false) Integer size, WebRequest request) {
+        int pageSize = paginationProperties.resolvePageSize(size);
+        return ConditionalResponses.of(request, changeVersions, ChangeVersions.GOLF_COURSES,
+                () -> ResponseEntity.ok(golfCourseService.getGolfCoursesPage(after, pageSize)));
+    }
+
+    /**
+     * Streams all GolfCourse entities as newline delimited JSON, one entity per line.
+     * Rows are serialized while they are read from the database, so the response
+     * can be consumed incrementally regardless of the number of GolfCourse entities.
+     *
+     * @param request the request holding the conditional headers
+     * @return the streaming response, or a 304 response if the GolfCourse entities have not changed
+     */
+    @GetMapping(value = "/stream", produces = NdjsonStreams.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllGolfCourses(WebRequest request) {
+        return ConditionalResponses.of(request, changeVersions, ChangeVersions.GOLF_COURSES,
+                () -> NdjsonStreams.<GolfCourse>of(objectMapper, golfCourseService::streamAllGolfCourses));
+    }
+
+    /**
+     * Imports GolfCourse entities from a JSON array. Invalid rows are skipped
+     * and reported, all other rows are written with batch inserts.
+     * Each GolfCourse is imported together with its holes.
+     *
+     * @param golfCourses the GolfCourse entities to import
+     * @return the import report with the per-row errors and the throughput
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkImportResult> importGolfCourses(@RequestBody List<GolfCourse> golfCourses) {
+        return ResponseEntity.ok(bulkImportService.importGolfCourses(golfCourses));
+    }
+
+    /**
+     * Imports GolfCourses from CSV with one line per hole and the columns
+     * {@code name}, {@code location}, {@code hole}, {@code length} and {@code par}.
+     * Invalid rows are skipped and reported with their line number.
+     *
+     * @param csv the CSV request body including a header line
+     * @return the import report with the per-row errors and the throughput
+     * @throws IOException if the request body cannot be read
+     */
+    @PostMapping(value = "/bulk", consumes = BulkImportService.TEXT_CSV_VALUE)
+    public ResponseEntity<BulkImportResult> importGolfCoursesCsv(Reader csv) throws IOException {
+        return ResponseEntity.ok(bulkImportService.importGolfCoursesCsv(csv));
     }
 }
@@ -12,12 +12,25 @@
  */
 package de.hse.golfclubmanagement.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.hse.golfclubmanagement.config.PaginationProperties;
+import de.hse.golfclubmanagement.dto.BulkImportResult;
+import de.hse.golfclubmanagement.dto.HandicapHistogram;
+import de.hse.golfclubmanagement.dto.KeysetPage;
+import de.hse.golfclubmanagement.dto.MemberSuggestion;
 import de.hse.golfclubmanagement.models.Member;
+import de.hse.golfclubmanagement.services.BulkImportService;
+import de.hse.golfclubmanagement.services.ChangeVersions;
 import de.hse.golfclubmanagement.services.MemberService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.util.List;
 
 /**
@@ -30,41 +43,177 @@ import java.util.List;
 @RequestMapping("/api/v1/members")
 public class MemberController {
 
+    /**
+     * The largest number of suggestions a client may request.
+     */
+    static final int MAX_SUGGESTIONS = 50;
+
     @Autowired
     private MemberService memberService;
 
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private ChangeVersions changeVersions;
+
+    @Autowired
+    private PaginationProperties paginationProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * Adds a new Member entity to the system.
      *
      * @param member the Member entity to be added
-     * @return the added Member entity
+     * @return the added Member entity, or a 404 response if there is no Member with its id
      */
     @PostMapping
     public ResponseEntity<Member> addMember(@RequestBody Member member) {
         Member savedMember = memberService.addMember(member);
-        return ResponseEntity.ok(savedMember);
+        return savedMember != null ? ResponseEntity.ok(savedMember) : ResponseEntity.notFound().build();
     }
 
     /**
      * Retrieves a list of all Member entities.
+     * The list is not read again if the client holds its current version.
      *
-     * @return a list of all Member entities
+     * @param request the request holding the conditional headers
+     * @return a list of all Member entities, or a 304 response if the list has not changed
      */
     @GetMapping
-    public ResponseEntity<List<Member>> getAllMembers() {
-        List<Member> members = memberService.getAllMembers();
-        return ResponseEntity.ok(members);
+    public ResponseEntity<List<Member>> getAllMembers(WebRequest request) {
+        return ConditionalResponses.of(request, changeVersions, ChangeVersions.MEMBERS,
+                () -> ResponseEntity.ok(memberService.getAllMembers()));
     }
 
     /**
      * Finds a Member by their name.
      *
      * @param name the name of the Member to find
-     * @return the Member entity if found, or a 404 response if not
+     * @param request the request holding the conditional headers
+     * @return the Member entity if found, a 404 response if not,
+     *         or a 304 response if the Member entities have not changed
      */
     @GetMapping("/findByName")
-    public ResponseEntity<Member> findByName(@RequestParam String name) {
-        Member member = memberService.findByName(name);
-        return member != null ? ResponseEntity.ok(member) : ResponseEntity.notFound().build();
+    public ResponseEntity<Member> findByName(@RequestParam String name, WebRequest request) {
+        return ConditionalResponses.of(request, changeVersions, ChangeVersions.MEMBERS, () -> {
+            Member member = memberService.findByName(name);
+            return member != null ? ResponseEntity.ok(member) : ResponseEntity.notFound().build();
+        });
+    }
+
+    /**
+     * Suggests Members for the autocomplete of the member search. A Member is
+     * suggested if its name or one of the words of its name starts with the
+     * prefix; case and diacritics are ignored ("mue" finds "Müller").
+     * The suggestions are answered from memory without a database query.
+     *
+     * @param prefix the prefix typed by the user
+     * @param limit the maximum number of suggestions, at most 50
+     * @return the matching Members ordered by name, empty for a blank prefix
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<MemberSuggestion>> suggestMembers(@RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        int resolvedLimit = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        return ResponseEntity.ok(memberService.suggestByName(prefix, resolvedLimit));
+    }
+
+    /**
+     * Retrieves one page of Member entities ordered by id. The next page is
+     * requested by passing the returned cursor as {@code after} parameter.
+     *
+     * @param after the id after which the page starts, 0 for the first page
+     * @param size the requested page size, limited by the configured maximum
+     * @param request the request holding the conditional headers
+     * @return the page of Member entities and the cursor of the next page,
+     *         or a 304 response if the Member entities have not changed
+     */
+    @GetMapping("/page")
+    public ResponseEntity<KeysetPage<Member>> getMembersPage(@RequestParam(defaultValue = "0") long after,
+            @RequestParam(required = false) Integer size, WebRequest request) {
+        int pageSize = paginationProperties.resolvePageSize(size);
+        return ConditionalResponses.of(request, changeVersions, ChangeVersions.MEMBERS,
+                () -> ResponseEntity.ok(memberService.getMembersPage(after, pageSize)));
+    }
+
+    /**
+     * Streams all Member entities as newline delimited JSON, one entity per line.
+     * Rows are serialized while they are read from the database, so the response
+     * can be consumed incrementally regardless of the number of Member entities.
+     *
+     * @param request the request holding the conditional headers
+     * @return the streaming response, or a 304 response if the Member entities have not changed
+     */
+    @GetMapping(value = "/stream", produces = NdjsonStreams.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllMembers(WebRequest request) {
+        return ConditionalResponses.of(request, changeVersions, ChangeVersions.MEMBERS,
+                () -> NdjsonStreams.<Member>of(objectMapper, memberService::streamAllMembers));
+    }
+
+    /**
+     * Streams the Members with a handicap in the given range as newline delimited
+     * JSON, ordered by handicap and id, e.g. the active Members eligible for a flight.
+     *
+     * @param min the lowest handicap, inclusive, unbounded if omitted
+     * @param max the highest handicap, inclusive, unbounded if omitted
+     * @param status the membership status of the Members, all Members if omitted
+     * @return the streaming response
+     * @throws IllegalArgumentException if min is greater than max
+     */
+    @GetMapping(value = "/handicap", produces = NdjsonStreams.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamMembersByHandicap(@RequestParam(required = false) Integer min,
+            @RequestParam(required = false) Integer max, @RequestParam(required = false) String status) {
+        int lowest = min != null ? min : Integer.MIN_VALUE;
+        int highest = max != null ? max : Integer.MAX_VALUE;
+        String membershipStatus = status == null || status.isBlank() ? null : status;
+        if (lowest > highest) {
+            throw new IllegalArgumentException("min must not be greater than max");
+        }
+        return NdjsonStreams.<Member>of(objectMapper,
+                consumer -> memberService.streamMembersByHandicap(membershipStatus, lowest, highest, consumer));
+    }
+
+    /**
+     * Retrieves the distribution of the handicaps of the Members.
+     *
+     * @param status the membership status of the Members, all Members if omitted
+     * @param bucketWidth the number of handicaps counted in one bucket, 1 if omitted
+     * @return the histogram containing the buckets with at least one Member
+     * @throws IllegalArgumentException if the bucket width is less than 1
+     */
+    @GetMapping("/handicap/histogram")
+    public ResponseEntity<HandicapHistogram> getHandicapHistogram(@RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "1") int bucketWidth) {
+        String membershipStatus = status == null || status.isBlank() ? null : status;
+        return ResponseEntity.ok(memberService.getHandicapHistogram(membershipStatus, bucketWidth));
+    }
+
+    /**
+     * Imports Member entities from a JSON array. Invalid rows are skipped
+     * and reported, all other rows are written with batch inserts.
+     *
+     * @param members the Member entities to import
+     * @return the import report with the per-row errors and the throughput
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkImportResult> importMembers(@RequestBody List<Member> members) {
+        return ResponseEntity.ok(bulkImportService.importMembers(members));
+    }
+
+    /**
+     * Imports Members from CSV with the columns {@code name},
+     * {@code membershipStatus} and {@code handicap}.
+     * Invalid rows are skipped and reported with their line number.
+     *
+     * @param csv the CSV request body including a header line
+     * @return the import report with the per-row errors and the throughput
+     * @throws IOException if the request body cannot be read
+     */
+    @PostMapping(value = "/bulk", consumes = BulkImportService.TEXT_CSV_VALUE)
+    public ResponseEntity<BulkImportResult> importMembersCsv(Reader csv) throws IOException {
+        return ResponseEntity.ok(bulkImportService.importMembersCsv(csv));
     }
 }
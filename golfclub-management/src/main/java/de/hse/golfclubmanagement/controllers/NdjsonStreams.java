@@ -0,0 +1,79 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.controllers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Helper for the streaming list endpoints, which write one JSON document
+ * per line (NDJSON) as the rows are read from the database.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+final class NdjsonStreams {
+
+    /**
+     * The media type of newline delimited JSON.
+     */
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private NdjsonStreams() {
+    }
+
+    /**
+     * Creates a streaming response that serializes every row passed by the
+     * source to the response body as soon as it is received. The source is
+     * executed on the asynchronous request thread once the response is committed.
+     *
+     * @param objectMapper the object mapper used to serialize the rows
+     * @param source the source passing every row to the given consumer
+     * @param <T> the type of the rows
+     * @return the streaming response
+     */
+    static <T> ResponseEntity<StreamingResponseBody> of(ObjectMapper objectMapper, Consumer<Consumer<T>> source) {
+        ObjectWriter writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n");
+        StreamingResponseBody body = out -> {
+            boolean[] written = {false};
+            try (SequenceWriter rows = writer.writeValues(out)) {
+                source.accept(row -> {
+                    try {
+                        rows.write(row);
+                        written[0] = true;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            if (written[0]) {
+                out.write('\n'); // the separator is only written between rows
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+}
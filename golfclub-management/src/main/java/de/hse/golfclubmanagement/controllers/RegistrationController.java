@@ -0,0 +1,93 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.controllers;
+
+import de.hse.golfclubmanagement.dto.RegistrationRequest;
+import de.hse.golfclubmanagement.dto.RegistrationView;
+import de.hse.golfclubmanagement.services.RegistrationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for the registrations of Members and guests for a Tournament.
+ * Provides endpoints for registering, withdrawing and limiting the field size.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@RestController
+@RequestMapping("/api/v1/tournaments/{tournamentId}/registrations")
+public class RegistrationController {
+
+    @Autowired
+    private RegistrationService registrationService;
+
+    /**
+     * Registers a Member or a guest for a Tournament; the registration is
+     * waitlisted if the field is full.
+     *
+     * @param tournamentId the id of the Tournament
+     * @param request the Member or the name of the guest
+     * @return the registration, or a 404 response if the Tournament does not exist
+     * @throws IllegalArgumentException if the Member does not exist or is already registered
+     */
+    @PostMapping
+    public ResponseEntity<RegistrationView> register(@PathVariable long tournamentId,
+            @RequestBody RegistrationRequest request) {
+        RegistrationView registration = registrationService.register(tournamentId, request);
+        return registration != null ? ResponseEntity.ok(registration) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Retrieves the registrations of a Tournament, the confirmed ones first,
+     * followed by the waitlist in order.
+     *
+     * @param tournamentId the id of the Tournament
+     * @return the registrations, or a 404 response if the Tournament does not exist
+     */
+    @GetMapping
+    public ResponseEntity<List<RegistrationView>> getRegistrations(@PathVariable long tournamentId) {
+        List<RegistrationView> registrations = registrationService.getRegistrations(tournamentId);
+        return registrations != null ? ResponseEntity.ok(registrations) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Withdraws a registration; a free place goes to the first registration on the waitlist.
+     *
+     * @param tournamentId the id of the Tournament
+     * @param registrationId the id of the registration
+     * @return an empty response, or a 404 response if the Tournament has no registration with the id
+     */
+    @DeleteMapping("/{registrationId}")
+    public ResponseEntity<Void> withdraw(@PathVariable long tournamentId, @PathVariable long registrationId) {
+        return registrationService.withdraw(tournamentId, registrationId)
+                ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Changes the capacity of a Tournament; places added go to the waitlist in order.
+     *
+     * @param tournamentId the id of the Tournament
+     * @param capacity the new capacity, omitted if the field is not limited
+     * @return the registrations after the change, or a 404 response if the Tournament does not exist
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    @PutMapping("/capacity")
+    public ResponseEntity<List<RegistrationView>> setCapacity(@PathVariable long tournamentId,
+            @RequestParam(required = false) Integer capacity) {
+        List<RegistrationView> registrations = registrationService.setCapacity(tournamentId, capacity);
+        return registrations != null ? ResponseEntity.ok(registrations) : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,123 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.controllers;
+
+import de.hse.golfclubmanagement.dto.RoundResult;
+import de.hse.golfclubmanagement.dto.ScorecardRequest;
+import de.hse.golfclubmanagement.dto.ScorecardView;
+import de.hse.golfclubmanagement.services.ScoringService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for recording the strokes of the Tournament participants.
+ * Provides endpoints for opening scorecards and recording strokes per hole.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@RestController
+@RequestMapping("/api/v1/tournaments/{tournamentId}/scorecards")
+public class ScorecardController {
+
+    @Autowired
+    private ScoringService scoringService;
+
+    /**
+     * Opens a scorecard for a Member in a Tournament.
+     *
+     * @param tournamentId the id of the Tournament
+     * @param request the Member and the GolfCourse played
+     * @return the new scorecard, or a 404 response if the Tournament does not exist
+     * @throws IllegalArgumentException if the Member or the GolfCourse does not exist
+     */
+    @PostMapping
+    public ResponseEntity<ScorecardView> openScorecard(@PathVariable long tournamentId,
+            @RequestBody ScorecardRequest request) {
+        ScorecardView scorecard = scoringService.openScorecard(tournamentId, request);
+        return scorecard != null ? ResponseEntity.ok(scorecard) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Retrieves all scorecards of a Tournament including their totals.
+     *
+     * @param tournamentId the id of the Tournament
+     * @return the scorecards ordered by id, or a 404 response if the Tournament does not exist
+     */
+    @GetMapping
+    public ResponseEntity<List<ScorecardView>> getScorecards(@PathVariable long tournamentId) {
+        List<ScorecardView> scorecards = scoringService.getScorecards(tournamentId);
+        return scorecards != null ? ResponseEntity.ok(scorecards) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Retrieves the net scores and Stableford points of all participants of a
+     * Tournament, with the handicap strokes allocated by stroke index.
+     *
+     * @param tournamentId the id of the Tournament
+     * @return the results ordered by Stableford points, or a 404 response if the Tournament does not exist
+     */
+    @GetMapping("/results")
+    public ResponseEntity<List<RoundResult>> getResults(@PathVariable long tournamentId) {
+        List<RoundResult> results = scoringService.getResults(tournamentId);
+        return results != null ? ResponseEntity.ok(results) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Retrieves the scorecard of a Member in a Tournament.
+     *
+     * @param tournamentId the id of the Tournament
+     * @param memberId the id of the Member
+     * @return the scorecard, or a 404 response if the Tournament does not exist or the Member has none in it
+     */
+    @GetMapping("/{memberId}")
+    public ResponseEntity<ScorecardView> getScorecard(@PathVariable long tournamentId, @PathVariable long memberId) {
+        ScorecardView scorecard = scoringService.getScorecard(tournamentId, memberId);
+        return scorecard != null ? ResponseEntity.ok(scorecard) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Records the strokes of a Member on one hole.
+     *
+     * @param tournamentId the id of the Tournament
+     * @param memberId the id of the Member
+     * @param holeNumber the number of the hole
+     * @param strokes the strokes played on the hole, 0 to clear the hole
+     * @return the updated scorecard, or a 404 response if the Tournament does not exist or the Member has none in it
+     * @throws IllegalArgumentException if the strokes are out of range or the course has no such hole
+     */
+    @PutMapping("/{memberId}/holes/{holeNumber}")
+    public ResponseEntity<ScorecardView> recordStrokes(@PathVariable long tournamentId, @PathVariable long memberId,
+            @PathVariable int holeNumber, @RequestParam int strokes) {
+        ScorecardView scorecard = scoringService.recordStrokes(tournamentId, memberId, holeNumber, strokes);
+        return scorecard != null ? ResponseEntity.ok(scorecard) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Records the strokes of a Member on all holes at once.
+     *
+     * @param tournamentId the id of the Tournament
+     * @param memberId the id of the Member
+     * @param strokes the strokes per hole in the order of the hole numbers, 0 for holes not played
+     * @return the updated scorecard, or a 404 response if the Tournament does not exist or the Member has none in it
+     * @throws IllegalArgumentException if a value is out of range or the number of holes does not match
+     */
+    @PutMapping("/{memberId}")
+    public ResponseEntity<ScorecardView> recordScorecard(@PathVariable long tournamentId, @PathVariable long memberId,
+            @RequestBody int[] strokes) {
+        ScorecardView scorecard = scoringService.recordScorecard(tournamentId, memberId, strokes);
+        return scorecard != null ? ResponseEntity.ok(scorecard) : ResponseEntity.notFound().build();
+    }
+}
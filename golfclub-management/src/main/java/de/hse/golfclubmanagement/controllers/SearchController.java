@@ -0,0 +1,81 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.controllers;
+
+import de.hse.golfclubmanagement.dto.SearchHit;
+import de.hse.golfclubmanagement.services.SearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+
+/**
+ * REST controller for the full-text search over Members, GolfCourses and Tournaments.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@RestController
+@RequestMapping("/api/v1/search")
+public class SearchController {
+
+    /**
+     * The largest number of hits a client may request.
+     */
+    static final int MAX_HITS = 100;
+
+    /**
+     * The role of the users who may rebuild the index, which holds the entities of all clubs.
+     */
+    public static final String ADMIN_ROLE = "admin";
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    /**
+     * Searches the names of the Members, GolfCourses and Tournaments and the
+     * locations of the GolfCourses of the club. Every word has to match,
+     * exactly, as prefix or with a typo; case and diacritics are ignored
+     * ("mueler" finds "Müller"). Entities saved a moment ago may not be found yet.
+     *
+     * @param q the words to search for
+     * @param limit the maximum number of hits, at most 100
+     * @return the hits ordered by relevance, empty for a blank query
+     */
+    @GetMapping
+    public ResponseEntity<List<SearchHit>> search(@RequestParam String q, @RequestParam(defaultValue = "20") int limit) {
+        int resolvedLimit = Math.max(1, Math.min(limit, MAX_HITS));
+        return ResponseEntity.ok(searchIndex.search(q, resolvedLimit));
+    }
+
+    /**
+     * Rebuilds the search index of this instance from the database in the
+     * background, e.g. after rows were changed without the services. Searches
+     * use the current index until the new one is complete. Requests arriving
+     * before a queued rebuild starts are served by it.
+     *
+     * @param request the request of a user with the admin role
+     * @return a 202 response, the rebuild continues after it, or a 403 response
+     *         if the user is no admin
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuild(HttpServletRequest request) {
+        if (!request.isUserInRole(ADMIN_ROLE)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        searchIndex.requestRebuild();
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -12,13 +12,34 @@
  */
 package de.hse.golfclubmanagement.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.hse.golfclubmanagement.config.PaginationProperties;
+import de.hse.golfclubmanagement.dto.BulkImportResult;
+import de.hse.golfclubmanagement.dto.KeysetPage;
+import de.hse.golfclubmanagement.dto.LeaderboardView;
+import de.hse.golfclubmanagement.dto.StartSchedule;
+import de.hse.golfclubmanagement.dto.StartScheduleRequest;
+import de.hse.golfclubmanagement.dto.TournamentCalendar;
 import de.hse.golfclubmanagement.models.Tournament;
+import de.hse.golfclubmanagement.services.BulkImportService;
+import de.hse.golfclubmanagement.services.ChangeVersions;
+import de.hse.golfclubmanagement.services.LeaderboardService;
+import de.hse.golfclubmanagement.services.StartTimeService;
 import de.hse.golfclubmanagement.services.TournamentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * REST controller for managing Tournament entities.
@@ -33,38 +54,207 @@ public class TournamentController {
     @Autowired
     private TournamentService tournamentService;
 
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private StartTimeService startTimeService;
+
+    @Autowired
+    private ChangeVersions changeVersions;
+
+    @Autowired
+    private PaginationProperties paginationProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * Adds a new Tournament entity to the system.
      *
      * @param tournament the Tournament entity to be added
-     * @return the added Tournament entity
+     * @return the added Tournament entity, or a 404 response if there is no Tournament with its id
      */
     @PostMapping
     public ResponseEntity<Tournament> addTournament(@RequestBody Tournament tournament) {
         Tournament savedTournament = tournamentService.addTournament(tournament);
-        return ResponseEntity.ok(savedTournament);
+        return savedTournament != null ? ResponseEntity.ok(savedTournament) : ResponseEntity.notFound().build();
     }
 
     /**
      * Retrieves a list of all Tournament entities.
+     * The list is not read again if the client holds its current version.
      *
-     * @return a list of all Tournament entities
+     * @param request the request holding the conditional headers
+     * @return a list of all Tournament entities, or a 304 response if the list has not changed
      */
     @GetMapping
-    public ResponseEntity<List<Tournament>> getAllTournaments() {
-        List<Tournament> tournaments = tournamentService.getAllTournaments();
-        return ResponseEntity.ok(tournaments);
+    public ResponseEntity<List<Tournament>> getAllTournaments(WebRequest request) {
+        return ConditionalResponses.of(request, changeVersions, ChangeVersions.TOURNAMENTS,
+                () -> ResponseEntity.ok(tournamentService.getAllTournaments()));
     }
 
     /**
      * Finds a Tournament by its name.
      *
      * @param name the name of the Tournament to find
-     * @return the Tournament entity if found, or a 404 response if not
+     * @param request the request holding the conditional headers
+     * @return the Tournament entity if found, a 404 response if not,
+     *         or a 304 response if the Tournament entities have not changed
      */
     @GetMapping("/findByName")
-    public ResponseEntity<Tournament> findByName(@RequestParam String name) {
-        Tournament tournament = tournamentService.findByName(name);
-        return tournament != null ? ResponseEntity.ok(tournament) : ResponseEntity.notFound().build();
+    public ResponseEntity<Tournament> findByName(@RequestParam String name, WebRequest request) {
+        return ConditionalResponses.of(request, changeVersions, ChangeVersions.TOURNAMENTS, () -> {
+            Tournament tournament = tournamentService.findByName(name);
+            return tournament != null ? ResponseEntity.ok(tournament) : ResponseEntity.notFound().build();
+        });
+    }
+
+    /**
+     * Retrieves the Tournaments between two dates grouped by month, e.g. the
+     * season from April to October. Every month of the range is listed,
+     * including months without Tournaments.
+     *
+     * @param from the first day, inclusive, formatted as yyyy-mm-dd
+     * @param to the last day, inclusive, formatted as yyyy-mm-dd
+     * @return the calendar of the range
+     * @throws IllegalArgumentException if the range is inverted or longer than 24 months
+     */
+    @GetMapping("/calendar")
+    public ResponseEntity<TournamentCalendar> getCalendar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(tournamentService.getCalendar(from, to));
+    }
+
+    /**
+     * Retrieves the live standings of a Tournament, served from memory.
+     *
+     * @param id the id of the Tournament
+     * @param ranking the scores to rank by, gross or net
+     * @param limit the maximum number of standings, 0 for all
+     * @return the standings, or a 404 response if there is no Tournament with the id
+     * @throws IllegalArgumentException if the ranking is unknown or the limit is negative
+     */
+    @GetMapping("/{id}/leaderboard")
+    public ResponseEntity<LeaderboardView> getLeaderboard(@PathVariable long id,
+            @RequestParam(defaultValue = "gross") String ranking,
+            @RequestParam(defaultValue = "0") int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+        LeaderboardView leaderboard = leaderboardService.getLeaderboard(id,
+                LeaderboardView.Ranking.valueOf(ranking.toUpperCase(Locale.ROOT)), limit);
+        return leaderboard != null ? ResponseEntity.ok(leaderboard) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Subscribes to the live leaderboard of a Tournament as Server-Sent Events.
+     * The first event, named {@code leaderboard}, carries the current standings;
+     * every committed stroke submission follows as {@code score} event with the
+     * player, the hole and the new positions. Clients that fall behind are
+     * disconnected and may subscribe again.
+     *
+     * @param id the id of the Tournament
+     * @param ranking the scores the initial standings are ranked by, gross or net
+     * @return the event stream, or a 404 response if there is no Tournament with the id
+     * @throws IllegalArgumentException if the ranking is unknown
+     */
+    @GetMapping(value = "/{id}/leaderboard/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribeLeaderboard(@PathVariable long id,
+            @RequestParam(defaultValue = "gross") String ranking) {
+        SseEmitter emitter = leaderboardService.subscribe(id,
+                LeaderboardView.Ranking.valueOf(ranking.toUpperCase(Locale.ROOT)));
+        return emitter != null ? ResponseEntity.ok(emitter) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Assigns the participants of a Tournament to flights and tee times,
+     * replacing the stored start times. The response reports the quality and
+     * the runtime of the search.
+     *
+     * @param id the id of the Tournament
+     * @param request the GolfCourse, the start mode and the participants
+     * @return the new start times, or a 404 response if there is no Tournament with the id
+     * @throws IllegalArgumentException if the request is incomplete or names Members that do not exist
+     */
+    @PostMapping("/{id}/start-times")
+    public ResponseEntity<StartSchedule> scheduleStartTimes(@PathVariable long id,
+            @RequestBody StartScheduleRequest request) {
+        StartSchedule schedule = startTimeService.scheduleStartTimes(id, request);
+        return schedule != null ? ResponseEntity.ok(schedule) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Retrieves the stored start times of a Tournament.
+     *
+     * @param id the id of the Tournament
+     * @return the start times, or a 404 response if there is no Tournament with the id
+     */
+    @GetMapping("/{id}/start-times")
+    public ResponseEntity<StartSchedule> getStartTimes(@PathVariable long id) {
+        StartSchedule schedule = startTimeService.getStartTimes(id);
+        return schedule != null ? ResponseEntity.ok(schedule) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Retrieves one page of Tournament entities ordered by id. The next page is
+     * requested by passing the returned cursor as {@code after} parameter.
+     *
+     * @param after the id after which the page starts, 0 for the first page
+     * @param size the requested page size, limited by the configured maximum
+     * @param request the request holding the conditional headers
+     * @return the page of Tournament entities and the cursor of the next page,
+     *         or a 304 response if the Tournament entities have not changed
+     */
+    @GetMapping("/page")
+    public ResponseEntity<KeysetPage<Tournament>> getTournamentsPage(@RequestParam(defaultValue = "0") long after,
+            @RequestParam(required = false) Integer size, WebRequest request) {
+        int pageSize = paginationProperties.resolvePageSize(size);
+        return ConditionalResponses.of(request, changeVersions, ChangeVersions.TOURNAMENTS,
+                () -> ResponseEntity.ok(tournamentService.getTournamentsPage(after, pageSize)));
+    }
+
+    /**
+     * Streams all Tournament entities as newline delimited JSON, one entity per line.
+     * Rows are serialized while they are read from the database, so the response
+     * can be consumed incrementally regardless of the number of Tournament entities.
+     *
+     * @param request the request holding the conditional headers
+     * @return the streaming response, or a 304 response if the Tournament entities have not changed
+     */
+    @GetMapping(value = "/stream", produces = NdjsonStreams.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllTournaments(WebRequest request) {
+        return ConditionalResponses.of(request, changeVersions, ChangeVersions.TOURNAMENTS,
+                () -> NdjsonStreams.<Tournament>of(objectMapper, tournamentService::streamAllTournaments));
+    }
+
+    /**
+     * Imports Tournament entities from a JSON array. Invalid rows are skipped
+     * and reported, all other rows are written with batch inserts.
+     *
+     * @param tournaments the Tournament entities to import
+     * @return the import report with the per-row errors and the throughput
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkImportResult> importTournaments(@RequestBody List<Tournament> tournaments) {
+        return ResponseEntity.ok(bulkImportService.importTournaments(tournaments));
+    }
+
+    /**
+     * Imports Tournaments from CSV with the columns {@code name} and
+     * {@code date} (yyyy-mm-dd).
+     * Invalid rows are skipped and reported with their line number.
+     *
+     * @param csv the CSV request body including a header line
+     * @return the import report with the per-row errors and the throughput
+     * @throws IOException if the request body cannot be read
+     */
+    @PostMapping(value = "/bulk", consumes = BulkImportService.TEXT_CSV_VALUE)
+    public ResponseEntity<BulkImportResult> importTournamentsCsv(Reader csv) throws IOException {
+        return ResponseEntity.ok(bulkImportService.importTournamentsCsv(csv));
     }
 }
@@ -0,0 +1,84 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.dataset;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads a generated dataset on startup, e.g. to seed a development or test
+ * database from the command line:
+ * <pre>
+ * java -jar golfclub-management.jar --spring.main.web-application-type=none \
+ *     --golfclub.dataset.generate=true --golfclub.dataset.members=1000000
+ * </pre>
+ * Without a web server, the application stops once the data is loaded.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@Component
+@ConditionalOnProperty(name = "golfclub.dataset.generate", havingValue = "true")
+public class DatasetCommand implements ApplicationRunner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DatasetCommand.class);
+
+    @Autowired
+    private DatasetLoader datasetLoader;
+
+    @Value("${golfclub.dataset.seed:42}")
+    private long seed;
+
+    @Value("${golfclub.dataset.members:0}")
+    private int members;
+
+    @Value("${golfclub.dataset.golf-courses:0}")
+    private int golfCourses;
+
+    @Value("${golfclub.dataset.tournaments:0}")
+    private int tournaments;
+
+    /**
+     * Loads the configured numbers of Members, GolfCourses and Tournaments.
+     *
+     * @param args the application arguments, not used
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        DatasetGenerator generator = new DatasetGenerator(seed);
+        long start = System.nanoTime();
+        if (members > 0) {
+            long firstId = datasetLoader.loadMembers(generator, members);
+            LOG.info("Loaded {} members from id {} in {} ms", members, firstId, millisSince(start));
+        }
+        start = System.nanoTime();
+        if (golfCourses > 0) {
+            long firstId = datasetLoader.loadGolfCourses(generator, golfCourses);
+            LOG.info("Loaded {} golf courses from id {} in {} ms", golfCourses, firstId, millisSince(start));
+        }
+        start = System.nanoTime();
+        if (tournaments > 0) {
+            long firstId = datasetLoader.loadTournaments(generator, tournaments);
+            LOG.info("Loaded {} tournaments from id {} in {} ms", tournaments, firstId, millisSince(start));
+        }
+    }
+
+    private static long millisSince(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
@@ -0,0 +1,298 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.dataset;
+
+import de.hse.golfclubmanagement.models.GolfCourse;
+import de.hse.golfclubmanagement.models.Hole;
+import de.hse.golfclubmanagement.models.Member;
+import de.hse.golfclubmanagement.models.Tournament;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generates synthetic Members, GolfCourses with Holes and Tournaments of a large club.
+ * <p>
+ * Every entity is derived from the seed and its id alone, so the generator is
+ * deterministic and random access: the Member with id 4711 is the same, however
+ * many Members were generated before, and tests can look it up without keeping
+ * the generated data. Names are unique per id, as the {@code findByName} lookups
+ * expect a single match.
+ * <p>
+ * The distributions follow a typical club: most handicaps lie between 10 and 30
+ * with a long tail up to 54 and a few beginners at 54, most courses have 18 holes
+ * with 4 short, 10 medium and 4 long holes, and Tournaments are mostly played on
+ * the weekends of the season from April to October.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public final class DatasetGenerator {
+
+    private static final String[] FIRST_NAMES = {
+        "Anna", "Ben", "Clara", "David", "Emma", "Felix", "Greta", "Hannes", "Ida", "Jonas",
+        "Katharina", "Lukas", "Marie", "Niklas", "Olivia", "Paul", "Rosa", "Sebastian", "Sophie", "Tim",
+        "Ursula", "Valentin", "Wiebke", "Xaver", "Yvonne", "Zoe", "Jürgen", "Jörg", "Björn", "Chloé",
+        "Renée", "Søren", "Hans", "Petra", "Karl", "Monika", "Stefan", "Sabine", "Thomas", "Andrea"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Müller", "Schmidt", "Schneider", "Fischer", "Weber", "Meyer", "Wagner", "Becker", "Schulz", "Hoffmann",
+        "Schäfer", "Koch", "Bauer", "Richter", "Klein", "Wolf", "Schröder", "Neumann", "Schwarz", "Zimmermann",
+        "Braun", "Krüger", "Hofmann", "Hartmann", "Lange", "Schmitt", "Werner", "Schmitz", "Krause", "Meier",
+        "Lehmann", "Schmid", "Schulze", "Maier", "Köhler", "Herrmann", "König", "Walter", "Mayer", "Huber",
+        "Kaiser", "Fuchs", "Peters", "Lang", "Scholz", "Möller", "Weiß", "Jung", "Hahn", "Vogel"
+    };
+
+    private static final String[] COURSE_TYPES = {
+        "Golfclub", "Golfpark", "Golf & Country Club", "Golfanlage", "Golfresort"
+    };
+
+    private static final String[] PLACES = {
+        "Esslingen", "Stuttgart", "Reutlingen", "Tübingen", "Ulm", "Heilbronn", "Ludwigsburg", "Göppingen",
+        "Böblingen", "Schönbuch", "Neckartal", "Schwäbische Alb", "Bodensee", "Schwarzwald", "Hohenlohe",
+        "Kraichgau", "Allgäu", "Donautal", "Remstal", "Filstal"
+    };
+
+    private static final String[] TOURNAMENT_NAMES = {
+        "Monthly Medal", "Club Championship", "Spring Cup", "Summer Open", "Autumn Trophy", "Seniors Cup",
+        "Ladies Day", "Mixed Foursomes", "Charity Cup", "Presidents Cup", "Junior Open", "Captains Day"
+    };
+
+    private static final int[] CAPACITIES = {72, 96, 120, 144};
+
+    private final long seed;
+
+    private final long nameStride;
+
+    private final long nameOffset;
+
+    /**
+     * Creates a generator.
+     *
+     * @param seed the seed all entities are derived from
+     */
+    public DatasetGenerator(long seed) {
+        this.seed = seed;
+        SplittableRandom random = new SplittableRandom(seed);
+        long combinations = (long) FIRST_NAMES.length * LAST_NAMES.length;
+        long stride;
+        do {
+            stride = 1 + random.nextLong(combinations - 1);
+        } while (gcd(stride, combinations) != 1);
+        this.nameStride = stride;
+        this.nameOffset = random.nextLong(combinations);
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    private SplittableRandom random(long kind, long id) {
+        return new SplittableRandom(seed ^ (kind * 0x9E3779B97F4A7C15L) ^ (id * 0xBF58476D1CE4E5B9L));
+    }
+
+    // ####################
+    // Members
+
+    /**
+     * Generates a Member.
+     *
+     * @param id the id of the Member
+     * @return the Member with the id set
+     */
+    public Member member(long id) {
+        SplittableRandom random = random(1, id);
+        Member member = new Member();
+        member.setId(id);
+        member.setName(memberName(id));
+        member.setMembershipStatus(random.nextInt(100) < 88 ? "active" : "inactive");
+        member.setHandicap(handicap(random));
+        return member;
+    }
+
+    /**
+     * Gets the name of a generated Member; names are unique per id.
+     *
+     * @param id the id of the Member
+     * @return the name of the Member
+     */
+    public String memberName(long id) {
+        long combinations = (long) FIRST_NAMES.length * LAST_NAMES.length;
+        long index = Math.floorMod((id - 1) * nameStride + nameOffset, combinations);
+        long round = Math.floorDiv(id - 1, combinations);
+        String name = FIRST_NAMES[(int) (index % FIRST_NAMES.length)] + " " + LAST_NAMES[(int) (index / FIRST_NAMES.length)];
+        return round == 0 ? name : name + " " + (round + 1);
+    }
+
+    /**
+     * Draws a handicap: 6% beginners at 54, the others from a gamma distribution
+     * (shape 4, scale 4.75) shifted down by 2, so that a few players get a plus handicap.
+     */
+    private static int handicap(SplittableRandom random) {
+        if (random.nextInt(100) < 6) {
+            return 54;
+        }
+        double gamma = 0;
+        for (int i = 0; i < 4; i++) {
+            gamma -= Math.log(1 - random.nextDouble());
+        }
+        int handicap = (int) Math.round(gamma * 4.75 - 2);
+        return Math.max(-5, Math.min(54, handicap));
+    }
+
+    // ####################
+    // Golf courses
+
+    /**
+     * Gets the number of Holes of a generated GolfCourse: 18 for most courses, some with 9, 27 or 36.
+     *
+     * @param id the id of the GolfCourse
+     * @return the number of Holes
+     */
+    public int holeCount(long id) {
+        int value = random(2, id).nextInt(100);
+        if (value < 80) {
+            return 18;
+        } else if (value < 92) {
+            return 9;
+        }
+        return value < 97 ? 27 : 36;
+    }
+
+    /**
+     * Generates a GolfCourse with its Holes. The Holes have no ids.
+     *
+     * @param id the id of the GolfCourse
+     * @return the GolfCourse with the id set
+     */
+    public GolfCourse golfCourse(long id) {
+        SplittableRandom random = random(3, id);
+        GolfCourse golfCourse = new GolfCourse();
+        golfCourse.setId(id);
+        golfCourse.setName(golfCourseName(id));
+        golfCourse.setLocation(PLACES[random.nextInt(PLACES.length)]);
+
+        int holeCount = holeCount(id);
+        int[] strokeIndexes = shuffledRange(holeCount, random);
+        List<Hole> holes = new ArrayList<>(holeCount);
+        int totalLength = 0;
+        for (int loop = 0; loop < holeCount / 9; loop++) {
+            // every nine holes: two par 3, five par 4 and two par 5 in random order
+            int[] pars = {3, 3, 4, 4, 4, 4, 4, 5, 5};
+            shuffle(pars, random);
+            for (int i = 0; i < 9; i++) {
+                Hole hole = new Hole();
+                hole.setNummer(loop * 9 + i + 1);
+                hole.setPar(pars[i]);
+                hole.setLength(holeLength(pars[i], random));
+                hole.setStrokeIndex(strokeIndexes[loop * 9 + i]);
+                hole.setGolfCourse(golfCourse);
+                holes.add(hole);
+                totalLength += hole.getLength();
+            }
+        }
+        golfCourse.setHoles(holes);
+        // the rating of a scratch player over 18 holes grows with the length of the course
+        double lengthPer18 = totalLength * 18.0 / holeCount;
+        golfCourse.setCourseRating(Math.round((60 + lengthPer18 / 500 + random.nextDouble() * 2) * 10) / 10.0);
+        golfCourse.setSlopeRating(113 + random.nextInt(33));
+        return golfCourse;
+    }
+
+    /**
+     * Gets the name of a generated GolfCourse; names are unique per id.
+     *
+     * @param id the id of the GolfCourse
+     * @return the name of the GolfCourse
+     */
+    public String golfCourseName(long id) {
+        int combinations = COURSE_TYPES.length * PLACES.length;
+        int index = (int) Math.floorMod(id - 1, (long) combinations);
+        long round = Math.floorDiv(id - 1, combinations);
+        String name = COURSE_TYPES[index / PLACES.length] + " " + PLACES[index % PLACES.length];
+        return round == 0 ? name : name + " " + (round + 1);
+    }
+
+    private static int holeLength(int par, SplittableRandom random) {
+        switch (par) {
+            case 3:
+                return 100 + random.nextInt(101);
+            case 4:
+                return 260 + random.nextInt(171);
+            default:
+                return 420 + random.nextInt(141);
+        }
+    }
+
+    private static int[] shuffledRange(int size, SplittableRandom random) {
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i + 1;
+        }
+        shuffle(values, random);
+        return values;
+    }
+
+    private static void shuffle(int[] values, SplittableRandom random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+
+    // ####################
+    // Tournaments
+
+    /**
+     * Generates a Tournament. Tournaments are spread over the seasons from 2025 on,
+     * about 200 per season.
+     *
+     * @param id the id of the Tournament
+     * @return the Tournament with the id set
+     */
+    public Tournament tournament(long id) {
+        SplittableRandom random = random(4, id);
+        Tournament tournament = new Tournament();
+        tournament.setId(id);
+        tournament.setName(tournamentName(id));
+        tournament.setDate(java.sql.Date.valueOf(tournamentDate(id, random)));
+        tournament.setCapacity(random.nextBoolean() ? null : CAPACITIES[random.nextInt(CAPACITIES.length)]);
+        return tournament;
+    }
+
+    /**
+     * Gets the name of a generated Tournament; names are unique per id.
+     *
+     * @param id the id of the Tournament
+     * @return the name of the Tournament
+     */
+    public String tournamentName(long id) {
+        long index = Math.floorMod(id - 1, (long) TOURNAMENT_NAMES.length);
+        return TOURNAMENT_NAMES[(int) index] + " " + (Math.floorDiv(id - 1, TOURNAMENT_NAMES.length) + 1);
+    }
+
+    private static LocalDate tournamentDate(long id, SplittableRandom random) {
+        LocalDate seasonStart = LocalDate.of(2025 + (int) Math.floorDiv(id - 1, 200), 4, 1);
+        LocalDate date = seasonStart.plusDays(random.nextInt(208)); // April to October, the next weekend included
+        if (random.nextInt(100) < 80) {
+            date = date.with(TemporalAdjusters.nextOrSame(random.nextBoolean() ? DayOfWeek.SATURDAY : DayOfWeek.SUNDAY));
+        }
+        return date;
+    }
+}
@@ -0,0 +1,261 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.dataset;
+
+import de.hse.golfclubmanagement.config.CacheConfig;
+import de.hse.golfclubmanagement.config.ClubContext;
+import de.hse.golfclubmanagement.models.GolfCourse;
+import de.hse.golfclubmanagement.models.Hole;
+import de.hse.golfclubmanagement.models.Member;
+import de.hse.golfclubmanagement.models.Tournament;
+import de.hse.golfclubmanagement.services.ChangeVersions;
+import de.hse.golfclubmanagement.services.MemberNameIndex;
+import de.hse.golfclubmanagement.services.SearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads generated data into the database with JDBC batches, bypassing JPA.
+ * <p>
+ * The ids of the loaded rows are reserved in the {@code id_allocator} table in
+ * one step, the same way the table generators of the entities reserve their
+ * blocks, so entities saved later through JPA never collide with loaded rows.
+ * The rows are committed batch by batch unless the caller runs a transaction.
+ * They belong to the club of the current thread, or to the default club.
+ * Afterwards, the versions of the tables are incremented and the name lookup
+ * caches, the cached query results, the member name index and the search index
+ * are refreshed; the indexes only once the application is ready, before they are
+ * built on startup anyway. The search index is rebuilt in the background.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@Component
+public class DatasetLoader {
+
+    private static final String INSERT_MEMBER =
+            "INSERT INTO club_member (id, club_id, name, membership_status, handicap) VALUES (?, ?, ?, ?, ?)";
+
+    private static final int[] MEMBER_TYPES = {Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.INTEGER};
+
+    private static final String INSERT_GOLF_COURSE =
+            "INSERT INTO golf_course (id, club_id, name, location, course_rating, slope_rating) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final int[] GOLF_COURSE_TYPES = {Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.DOUBLE,
+        Types.INTEGER};
+
+    private static final String INSERT_HOLE =
+            "INSERT INTO hole (id, number, length, par, stroke_index, golfcourse_id) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final int[] HOLE_TYPES = {Types.BIGINT, Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.INTEGER,
+        Types.BIGINT};
+
+    private static final String INSERT_TOURNAMENT =
+            "INSERT INTO tournament (id, club_id, name, date, capacity) VALUES (?, ?, ?, ?, ?)";
+
+    private static final int[] TOURNAMENT_TYPES = {Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.DATE, Types.INTEGER};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ChangeVersions changeVersions;
+
+    @Autowired(required = false)
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired(required = false)
+    private MemberNameIndex memberNameIndex;
+
+    @Autowired(required = false)
+    private SearchIndex searchIndex;
+
+    @Value("${golfclub.dataset.batch-size:1000}")
+    private int batchSize;
+
+    private TransactionTemplate reservationTemplate;
+
+    private volatile boolean ready;
+
+    /**
+     * Creates the template reserving the ids in a transaction of its own.
+     */
+    @PostConstruct
+    void init() {
+        reservationTemplate = new TransactionTemplate(transactionManager);
+        reservationTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Notes that the application has started and built the member name index.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ready = true;
+    }
+
+    /**
+     * Loads generated Members.
+     *
+     * @param generator the generator of the Members
+     * @param count the number of Members to load
+     * @return the id of the first Member loaded, the others follow without gaps
+     */
+    public long loadMembers(DatasetGenerator generator, int count) {
+        long firstId = reserveIds("member", count);
+        long clubId = ClubContext.getClubIdOrDefault();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (long id = firstId; id < firstId + count; id++) {
+            Member member = generator.member(id);
+            batch.add(new Object[] {member.getId(), clubId, member.getName(), member.getMembershipStatus(), member.getHandicap()});
+            flushIfFull(INSERT_MEMBER, batch, MEMBER_TYPES);
+        }
+        flush(INSERT_MEMBER, batch, MEMBER_TYPES);
+        changeVersions.increment(ChangeVersions.MEMBERS);
+        clearCache(CacheConfig.MEMBER_BY_NAME);
+        evictQueryResults();
+        if (memberNameIndex != null && ready) {
+            memberNameIndex.rebuild();
+        }
+        rebuildSearchIndex();
+        return firstId;
+    }
+
+    /**
+     * Loads generated GolfCourses with their Holes.
+     *
+     * @param generator the generator of the GolfCourses
+     * @param count the number of GolfCourses to load
+     * @return the id of the first GolfCourse loaded, the others follow without gaps
+     */
+    public long loadGolfCourses(DatasetGenerator generator, int count) {
+        long firstId = reserveIds("golf_course", count);
+        long clubId = ClubContext.getClubIdOrDefault();
+        long holes = 0;
+        for (long id = firstId; id < firstId + count; id++) {
+            holes += generator.holeCount(id);
+        }
+        long holeId = reserveIds("hole", holes);
+        List<Object[]> courseBatch = new ArrayList<>(batchSize);
+        List<Object[]> holeBatch = new ArrayList<>(batchSize);
+        for (long id = firstId; id < firstId + count; id++) {
+            GolfCourse golfCourse = generator.golfCourse(id);
+            courseBatch.add(new Object[] {golfCourse.getId(), clubId, golfCourse.getName(), golfCourse.getLocation(),
+                golfCourse.getCourseRating(), golfCourse.getSlopeRating()});
+            for (Hole hole : golfCourse.getHoles()) {
+                holeBatch.add(new Object[] {holeId++, hole.getNumber(), hole.getLength(), hole.getPar(),
+                    hole.getStrokeIndex(), golfCourse.getId()});
+            }
+            if (courseBatch.size() >= batchSize || holeBatch.size() >= batchSize) {
+                flush(INSERT_GOLF_COURSE, courseBatch, GOLF_COURSE_TYPES);
+                flush(INSERT_HOLE, holeBatch, HOLE_TYPES); // holes only after their courses
+            }
+        }
+        flush(INSERT_GOLF_COURSE, courseBatch, GOLF_COURSE_TYPES);
+        flush(INSERT_HOLE, holeBatch, HOLE_TYPES);
+        changeVersions.increment(ChangeVersions.GOLF_COURSES);
+        clearCache(CacheConfig.GOLF_COURSE_BY_NAME);
+        evictQueryResults();
+        rebuildSearchIndex();
+        return firstId;
+    }
+
+    /**
+     * Loads generated Tournaments.
+     *
+     * @param generator the generator of the Tournaments
+     * @param count the number of Tournaments to load
+     * @return the id of the first Tournament loaded, the others follow without gaps
+     */
+    public long loadTournaments(DatasetGenerator generator, int count) {
+        long firstId = reserveIds("tournament", count);
+        long clubId = ClubContext.getClubIdOrDefault();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (long id = firstId; id < firstId + count; id++) {
+            Tournament tournament = generator.tournament(id);
+            batch.add(new Object[] {tournament.getId(), clubId, tournament.getName(), tournament.getDate(),
+                tournament.getCapacity()});
+            flushIfFull(INSERT_TOURNAMENT, batch, TOURNAMENT_TYPES);
+        }
+        flush(INSERT_TOURNAMENT, batch, TOURNAMENT_TYPES);
+        changeVersions.increment(ChangeVersions.TOURNAMENTS);
+        clearCache(CacheConfig.TOURNAMENT_BY_NAME);
+        clearCache(CacheConfig.TOURNAMENT_CALENDAR);
+        evictQueryResults();
+        rebuildSearchIndex();
+        return firstId;
+    }
+
+    /**
+     * Reserves a range of ids by moving the allocator of the table past it.
+     */
+    private long reserveIds(String sequence, long count) {
+        return reservationTemplate.execute(status -> {
+            jdbcTemplate.update("UPDATE id_allocator SET next_val = next_val + ? WHERE sequence_name = ?", count, sequence);
+            Long next = jdbcTemplate.queryForObject("SELECT next_val FROM id_allocator WHERE sequence_name = ?",
+                    Long.class, sequence);
+            return next - count;
+        });
+    }
+
+    private void flushIfFull(String sql, List<Object[]> batch, int[] types) {
+        if (batch.size() >= batchSize) {
+            flush(sql, batch, types);
+        }
+    }
+
+    private void flush(String sql, List<Object[]> batch, int[] types) {
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch, types);
+            batch.clear();
+        }
+    }
+
+    private void clearCache(String cacheName) {
+        Cache cache = cacheManager == null ? null : cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private void rebuildSearchIndex() {
+        if (searchIndex != null && ready) {
+            searchIndex.requestRebuild();
+        }
+    }
+
+    private void evictQueryResults() {
+        // Hibernate does not notice rows inserted with JDBC; the cached entities stay valid, as the rows have new ids
+        entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class).evictQueryRegions();
+    }
+}
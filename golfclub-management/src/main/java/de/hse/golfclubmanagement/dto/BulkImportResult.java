@@ -0,0 +1,145 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.dto;
+
+import java.util.List;
+
+/**
+ * Report of a bulk import, listing the rows that were rejected and the
+ * throughput of the rows that were written.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public class BulkImportResult {
+
+    private final int received;
+
+    private final int imported;
+
+    private final int failed;
+
+    private final List<RowError> errors;
+
+    private final long durationMillis;
+
+    /**
+     * Creates a new report.
+     *
+     * @param received the number of rows received
+     * @param imported the number of rows written to the database
+     * @param failed the number of rows rejected
+     * @param errors the errors of the rejected rows, possibly truncated
+     * @param durationMillis the duration of the import in milliseconds
+     */
+    public BulkImportResult(int received, int imported, int failed, List<RowError> errors, long durationMillis) {
+        this.received = received;
+        this.imported = imported;
+        this.failed = failed;
+        this.errors = errors;
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * Gets the number of rows received.
+     *
+     * @return the number of rows received
+     */
+    public int getReceived() {
+        return received;
+    }
+
+    /**
+     * Gets the number of rows written to the database.
+     *
+     * @return the number of imported rows
+     */
+    public int getImported() {
+        return imported;
+    }
+
+    /**
+     * Gets the number of rows rejected.
+     *
+     * @return the number of failed rows
+     */
+    public int getFailed() {
+        return failed;
+    }
+
+    /**
+     * Gets the errors of the rejected rows. Only the first errors are listed
+     * if many rows were rejected; {@link #getFailed()} is always complete.
+     *
+     * @return the row errors in input order
+     */
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Gets the duration of the import.
+     *
+     * @return the duration in milliseconds
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Gets the number of rows written per second.
+     *
+     * @return the throughput of the import
+     */
+    public double getRowsPerSecond() {
+        return durationMillis == 0 ? imported * 1000.0 : imported * 1000.0 / durationMillis;
+    }
+
+    /**
+     * The reason why a single row was rejected.
+     */
+    public static class RowError {
+
+        private final int row;
+
+        private final String message;
+
+        /**
+         * Creates a new row error.
+         *
+         * @param row the 1-based position of the row in a JSON array, or its line in a CSV file
+         * @param message the reason why the row was rejected
+         */
+        public RowError(int row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        /**
+         * Gets the position of the row.
+         *
+         * @return the 1-based position in a JSON array, or the line in a CSV file
+         */
+        public int getRow() {
+            return row;
+        }
+
+        /**
+         * Gets the reason why the row was rejected.
+         *
+         * @return the error message
+         */
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.dto;
+
+/**
+ * Snapshot of the counters of one in-process cache.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public class CacheStatistics {
+
+    private final String name;
+
+    private final long size;
+
+    private final long hitCount;
+
+    private final long missCount;
+
+    private final long evictionCount;
+
+    /**
+     * Creates a new snapshot.
+     *
+     * @param name the name of the cache
+     * @param size the estimated number of entries
+     * @param hitCount the number of lookups answered from the cache
+     * @param missCount the number of lookups that had to load the value
+     * @param evictionCount the number of entries evicted due to size or expiry
+     */
+    public CacheStatistics(String name, long size, long hitCount, long missCount, long evictionCount) {
+        this.name = name;
+        this.size = size;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+    }
+
+    /**
+     * Gets the name of the cache.
+     *
+     * @return the name of the cache
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the estimated number of entries.
+     *
+     * @return the estimated number of entries
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the number of lookups answered from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of lookups that had to load the value.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets the number of entries evicted due to size or expiry.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Gets the ratio of hits to all lookups.
+     *
+     * @return the hit rate between 0 and 1, or 1 if there was no lookup yet
+     */
+    public double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+}
@@ -0,0 +1,134 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.dto;
+
+import java.util.List;
+
+/**
+ * Distribution of the handicaps of the Members, counted in buckets of equal width.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public class HandicapHistogram {
+
+    private final String membershipStatus;
+
+    private final int bucketWidth;
+
+    private final long total;
+
+    private final List<Bucket> buckets;
+
+    /**
+     * Creates a new histogram.
+     *
+     * @param membershipStatus the membership status the Members were filtered by, or null for all Members
+     * @param bucketWidth the number of handicaps counted in one bucket
+     * @param total the number of Members counted
+     * @param buckets the buckets holding at least one Member, ordered by handicap
+     */
+    public HandicapHistogram(String membershipStatus, int bucketWidth, long total, List<Bucket> buckets) {
+        this.membershipStatus = membershipStatus;
+        this.bucketWidth = bucketWidth;
+        this.total = total;
+        this.buckets = buckets;
+    }
+
+    /**
+     * Gets the membership status the Members were filtered by.
+     *
+     * @return the membership status, or null for all Members
+     */
+    public String getMembershipStatus() {
+        return membershipStatus;
+    }
+
+    /**
+     * Gets the number of handicaps counted in one bucket.
+     *
+     * @return the bucket width
+     */
+    public int getBucketWidth() {
+        return bucketWidth;
+    }
+
+    /**
+     * Gets the number of Members counted.
+     *
+     * @return the number of Members
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Gets the buckets holding at least one Member, ordered by handicap.
+     *
+     * @return the buckets
+     */
+    public List<Bucket> getBuckets() {
+        return buckets;
+    }
+
+    /**
+     * Number of Members with a handicap in a closed range.
+     */
+    public static class Bucket {
+
+        private final int from;
+
+        private final int to;
+
+        private final long members;
+
+        /**
+         * Creates a new bucket.
+         *
+         * @param from the lowest handicap of the bucket, inclusive
+         * @param to the highest handicap of the bucket, inclusive
+         * @param members the number of Members in the bucket
+         */
+        public Bucket(int from, int to, long members) {
+            this.from = from;
+            this.to = to;
+            this.members = members;
+        }
+
+        /**
+         * Gets the lowest handicap of the bucket.
+         *
+         * @return the lowest handicap, inclusive
+         */
+        public int getFrom() {
+            return from;
+        }
+
+        /**
+         * Gets the highest handicap of the bucket.
+         *
+         * @return the highest handicap, inclusive
+         */
+        public int getTo() {
+            return to;
+        }
+
+        /**
+         * Gets the number of Members in the bucket.
+         *
+         * @return the number of Members
+         */
+        public long getMembers() {
+            return members;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A page of entities returned by a keyset (cursor) query on the entity id.
+ * The next page is requested with the returned cursor as {@code after} parameter.
+ * @param <T> the type of the entities on this page
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public class KeysetPage<T> {
+
+    /**
+     * The entities of this page, ordered by id.
+     */
+    private final List<T> items;
+
+    /**
+     * The id of the last entity on this page, or null if this is the last page.
+     */
+    private final Long nextCursor;
+
+    /**
+     * Creates a new page.
+     *
+     * @param items the entities of this page
+     * @param nextCursor the cursor of the next page, or null if there is none
+     */
+    public KeysetPage(List<T> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Creates a page from the result of a keyset query. If the query returned
+     * fewer entities than requested there is no next page.
+     *
+     * @param items the entities returned by the query, ordered by id
+     * @param size the requested page size
+     * @param idOf the function returning the id of an entity
+     * @param <T> the type of the entities
+     * @return the page
+     */
+    public static <T> KeysetPage<T> of(List<T> items, int size, Function<T, Long> idOf) {
+        Long nextCursor = items.size() < size || items.isEmpty() ? null : idOf.apply(items.get(items.size() - 1));
+        return new KeysetPage<>(items, nextCursor);
+    }
+
+    /**
+     * Gets the entities of this page.
+     *
+     * @return the entities ordered by id
+     */
+    public List<T> getItems() {
+        return this.items;
+    }
+
+    /**
+     * Gets the cursor for the next page.
+     *
+     * @return the id to pass as {@code after} parameter, or null on the last page
+     */
+    public Long getNextCursor() {
+        return this.nextCursor;
+    }
+}
@@ -0,0 +1,149 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.dto;
+
+/**
+ * Change of one player on the live leaderboard of a Tournament, pushed to the
+ * subscribers of the Tournament after every committed stroke submission.
+ * Only the player who submitted changes; the positions of the other players
+ * follow from the new positions, or from a fresh leaderboard.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public class LeaderboardEvent {
+
+    private final long tournamentId;
+
+    private final long memberId;
+
+    private final Integer hole;
+
+    private final int strokes;
+
+    private final int holesPlayed;
+
+    private final int toPar;
+
+    private final int netToPar;
+
+    private final int position;
+
+    private final int netPosition;
+
+    /**
+     * Creates a new event.
+     *
+     * @param tournamentId the id of the Tournament
+     * @param memberId the id of the Member
+     * @param hole the number of the last hole changed, or null if no hole changed
+     * @param strokes the strokes now recorded on the hole, 0 if it was cleared
+     * @param holesPlayed the number of holes played so far
+     * @param toPar the gross strokes relative to the par of the holes played
+     * @param netToPar the net strokes relative to the par of the holes played
+     * @param position the new position in the gross ranking
+     * @param netPosition the new position in the net ranking
+     */
+    public LeaderboardEvent(long tournamentId, long memberId, Integer hole, int strokes, int holesPlayed,
+            int toPar, int netToPar, int position, int netPosition) {
+        this.tournamentId = tournamentId;
+        this.memberId = memberId;
+        this.hole = hole;
+        this.strokes = strokes;
+        this.holesPlayed = holesPlayed;
+        this.toPar = toPar;
+        this.netToPar = netToPar;
+        this.position = position;
+        this.netPosition = netPosition;
+    }
+
+    /**
+     * Gets the id of the Tournament.
+     *
+     * @return the id of the Tournament
+     */
+    public long getTournamentId() {
+        return tournamentId;
+    }
+
+    /**
+     * Gets the id of the Member.
+     *
+     * @return the id of the Member
+     */
+    public long getMemberId() {
+        return memberId;
+    }
+
+    /**
+     * Gets the number of the last hole changed, in the order of the hole numbers.
+     *
+     * @return the hole number, or null if no hole changed, e.g. for a new Scorecard
+     */
+    public Integer getHole() {
+        return hole;
+    }
+
+    /**
+     * Gets the strokes now recorded on the hole.
+     *
+     * @return the strokes, 0 if the hole was cleared
+     */
+    public int getStrokes() {
+        return strokes;
+    }
+
+    /**
+     * Gets the number of holes played so far.
+     *
+     * @return the number of holes played
+     */
+    public int getHolesPlayed() {
+        return holesPlayed;
+    }
+
+    /**
+     * Gets the gross strokes relative to the par of the holes played.
+     *
+     * @return the gross strokes relative to par
+     */
+    public int getToPar() {
+        return toPar;
+    }
+
+    /**
+     * Gets the net strokes relative to the par of the holes played.
+     *
+     * @return the net strokes relative to par
+     */
+    public int getNetToPar() {
+        return netToPar;
+    }
+
+    /**
+     * Gets the new position in the gross ranking.
+     *
+     * @return the position, starting at 1
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * Gets the new position in the net ranking.
+     *
+     * @return the position, starting at 1
+     */
+    public int getNetPosition() {
+        return netPosition;
+    }
+}
@@ -0,0 +1,185 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.dto;
+
+import java.util.List;
+
+/**
+ * Current standings of a Tournament, ranked by gross or by net strokes
+ * relative to the par of the holes played.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public class LeaderboardView {
+
+    /**
+     * The scores a leaderboard is ranked by.
+     */
+    public enum Ranking {
+        /** Strokes played. */
+        GROSS,
+        /** Strokes played less the handicap strokes. */
+        NET
+    }
+
+    private final long tournamentId;
+
+    private final Ranking ranking;
+
+    private final int players;
+
+    private final List<Standing> standings;
+
+    /**
+     * Creates a new view.
+     *
+     * @param tournamentId the id of the Tournament
+     * @param ranking the scores the standings are ranked by
+     * @param players the number of players with a Scorecard
+     * @param standings the standings from the first position, possibly limited
+     */
+    public LeaderboardView(long tournamentId, Ranking ranking, int players, List<Standing> standings) {
+        this.tournamentId = tournamentId;
+        this.ranking = ranking;
+        this.players = players;
+        this.standings = standings;
+    }
+
+    /**
+     * Gets the id of the Tournament.
+     *
+     * @return the id of the Tournament
+     */
+    public long getTournamentId() {
+        return tournamentId;
+    }
+
+    /**
+     * Gets the scores the standings are ranked by.
+     *
+     * @return the ranking
+     */
+    public Ranking getRanking() {
+        return ranking;
+    }
+
+    /**
+     * Gets the number of players with a Scorecard, including those not listed
+     * because of a limit.
+     *
+     * @return the number of players
+     */
+    public int getPlayers() {
+        return players;
+    }
+
+    /**
+     * Gets the standings from the first position.
+     *
+     * @return the standings
+     */
+    public List<Standing> getStandings() {
+        return standings;
+    }
+
+    /**
+     * Position of one player. Players level after countback share a position.
+     */
+    public static class Standing {
+
+        private final int position;
+
+        private final boolean tied;
+
+        private final long memberId;
+
+        private final int holesPlayed;
+
+        private final int strokes;
+
+        private final int toPar;
+
+        /**
+         * Creates a new standing.
+         *
+         * @param position the position, starting at 1
+         * @param tied whether other players share the position
+         * @param memberId the id of the Member
+         * @param holesPlayed the number of holes played so far
+         * @param strokes the gross or net strokes of the holes played
+         * @param toPar the gross or net strokes relative to the par of the holes played
+         */
+        public Standing(int position, boolean tied, long memberId, int holesPlayed, int strokes, int toPar) {
+            this.position = position;
+            this.tied = tied;
+            this.memberId = memberId;
+            this.holesPlayed = holesPlayed;
+            this.strokes = strokes;
+            this.toPar = toPar;
+        }
+
+        /**
+         * Gets the position, starting at 1.
+         *
+         * @return the position
+         */
+        public int getPosition() {
+            return position;
+        }
+
+        /**
+         * Gets whether other players share the position.
+         *
+         * @return true if the position is shared
+         */
+        public boolean isTied() {
+            return tied;
+        }
+
+        /**
+         * Gets the id of the Member.
+         *
+         * @return the id of the Member
+         */
+        public long getMemberId() {
+            return memberId;
+        }
+
+        /**
+         * Gets the number of holes played so far.
+         *
+         * @return the number of holes played
+         */
+        public int getHolesPlayed() {
+            return holesPlayed;
+        }
+
+        /**
+         * Gets the gross or net strokes of the holes played.
+         *
+         * @return the strokes
+         */
+        public int getStrokes() {
+            return strokes;
+        }
+
+        /**
+         * Gets the gross or net strokes relative to the par of the holes played.
+         *
+         * @return the strokes relative to par
+         */
+        public int getToPar() {
+            return toPar;
+        }
+    }
+}
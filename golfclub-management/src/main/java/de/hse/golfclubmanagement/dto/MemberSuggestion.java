@@ -0,0 +1,54 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.dto;
+
+/**
+ * A Member name offered by the autocomplete of the member search.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public class MemberSuggestion {
+
+    private final long id;
+
+    private final String name;
+
+    /**
+     * Creates a new suggestion.
+     *
+     * @param id the id of the Member
+     * @param name the name of the Member as stored
+     */
+    public MemberSuggestion(long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    /**
+     * Gets the id of the Member.
+     *
+     * @return the id of the Member
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the name of the Member.
+     *
+     * @return the name of the Member
+     */
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,61 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.dto;
+
+/**
+ * Request to register a Member or a guest for a Tournament.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public class RegistrationRequest {
+
+    private Long memberId;
+
+    private String guestName;
+
+    /**
+     * Gets the id of the Member to register.
+     *
+     * @return the id of the Member, null for a guest
+     */
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    /**
+     * Sets the id of the Member to register.
+     *
+     * @param memberId the id of the Member, null for a guest
+     */
+    public void setMemberId(Long memberId) {
+        this.memberId = memberId;
+    }
+
+    /**
+     * Gets the name of the guest to register.
+     *
+     * @return the name of the guest, null for a Member
+     */
+    public String getGuestName() {
+        return guestName;
+    }
+
+    /**
+     * Sets the name of the guest to register.
+     *
+     * @param guestName the name of the guest, null for a Member
+     */
+    public void setGuestName(String guestName) {
+        this.guestName = guestName;
+    }
+}
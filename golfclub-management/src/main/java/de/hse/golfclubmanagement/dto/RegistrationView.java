@@ -0,0 +1,118 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.dto;
+
+import de.hse.golfclubmanagement.models.Registration;
+
+import java.time.Instant;
+
+/**
+ * A registration for a Tournament with its place on the waitlist.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public class RegistrationView {
+
+    private final long id;
+
+    private final long tournamentId;
+
+    private final Long memberId;
+
+    private final String guestName;
+
+    private final Registration.Status status;
+
+    private final Integer waitlistPosition;
+
+    private final Instant registeredAt;
+
+    /**
+     * Creates a new view.
+     *
+     * @param registration the registration
+     * @param waitlistPosition the place on the waitlist starting at 1, null for a confirmed registration
+     */
+    public RegistrationView(Registration registration, Integer waitlistPosition) {
+        this.id = registration.getId();
+        this.tournamentId = registration.getTournamentId();
+        this.memberId = registration.getMemberId();
+        this.guestName = registration.getGuestName();
+        this.status = registration.getStatus();
+        this.waitlistPosition = waitlistPosition;
+        this.registeredAt = registration.getRegisteredAt();
+    }
+
+    /**
+     * Gets the id of the registration.
+     *
+     * @return the id
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the id of the Tournament.
+     *
+     * @return the id of the Tournament
+     */
+    public long getTournamentId() {
+        return tournamentId;
+    }
+
+    /**
+     * Gets the id of the Member registered.
+     *
+     * @return the id of the Member, null for a guest
+     */
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    /**
+     * Gets the name of the guest registered.
+     *
+     * @return the name of the guest, null for a Member
+     */
+    public String getGuestName() {
+        return guestName;
+    }
+
+    /**
+     * Gets whether the participant has a place or waits for one.
+     *
+     * @return the state
+     */
+    public Registration.Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets the place on the waitlist.
+     *
+     * @return the place starting at 1, null for a confirmed registration
+     */
+    public Integer getWaitlistPosition() {
+        return waitlistPosition;
+    }
+
+    /**
+     * Gets the time of the registration.
+     *
+     * @return the time of the registration
+     */
+    public Instant getRegisteredAt() {
+        return registeredAt;
+    }
+}
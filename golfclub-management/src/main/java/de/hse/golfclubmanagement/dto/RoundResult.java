@@ -0,0 +1,134 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.dto;
+
+/**
+ * Result of one participant of a Tournament: net score and Stableford points
+ * over the holes played, with the handicap strokes allocated by stroke index.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public class RoundResult {
+
+    private final long memberId;
+
+    private final long golfCourseId;
+
+    private final int playingHandicap;
+
+    private final int holesPlayed;
+
+    private final int gross;
+
+    private final int net;
+
+    private final int netToPar;
+
+    private final int stablefordPoints;
+
+    /**
+     * Creates a new result.
+     *
+     * @param memberId the id of the Member
+     * @param golfCourseId the id of the GolfCourse played
+     * @param playingHandicap the handicap strokes received on the GolfCourse
+     * @param holesPlayed the number of holes played
+     * @param gross the strokes played
+     * @param net the strokes played less the handicap strokes of the holes played
+     * @param netToPar the net strokes relative to the par of the holes played
+     * @param stablefordPoints the Stableford points of the holes played
+     */
+    public RoundResult(long memberId, long golfCourseId, int playingHandicap, int holesPlayed, int gross, int net,
+            int netToPar, int stablefordPoints) {
+        this.memberId = memberId;
+        this.golfCourseId = golfCourseId;
+        this.playingHandicap = playingHandicap;
+        this.holesPlayed = holesPlayed;
+        this.gross = gross;
+        this.net = net;
+        this.netToPar = netToPar;
+        this.stablefordPoints = stablefordPoints;
+    }
+
+    /**
+     * Gets the id of the Member.
+     *
+     * @return the id of the Member
+     */
+    public long getMemberId() {
+        return memberId;
+    }
+
+    /**
+     * Gets the id of the GolfCourse played.
+     *
+     * @return the id of the GolfCourse
+     */
+    public long getGolfCourseId() {
+        return golfCourseId;
+    }
+
+    /**
+     * Gets the handicap strokes received on the GolfCourse.
+     *
+     * @return the playing handicap
+     */
+    public int getPlayingHandicap() {
+        return playingHandicap;
+    }
+
+    /**
+     * Gets the number of holes played.
+     *
+     * @return the number of holes played
+     */
+    public int getHolesPlayed() {
+        return holesPlayed;
+    }
+
+    /**
+     * Gets the strokes played.
+     *
+     * @return the gross strokes
+     */
+    public int getGross() {
+        return gross;
+    }
+
+    /**
+     * Gets the strokes played less the handicap strokes of the holes played.
+     *
+     * @return the net strokes
+     */
+    public int getNet() {
+        return net;
+    }
+
+    /**
+     * Gets the net strokes relative to the par of the holes played.
+     *
+     * @return the net strokes relative to par
+     */
+    public int getNetToPar() {
+        return netToPar;
+    }
+
+    /**
+     * Gets the Stableford points of the holes played.
+     *
+     * @return the Stableford points
+     */
+    public int getStablefordPoints() {
+        return stablefordPoints;
+    }
+}
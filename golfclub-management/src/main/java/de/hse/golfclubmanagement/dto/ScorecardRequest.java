@@ -0,0 +1,61 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.dto;
+
+/**
+ * Request to open a Scorecard for a Member in a Tournament.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public class ScorecardRequest {
+
+    private Long memberId;
+
+    private Long golfCourseId;
+
+    /**
+     * Gets the id of the Member playing the card.
+     *
+     * @return the id of the Member
+     */
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    /**
+     * Sets the id of the Member playing the card.
+     *
+     * @param memberId the id of the Member
+     */
+    public void setMemberId(Long memberId) {
+        this.memberId = memberId;
+    }
+
+    /**
+     * Gets the id of the GolfCourse played.
+     *
+     * @return the id of the GolfCourse
+     */
+    public Long getGolfCourseId() {
+        return golfCourseId;
+    }
+
+    /**
+     * Sets the id of the GolfCourse played.
+     *
+     * @param golfCourseId the id of the GolfCourse
+     */
+    public void setGolfCourseId(Long golfCourseId) {
+        this.golfCourseId = golfCourseId;
+    }
+}
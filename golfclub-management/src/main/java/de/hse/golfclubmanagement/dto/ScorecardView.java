@@ -0,0 +1,227 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.dto;
+
+/**
+ * A Scorecard together with its totals over the holes played so far.
+ * Net values and Stableford points deduct the handicap strokes allocated to
+ * the holes played by their stroke index, so partly played cards can be compared.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public class ScorecardView {
+
+    private final long id;
+
+    private final long tournamentId;
+
+    private final long memberId;
+
+    private final long golfCourseId;
+
+    private final int handicap;
+
+    private final int playingHandicap;
+
+    private final int[] holeNumbers;
+
+    private final int[] strokes;
+
+    private final int holesPlayed;
+
+    private final int gross;
+
+    private final int toPar;
+
+    private final int net;
+
+    private final int netToPar;
+
+    private final int stablefordPoints;
+
+    private final int version;
+
+    /**
+     * Creates a new view.
+     *
+     * @param id the id of the Scorecard
+     * @param tournamentId the id of the Tournament
+     * @param memberId the id of the Member
+     * @param golfCourseId the id of the GolfCourse
+     * @param handicap the handicap of the Member when the card was created
+     * @param playingHandicap the handicap strokes received on the GolfCourse played
+     * @param holeNumbers the hole numbers in playing order
+     * @param strokes the strokes per hole in the order of the hole numbers, 0 if not played
+     * @param holesPlayed the number of holes played
+     * @param gross the strokes played
+     * @param toPar the strokes played relative to the par of the holes played
+     * @param net the strokes played less the handicap strokes of the holes played
+     * @param netToPar the net strokes relative to the par of the holes played
+     * @param stablefordPoints the Stableford points of the holes played
+     * @param version the version of the Scorecard, increased with every change
+     */
+    public ScorecardView(long id, long tournamentId, long memberId, long golfCourseId, int handicap, int playingHandicap,
+            int[] holeNumbers, int[] strokes, int holesPlayed, int gross, int toPar, int net, int netToPar,
+            int stablefordPoints, int version) {
+        this.id = id;
+        this.tournamentId = tournamentId;
+        this.memberId = memberId;
+        this.golfCourseId = golfCourseId;
+        this.handicap = handicap;
+        this.playingHandicap = playingHandicap;
+        this.holeNumbers = holeNumbers;
+        this.strokes = strokes;
+        this.holesPlayed = holesPlayed;
+        this.gross = gross;
+        this.toPar = toPar;
+        this.net = net;
+        this.netToPar = netToPar;
+        this.stablefordPoints = stablefordPoints;
+        this.version = version;
+    }
+
+    /**
+     * Gets the id of the Scorecard.
+     *
+     * @return the id of the Scorecard
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the id of the Tournament.
+     *
+     * @return the id of the Tournament
+     */
+    public long getTournamentId() {
+        return tournamentId;
+    }
+
+    /**
+     * Gets the id of the Member.
+     *
+     * @return the id of the Member
+     */
+    public long getMemberId() {
+        return memberId;
+    }
+
+    /**
+     * Gets the id of the GolfCourse.
+     *
+     * @return the id of the GolfCourse
+     */
+    public long getGolfCourseId() {
+        return golfCourseId;
+    }
+
+    /**
+     * Gets the handicap of the Member when the card was created.
+     *
+     * @return the handicap
+     */
+    public int getHandicap() {
+        return handicap;
+    }
+
+    /**
+     * Gets the playing handicap, i.e. the handicap strokes received on the GolfCourse played.
+     *
+     * @return the playing handicap
+     */
+    public int getPlayingHandicap() {
+        return playingHandicap;
+    }
+
+    /**
+     * Gets the hole numbers in playing order.
+     *
+     * @return the hole numbers
+     */
+    public int[] getHoleNumbers() {
+        return holeNumbers;
+    }
+
+    /**
+     * Gets the strokes per hole in the order of the hole numbers.
+     *
+     * @return the strokes, 0 for holes not played
+     */
+    public int[] getStrokes() {
+        return strokes;
+    }
+
+    /**
+     * Gets the number of holes played.
+     *
+     * @return the number of holes played
+     */
+    public int getHolesPlayed() {
+        return holesPlayed;
+    }
+
+    /**
+     * Gets the strokes played.
+     *
+     * @return the gross score
+     */
+    public int getGross() {
+        return gross;
+    }
+
+    /**
+     * Gets the strokes played relative to the par of the holes played.
+     *
+     * @return the gross score to par
+     */
+    public int getToPar() {
+        return toPar;
+    }
+
+    /**
+     * Gets the strokes played less the handicap strokes of the holes played.
+     *
+     * @return the net score
+     */
+    public int getNet() {
+        return net;
+    }
+
+    /**
+     * Gets the net strokes relative to the par of the holes played.
+     *
+     * @return the net score to par
+     */
+    public int getNetToPar() {
+        return netToPar;
+    }
+
+    /**
+     * Gets the Stableford points of the holes played.
+     *
+     * @return the Stableford points
+     */
+    public int getStablefordPoints() {
+        return stablefordPoints;
+    }
+
+    /**
+     * Gets the version of the Scorecard, increased with every change.
+     *
+     * @return the version
+     */
+    public int getVersion() {
+        return version;
+    }
+}
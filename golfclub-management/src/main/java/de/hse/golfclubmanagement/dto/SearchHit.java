@@ -0,0 +1,93 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.dto;
+
+/**
+ * A Member, GolfCourse or Tournament found by the full-text search.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public class SearchHit {
+
+    private final String type;
+
+    private final long id;
+
+    private final String name;
+
+    private final String location;
+
+    private final float score;
+
+    /**
+     * Creates a new hit.
+     *
+     * @param type the type of the entity, {@code member}, {@code golfCourse} or {@code tournament}
+     * @param id the id of the entity
+     * @param name the name of the entity as stored
+     * @param location the location of a GolfCourse, null for the other types
+     * @param score the relevance of the hit, higher is better
+     */
+    public SearchHit(String type, long id, String name, String location, float score) {
+        this.type = type;
+        this.id = id;
+        this.name = name;
+        this.location = location;
+        this.score = score;
+    }
+
+    /**
+     * Gets the type of the entity.
+     *
+     * @return {@code member}, {@code golfCourse} or {@code tournament}
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Gets the id of the entity.
+     *
+     * @return the id of the entity
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the name of the entity.
+     *
+     * @return the name of the entity
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the location of a GolfCourse.
+     *
+     * @return the location, null for Members and Tournaments
+     */
+    public String getLocation() {
+        return location;
+    }
+
+    /**
+     * Gets the relevance of the hit.
+     *
+     * @return the score of the hit, higher is better
+     */
+    public float getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,280 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.dto;
+
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * The flights of a Tournament with their tee times and start holes. A
+ * schedule just computed also reports the quality and runtime of the search.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public class StartSchedule {
+
+    private final long tournamentId;
+
+    private final Long golfCourseId;
+
+    private final List<Flight> flights;
+
+    private final Metrics metrics;
+
+    /**
+     * Creates a new schedule.
+     *
+     * @param tournamentId the id of the Tournament
+     * @param golfCourseId the id of the GolfCourse played, null if nothing is scheduled
+     * @param flights the flights ordered by number
+     * @param metrics the metrics of the search, null for a stored schedule
+     */
+    public StartSchedule(long tournamentId, Long golfCourseId, List<Flight> flights, Metrics metrics) {
+        this.tournamentId = tournamentId;
+        this.golfCourseId = golfCourseId;
+        this.flights = flights;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Gets the id of the Tournament.
+     *
+     * @return the id of the Tournament
+     */
+    public long getTournamentId() {
+        return tournamentId;
+    }
+
+    /**
+     * Gets the id of the GolfCourse played.
+     *
+     * @return the id of the GolfCourse, null if nothing is scheduled
+     */
+    public Long getGolfCourseId() {
+        return golfCourseId;
+    }
+
+    /**
+     * Gets the flights.
+     *
+     * @return the flights ordered by number
+     */
+    public List<Flight> getFlights() {
+        return flights;
+    }
+
+    /**
+     * Gets the metrics of the search.
+     *
+     * @return the metrics, null for a stored schedule
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * A group of players teeing off together.
+     */
+    public static class Flight {
+
+        private final int number;
+
+        private final LocalTime teeTime;
+
+        private final int startHole;
+
+        private final List<Long> memberIds;
+
+        /**
+         * Creates a new flight.
+         *
+         * @param number the number of the flight, starting at 1
+         * @param teeTime the tee time
+         * @param startHole the number of the hole the flight starts on
+         * @param memberIds the ids of the Members of the flight
+         */
+        public Flight(int number, LocalTime teeTime, int startHole, List<Long> memberIds) {
+            this.number = number;
+            this.teeTime = teeTime;
+            this.startHole = startHole;
+            this.memberIds = memberIds;
+        }
+
+        /**
+         * Gets the number of the flight.
+         *
+         * @return the number, starting at 1
+         */
+        public int getNumber() {
+            return number;
+        }
+
+        /**
+         * Gets the tee time.
+         *
+         * @return the tee time
+         */
+        public LocalTime getTeeTime() {
+            return teeTime;
+        }
+
+        /**
+         * Gets the number of the hole the flight starts on.
+         *
+         * @return the start hole
+         */
+        public int getStartHole() {
+            return startHole;
+        }
+
+        /**
+         * Gets the ids of the Members of the flight.
+         *
+         * @return the ids of the Members
+         */
+        public List<Long> getMemberIds() {
+            return memberIds;
+        }
+    }
+
+    /**
+     * Quality and runtime of the search.
+     */
+    public static class Metrics {
+
+        private final int players;
+
+        private final int flights;
+
+        private final int threads;
+
+        private final long moves;
+
+        private final long runtimeMillis;
+
+        private final double cost;
+
+        private final double handicapSpread;
+
+        private final int missedPartnerRequests;
+
+        private final int timeWindowViolations;
+
+        /**
+         * Creates new metrics.
+         *
+         * @param players the number of players scheduled
+         * @param flights the number of flights
+         * @param threads the number of searches run in parallel
+         * @param moves the number of moves evaluated
+         * @param runtimeMillis the time the search took
+         * @param cost the weighted cost of the schedule
+         * @param handicapSpread the difference between the highest and the lowest average playing handicap of a flight
+         * @param missedPartnerRequests the number of pairs of partners in different flights
+         * @param timeWindowViolations the number of players starting outside their time window
+         */
+        public Metrics(int players, int flights, int threads, long moves, long runtimeMillis, double cost,
+                double handicapSpread, int missedPartnerRequests, int timeWindowViolations) {
+            this.players = players;
+            this.flights = flights;
+            this.threads = threads;
+            this.moves = moves;
+            this.runtimeMillis = runtimeMillis;
+            this.cost = cost;
+            this.handicapSpread = handicapSpread;
+            this.missedPartnerRequests = missedPartnerRequests;
+            this.timeWindowViolations = timeWindowViolations;
+        }
+
+        /**
+         * Gets the number of players scheduled.
+         *
+         * @return the number of players
+         */
+        public int getPlayers() {
+            return players;
+        }
+
+        /**
+         * Gets the number of flights.
+         *
+         * @return the number of flights
+         */
+        public int getFlights() {
+            return flights;
+        }
+
+        /**
+         * Gets the number of searches run in parallel.
+         *
+         * @return the number of threads
+         */
+        public int getThreads() {
+            return threads;
+        }
+
+        /**
+         * Gets the number of moves evaluated by all searches.
+         *
+         * @return the number of moves
+         */
+        public long getMoves() {
+            return moves;
+        }
+
+        /**
+         * Gets the time the search took.
+         *
+         * @return the runtime in milliseconds
+         */
+        public long getRuntimeMillis() {
+            return runtimeMillis;
+        }
+
+        /**
+         * Gets the weighted cost of the schedule, 0 for a perfect one.
+         *
+         * @return the cost
+         */
+        public double getCost() {
+            return cost;
+        }
+
+        /**
+         * Gets the difference between the highest and the lowest average playing handicap of a flight.
+         *
+         * @return the handicap spread
+         */
+        public double getHandicapSpread() {
+            return handicapSpread;
+        }
+
+        /**
+         * Gets the number of pairs of partners in different flights.
+         *
+         * @return the missed partner requests
+         */
+        public int getMissedPartnerRequests() {
+            return missedPartnerRequests;
+        }
+
+        /**
+         * Gets the number of players starting outside their time window.
+         *
+         * @return the time window violations
+         */
+        public int getTimeWindowViolations() {
+            return timeWindowViolations;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.dto;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request to assign the participants of a Tournament to flights and tee times.
+ * Flights either tee off one after another from the first hole
+ * ({@code sequential}) or all at the same time from different holes
+ * ({@code shotgun}). Without a list of participants, the Members with a
+ * Scorecard in the Tournament are scheduled.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public class StartScheduleRequest {
+
+    private Long golfCourseId;
+
+    private String mode = "sequential";
+
+    private LocalTime firstTeeTime;
+
+    private int intervalMinutes = 10;
+
+    private int flightSize = 4;
+
+    private Long timeBudgetMillis;
+
+    private List<Participant> participants = new ArrayList<>();
+
+    /**
+     * Gets the id of the GolfCourse played.
+     *
+     * @return the id of the GolfCourse
+     */
+    public Long getGolfCourseId() {
+        return golfCourseId;
+    }
+
+    /**
+     * Sets the id of the GolfCourse played.
+     *
+     * @param golfCourseId the id of the GolfCourse
+     */
+    public void setGolfCourseId(Long golfCourseId) {
+        this.golfCourseId = golfCourseId;
+    }
+
+    /**
+     * Gets how the flights start, {@code sequential} or {@code shotgun}.
+     *
+     * @return the start mode
+     */
+    public String getMode() {
+        return mode;
+    }
+
+    /**
+     * Sets how the flights start, {@code sequential} or {@code shotgun}.
+     *
+     * @param mode the start mode
+     */
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Gets the tee time of the first flight, the start time of all flights in a shotgun start.
+     *
+     * @return the first tee time
+     */
+    public LocalTime getFirstTeeTime() {
+        return firstTeeTime;
+    }
+
+    /**
+     * Sets the tee time of the first flight, the start time of all flights in a shotgun start.
+     *
+     * @param firstTeeTime the first tee time
+     */
+    public void setFirstTeeTime(LocalTime firstTeeTime) {
+        this.firstTeeTime = firstTeeTime;
+    }
+
+    /**
+     * Gets the minutes between two tee times of a sequential start.
+     *
+     * @return the interval in minutes
+     */
+    public int getIntervalMinutes() {
+        return intervalMinutes;
+    }
+
+    /**
+     * Sets the minutes between two tee times of a sequential start.
+     *
+     * @param intervalMinutes the interval in minutes
+     */
+    public void setIntervalMinutes(int intervalMinutes) {
+        this.intervalMinutes = intervalMinutes;
+    }
+
+    /**
+     * Gets the largest number of players in a flight.
+     *
+     * @return the flight size
+     */
+    public int getFlightSize() {
+        return flightSize;
+    }
+
+    /**
+     * Sets the largest number of players in a flight.
+     *
+     * @param flightSize the flight size
+     */
+    public void setFlightSize(int flightSize) {
+        this.flightSize = flightSize;
+    }
+
+    /**
+     * Gets the time the search may take, null for the configured default.
+     *
+     * @return the time budget in milliseconds
+     */
+    public Long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+
+    /**
+     * Sets the time the search may take, null for the configured default.
+     *
+     * @param timeBudgetMillis the time budget in milliseconds
+     */
+    public void setTimeBudgetMillis(Long timeBudgetMillis) {
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    /**
+     * Gets the participants to schedule.
+     *
+     * @return the participants
+     */
+    public List<Participant> getParticipants() {
+        return participants;
+    }
+
+    /**
+     * Sets the participants to schedule.
+     *
+     * @param participants the participants
+     */
+    public void setParticipants(List<Participant> participants) {
+        this.participants = participants;
+    }
+
+    /**
+     * A Member to schedule with the partners requested and the time window.
+     */
+    public static class Participant {
+
+        private Long memberId;
+
+        private List<Long> partners = new ArrayList<>();
+
+        private LocalTime earliest;
+
+        private LocalTime latest;
+
+        /**
+         * Gets the id of the Member.
+         *
+         * @return the id of the Member
+         */
+        public Long getMemberId() {
+            return memberId;
+        }
+
+        /**
+         * Sets the id of the Member.
+         *
+         * @param memberId the id of the Member
+         */
+        public void setMemberId(Long memberId) {
+            this.memberId = memberId;
+        }
+
+        /**
+         * Gets the ids of the Members to play in the same flight with.
+         *
+         * @return the ids of the partners
+         */
+        public List<Long> getPartners() {
+            return partners;
+        }
+
+        /**
+         * Sets the ids of the Members to play in the same flight with.
+         *
+         * @param partners the ids of the partners
+         */
+        public void setPartners(List<Long> partners) {
+            this.partners = partners;
+        }
+
+        /**
+         * Gets the earliest tee time wanted, null if any.
+         *
+         * @return the earliest tee time
+         */
+        public LocalTime getEarliest() {
+            return earliest;
+        }
+
+        /**
+         * Sets the earliest tee time wanted, null if any.
+         *
+         * @param earliest the earliest tee time
+         */
+        public void setEarliest(LocalTime earliest) {
+            this.earliest = earliest;
+        }
+
+        /**
+         * Gets the latest tee time wanted, null if any.
+         *
+         * @return the latest tee time
+         */
+        public LocalTime getLatest() {
+            return latest;
+        }
+
+        /**
+         * Sets the latest tee time wanted, null if any.
+         *
+         * @param latest the latest tee time
+         */
+        public void setLatest(LocalTime latest) {
+            this.latest = latest;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.dto;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * The Tournaments within a date range, grouped by month (season view).
+ * Every month of the range is listed, including months without Tournaments.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public class TournamentCalendar {
+
+    private final LocalDate from;
+
+    private final LocalDate to;
+
+    private final int total;
+
+    private final List<Month> months;
+
+    /**
+     * Creates a new calendar.
+     *
+     * @param from the first day of the range, inclusive
+     * @param to the last day of the range, inclusive
+     * @param total the number of Tournaments within the range
+     * @param months the months of the range in chronological order
+     */
+    public TournamentCalendar(LocalDate from, LocalDate to, int total, List<Month> months) {
+        this.from = from;
+        this.to = to;
+        this.total = total;
+        this.months = months;
+    }
+
+    /**
+     * Gets the first day of the range.
+     *
+     * @return the first day, inclusive
+     */
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    /**
+     * Gets the last day of the range.
+     *
+     * @return the last day, inclusive
+     */
+    public LocalDate getTo() {
+        return to;
+    }
+
+    /**
+     * Gets the number of Tournaments within the range.
+     *
+     * @return the number of Tournaments
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Gets the months of the range in chronological order.
+     *
+     * @return the months
+     */
+    public List<Month> getMonths() {
+        return months;
+    }
+
+    /**
+     * The Tournaments of one month.
+     */
+    public static class Month {
+
+        private final YearMonth month;
+
+        private final List<Entry> tournaments;
+
+        /**
+         * Creates a new month.
+         *
+         * @param month the month
+         * @param tournaments the Tournaments of the month ordered by date
+         */
+        public Month(YearMonth month, List<Entry> tournaments) {
+            this.month = month;
+            this.tournaments = tournaments;
+        }
+
+        /**
+         * Gets the month.
+         *
+         * @return the month, serialized as yyyy-mm
+         */
+        public YearMonth getMonth() {
+            return month;
+        }
+
+        /**
+         * Gets the Tournaments of the month.
+         *
+         * @return the Tournaments ordered by date
+         */
+        public List<Entry> getTournaments() {
+            return tournaments;
+        }
+    }
+
+    /**
+     * One Tournament in the calendar.
+     */
+    public static class Entry {
+
+        private final long id;
+
+        private final String name;
+
+        private final LocalDate date;
+
+        /**
+         * Creates a new entry.
+         *
+         * @param id the id of the Tournament
+         * @param name the name of the Tournament
+         * @param date the date of the Tournament
+         */
+        public Entry(long id, String name, LocalDate date) {
+            this.id = id;
+            this.name = name;
+            this.date = date;
+        }
+
+        /**
+         * Gets the id of the Tournament.
+         *
+         * @return the id
+         */
+        public long getId() {
+            return id;
+        }
+
+        /**
+         * Gets the name of the Tournament.
+         *
+         * @return the name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the date of the Tournament.
+         *
+         * @return the date
+         */
+        public LocalDate getDate() {
+            return date;
+        }
+    }
+}
@@ -12,26 +12,48 @@
  */
 package de.hse.golfclubmanagement.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonManagedReference;
+import de.hse.golfclubmanagement.config.ClubContext;
+import de.hse.golfclubmanagement.config.SecondLevelCacheRegionFactory;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Filter;
+
 import javax.persistence.*;
 import java.util.List;
 
 /**
  * This class represents a DAO model for storing golf courts
  * in a data base including a list of lanes.
+ * Golf courses and their holes are kept in the second-level cache.
  * @author  Dennis Grewe
  * @since   0.1
  */
 @Entity
 @Table(name = "golf_course")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheRegionFactory.GOLF_COURSE)
+@Filter(name = ClubContext.FILTER)
 public class GolfCourse {
 
     /**
      * Unique identifier for each golf course.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "golf_course_id")
+    @TableGenerator(name = "golf_course_id", table = "id_allocator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "golf_course", allocationSize = 50)
     private Long id;
 
+    /**
+     * The id of the club the golf course belongs to. It is taken from the club of the
+     * thread creating the golf course and never changes.
+     */
+    @Column(name = "club_id", nullable = false, updatable = false)
+    @JsonIgnore
+    private Long clubId;
+
     /**
      * The name of the golf course
      */
@@ -42,11 +64,31 @@ public class GolfCourse {
      */
     private String location;
 
+    /**
+     * The course rating, i.e., the expected score of a scratch player, e.g. 71.8.
+     * It is null if the golf course is not rated.
+     */
+    @Column(name = "course_rating")
+    private Double courseRating;
+
+    /**
+     * The slope rating, i.e., the relative difficulty for a bogey player,
+     * between 55 and 155 with 113 as standard. It is null if the golf course
+     * is not rated.
+     */
+    @Column(name = "slope_rating")
+    private Integer slopeRating;
+
      /**
      * The list of holes (Bahnen) associated with this Golfplatz.
-     * Each hole is an instance of the Hole class.
+     * Each hole is an instance of the Hole class, ordered by its number.
+     * This is the managed side of the JSON relation, so the holes are
+     * serialized without their back-reference to this golf course.
      */
     @OneToMany(cascade = CascadeType.ALL, mappedBy = "golfcourse")
+    @OrderBy("number ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheRegionFactory.GOLF_COURSE_HOLES)
+    @JsonManagedReference
     private List<Hole> holes;
 
     // ####################
@@ -106,6 +148,42 @@ public class GolfCourse {
         this.location = location;
     }
 
+    /**
+     * Gets the course rating of the golf course.
+     *
+     * @return the course rating, or null if not rated
+     */
+    public Double getCourseRating() {
+        return courseRating;
+    }
+
+    /**
+     * Sets the course rating of the golf course.
+     *
+     * @param courseRating the course rating to set for the golf course
+     */
+    public void setCourseRating(Double courseRating) {
+        this.courseRating = courseRating;
+    }
+
+    /**
+     * Gets the slope rating of the golf course.
+     *
+     * @return the slope rating, or null if not rated
+     */
+    public Integer getSlopeRating() {
+        return slopeRating;
+    }
+
+    /**
+     * Sets the slope rating of the golf course.
+     *
+     * @param slopeRating the slope rating to set for the golf course
+     */
+    public void setSlopeRating(Integer slopeRating) {
+        this.slopeRating = slopeRating;
+    }
+
     /**
      * Gets the list of holes (Bahnen) associated with this golf course.
      *
@@ -123,4 +201,32 @@ public class GolfCourse {
     public void setHoles(List<Hole> holes) {
         this.holes = holes;
     }
+
+    /**
+     * Gets the id of the club the golf course belongs to.
+     *
+     * @return the id of the club, null if the golf course was not saved yet
+     */
+    public Long getClubId() {
+        return clubId;
+    }
+
+    /**
+     * Sets the id of the club the golf course belongs to.
+     *
+     * @param clubId the id of the club
+     */
+    public void setClubId(Long clubId) {
+        this.clubId = clubId;
+    }
+
+    /**
+     * Assigns a new golf course to the club of the current thread.
+     */
+    @PrePersist
+    void assignClub() {
+        if (clubId == null) {
+            clubId = ClubContext.getClubIdOrDefault();
+        }
+    }
 }
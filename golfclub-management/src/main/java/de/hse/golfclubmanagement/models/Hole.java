@@ -13,22 +13,31 @@
  */
 package de.hse.golfclubmanagement.models;
 
+import com.fasterxml.jackson.annotation.JsonBackReference;
+import de.hse.golfclubmanagement.config.SecondLevelCacheRegionFactory;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 
 /**
  * Represents a hole (Bahn) entity on a golf course (Golfplatz).
- * A Hole consists of its number, length, par, and a reference to the golf course it belongs to.
+ * A Hole consists of its number, length, par, stroke index, and a reference to the golf course it belongs to.
  * @author  Dennis Grewe
  * @since   0.1
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheRegionFactory.HOLE)
 public class Hole {
 
     /**
      * Unique identifier for each hole.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "hole_id")
+    @TableGenerator(name = "hole_id", table = "id_allocator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "hole", allocationSize = 50)
     private Long id;
 
     /**
@@ -46,11 +55,22 @@ public class Hole {
      */
     private int par;
 
+    /**
+     * The stroke index (Vorgabenverteilung) of the hole, i.e., the order in which
+     * the handicap strokes of a player are given on the holes, 1 for the hardest hole.
+     * It is null if the golf course does not define one.
+     */
+    @Column(name = "stroke_index")
+    private Integer strokeIndex;
+
     /**
      * The golf course (Golfplatz) to which this hole (Bahn) belongs.
+     * It is omitted when serializing to JSON and restored from the enclosing
+     * golf course when deserializing.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "golfcourse_id")
+    @JsonBackReference
     private GolfCourse golfcourse;
 
     /**
@@ -126,6 +146,24 @@ public class Hole {
         this.par = par;
     }
 
+    /**
+     * Gets the stroke index of this hole (Bahn).
+     *
+     * @return the stroke index, or null if not defined
+     */
+    public Integer getStrokeIndex() {
+        return strokeIndex;
+    }
+
+    /**
+     * Sets the stroke index of this hole (Bahn).
+     *
+     * @param strokeIndex the stroke index to set for the hole, 1 for the hardest hole
+     */
+    public void setStrokeIndex(Integer strokeIndex) {
+        this.strokeIndex = strokeIndex;
+    }
+
     /**
      * Gets the golf course to which this hole belongs.
      *
@@ -12,6 +12,10 @@
  */
 package de.hse.golfclubmanagement.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import de.hse.golfclubmanagement.config.ClubContext;
+import org.hibernate.annotations.Filter;
+
 import javax.persistence.*;
 
 /**
@@ -21,15 +25,27 @@ import javax.persistence.*;
  * @since   0.1
  */
 @Entity
+@Table(name = "club_member") // MEMBER is a reserved word in MySQL 8
+@Filter(name = ClubContext.FILTER)
 public class Member {
 
     /**
      * Unique identifier for each Member.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "member_id")
+    @TableGenerator(name = "member_id", table = "id_allocator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "member", allocationSize = 50)
     private Long id;
 
+    /**
+     * The id of the club the Member belongs to. It is taken from the club of the
+     * thread creating the Member and never changes.
+     */
+    @Column(name = "club_id", nullable = false, updatable = false)
+    @JsonIgnore
+    private Long clubId;
+
     /**
      * The name of the member.
      */
@@ -119,4 +135,32 @@ public class Member {
     public void setHandicap(int handicap) {
         this.handicap = handicap;
     }
+
+    /**
+     * Gets the id of the club the Member belongs to.
+     *
+     * @return the id of the club, null if the Member was not saved yet
+     */
+    public Long getClubId() {
+        return clubId;
+    }
+
+    /**
+     * Sets the id of the club the Member belongs to.
+     *
+     * @param clubId the id of the club
+     */
+    public void setClubId(Long clubId) {
+        this.clubId = clubId;
+    }
+
+    /**
+     * Assigns a new Member to the club of the current thread.
+     */
+    @PrePersist
+    void assignClub() {
+        if (clubId == null) {
+            clubId = ClubContext.getClubIdOrDefault();
+        }
+    }
 }
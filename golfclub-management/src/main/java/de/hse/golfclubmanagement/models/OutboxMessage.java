@@ -0,0 +1,241 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.models;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/**
+ * Represents a notification (Benachrichtigung) for a Member waiting in the
+ * outbox to be delivered to the notification-service. It is written in the
+ * transaction of the change it reports, so it exists if and only if the
+ * change was committed.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@Entity
+@Table(name = "notification_outbox")
+public class OutboxMessage {
+
+    /**
+     * The state of a notification that has not been delivered.
+     */
+    public enum Status {
+        /**
+         * The notification waits for its next delivery attempt.
+         */
+        PENDING,
+        /**
+         * The notification was rejected or ran out of attempts.
+         */
+        FAILED
+    }
+
+    /**
+     * Unique identifier for each OutboxMessage, increasing in the order of creation.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "notification_outbox_id")
+    @TableGenerator(name = "notification_outbox_id", table = "id_allocator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "notification_outbox", allocationSize = 50)
+    private Long id;
+
+    /**
+     * The id of the Member to notify, the user id of the notification-service.
+     */
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    /**
+     * The text of the notification.
+     */
+    @Column(nullable = false, length = 1000)
+    private String message;
+
+    /**
+     * Whether the notification waits for delivery or failed.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    /**
+     * The number of failed delivery attempts.
+     */
+    private int attempts;
+
+    /**
+     * The time the notification was written.
+     */
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    /**
+     * The earliest time of the next delivery attempt.
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    /**
+     * The reason of the last failed delivery attempt.
+     */
+    @Column(name = "last_error")
+    private String lastError;
+
+    // ####################
+    // Getters and setters
+
+    /**
+     * Gets the unique identifier for this OutboxMessage.
+     *
+     * @return the id of the OutboxMessage
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Sets the unique identifier for this OutboxMessage.
+     *
+     * @param id the id to set for the OutboxMessage
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the id of the Member to notify.
+     *
+     * @return the id of the Member
+     */
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    /**
+     * Sets the id of the Member to notify.
+     *
+     * @param memberId the id of the Member to set
+     */
+    public void setMemberId(Long memberId) {
+        this.memberId = memberId;
+    }
+
+    /**
+     * Gets the text of the notification.
+     *
+     * @return the text of the notification
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Sets the text of the notification.
+     *
+     * @param message the text to set for the notification
+     */
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Gets whether the notification waits for delivery or failed.
+     *
+     * @return the status of the notification
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Sets whether the notification waits for delivery or failed.
+     *
+     * @param status the status to set for the notification
+     */
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    /**
+     * Gets the number of failed delivery attempts.
+     *
+     * @return the number of failed attempts
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Sets the number of failed delivery attempts.
+     *
+     * @param attempts the number of failed attempts to set
+     */
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    /**
+     * Gets the time the notification was written.
+     *
+     * @return the time of creation
+     */
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Sets the time the notification was written.
+     *
+     * @param createdAt the time of creation to set
+     */
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Gets the earliest time of the next delivery attempt.
+     *
+     * @return the time of the next attempt
+     */
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    /**
+     * Sets the earliest time of the next delivery attempt.
+     *
+     * @param nextAttemptAt the time of the next attempt to set
+     */
+    public void setNextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    /**
+     * Gets the reason of the last failed delivery attempt.
+     *
+     * @return the reason, or null if no attempt failed
+     */
+    public String getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Sets the reason of the last failed delivery attempt.
+     *
+     * @param lastError the reason to set
+     */
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
@@ -0,0 +1,194 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.models;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/**
+ * Represents the registration (Anmeldung) of a Member or a guest for a
+ * Tournament. A registration is either confirmed or waits for a place in a
+ * full field; the waitlist is ordered by id, the order of registration.
+ * The Tournament and the Member are referenced by id only.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@Entity
+@Table(name = "registration")
+public class Registration {
+
+    /**
+     * The state of a registration.
+     */
+    public enum Status {
+        /**
+         * The participant has a place in the field.
+         */
+        CONFIRMED,
+        /**
+         * The participant waits for a place in the full field.
+         */
+        WAITLISTED
+    }
+
+    /**
+     * Unique identifier for each Registration.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "registration_id")
+    @TableGenerator(name = "registration_id", table = "id_allocator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "registration", allocationSize = 50)
+    private Long id;
+
+    /**
+     * The id of the Tournament registered for.
+     */
+    @Column(name = "tournament_id", nullable = false)
+    private Long tournamentId;
+
+    /**
+     * The id of the Member registered, null for a guest.
+     */
+    @Column(name = "member_id")
+    private Long memberId;
+
+    /**
+     * The name of the guest registered, null for a Member.
+     */
+    @Column(name = "guest_name")
+    private String guestName;
+
+    /**
+     * Whether the participant has a place or waits for one.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    /**
+     * The time of the registration.
+     */
+    @Column(name = "registered_at", nullable = false)
+    private Instant registeredAt;
+
+    // ####################
+    // Getters and setters
+
+    /**
+     * Gets the unique identifier for this Registration.
+     *
+     * @return the id of the Registration
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Sets the unique identifier for this Registration.
+     *
+     * @param id the id to set for the Registration
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the id of the Tournament registered for.
+     *
+     * @return the id of the Tournament
+     */
+    public Long getTournamentId() {
+        return tournamentId;
+    }
+
+    /**
+     * Sets the id of the Tournament registered for.
+     *
+     * @param tournamentId the id of the Tournament to set
+     */
+    public void setTournamentId(Long tournamentId) {
+        this.tournamentId = tournamentId;
+    }
+
+    /**
+     * Gets the id of the Member registered.
+     *
+     * @return the id of the Member, or null for a guest
+     */
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    /**
+     * Sets the id of the Member registered.
+     *
+     * @param memberId the id of the Member to set, null for a guest
+     */
+    public void setMemberId(Long memberId) {
+        this.memberId = memberId;
+    }
+
+    /**
+     * Gets the name of the guest registered.
+     *
+     * @return the name of the guest, or null for a Member
+     */
+    public String getGuestName() {
+        return guestName;
+    }
+
+    /**
+     * Sets the name of the guest registered.
+     *
+     * @param guestName the name of the guest to set, null for a Member
+     */
+    public void setGuestName(String guestName) {
+        this.guestName = guestName;
+    }
+
+    /**
+     * Gets whether the participant has a place or waits for one.
+     *
+     * @return the status of the Registration
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Sets whether the participant has a place or waits for one.
+     *
+     * @param status the status to set for the Registration
+     */
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    /**
+     * Gets the time of the registration.
+     *
+     * @return the time of the registration
+     */
+    public Instant getRegisteredAt() {
+        return registeredAt;
+    }
+
+    /**
+     * Sets the time of the registration.
+     *
+     * @param registeredAt the time of the registration to set
+     */
+    public void setRegisteredAt(Instant registeredAt) {
+        this.registeredAt = registeredAt;
+    }
+}
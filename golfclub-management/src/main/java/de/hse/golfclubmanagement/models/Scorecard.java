@@ -0,0 +1,205 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.models;
+
+import org.hibernate.annotations.DynamicUpdate;
+
+import javax.persistence.*;
+
+/**
+ * Represents the scorecard of one participant in a Tournament.
+ * The strokes are stored as one byte per hole, in the order of the hole numbers
+ * of the GolfCourse played; 0 marks a hole that has not been played yet.
+ * The Tournament, the Member and the GolfCourse are referenced by id only, so
+ * recording strokes never loads them.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@Entity
+@Table(name = "scorecard")
+@DynamicUpdate // a stroke submission only writes the strokes and the version
+public class Scorecard {
+
+    /**
+     * Unique identifier for each Scorecard.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "scorecard_id")
+    @TableGenerator(name = "scorecard_id", table = "id_allocator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "scorecard", allocationSize = 50)
+    private Long id;
+
+    /**
+     * The id of the Tournament the card belongs to.
+     */
+    @Column(name = "tournament_id", nullable = false)
+    private Long tournamentId;
+
+    /**
+     * The id of the Member playing the card.
+     */
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    /**
+     * The id of the GolfCourse played.
+     */
+    @Column(name = "golf_course_id", nullable = false)
+    private Long golfCourseId;
+
+    /**
+     * The handicap of the Member when the card was created.
+     */
+    private int handicap;
+
+    /**
+     * The strokes per hole in the order of the hole numbers, 0 if not played.
+     */
+    @Column(nullable = false, length = 64)
+    private byte[] strokes;
+
+    /**
+     * Version for optimistic locking; concurrent submissions to the same card are retried.
+     */
+    @Version
+    private int version;
+
+    // ####################
+    // Getters and setters
+
+    /**
+     * Gets the unique identifier for this Scorecard.
+     *
+     * @return the id of the Scorecard
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Sets the unique identifier for this Scorecard.
+     *
+     * @param id the id to set for the Scorecard
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the id of the Tournament the Scorecard belongs to.
+     *
+     * @return the id of the Tournament
+     */
+    public Long getTournamentId() {
+        return tournamentId;
+    }
+
+    /**
+     * Sets the id of the Tournament the Scorecard belongs to.
+     *
+     * @param tournamentId the id of the Tournament to set
+     */
+    public void setTournamentId(Long tournamentId) {
+        this.tournamentId = tournamentId;
+    }
+
+    /**
+     * Gets the id of the Member playing the Scorecard.
+     *
+     * @return the id of the Member
+     */
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    /**
+     * Sets the id of the Member playing the Scorecard.
+     *
+     * @param memberId the id of the Member to set
+     */
+    public void setMemberId(Long memberId) {
+        this.memberId = memberId;
+    }
+
+    /**
+     * Gets the id of the GolfCourse played.
+     *
+     * @return the id of the GolfCourse
+     */
+    public Long getGolfCourseId() {
+        return golfCourseId;
+    }
+
+    /**
+     * Sets the id of the GolfCourse played.
+     *
+     * @param golfCourseId the id of the GolfCourse to set
+     */
+    public void setGolfCourseId(Long golfCourseId) {
+        this.golfCourseId = golfCourseId;
+    }
+
+    /**
+     * Gets the handicap of the Member when the Scorecard was created.
+     *
+     * @return the handicap of the Member
+     */
+    public int getHandicap() {
+        return handicap;
+    }
+
+    /**
+     * Sets the handicap of the Member when the Scorecard was created.
+     *
+     * @param handicap the handicap to set for the Scorecard
+     */
+    public void setHandicap(int handicap) {
+        this.handicap = handicap;
+    }
+
+    /**
+     * Gets the strokes per hole in the order of the hole numbers.
+     *
+     * @return the strokes, 0 for a hole not played
+     */
+    public byte[] getStrokes() {
+        return strokes;
+    }
+
+    /**
+     * Sets the strokes per hole in the order of the hole numbers.
+     *
+     * @param strokes the strokes to set, 0 for a hole not played
+     */
+    public void setStrokes(byte[] strokes) {
+        this.strokes = strokes;
+    }
+
+    /**
+     * Gets the version of the Scorecard, incremented by every change.
+     *
+     * @return the version of the Scorecard
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the version of the Scorecard.
+     *
+     * @param version the version to set for the Scorecard
+     */
+    public void setVersion(int version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,201 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.models;
+
+import javax.persistence.*;
+import java.time.LocalTime;
+
+/**
+ * Represents the start (Startzeit) of one participant in a Tournament: the
+ * flight the participant plays in, its tee time and the hole it starts on.
+ * The Tournament, the Member and the GolfCourse are referenced by id only.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@Entity
+@Table(name = "start_assignment")
+public class StartAssignment {
+
+    /**
+     * Unique identifier for each StartAssignment.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "start_assignment_id")
+    @TableGenerator(name = "start_assignment_id", table = "id_allocator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "start_assignment", allocationSize = 50)
+    private Long id;
+
+    /**
+     * The id of the Tournament.
+     */
+    @Column(name = "tournament_id", nullable = false)
+    private Long tournamentId;
+
+    /**
+     * The id of the Member starting.
+     */
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    /**
+     * The id of the GolfCourse played.
+     */
+    @Column(name = "golf_course_id", nullable = false)
+    private Long golfCourseId;
+
+    /**
+     * The number of the flight, starting at 1, in the order of the starts.
+     */
+    private int flight;
+
+    /**
+     * The time the flight tees off.
+     */
+    @Column(name = "tee_time", nullable = false)
+    private LocalTime teeTime;
+
+    /**
+     * The number of the hole the flight starts on.
+     */
+    @Column(name = "start_hole")
+    private int startHole;
+
+    // ####################
+    // Getters and setters
+
+    /**
+     * Gets the unique identifier for this StartAssignment.
+     *
+     * @return the id of the StartAssignment
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Sets the unique identifier for this StartAssignment.
+     *
+     * @param id the id to set for the StartAssignment
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the id of the Tournament.
+     *
+     * @return the id of the Tournament
+     */
+    public Long getTournamentId() {
+        return tournamentId;
+    }
+
+    /**
+     * Sets the id of the Tournament.
+     *
+     * @param tournamentId the id of the Tournament to set
+     */
+    public void setTournamentId(Long tournamentId) {
+        this.tournamentId = tournamentId;
+    }
+
+    /**
+     * Gets the id of the Member starting.
+     *
+     * @return the id of the Member
+     */
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    /**
+     * Sets the id of the Member starting.
+     *
+     * @param memberId the id of the Member to set
+     */
+    public void setMemberId(Long memberId) {
+        this.memberId = memberId;
+    }
+
+    /**
+     * Gets the id of the GolfCourse played.
+     *
+     * @return the id of the GolfCourse
+     */
+    public Long getGolfCourseId() {
+        return golfCourseId;
+    }
+
+    /**
+     * Sets the id of the GolfCourse played.
+     *
+     * @param golfCourseId the id of the GolfCourse to set
+     */
+    public void setGolfCourseId(Long golfCourseId) {
+        this.golfCourseId = golfCourseId;
+    }
+
+    /**
+     * Gets the number of the flight the Member plays in.
+     *
+     * @return the number of the flight, starting at 1
+     */
+    public int getFlight() {
+        return flight;
+    }
+
+    /**
+     * Sets the number of the flight the Member plays in.
+     *
+     * @param flight the number of the flight to set, starting at 1
+     */
+    public void setFlight(int flight) {
+        this.flight = flight;
+    }
+
+    /**
+     * Gets the time the flight tees off.
+     *
+     * @return the tee time of the flight
+     */
+    public LocalTime getTeeTime() {
+        return teeTime;
+    }
+
+    /**
+     * Sets the time the flight tees off.
+     *
+     * @param teeTime the tee time to set for the flight
+     */
+    public void setTeeTime(LocalTime teeTime) {
+        this.teeTime = teeTime;
+    }
+
+    /**
+     * Gets the number of the hole the flight starts on.
+     *
+     * @return the number of the start hole
+     */
+    public int getStartHole() {
+        return startHole;
+    }
+
+    /**
+     * Sets the number of the hole the flight starts on.
+     *
+     * @param startHole the number of the start hole to set
+     */
+    public void setStartHole(int startHole) {
+        this.startHole = startHole;
+    }
+}
@@ -12,6 +12,10 @@
  */
 package de.hse.golfclubmanagement.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import de.hse.golfclubmanagement.config.ClubContext;
+import org.hibernate.annotations.Filter;
+
 import javax.persistence.*;
 import java.util.Date;
 
@@ -22,15 +26,26 @@ import java.util.Date;
  * @since   0.1
  */
 @Entity
+@Filter(name = ClubContext.FILTER)
 public class Tournament {
 
     /**
      * Unique identifier for each Tournament.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "tournament_id")
+    @TableGenerator(name = "tournament_id", table = "id_allocator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "tournament", allocationSize = 50)
     private Long id;
 
+    /**
+     * The id of the club the Tournament belongs to. It is taken from the club of the
+     * thread creating the Tournament and never changes.
+     */
+    @Column(name = "club_id", nullable = false, updatable = false)
+    @JsonIgnore
+    private Long clubId;
+
     /**
      * The name of the tournament.
      */
@@ -42,6 +57,11 @@ public class Tournament {
     @Temporal(TemporalType.DATE)
     private Date date;
 
+    /**
+     * The maximum number of confirmed participants, null if the field is not limited.
+     */
+    private Integer capacity;
+
     /**
      * Gets the unique identifier for this Tournament.
      * 
@@ -95,4 +115,50 @@ public class Tournament {
     public void setDate(Date date) {
         this.date = date;
     }
+
+    /**
+     * Gets the maximum number of confirmed participants of the Tournament.
+     * 
+     * @return the capacity, or null if the field is not limited
+     */
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Sets the maximum number of confirmed participants of the Tournament.
+     * 
+     * @param capacity the capacity to set, null if the field is not limited
+     */
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Gets the id of the club the Tournament belongs to.
+     *
+     * @return the id of the club, null if the Tournament was not saved yet
+     */
+    public Long getClubId() {
+        return clubId;
+    }
+
+    /**
+     * Sets the id of the club the Tournament belongs to.
+     *
+     * @param clubId the id of the club
+     */
+    public void setClubId(Long clubId) {
+        this.clubId = clubId;
+    }
+
+    /**
+     * Assigns a new Tournament to the club of the current thread.
+     */
+    @PrePersist
+    void assignClub() {
+        if (clubId == null) {
+            clubId = ClubContext.getClubIdOrDefault();
+        }
+    }
 }
@@ -0,0 +1,24 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+/**
+ * The entities of the golf club management service. Members, GolfCourses and
+ * Tournaments belong to a club; the {@value de.hse.golfclubmanagement.config.ClubContext#FILTER}
+ * filter restricts the queries on them to the rows of one club.
+ */
+@FilterDef(name = ClubContext.FILTER, defaultCondition = "club_id = :" + ClubContext.FILTER_PARAMETER,
+        parameters = @ParamDef(name = ClubContext.FILTER_PARAMETER, type = "long"))
+package de.hse.golfclubmanagement.models;
+
+import de.hse.golfclubmanagement.config.ClubContext;
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
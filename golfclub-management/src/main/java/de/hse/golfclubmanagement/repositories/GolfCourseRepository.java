@@ -12,8 +12,19 @@
  */
 package de.hse.golfclubmanagement.repositories;
 
+import de.hse.golfclubmanagement.config.SecondLevelCacheRegionFactory;
 import de.hse.golfclubmanagement.models.GolfCourse;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for GolfCourse entity.
@@ -25,9 +36,63 @@ public interface GolfCourseRepository extends JpaRepository<GolfCourse, Long> {
 
     /**
      * Finds a GolfCourse by its name.
+     * The holes are fetched in the same query. The result is kept in the query
+     * cache; a result taken from there refers to the cached course, whose holes
+     * are loaded lazily.
      * 
      * @param name the name of the GolfCourse to find
      * @return the GolfCourse with the specified name, or null if none found
      */
+    @EntityGraph(attributePaths = "holes")
+    @QueryHints({
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHE_REGION, value = SecondLevelCacheRegionFactory.GOLF_COURSE_QUERY)
+    })
     GolfCourse findByName(String name);
+
+    /**
+     * Finds all GolfCourses together with their holes in a single query.
+     * Unlike {@link #findAll()}, the holes collection of each course is
+     * initialized by a fetch join instead of one additional query per course.
+     *
+     * @return all GolfCourses ordered by id, each with its holes loaded
+     */
+    @Query("select distinct g from GolfCourse g left join fetch g.holes order by g.id")
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    List<GolfCourse> findAllWithHoles();
+
+    /**
+     * Finds the ids of the GolfCourses following the given id (keyset pagination).
+     *
+     * @param after the id after which the page starts, 0 for the first page
+     * @param pageable the page request limiting the number of ids
+     * @return the ids of the next GolfCourses in ascending order
+     */
+    @Query("select g.id from GolfCourse g where g.id > :after order by g.id")
+    List<Long> findIdsAfter(@Param("after") long after, Pageable pageable);
+
+    /**
+     * Finds the GolfCourses with the given ids together with their holes in a single query.
+     *
+     * @param ids the ids of the GolfCourses to find
+     * @return the GolfCourses ordered by id, each with its holes loaded
+     */
+    @Query("select distinct g from GolfCourse g left join fetch g.holes where g.id in :ids order by g.id")
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    List<GolfCourse> findAllWithHolesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Streams all GolfCourses with their holes from a database cursor.
+     * Rows are fetched in chunks of 500 and each course is emitted once all of
+     * its holes have been read. The stream must be consumed inside a
+     * transaction and closed afterwards.
+     *
+     * @return a stream of all GolfCourses ordered by id
+     */
+    @Query("select g from GolfCourse g left join fetch g.holes order by g.id")
+    @QueryHints({
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    Stream<GolfCourse> streamAllWithHoles();
 }
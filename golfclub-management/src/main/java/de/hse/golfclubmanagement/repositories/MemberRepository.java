@@ -13,7 +13,16 @@
 package de.hse.golfclubmanagement.repositories;
 
 import de.hse.golfclubmanagement.models.Member;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Member entity.
@@ -30,4 +39,110 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
      * @return the Member with the specified name, or null if none found
      */
     Member findByName(String name);
+
+    /**
+     * Finds a Member by their id. Unlike the inherited lookup, which reads
+     * through the persistence context, the query only finds Members of the
+     * club of the current thread.
+     *
+     * @param id the id of the Member to find
+     * @return the Member, or empty if none of the club has the id
+     */
+    @Query("select m from Member m where m.id = :id")
+    Optional<Member> findById(@Param("id") Long id);
+
+    /**
+     * Finds the Members following the given id (keyset pagination).
+     *
+     * @param id the id after which the page starts, 0 for the first page
+     * @param pageable the page request limiting the number of Members
+     * @return the next Members in ascending id order
+     */
+    List<Member> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Streams all Members from a database cursor, fetching rows in chunks of 500.
+     * The stream must be consumed inside a transaction and closed afterwards.
+     *
+     * @return a stream of all Members ordered by id
+     */
+    @Query("select m from Member m order by m.id")
+    @QueryHints({
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    Stream<Member> streamAll();
+
+    /**
+     * Streams the Members with the given membership status and a handicap in the
+     * given range from a database cursor, served by the status and handicap index.
+     * The stream must be consumed inside a transaction and closed afterwards.
+     *
+     * @param status the membership status of the Members
+     * @param min the lowest handicap, inclusive
+     * @param max the highest handicap, inclusive
+     * @return a stream of the Members ordered by handicap and id
+     */
+    @Query("select m from Member m where m.membershipStatus = :status and m.handicap between :min and :max "
+            + "order by m.handicap, m.id")
+    @QueryHints({
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    Stream<Member> streamByStatusAndHandicapBetween(@Param("status") String status, @Param("min") int min,
+            @Param("max") int max);
+
+    /**
+     * Streams the Members with a handicap in the given range from a database
+     * cursor, served by the handicap index.
+     * The stream must be consumed inside a transaction and closed afterwards.
+     *
+     * @param min the lowest handicap, inclusive
+     * @param max the highest handicap, inclusive
+     * @return a stream of the Members ordered by handicap and id
+     */
+    @Query("select m from Member m where m.handicap between :min and :max order by m.handicap, m.id")
+    @QueryHints({
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    Stream<Member> streamByHandicapBetween(@Param("min") int min, @Param("max") int max);
+
+    /**
+     * Counts the Members with the given membership status per handicap.
+     *
+     * @param status the membership status of the Members
+     * @return one row per handicap in use, ordered by handicap
+     */
+    @Query("select m.handicap as handicap, count(m) as members from Member m "
+            + "where m.membershipStatus = :status group by m.handicap order by m.handicap")
+    List<HandicapCount> countByStatusGroupByHandicap(@Param("status") String status);
+
+    /**
+     * Counts all Members per handicap.
+     *
+     * @return one row per handicap in use, ordered by handicap
+     */
+    @Query("select m.handicap as handicap, count(m) as members from Member m group by m.handicap order by m.handicap")
+    List<HandicapCount> countGroupByHandicap();
+
+    /**
+     * Number of Members sharing one handicap.
+     */
+    interface HandicapCount {
+
+        /**
+         * Gets the handicap.
+         *
+         * @return the handicap
+         */
+        int getHandicap();
+
+        /**
+         * Gets the number of Members with the handicap.
+         *
+         * @return the number of Members
+         */
+        long getMembers();
+    }
 }
@@ -0,0 +1,66 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.repositories;
+
+import de.hse.golfclubmanagement.models.OutboxMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for OutboxMessage entity.
+ * Provides CRUD operations for OutboxMessage and allows defining custom queries.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Finds the oldest notifications in a state that are due.
+     *
+     * @param status the state
+     * @param now the current time
+     * @param pageable the number of notifications to find
+     * @return the notifications ordered by id
+     */
+    List<OutboxMessage> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(OutboxMessage.Status status,
+            Instant now, Pageable pageable);
+
+    /**
+     * Counts the notifications in a state.
+     *
+     * @param status the state
+     * @return the number of notifications
+     */
+    long countByStatus(OutboxMessage.Status status);
+
+    /**
+     * Records a failed delivery attempt with a single statement.
+     *
+     * @param id the id of the notification
+     * @param status the new state
+     * @param nextAttemptAt the earliest time of the next attempt
+     * @param lastError the reason of the failure
+     * @return the number of notifications updated
+     */
+    @Modifying
+    @Query("update OutboxMessage m set m.attempts = m.attempts + 1, m.status = :status, "
+            + "m.nextAttemptAt = :nextAttemptAt, m.lastError = :lastError where m.id = :id")
+    int recordFailure(@Param("id") Long id, @Param("status") OutboxMessage.Status status,
+            @Param("nextAttemptAt") Instant nextAttemptAt, @Param("lastError") String lastError);
+}
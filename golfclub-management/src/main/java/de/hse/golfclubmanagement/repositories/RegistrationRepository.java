@@ -0,0 +1,76 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.repositories;
+
+import de.hse.golfclubmanagement.models.Registration;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+/**
+ * Repository interface for Registration entity.
+ * Provides CRUD operations for Registration and allows defining custom queries.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public interface RegistrationRepository extends JpaRepository<Registration, Long> {
+
+    /**
+     * Checks whether a Member is registered for a Tournament, served by the
+     * unique index on both ids.
+     *
+     * @param tournamentId the id of the Tournament
+     * @param memberId the id of the Member
+     * @return true if the Member is registered
+     */
+    boolean existsByTournamentIdAndMemberId(Long tournamentId, Long memberId);
+
+    /**
+     * Counts the registrations of a Tournament in a state.
+     *
+     * @param tournamentId the id of the Tournament
+     * @param status the state
+     * @return the number of registrations
+     */
+    long countByTournamentIdAndStatus(Long tournamentId, Registration.Status status);
+
+    /**
+     * Counts the registrations of a Tournament in a state made before a registration.
+     *
+     * @param tournamentId the id of the Tournament
+     * @param status the state
+     * @param id the id of the registration
+     * @return the number of earlier registrations
+     */
+    long countByTournamentIdAndStatusAndIdLessThan(Long tournamentId, Registration.Status status, Long id);
+
+    /**
+     * Finds the earliest registrations of a Tournament in a state.
+     *
+     * @param tournamentId the id of the Tournament
+     * @param status the state
+     * @param pageable the number of registrations to find
+     * @return the registrations ordered by id
+     */
+    List<Registration> findByTournamentIdAndStatusOrderByIdAsc(Long tournamentId, Registration.Status status,
+            Pageable pageable);
+
+    /**
+     * Finds all registrations of a Tournament.
+     *
+     * @param tournamentId the id of the Tournament
+     * @return the registrations ordered by id
+     */
+    List<Registration> findByTournamentIdOrderByIdAsc(Long tournamentId);
+}
@@ -0,0 +1,52 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.repositories;
+
+import de.hse.golfclubmanagement.models.Scorecard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Repository interface for Scorecard entity.
+ * Provides CRUD operations for Scorecard and allows defining custom queries.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public interface ScorecardRepository extends JpaRepository<Scorecard, Long> {
+
+    /**
+     * Finds the Scorecard of a Member in a Tournament, served by the unique
+     * index on both ids. Scorecards have no club of their own; the join with
+     * the Tournament only finds Scorecards of Tournaments of the club of the
+     * current thread.
+     *
+     * @param tournamentId the id of the Tournament
+     * @param memberId the id of the Member
+     * @return the Scorecard, or null if the Member has none in a Tournament of the club with the id
+     */
+    @Query("select s from Scorecard s, Tournament t where t.id = s.tournamentId "
+            + "and s.tournamentId = :tournamentId and s.memberId = :memberId")
+    Scorecard findByTournamentIdAndMemberId(@Param("tournamentId") Long tournamentId,
+            @Param("memberId") Long memberId);
+
+    /**
+     * Finds all Scorecards of a Tournament.
+     *
+     * @param tournamentId the id of the Tournament
+     * @return the Scorecards ordered by id
+     */
+    List<Scorecard> findByTournamentIdOrderByIdAsc(Long tournamentId);
+}
@@ -0,0 +1,48 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.repositories;
+
+import de.hse.golfclubmanagement.models.StartAssignment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Repository interface for StartAssignment entity.
+ * Provides CRUD operations for StartAssignment and allows defining custom queries.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public interface StartAssignmentRepository extends JpaRepository<StartAssignment, Long> {
+
+    /**
+     * Finds the starts of a Tournament.
+     *
+     * @param tournamentId the id of the Tournament
+     * @return the starts ordered by flight and id
+     */
+    List<StartAssignment> findByTournamentIdOrderByFlightAscIdAsc(Long tournamentId);
+
+    /**
+     * Deletes the starts of a Tournament with a single statement.
+     *
+     * @param tournamentId the id of the Tournament
+     * @return the number of starts deleted
+     */
+    @Modifying
+    @Query("delete from StartAssignment s where s.tournamentId = :tournamentId")
+    int deleteByTournamentId(@Param("tournamentId") Long tournamentId);
+}
@@ -16,8 +16,18 @@ import de.hse.golfclubmanagement.models.Tournament;
 
 import java.sql.Date;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Tournament entity.
@@ -28,13 +38,104 @@ import java.util.Optional;
 public interface TournamentRepository extends JpaRepository<Tournament, Long> {
 
     /**
-     * Finds a Tournament by its name/date/id.
+     * Finds a Tournament by its name/date.
      * 
      * @param name the name of the Tournament to find
      * @return the Tournament with the specified name, or null if none found
      */
     Tournament findByName(String name);
     Tournament findByDate(Date date);
-    Optional<Tournament> findById(Long id);
-    Tournament findByLocation(String location);
+
+    /**
+     * Finds a Tournament by its id. Unlike the inherited lookup, which reads
+     * through the persistence context, the query only finds Tournaments of the
+     * club of the current thread.
+     *
+     * @param id the id of the Tournament to find
+     * @return the Tournament, or empty if none of the club has the id
+     */
+    @Query("select t from Tournament t where t.id = :id")
+    Optional<Tournament> findById(@Param("id") Long id);
+
+    /**
+     * Finds a Tournament of the club of the current thread by its id and locks
+     * its row until the transaction ends, so changes to its registrations are
+     * serialized across all instances of the application.
+     *
+     * @param id the id of the Tournament to find
+     * @return the locked Tournament, or empty if none of the club has the id
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Tournament t where t.id = :id")
+    Optional<Tournament> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Finds the club of a Tournament.
+     *
+     * @param id the id of the Tournament
+     * @return the id of its club, or null if none of the club of the current thread has the id
+     */
+    @Query("select t.clubId from Tournament t where t.id = :id")
+    Long findClubIdById(@Param("id") Long id);
+
+    /**
+     * Finds the Tournaments following the given id (keyset pagination).
+     *
+     * @param id the id after which the page starts, 0 for the first page
+     * @param pageable the page request limiting the number of Tournaments
+     * @return the next Tournaments in ascending id order
+     */
+    List<Tournament> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Streams all Tournaments from a database cursor, fetching rows in chunks of 500.
+     * The stream must be consumed inside a transaction and closed afterwards.
+     *
+     * @return a stream of all Tournaments ordered by id
+     */
+    @Query("select t from Tournament t order by t.id")
+    @QueryHints({
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    Stream<Tournament> streamAll();
+
+    /**
+     * Finds the Tournaments taking place within the given dates, served by the
+     * date index. Only the columns shown in the calendar are read.
+     *
+     * @param from the first day, inclusive
+     * @param to the last day, inclusive
+     * @return the Tournaments ordered by date and id
+     */
+    @Query("select t.id as id, t.name as name, t.date as date from Tournament t "
+            + "where t.date between :from and :to order by t.date, t.id")
+    List<CalendarEntry> findCalendarEntries(@Param("from") Date from, @Param("to") Date to);
+
+    /**
+     * The columns of a Tournament shown in the calendar.
+     */
+    interface CalendarEntry {
+
+        /**
+         * Gets the id of the Tournament.
+         *
+         * @return the id
+         */
+        Long getId();
+
+        /**
+         * Gets the name of the Tournament.
+         *
+         * @return the name
+         */
+        String getName();
+
+        /**
+         * Gets the date of the Tournament.
+         *
+         * @return the date
+         */
+        java.util.Date getDate();
+    }
 }
@@ -0,0 +1,554 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import de.hse.golfclubmanagement.config.CacheConfig;
+import de.hse.golfclubmanagement.dto.BulkImportResult;
+import de.hse.golfclubmanagement.models.GolfCourse;
+import de.hse.golfclubmanagement.models.Hole;
+import de.hse.golfclubmanagement.models.Member;
+import de.hse.golfclubmanagement.models.Tournament;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Service class for importing large numbers of GolfCourses, Members and Tournaments.
+ * Rows are validated first. Valid rows are then persisted in chunks, one
+ * transaction per chunk, and written with JDBC batch inserts. If a chunk fails
+ * in the database, its rows are retried one by one so the failing rows can be
+ * reported individually. Imported rows are queued for the search index once
+ * their chunk committed.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@Service
+public class BulkImportService {
+
+    /**
+     * The media type of CSV uploads.
+     */
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    /**
+     * The lowest handicap accepted for a Member (plus handicap).
+     */
+    static final int MIN_HANDICAP = -10;
+
+    /**
+     * The highest handicap accepted for a Member.
+     */
+    static final int MAX_HANDICAP = 54;
+
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MemberNameIndex memberNameIndex;
+
+    @Autowired
+    private ChangeVersions changeVersions;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${golfclub.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${golfclub.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Creates the template running every chunk in a transaction of its own.
+     */
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // ####################
+    // Members
+
+    /**
+     * Imports Members from a JSON array.
+     *
+     * @param members the Members to import
+     * @return the import report, rows are numbered by their position in the array
+     */
+    public BulkImportResult importMembers(List<Member> members) {
+        return importRows(numbered(members), this::validateMember, m -> m.setId(null), ChangeVersions.MEMBERS,
+                CacheConfig.MEMBER_BY_NAME, this::onMemberImported);
+    }
+
+    /**
+     * Imports Members from CSV with the columns {@code name}, {@code membershipStatus}
+     * and {@code handicap}.
+     *
+     * @param csv the CSV data including a header line
+     * @return the import report, rows are numbered by their line in the CSV data
+     * @throws IOException if the CSV data cannot be read
+     * @throws IllegalArgumentException if the header has no name column
+     */
+    public BulkImportResult importMembersCsv(Reader csv) throws IOException {
+        CsvReader reader = new CsvReader(csv);
+        int name = requireColumn(reader, "name");
+        int status = reader.column("membershipStatus");
+        int handicap = reader.column("handicap");
+        List<ImportRow<Member>> rows = new ArrayList<>();
+        String[] record;
+        while ((record = reader.next()) != null) {
+            int line = reader.getLineNumber();
+            try {
+                Member member = new Member();
+                member.setName(field(record, name));
+                member.setMembershipStatus(field(record, status));
+                member.setHandicap(intField(record, handicap, "handicap", 0));
+                rows.add(new ImportRow<>(line, member, null));
+            } catch (IllegalArgumentException e) {
+                rows.add(new ImportRow<>(line, null, e.getMessage()));
+            }
+        }
+        return importRows(rows, this::validateMember, m -> m.setId(null), ChangeVersions.MEMBERS,
+                CacheConfig.MEMBER_BY_NAME, this::onMemberImported);
+    }
+
+    private void onMemberImported(Member member) {
+        memberNameIndex.put(member);
+        eventPublisher.publishEvent(SearchIndex.EntitySaved.of(member));
+    }
+
+    private String validateMember(Member member) {
+        String error = validateText("name", member.getName(), true);
+        if (error == null) {
+            error = validateText("membershipStatus", member.getMembershipStatus(), false);
+        }
+        if (error == null && (member.getHandicap() < MIN_HANDICAP || member.getHandicap() > MAX_HANDICAP)) {
+            error = "handicap must be between " + MIN_HANDICAP + " and " + MAX_HANDICAP;
+        }
+        return error;
+    }
+
+    // ####################
+    // Tournaments
+
+    /**
+     * Imports Tournaments from a JSON array.
+     *
+     * @param tournaments the Tournaments to import
+     * @return the import report, rows are numbered by their position in the array
+     */
+    public BulkImportResult importTournaments(List<Tournament> tournaments) {
+        return clearCalendarsIfImported(importRows(numbered(tournaments), this::validateTournament,
+                t -> t.setId(null), ChangeVersions.TOURNAMENTS, CacheConfig.TOURNAMENT_BY_NAME,
+                t -> eventPublisher.publishEvent(SearchIndex.EntitySaved.of(t))));
+    }
+
+    /**
+     * Imports Tournaments from CSV with the columns {@code name} and {@code date}
+     * (formatted as yyyy-mm-dd).
+     *
+     * @param csv the CSV data including a header line
+     * @return the import report, rows are numbered by their line in the CSV data
+     * @throws IOException if the CSV data cannot be read
+     * @throws IllegalArgumentException if the header has no name or date column
+     */
+    public BulkImportResult importTournamentsCsv(Reader csv) throws IOException {
+        CsvReader reader = new CsvReader(csv);
+        int name = requireColumn(reader, "name");
+        int date = requireColumn(reader, "date");
+        List<ImportRow<Tournament>> rows = new ArrayList<>();
+        String[] record;
+        while ((record = reader.next()) != null) {
+            int line = reader.getLineNumber();
+            Tournament tournament = new Tournament();
+            tournament.setName(field(record, name));
+            String value = field(record, date);
+            try {
+                tournament.setDate(value == null ? null : java.sql.Date.valueOf(value));
+                rows.add(new ImportRow<>(line, tournament, null));
+            } catch (IllegalArgumentException e) {
+                rows.add(new ImportRow<>(line, null, "date must be formatted as yyyy-mm-dd"));
+            }
+        }
+        return clearCalendarsIfImported(importRows(rows, this::validateTournament, t -> t.setId(null),
+                ChangeVersions.TOURNAMENTS, CacheConfig.TOURNAMENT_BY_NAME,
+                t -> eventPublisher.publishEvent(SearchIndex.EntitySaved.of(t))));
+    }
+
+    private BulkImportResult clearCalendarsIfImported(BulkImportResult result) {
+        if (result.getImported() > 0) {
+            clearCache(CacheConfig.TOURNAMENT_CALENDAR);
+        }
+        return result;
+    }
+
+    private String validateTournament(Tournament tournament) {
+        String error = validateText("name", tournament.getName(), true);
+        if (error == null && tournament.getDate() == null) {
+            error = "date is required";
+        }
+        return error;
+    }
+
+    // ####################
+    // Golf courses
+
+    /**
+     * Imports GolfCourses including their holes from a JSON array.
+     *
+     * @param golfCourses the GolfCourses to import
+     * @return the import report, rows are numbered by their position in the array
+     */
+    public BulkImportResult importGolfCourses(List<GolfCourse> golfCourses) {
+        Set<String> names = new HashSet<>();
+        return importRows(numbered(golfCourses), course -> validateGolfCourse(course, names),
+                BulkImportService::resetGolfCourseIds, ChangeVersions.GOLF_COURSES, CacheConfig.GOLF_COURSE_BY_NAME,
+                course -> eventPublisher.publishEvent(SearchIndex.EntitySaved.of(course)));
+    }
+
+    /**
+     * Imports GolfCourses from CSV with one line per hole and the columns
+     * {@code name}, {@code location}, {@code hole}, {@code length} and {@code par},
+     * optionally {@code stroke_index}, {@code course_rating} and {@code slope_rating}.
+     * Lines with the same name belong to the same GolfCourse, whose ratings are
+     * taken from its first line; errors are reported on the first line of the course.
+     *
+     * @param csv the CSV data including a header line
+     * @return the import report
+     * @throws IOException if the CSV data cannot be read
+     * @throws IllegalArgumentException if the header has no name column
+     */
+    public BulkImportResult importGolfCoursesCsv(Reader csv) throws IOException {
+        CsvReader reader = new CsvReader(csv);
+        int name = requireColumn(reader, "name");
+        int location = reader.column("location");
+        int number = reader.column("hole");
+        int length = reader.column("length");
+        int par = reader.column("par");
+        int strokeIndex = reader.column("stroke_index");
+        int courseRating = reader.column("course_rating");
+        int slopeRating = reader.column("slope_rating");
+        Map<String, ImportRow<GolfCourse>> courses = new LinkedHashMap<>();
+        String[] record;
+        while ((record = reader.next()) != null) {
+            int line = reader.getLineNumber();
+            String courseName = field(record, name);
+            ImportRow<GolfCourse> row = courses.get(String.valueOf(courseName));
+            if (row == null) {
+                GolfCourse course = new GolfCourse();
+                course.setName(courseName);
+                course.setLocation(field(record, location));
+                course.setHoles(new ArrayList<>());
+                row = new ImportRow<>(line, course, null);
+                courses.put(String.valueOf(courseName), row);
+                try {
+                    course.setCourseRating(doubleField(record, courseRating, "course_rating"));
+                    course.setSlopeRating(integerField(record, slopeRating, "slope_rating"));
+                } catch (IllegalArgumentException e) {
+                    row.error = "line " + line + ": " + e.getMessage();
+                }
+            }
+            if (number < 0 || field(record, number) == null) {
+                continue; // course without holes
+            }
+            try {
+                Hole hole = new Hole();
+                hole.setNummer(intField(record, number, "hole", 0));
+                hole.setLength(intField(record, length, "length", 0));
+                hole.setPar(intField(record, par, "par", 0));
+                hole.setStrokeIndex(integerField(record, strokeIndex, "stroke_index"));
+                row.entity.getHoles().add(hole);
+            } catch (IllegalArgumentException e) {
+                if (row.error == null) {
+                    row.error = "line " + line + ": " + e.getMessage();
+                }
+            }
+        }
+        Set<String> names = new HashSet<>();
+        return importRows(new ArrayList<>(courses.values()), course -> validateGolfCourse(course, names),
+                BulkImportService::resetGolfCourseIds, ChangeVersions.GOLF_COURSES, CacheConfig.GOLF_COURSE_BY_NAME,
+                course -> eventPublisher.publishEvent(SearchIndex.EntitySaved.of(course)));
+    }
+
+    /**
+     * Validates a course; its name is only taken once all other checks passed,
+     * so a rejected row does not make a later valid one with the name a duplicate.
+     */
+    private String validateGolfCourse(GolfCourse golfCourse, Set<String> names) {
+        String error = validateCourseFields(golfCourse);
+        if (error == null && !names.add(golfCourse.getName())) {
+            error = "name occurs more than once in this import";
+        }
+        return error;
+    }
+
+    private String validateCourseFields(GolfCourse golfCourse) {
+        String error = validateText("name", golfCourse.getName(), true);
+        if (error == null) {
+            error = validateText("location", golfCourse.getLocation(), false);
+        }
+        if (error == null && golfCourse.getCourseRating() != null && !(golfCourse.getCourseRating() > 0)) {
+            error = "course rating must be positive";
+        }
+        if (error == null && golfCourse.getSlopeRating() != null
+                && (golfCourse.getSlopeRating() < 55 || golfCourse.getSlopeRating() > 155)) {
+            error = "slope rating must be between 55 and 155";
+        }
+        if (error != null || golfCourse.getHoles() == null) {
+            return error;
+        }
+        Set<Integer> numbers = new HashSet<>();
+        Set<Integer> strokeIndexes = new HashSet<>();
+        for (Hole hole : golfCourse.getHoles()) {
+            if (hole == null) {
+                return "holes must not contain null";
+            }
+            if (hole.getNumber() < 1 || !numbers.add(hole.getNumber())) {
+                return "hole numbers must be positive and unique, found " + hole.getNumber();
+            }
+            if (hole.getPar() < 3 || hole.getPar() > 6) {
+                return "par of hole " + hole.getNumber() + " must be between 3 and 6";
+            }
+            if (hole.getLength() <= 0) {
+                return "length of hole " + hole.getNumber() + " must be positive";
+            }
+            if (hole.getStrokeIndex() != null && (hole.getStrokeIndex() < 1 || !strokeIndexes.add(hole.getStrokeIndex()))) {
+                return "stroke indexes must be positive and unique, found " + hole.getStrokeIndex();
+            }
+            hole.setGolfCourse(golfCourse); // wire the owning side before the cascade
+        }
+        return null;
+    }
+
+    private static void resetGolfCourseIds(GolfCourse golfCourse) {
+        golfCourse.setId(null);
+        if (golfCourse.getHoles() != null) {
+            golfCourse.getHoles().forEach(hole -> hole.setId(null));
+        }
+    }
+
+    // ####################
+    // Import pipeline
+
+    private <T> BulkImportResult importRows(List<ImportRow<T>> rows, Function<T, String> validator,
+            Consumer<T> resetIds, String table, String cacheName, Consumer<T> onImported) {
+        long start = System.nanoTime();
+        Report report = new Report(maxReportedErrors);
+        List<ImportRow<T>> chunk = new ArrayList<>(Math.min(chunkSize, rows.size()));
+        for (ImportRow<T> row : rows) {
+            String error = row.error;
+            if (error == null) {
+                error = row.entity == null ? "row is empty" : validator.apply(row.entity);
+            }
+            if (error != null) {
+                report.fail(row.number, error);
+                continue;
+            }
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                persistChunk(chunk, resetIds, onImported, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            persistChunk(chunk, resetIds, onImported, report);
+        }
+        if (report.imported > 0) {
+            clearCache(cacheName); // cached misses may now exist
+            changeVersions.increment(table);
+        }
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        return new BulkImportResult(rows.size(), report.imported, report.failed, report.errors, durationMillis);
+    }
+
+    private <T> void persistChunk(List<ImportRow<T>> chunk, Consumer<T> resetIds, Consumer<T> onImported,
+            Report report) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persistAll(chunk));
+            report.imported += chunk.size();
+            chunk.forEach(row -> onImported.accept(row.entity));
+        } catch (RuntimeException chunkFailure) {
+            // Retry row by row to find out which rows the database rejected
+            for (ImportRow<T> row : chunk) {
+                resetIds.accept(row.entity);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persistAll(List.of(row)));
+                    report.imported++;
+                    onImported.accept(row.entity);
+                } catch (RuntimeException rowFailure) {
+                    resetIds.accept(row.entity);
+                    report.fail(row.number, rootCauseMessage(rowFailure));
+                }
+            }
+        }
+    }
+
+    private <T> void persistAll(List<ImportRow<T>> rows) {
+        for (ImportRow<T> row : rows) {
+            entityManager.persist(row.entity);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    // ####################
+    // Helpers
+
+    private static <T> List<ImportRow<T>> numbered(List<T> entities) {
+        List<ImportRow<T>> rows = new ArrayList<>(entities.size());
+        for (int i = 0; i < entities.size(); i++) {
+            rows.add(new ImportRow<>(i + 1, entities.get(i), null));
+        }
+        return rows;
+    }
+
+    private void clearCache(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private static int requireColumn(CsvReader reader, String name) {
+        int column = reader.column(name);
+        if (column < 0) {
+            throw new IllegalArgumentException("CSV header must contain a '" + name + "' column");
+        }
+        return column;
+    }
+
+    private static String field(String[] record, int column) {
+        if (column < 0 || column >= record.length) {
+            return null;
+        }
+        String value = record[column].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static int intField(String[] record, int column, String name, int defaultValue) {
+        String value = field(record, column);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a whole number, found '" + value + "'");
+        }
+    }
+
+    private static Integer integerField(String[] record, int column, String name) {
+        return field(record, column) == null ? null : intField(record, column, name, 0);
+    }
+
+    private static Double doubleField(String[] record, int column, String name) {
+        String value = field(record, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a number, found '" + value + "'");
+        }
+    }
+
+    private static String validateText(String name, String value, boolean required) {
+        if (value == null || value.isBlank()) {
+            return required ? name + " is required" : null;
+        }
+        return value.length() > MAX_TEXT_LENGTH ? name + " must not exceed " + MAX_TEXT_LENGTH + " characters" : null;
+    }
+
+    private static String rootCauseMessage(Throwable failure) {
+        Throwable cause = failure;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+
+    /**
+     * One input row: the parsed entity, or the reason why it could not be parsed.
+     */
+    private static final class ImportRow<T> {
+
+        private final int number;
+
+        private final T entity;
+
+        private String error;
+
+        ImportRow(int number, T entity, String error) {
+            this.number = number;
+            this.entity = entity;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Counters and errors collected while importing.
+     */
+    private static final class Report {
+
+        private final int maxErrors;
+
+        private final List<BulkImportResult.RowError> errors = new ArrayList<>();
+
+        private int imported;
+
+        private int failed;
+
+        Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void fail(int row, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new BulkImportResult.RowError(row, message));
+            }
+        }
+    }
+}
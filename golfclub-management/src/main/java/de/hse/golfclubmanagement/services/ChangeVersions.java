@@ -0,0 +1,265 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.hse.golfclubmanagement.config.ClubContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Keeps a version per club and table which is incremented with every change
+ * of the rows of the club in the table. The versions are the validators of the
+ * conditional requests on the list endpoints: a client holding the current
+ * version is answered without reading the entities. The versions are stored
+ * in the database, so all instances of the application agree on them, and
+ * each club has rows of its own, so writers of different clubs do not wait
+ * for each other. The last versions read are also kept in memory; changes of
+ * this instance evict them after the commit, changes of other instances are
+ * seen after the configured time to live at the latest.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@Service
+public class ChangeVersions {
+
+    /**
+     * The table of the Members.
+     */
+    public static final String MEMBERS = "club_member";
+
+    /**
+     * The table of the GolfCourses, including their holes.
+     */
+    public static final String GOLF_COURSES = "golf_course";
+
+    /**
+     * The table of the Tournaments.
+     */
+    public static final String TOURNAMENTS = "tournament";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${golfclub.change-versions.cache-ttl:2s}")
+    private Duration cacheTtl;
+
+    private Cache<Key, Version> cached;
+
+    /**
+     * Creates the cache of the versions.
+     */
+    @PostConstruct
+    void init() {
+        cached = Caffeine.newBuilder().expireAfterWrite(cacheTtl).build();
+    }
+
+    /**
+     * Gets the current version of a table for the club of the current thread.
+     * It has to be read before the entities, so a change committed in between
+     * is never hidden behind an older version. Like the entities, it is read
+     * from a replica if there is one, and within a request always from the
+     * same one.
+     *
+     * @param table the name of the table
+     * @return the current version
+     */
+    @Transactional(readOnly = true)
+    public Version current(String table) {
+        return read(new Key(ClubContext.getClubIdOrDefault(), table));
+    }
+
+    /**
+     * Gets the version of a table for the club of the current thread from
+     * memory, reading it only if it is not kept yet. It may miss the changes
+     * of other instances for the time to live of the cache, so it may only
+     * decide that a client holds the current version, it must not be sent with
+     * entities read from the database. It is read from the primary, outside
+     * of the transaction of the request.
+     *
+     * @param table the name of the table
+     * @return the last known version
+     */
+    public Version cached(String table) {
+        return cached.get(new Key(ClubContext.getClubIdOrDefault(), table), this::read);
+    }
+
+    /**
+     * Increments the version of a table for the club of the current thread,
+     * or for all clubs if the thread works for all of them. It has to be
+     * called after the change or within its transaction.
+     *
+     * @param table the name of the table
+     */
+    public void increment(String table) {
+        Long clubId = ClubContext.getClubId();
+        if (clubId == null) {
+            jdbcTemplate.update("UPDATE change_version SET version = version + 1, changed_at = CURRENT_TIMESTAMP "
+                    + "WHERE table_name = ?", table);
+        } else if (!update(clubId, table)) {
+            try {
+                jdbcTemplate.update("INSERT INTO change_version (club_id, table_name, version, changed_at) "
+                        + "VALUES (?, ?, 1, CURRENT_TIMESTAMP)", clubId, table);
+            } catch (DuplicateKeyException e) {
+                update(clubId, table); // inserted by a concurrent change
+            }
+        }
+        evictAfterCommit(clubId, table);
+    }
+
+    private boolean update(long clubId, String table) {
+        return jdbcTemplate.update("UPDATE change_version SET version = version + 1, changed_at = CURRENT_TIMESTAMP "
+                + "WHERE club_id = ? AND table_name = ?", clubId, table) > 0;
+    }
+
+    /**
+     * Reads a version. A club without a row has not changed the table yet;
+     * its version is 0, and the time of the last change is that of the
+     * default club, which also changes with the changes of all clubs.
+     */
+    private Version read(Key key) {
+        List<Version> versions = jdbcTemplate.query("SELECT version, changed_at FROM change_version "
+                        + "WHERE club_id = ? AND table_name = ?",
+                (rs, rowNum) -> new Version(key.table, rs.getLong(1), rs.getTimestamp(2).toInstant()),
+                key.clubId, key.table);
+        if (!versions.isEmpty()) {
+            return versions.get(0);
+        }
+        if (key.clubId == ClubContext.DEFAULT_CLUB_ID) {
+            throw new IllegalStateException("No version of table " + key.table);
+        }
+        return new Version(key.table, 0, read(new Key(ClubContext.DEFAULT_CLUB_ID, key.table)).getChangedAt());
+    }
+
+    /**
+     * Evicts the versions of the table once the change is committed, of all
+     * clubs if it is not the change of one club.
+     */
+    private void evictAfterCommit(Long clubId, String table) {
+        Runnable evict = () -> {
+            if (clubId == null) {
+                cached.asMap().keySet().removeIf(key -> key.table.equals(table));
+            } else {
+                cached.invalidate(new Key(clubId, table));
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+
+    /**
+     * The key of a version, the club and the table.
+     */
+    private static final class Key {
+
+        private final long clubId;
+
+        private final String table;
+
+        Key(long clubId, String table) {
+            this.clubId = clubId;
+            this.table = table;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return clubId == other.clubId && table.equals(other.table);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(clubId, table);
+        }
+    }
+
+    /**
+     * A version of a table.
+     */
+    public static final class Version {
+
+        private final String table;
+
+        private final long number;
+
+        private final Instant changedAt;
+
+        /**
+         * Creates a new version.
+         *
+         * @param table the name of the table
+         * @param number the number of changes since the table was created
+         * @param changedAt the time of the last change
+         */
+        public Version(String table, long number, Instant changedAt) {
+            this.table = table;
+            this.number = number;
+            this.changedAt = changedAt;
+        }
+
+        /**
+         * Gets the entity tag of the version. It includes the time of the last
+         * change, so versions of a recreated database do not match older tags.
+         * The tag is weak, as the plain and the compressed response share it.
+         *
+         * @return the weak entity tag including the quotes
+         */
+        public String getETag() {
+            return getETag("");
+        }
+
+        /**
+         * Gets the entity tag of one representation of the version, e.g. of
+         * one format and content encoding.
+         *
+         * @param variant the suffix distinguishing the representation
+         * @return the weak entity tag including the quotes
+         */
+        public String getETag(String variant) {
+            return "W/\"" + table + "-" + number + "-" + Long.toHexString(changedAt.toEpochMilli()) + variant + "\"";
+        }
+
+        /**
+         * Gets the time of the last change.
+         *
+         * @return the time of the last change
+         */
+        public Instant getChangedAt() {
+            return changedAt;
+        }
+    }
+}
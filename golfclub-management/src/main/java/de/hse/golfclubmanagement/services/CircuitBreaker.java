@@ -0,0 +1,116 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Stops calls to a remote service after a number of failures in a row.
+ * While the breaker is open, calls are refused without trying; once the open
+ * duration has passed, the next call is let through as a trial. A successful
+ * trial closes the breaker, a failed one opens it again.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public final class CircuitBreaker {
+
+    /**
+     * The states of a breaker.
+     */
+    public enum State {
+        /**
+         * Calls are made; failures are counted.
+         */
+        CLOSED,
+        /**
+         * Calls are refused until the open duration has passed.
+         */
+        OPEN,
+        /**
+         * A trial call is made to find out whether the service is back.
+         */
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+
+    private final Duration openDuration;
+
+    private final Clock clock;
+
+    private State state = State.CLOSED;
+
+    private int failures;
+
+    private Instant openedAt;
+
+    /**
+     * Creates a closed breaker.
+     *
+     * @param failureThreshold the number of failures in a row that open the breaker
+     * @param openDuration the time calls are refused after the breaker opened
+     * @param clock the clock measuring the open duration
+     * @throws IllegalArgumentException if the threshold is not positive
+     */
+    public CircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("failureThreshold must be positive");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    /**
+     * Checks whether a call may be made, turning an open breaker half open
+     * once the open duration has passed.
+     *
+     * @return true if the call may be made
+     */
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN && !clock.instant().isBefore(openedAt.plus(openDuration))) {
+            state = State.HALF_OPEN;
+        }
+        return state != State.OPEN;
+    }
+
+    /**
+     * Records a successful call, closing the breaker.
+     */
+    public synchronized void recordSuccess() {
+        state = State.CLOSED;
+        failures = 0;
+    }
+
+    /**
+     * Records a failed call, opening the breaker after a failed trial or too many failures in a row.
+     */
+    public synchronized void recordFailure() {
+        failures++;
+        if (state == State.HALF_OPEN || failures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.instant();
+        }
+    }
+
+    /**
+     * Gets the current state.
+     *
+     * @return the state
+     */
+    public synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,239 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import de.hse.golfclubmanagement.models.GolfCourse;
+import de.hse.golfclubmanagement.models.Hole;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable snapshot of the holes of a GolfCourse, held in primitive arrays so
+ * scores can be computed without touching the Hole entities. Holes are kept in
+ * the order of their numbers; a hole's position in this order is its index in
+ * the stroke array of a Scorecard.
+ * <p>
+ * The layout also hands out the handicap stroke allocation of a playing
+ * handicap: the strokes a player receives on each hole. A table is computed
+ * once per playing handicap and shared, so it lives as long as the layout,
+ * which is dropped from its cache when the GolfCourse changes.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public final class CourseLayout {
+
+    /**
+     * The slope rating of a course of standard difficulty.
+     */
+    static final int STANDARD_SLOPE = 113;
+
+    private final long golfCourseId;
+
+    private final int[] holeNumbers;
+
+    private final int[] pars;
+
+    private final int[] strokeRanks;
+
+    private final int[] indexByNumber;
+
+    private final int totalPar;
+
+    private final Double courseRating;
+
+    private final Integer slopeRating;
+
+    private final Map<Integer, byte[]> allocations = new ConcurrentHashMap<>();
+
+    private CourseLayout(long golfCourseId, int[] holeNumbers, int[] pars, int[] strokeRanks,
+            Double courseRating, Integer slopeRating) {
+        this.golfCourseId = golfCourseId;
+        this.holeNumbers = holeNumbers;
+        this.pars = pars;
+        this.strokeRanks = strokeRanks;
+        this.courseRating = courseRating;
+        this.slopeRating = slopeRating;
+        int maxNumber = holeNumbers.length == 0 ? 0 : holeNumbers[holeNumbers.length - 1];
+        this.indexByNumber = new int[maxNumber + 1];
+        Arrays.fill(indexByNumber, -1);
+        for (int i = 0; i < holeNumbers.length; i++) {
+            indexByNumber[holeNumbers[i]] = i;
+        }
+        this.totalPar = Arrays.stream(pars).sum();
+    }
+
+    /**
+     * Creates the layout of a GolfCourse from its holes. Holes without a
+     * stroke index receive their handicap strokes after those with one, in
+     * the order of their numbers.
+     *
+     * @param golfCourse the GolfCourse including its holes
+     * @return the layout
+     * @throws IllegalArgumentException if a hole number or stroke index is not positive or occurs twice
+     */
+    public static CourseLayout of(GolfCourse golfCourse) {
+        List<Hole> holes = golfCourse.getHoles() == null ? List.of() : golfCourse.getHoles();
+        Hole[] sorted = holes.toArray(new Hole[0]);
+        Arrays.sort(sorted, Comparator.comparingInt(Hole::getNumber));
+        int[] numbers = new int[sorted.length];
+        int[] pars = new int[sorted.length];
+        Set<Integer> strokeIndexes = new HashSet<>();
+        for (int i = 0; i < sorted.length; i++) {
+            numbers[i] = sorted[i].getNumber();
+            pars[i] = sorted[i].getPar();
+            if (numbers[i] < 1 || (i > 0 && numbers[i] == numbers[i - 1])) {
+                throw new IllegalArgumentException("hole numbers must be positive and unique, found " + numbers[i]);
+            }
+            Integer strokeIndex = sorted[i].getStrokeIndex();
+            if (strokeIndex != null && (strokeIndex < 1 || !strokeIndexes.add(strokeIndex))) {
+                throw new IllegalArgumentException("stroke indexes must be positive and unique, found " + strokeIndex);
+            }
+        }
+        // rank 1 receives the first handicap stroke
+        Integer[] byStrokeIndex = new Integer[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            byStrokeIndex[i] = i;
+        }
+        Arrays.sort(byStrokeIndex, Comparator.comparing((Integer i) -> sorted[i].getStrokeIndex(),
+                Comparator.nullsLast(Comparator.naturalOrder())));
+        int[] strokeRanks = new int[sorted.length];
+        for (int rank = 0; rank < sorted.length; rank++) {
+            strokeRanks[byStrokeIndex[rank]] = rank + 1;
+        }
+        return new CourseLayout(golfCourse.getId(), numbers, pars, strokeRanks,
+                golfCourse.getCourseRating(), golfCourse.getSlopeRating());
+    }
+
+    /**
+     * Gets the id of the GolfCourse.
+     *
+     * @return the id of the GolfCourse
+     */
+    public long getGolfCourseId() {
+        return golfCourseId;
+    }
+
+    /**
+     * Gets the number of holes.
+     *
+     * @return the number of holes
+     */
+    public int getHoleCount() {
+        return holeNumbers.length;
+    }
+
+    /**
+     * Gets the sum of the pars of all holes.
+     *
+     * @return the par of the course
+     */
+    public int getTotalPar() {
+        return totalPar;
+    }
+
+    /**
+     * Gets the position of a hole in the order of the hole numbers.
+     *
+     * @param holeNumber the number of the hole
+     * @return the position of the hole, or -1 if the course has no such hole
+     */
+    public int indexOf(int holeNumber) {
+        return holeNumber > 0 && holeNumber < indexByNumber.length ? indexByNumber[holeNumber] : -1;
+    }
+
+    /**
+     * Gets the number of the hole at a position.
+     *
+     * @param index the position of the hole
+     * @return the number of the hole
+     */
+    public int holeNumber(int index) {
+        return holeNumbers[index];
+    }
+
+    /**
+     * Gets the par of the hole at a position.
+     *
+     * @param index the position of the hole
+     * @return the par of the hole
+     */
+    public int par(int index) {
+        return pars[index];
+    }
+
+    /**
+     * Gets the order in which the hole at a position receives handicap strokes.
+     *
+     * @param index the position of the hole
+     * @return the rank of the hole, 1 for the hole receiving the first stroke
+     */
+    public int strokeRank(int index) {
+        return strokeRanks[index];
+    }
+
+    /**
+     * Converts a handicap index into the playing handicap on this course:
+     * {@code index * slope / 113 + (course rating - par)}, rounded. On a
+     * course without ratings the handicap index is played as it is.
+     *
+     * @param handicapIndex the handicap index of the player
+     * @return the playing handicap
+     */
+    public int playingHandicap(int handicapIndex) {
+        if (courseRating == null || slopeRating == null) {
+            return handicapIndex;
+        }
+        return (int) Math.round(handicapIndex * slopeRating / (double) STANDARD_SLOPE + courseRating - totalPar);
+    }
+
+    /**
+     * Gets the handicap strokes a playing handicap receives on each hole.
+     * Every hole receives the handicap divided by the number of holes; the
+     * remainder goes to the holes with the lowest stroke ranks. A negative
+     * (plus) handicap gives strokes back, starting on the hole with the
+     * highest rank.
+     * <p>
+     * The table is shared by all players with this playing handicap and
+     * must not be modified.
+     *
+     * @param playingHandicap the playing handicap
+     * @return the handicap strokes per hole, indexed like the holes
+     */
+    byte[] strokeAllocation(int playingHandicap) {
+        byte[] allocation = allocations.get(playingHandicap);
+        return allocation != null ? allocation : allocations.computeIfAbsent(playingHandicap, this::allocate);
+    }
+
+    private byte[] allocate(int playingHandicap) {
+        int holes = holeNumbers.length;
+        byte[] allocation = new byte[holes];
+        if (holes == 0) {
+            return allocation;
+        }
+        int base = playingHandicap / holes;
+        int remainder = Math.abs(playingHandicap % holes);
+        for (int i = 0; i < holes; i++) {
+            int extra = playingHandicap >= 0
+                    ? (strokeRanks[i] <= remainder ? 1 : 0)
+                    : (strokeRanks[i] > holes - remainder ? -1 : 0);
+            allocation[i] = (byte) (base + extra);
+        }
+        return allocation;
+    }
+}
@@ -0,0 +1,52 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import de.hse.golfclubmanagement.config.CacheConfig;
+import de.hse.golfclubmanagement.config.ClubContext;
+import de.hse.golfclubmanagement.repositories.GolfCourseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service class providing the cached CourseLayout of a GolfCourse.
+ * The holes of a course are read once and then served from the cache until
+ * the course is saved again. Once evicted, the layout is rebuilt from the
+ * second-level cache of the course and its holes.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@Service
+public class CourseLayoutService {
+
+    @Autowired
+    private GolfCourseRepository golfCourseRepository;
+
+    /**
+     * Gets the layout of a GolfCourse.
+     *
+     * @param golfCourseId the id of the GolfCourse
+     * @return the layout, or null if the club of the current thread has no GolfCourse with the id
+     */
+    @Cacheable(cacheNames = CacheConfig.COURSE_LAYOUT)
+    @Transactional(readOnly = true)
+    public CourseLayout getLayout(long golfCourseId) {
+        // the lookup by id reads the second-level cache, which the club filter does not apply to
+        return golfCourseRepository.findById(golfCourseId)
+                .filter(golfCourse -> ClubContext.isVisible(golfCourse.getClubId()))
+                .map(CourseLayout::of)
+                .orElse(null);
+    }
+}
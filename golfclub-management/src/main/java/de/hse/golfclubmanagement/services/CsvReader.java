@@ -0,0 +1,133 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Minimal reader for comma separated values as described in RFC 4180.
+ * Fields may be quoted with double quotes, which allows commas, line breaks
+ * and escaped quotes ({@code ""}) inside a field. The first record is the header.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+class CsvReader {
+
+    private final BufferedReader reader;
+
+    private final Map<String, Integer> columns = new HashMap<>();
+
+    private int lineBreaks;
+
+    private int lineNumber;
+
+    /**
+     * Creates a reader and reads the header record.
+     *
+     * @param reader the source of the CSV data
+     * @throws IOException if the source cannot be read
+     */
+    CsvReader(Reader reader) throws IOException {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        String[] header = next();
+        if (header != null) {
+            for (int i = 0; i < header.length; i++) {
+                columns.put(header[i].trim().toLowerCase(Locale.ROOT), i);
+            }
+        }
+    }
+
+    /**
+     * Gets the index of a column by its header name, ignoring case.
+     *
+     * @param name the header name of the column
+     * @return the index of the column, or -1 if the header has no such column
+     */
+    int column(String name) {
+        return columns.getOrDefault(name.toLowerCase(Locale.ROOT), -1);
+    }
+
+    /**
+     * Gets the line on which the record returned last started.
+     *
+     * @return the 1-based line number
+     */
+    int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Reads the next record. Empty lines are skipped.
+     *
+     * @return the fields of the record, or null at the end of the input
+     * @throws IOException if the source cannot be read
+     */
+    String[] next() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean started = false;
+        boolean quoted = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (!started) {
+                if (c == '\r') {
+                    continue;
+                }
+                if (c == '\n') {
+                    lineBreaks++; // skip blank line
+                    continue;
+                }
+                started = true;
+                lineNumber = lineBreaks + 1;
+            }
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineBreaks++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                lineBreaks++;
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        if (!started) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+    }
+}
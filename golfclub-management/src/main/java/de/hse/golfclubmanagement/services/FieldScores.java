@@ -0,0 +1,173 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+/**
+ * Net scores and Stableford points of a field of players on one GolfCourse,
+ * computed in a single pass over the stroke arrays of their Scorecards.
+ * <p>
+ * The results are held in primitive arrays sized for the field and reused
+ * for the next field, and the handicap strokes come from the allocation
+ * tables of the CourseLayout, so scoring a field allocates nothing once the
+ * tables of its playing handicaps exist. Holes not played count neither
+ * strokes nor points.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public final class FieldScores {
+
+    /**
+     * Stableford points for a net par; a net bogey scores one point less, a net birdie one more.
+     */
+    static final int POINTS_FOR_NET_PAR = 2;
+
+    private int[] holesPlayed;
+
+    private int[] gross;
+
+    private int[] par;
+
+    private int[] net;
+
+    private int[] points;
+
+    private int size;
+
+    /**
+     * Creates the results of a field.
+     *
+     * @param capacity the number of players expected, the arrays grow if a field is larger
+     */
+    public FieldScores(int capacity) {
+        allocate(Math.max(capacity, 1));
+    }
+
+    /**
+     * Scores a field, replacing the results of the previous field.
+     *
+     * @param layout the layout of the GolfCourse played
+     * @param playingHandicaps the playing handicap of each player
+     * @param strokes the strokes of each player, indexed like the holes of the layout, 0 for holes not played
+     * @param players the number of players, i.e. the used length of both arrays
+     */
+    public void score(CourseLayout layout, int[] playingHandicaps, byte[][] strokes, int players) {
+        if (players > holesPlayed.length) {
+            allocate(players);
+        }
+        size = players;
+        int holes = layout.getHoleCount();
+        for (int player = 0; player < players; player++) {
+            byte[] card = strokes[player];
+            byte[] allocation = layout.strokeAllocation(playingHandicaps[player]);
+            int played = 0;
+            int grossSum = 0;
+            int parSum = 0;
+            int netSum = 0;
+            int pointSum = 0;
+            for (int hole = 0, length = Math.min(card.length, holes); hole < length; hole++) {
+                int value = card[hole];
+                if (value > 0) {
+                    int netValue = value - allocation[hole];
+                    played++;
+                    grossSum += value;
+                    parSum += layout.par(hole);
+                    netSum += netValue;
+                    pointSum += stablefordPoints(layout.par(hole), netValue);
+                }
+            }
+            holesPlayed[player] = played;
+            gross[player] = grossSum;
+            par[player] = parSum;
+            net[player] = netSum;
+            points[player] = pointSum;
+        }
+    }
+
+    /**
+     * Gets the Stableford points of a net score on one hole.
+     *
+     * @param par the par of the hole
+     * @param net the strokes played less the handicap strokes of the hole
+     * @return the points, never negative
+     */
+    static int stablefordPoints(int par, int net) {
+        return Math.max(0, POINTS_FOR_NET_PAR + par - net);
+    }
+
+    /**
+     * Gets the number of players of the field scored last.
+     *
+     * @return the number of players
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of holes a player has played.
+     *
+     * @param player the position of the player in the field
+     * @return the number of holes played
+     */
+    public int holesPlayed(int player) {
+        return holesPlayed[player];
+    }
+
+    /**
+     * Gets the strokes a player has played.
+     *
+     * @param player the position of the player in the field
+     * @return the gross strokes of the holes played
+     */
+    public int gross(int player) {
+        return gross[player];
+    }
+
+    /**
+     * Gets the par of the holes a player has played.
+     *
+     * @param player the position of the player in the field
+     * @return the par of the holes played
+     */
+    public int par(int player) {
+        return par[player];
+    }
+
+    /**
+     * Gets the strokes a player has played less the handicap strokes of those holes.
+     *
+     * @param player the position of the player in the field
+     * @return the net strokes of the holes played
+     */
+    public int net(int player) {
+        return net[player];
+    }
+
+    /**
+     * Gets the Stableford points of a player.
+     *
+     * @param player the position of the player in the field
+     * @return the Stableford points of the holes played
+     */
+    public int points(int player) {
+        return points[player];
+    }
+
+    private void allocate(int capacity) {
+        holesPlayed = new int[capacity];
+        gross = new int[capacity];
+        par = new int[capacity];
+        net = new int[capacity];
+        points = new int[capacity];
+    }
+}
@@ -12,12 +12,27 @@
  */
 package de.hse.golfclubmanagement.services;
 
+import de.hse.golfclubmanagement.config.CacheConfig;
+import de.hse.golfclubmanagement.config.ClubContext;
+import de.hse.golfclubmanagement.dto.KeysetPage;
 import de.hse.golfclubmanagement.models.GolfCourse;
 import de.hse.golfclubmanagement.repositories.GolfCourseRepository;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service class for managing GolfCourse entities.
@@ -31,32 +46,111 @@ public class GolfCourseService {
     @Autowired
     private GolfCourseRepository golfCourseRepository;
 
+    @Autowired
+    private ChangeVersions changeVersions;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     /**
      * Saves a GolfCourse entity to the database.
+     * The saved entity replaces the cached lookup result for its name. Updating an
+     * existing entity clears the name lookup cache, as its old name is unknown here,
+     * and drops its cached course layout. The entity is queued for the search index
+     * and the version of the GolfCourses is incremented.
+     * A GolfCourse with an id is only saved if the club of the current thread has
+     * a GolfCourse with that id.
      *
      * @param golfCourse the GolfCourse entity to save
-     * @return the saved GolfCourse entity
+     * @return the saved GolfCourse entity, or null if there is no GolfCourse with its id
      */
+    @Caching(
+            evict = {
+                @CacheEvict(cacheNames = CacheConfig.GOLF_COURSE_BY_NAME, allEntries = true, beforeInvocation = true,
+                        condition = "#golfCourse?.id != null"),
+                @CacheEvict(cacheNames = CacheConfig.COURSE_LAYOUT, key = "#golfCourse.id",
+                        condition = "#golfCourse?.id != null")
+            },
+            put = @CachePut(cacheNames = CacheConfig.GOLF_COURSE_BY_NAME, key = "#result.name", condition = "#result?.name != null"))
     public GolfCourse saveGolfCourse(GolfCourse golfCourse) {
-        return golfCourseRepository.save(golfCourse);
+        Long clubId = ClubContext.getClubId();
+        if (golfCourse != null && golfCourse.getId() != null) {
+            if (!golfCourseRepository.existsById(golfCourse.getId())) {
+                return null; // unknown, or a GolfCourse of another club
+            }
+            if (clubId != null) {
+                golfCourse.setClubId(clubId);
+            }
+        }
+        if (golfCourse != null && golfCourse.getHoles() != null) {
+            golfCourse.getHoles().forEach(hole -> hole.setGolfCourse(golfCourse)); // owning side of the relation
+        }
+        GolfCourse savedGolfCourse = golfCourseRepository.save(golfCourse);
+        eventPublisher.publishEvent(SearchIndex.EntitySaved.of(savedGolfCourse));
+        changeVersions.increment(ChangeVersions.GOLF_COURSES);
+        return savedGolfCourse;
     }
 
     /**
      * Retrieves all GolfCourse entities from the database.
+     * The holes of all courses are loaded with the courses in one query.
      *
      * @return a list of all GolfCourse entities
      */
+    @Transactional(readOnly = true)
     public List<GolfCourse> getAllGolfCourses() {
-        return golfCourseRepository.findAll();
+        return golfCourseRepository.findAllWithHoles();
     }
 
     /**
      * Finds a GolfCourse by its name.
+     * Results, including names without a match, are cached by name. The holes
+     * are initialized before, as a result from the query cache comes without them.
      *
      * @param name the name of the GolfCourse to find
      * @return the GolfCourse with the specified name, or null if not found
      */
+    @Cacheable(cacheNames = CacheConfig.GOLF_COURSE_BY_NAME)
+    @Transactional(readOnly = true)
     public GolfCourse findByName(String name) {
-        return golfCourseRepository.findByName(name);
+        GolfCourse golfCourse = golfCourseRepository.findByName(name);
+        if (golfCourse != null) {
+            Hibernate.initialize(golfCourse.getHoles());
+        }
+        return golfCourse;
+    }
+
+    /**
+     * Retrieves one page of GolfCourse entities ordered by id (keyset pagination).
+     *
+     * @param after the id after which the page starts, 0 for the first page
+     * @param size the maximum number of GolfCourse entities on the page
+     * @return the page including the cursor of the next page
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<GolfCourse> getGolfCoursesPage(long after, int size) {
+        List<Long> ids = golfCourseRepository.findIdsAfter(after, PageRequest.of(0, size));
+        List<GolfCourse> golfCourses = ids.isEmpty() ? List.of() : golfCourseRepository.findAllWithHolesByIdIn(ids);
+        return KeysetPage.of(golfCourses, size, GolfCourse::getId);
+    }
+
+    /**
+     * Streams all GolfCourse entities ordered by id to the given consumer.
+     * The entities are read from a database cursor and detached once consumed,
+     * so the memory used does not grow with the number of rows.
+     *
+     * @param consumer the consumer receiving each GolfCourse entity
+     */
+    @Transactional(readOnly = true)
+    public void streamAllGolfCourses(Consumer<GolfCourse> consumer) {
+        try (Stream<GolfCourse> golfCourses = golfCourseRepository.streamAllWithHoles()) {
+            golfCourses.forEach(row -> {
+                consumer.accept(row);
+                entityManager.detach(row);
+            });
+        }
     }
 }
@@ -0,0 +1,326 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import de.hse.golfclubmanagement.config.ClubContext;
+import de.hse.golfclubmanagement.dto.LeaderboardEvent;
+import de.hse.golfclubmanagement.dto.LeaderboardView;
+import de.hse.golfclubmanagement.dto.LeaderboardView.Ranking;
+import de.hse.golfclubmanagement.dto.ScorecardView;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Standings of one Tournament, kept sorted by gross and by net score so a
+ * submission only moves the entry of one player: its old entry is removed
+ * from both order statistic trees, the new one inserted and its positions
+ * counted, each in O(log n).
+ * <p>
+ * Players are ranked by their score relative to the par of the holes played;
+ * players without a hole played are listed last. Completed rounds on the same
+ * score are separated by countback over the last 9, 6, 3 and 1 holes in the
+ * order of the hole numbers, for the net ranking less 1/2, 1/3, 1/6 and 1/18
+ * of the handicap. Rounds in progress on the same score share a position.
+ * Every change yields an event with the new positions of the player.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+public final class Leaderboard {
+
+    /**
+     * The number of last holes compared by countback, in the order applied.
+     */
+    static final int[] COUNTBACK_HOLES = {9, 6, 3, 1};
+
+    private static final Comparator<Entry> GROSS_ORDER = order(Ranking.GROSS);
+
+    private static final Comparator<Entry> NET_ORDER = order(Ranking.NET);
+
+    private final long tournamentId;
+
+    private final long clubId;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    private final OrderStatisticTree<Entry> gross = new OrderStatisticTree<>(GROSS_ORDER);
+
+    private final OrderStatisticTree<Entry> net = new OrderStatisticTree<>(NET_ORDER);
+
+    /**
+     * Creates an empty leaderboard of a Tournament of the default club.
+     *
+     * @param tournamentId the id of the Tournament
+     */
+    public Leaderboard(long tournamentId) {
+        this(tournamentId, ClubContext.DEFAULT_CLUB_ID);
+    }
+
+    /**
+     * Creates an empty leaderboard.
+     *
+     * @param tournamentId the id of the Tournament
+     * @param clubId the id of the club of the Tournament
+     */
+    public Leaderboard(long tournamentId, long clubId) {
+        this.tournamentId = tournamentId;
+        this.clubId = clubId;
+    }
+
+    /**
+     * Gets the id of the Tournament.
+     *
+     * @return the id of the Tournament
+     */
+    public long getTournamentId() {
+        return tournamentId;
+    }
+
+    /**
+     * Gets the id of the club of the Tournament.
+     *
+     * @return the id of the club
+     */
+    public long getClubId() {
+        return clubId;
+    }
+
+    /**
+     * Adds a Scorecard or moves the entry of its player. Versions older than
+     * the one already applied are ignored, so submissions may be applied out of
+     * order and a card loaded from the database is not overwritten by a stale
+     * submission.
+     *
+     * @param scorecard the committed Scorecard of the Tournament
+     * @return the change of the player, or null if the version was already applied
+     * @throws IllegalArgumentException if the Scorecard belongs to another Tournament
+     */
+    public synchronized LeaderboardEvent update(ScorecardView scorecard) {
+        if (scorecard.getTournamentId() != tournamentId) {
+            throw new IllegalArgumentException("scorecard " + scorecard.getId() + " belongs to tournament "
+                    + scorecard.getTournamentId());
+        }
+        Entry previous = entries.get(scorecard.getMemberId());
+        if (previous != null) {
+            if (previous.version >= scorecard.getVersion()) {
+                return null;
+            }
+            gross.remove(previous);
+            net.remove(previous);
+        }
+        Entry entry = new Entry(scorecard);
+        entries.put(entry.memberId, entry);
+        gross.add(entry);
+        net.add(entry);
+        int changed = lastChangedHole(previous, entry);
+        return new LeaderboardEvent(tournamentId, entry.memberId,
+                changed < 0 ? null : scorecard.getHoleNumbers()[changed], changed < 0 ? 0 : entry.strokes[changed],
+                entry.holesPlayed, entry.toPar, entry.netToPar,
+                position(gross, entry, Ranking.GROSS), position(net, entry, Ranking.NET));
+    }
+
+    /**
+     * Gets the number of players with a Scorecard.
+     *
+     * @return the number of players
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Lists the standings from the first position.
+     *
+     * @param ranking the scores to rank by
+     * @param limit the maximum number of standings, 0 for all
+     * @return the standings
+     */
+    public synchronized LeaderboardView view(Ranking ranking, int limit) {
+        OrderStatisticTree<Entry> sorted = ranking == Ranking.NET ? net : gross;
+        int count = limit > 0 ? Math.min(limit, sorted.size()) : sorted.size();
+        List<LeaderboardView.Standing> standings = new ArrayList<>(count);
+        Iterator<Entry> iterator = sorted.iterator();
+        Entry next = iterator.hasNext() ? iterator.next() : null;
+        Entry previous = null;
+        int position = 0;
+        for (int rank = 1; rank <= count; rank++) {
+            Entry entry = next;
+            next = iterator.hasNext() ? iterator.next() : null;
+            boolean levelWithPrevious = previous != null && level(previous, entry, ranking);
+            if (!levelWithPrevious) {
+                position = rank;
+            }
+            boolean tied = levelWithPrevious || next != null && level(entry, next, ranking);
+            standings.add(standing(entry, ranking, position, tied));
+            previous = entry;
+        }
+        return new LeaderboardView(tournamentId, ranking, sorted.size(), standings);
+    }
+
+    /**
+     * Gets the position of an entry, shared with the players it is level with
+     * in the same way as the standings. These are ordered right before it: a
+     * completed round is level with the ones on the same score and countback, a
+     * round in progress with all on the same score, from the last completed one.
+     */
+    private static int position(OrderStatisticTree<Entry> sorted, Entry entry, Ranking ranking) {
+        Entry first = entry.first();
+        if (!entry.complete) {
+            Entry completed = sorted.lower(first);
+            if (completed != null && level(completed, first, ranking)) {
+                first = completed.first();
+            }
+        }
+        return sorted.countLess(first) + 1;
+    }
+
+    /**
+     * Gets the index of the last hole whose strokes differ from the previous
+     * version of the card, or -1 if no hole changed.
+     */
+    private static int lastChangedHole(Entry previous, Entry entry) {
+        for (int hole = entry.strokes.length - 1; hole >= 0; hole--) {
+            int before = previous != null && hole < previous.strokes.length ? previous.strokes[hole] : 0;
+            if (entry.strokes[hole] != before) {
+                return hole;
+            }
+        }
+        return -1;
+    }
+
+    private static LeaderboardView.Standing standing(Entry entry, Ranking ranking, int position, boolean tied) {
+        return ranking == Ranking.NET
+                ? new LeaderboardView.Standing(position, tied, entry.memberId, entry.holesPlayed, entry.net, entry.netToPar)
+                : new LeaderboardView.Standing(position, tied, entry.memberId, entry.holesPlayed, entry.gross, entry.toPar);
+    }
+
+    /**
+     * Whether two players adjacent in the ranking share a position.
+     */
+    private static boolean level(Entry a, Entry b, Ranking ranking) {
+        if (a.started() != b.started() || a.toPar(ranking) != b.toPar(ranking)) {
+            return false;
+        }
+        return !a.complete || !b.complete || Arrays.equals(a.countback(ranking), b.countback(ranking));
+    }
+
+    /**
+     * Orders by score, completed rounds before rounds in progress on the same
+     * score, then by countback and finally by member id, so the order is total.
+     */
+    private static Comparator<Entry> order(Ranking ranking) {
+        return Comparator.comparing((Entry entry) -> !entry.started())
+                .thenComparingInt(entry -> entry.toPar(ranking))
+                .thenComparing(entry -> !entry.complete)
+                .thenComparing(entry -> entry.countback(ranking), Arrays::compare)
+                .thenComparingLong(entry -> entry.memberId);
+    }
+
+    /**
+     * Immutable scores of one Scorecard version, including the countback sums.
+     */
+    private static final class Entry {
+
+        private static final int[] NO_COUNTBACK = new int[COUNTBACK_HOLES.length];
+
+        private final long memberId;
+
+        private final int version;
+
+        private final int[] strokes;
+
+        private final int holesPlayed;
+
+        private final boolean complete;
+
+        private final int gross;
+
+        private final int toPar;
+
+        private final int net;
+
+        private final int netToPar;
+
+        private final int[] grossCountback;
+
+        private final int[] netCountback;
+
+        private Entry(Entry entry, long memberId) {
+            this.memberId = memberId;
+            this.version = entry.version;
+            this.strokes = entry.strokes;
+            this.holesPlayed = entry.holesPlayed;
+            this.complete = entry.complete;
+            this.gross = entry.gross;
+            this.toPar = entry.toPar;
+            this.net = entry.net;
+            this.netToPar = entry.netToPar;
+            this.grossCountback = entry.grossCountback;
+            this.netCountback = entry.netCountback;
+        }
+
+        private Entry(ScorecardView scorecard) {
+            this.strokes = scorecard.getStrokes();
+            int holes = strokes.length;
+            this.memberId = scorecard.getMemberId();
+            this.version = scorecard.getVersion();
+            this.holesPlayed = scorecard.getHolesPlayed();
+            this.complete = holes > 0 && holesPlayed == holes;
+            this.gross = scorecard.getGross();
+            this.toPar = scorecard.getToPar();
+            this.net = scorecard.getNet();
+            this.netToPar = scorecard.getNetToPar();
+            if (complete) {
+                grossCountback = new int[COUNTBACK_HOLES.length];
+                netCountback = new int[COUNTBACK_HOLES.length];
+                for (int i = 0; i < COUNTBACK_HOLES.length; i++) {
+                    int last = Math.min(COUNTBACK_HOLES[i], holes);
+                    int sum = 0;
+                    for (int hole = holes - last; hole < holes; hole++) {
+                        sum += strokes[hole];
+                    }
+                    grossCountback[i] = sum;
+                    // sum - playing handicap * last / holes, scaled by the number of holes to stay integral
+                    netCountback[i] = sum * holes - scorecard.getPlayingHandicap() * last;
+                }
+            } else {
+                grossCountback = NO_COUNTBACK;
+                netCountback = NO_COUNTBACK;
+            }
+        }
+
+        /**
+         * Gets an entry with the same scores ordered before all players on them.
+         */
+        private Entry first() {
+            return new Entry(this, Long.MIN_VALUE);
+        }
+
+        private boolean started() {
+            return holesPlayed > 0;
+        }
+
+        private int toPar(Ranking ranking) {
+            return ranking == Ranking.NET ? netToPar : toPar;
+        }
+
+        private int[] countback(Ranking ranking) {
+            return ranking == Ranking.NET ? netCountback : grossCountback;
+        }
+    }
+}
@@ -0,0 +1,377 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans out the leaderboard events of the Tournaments to their Server-Sent
+ * Events subscribers.
+ * <p>
+ * Publishing never blocks: an event is serialized once and offered to the
+ * bounded queue of every subscriber, which is drained by a small pool of
+ * sender threads, one drain per subscriber at a time so its events stay in
+ * order. A subscriber whose queue is full has fallen behind and is dropped;
+ * it may subscribe again and start over from a fresh leaderboard. Subscribers
+ * receive a comment as heartbeat, so closed connections are detected even if
+ * no score is submitted.
+ * <p>
+ * A send blocks while the client does not read. A watchdog thread, which also
+ * schedules the heartbeat, drops a subscriber whose send takes longer than the
+ * send timeout and replaces its sender thread: the pool gets a thread more
+ * until the stuck send returns, so stuck clients do not starve the others.
+ * The pool grows up to the maximum number of sender threads; beyond it, stuck
+ * subscribers are only dropped. Emitters are completed on a pool of their own
+ * of the same maximum size, since completing one waits for a stuck send.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@Component
+public class LeaderboardBroadcaster {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LeaderboardBroadcaster.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${golfclub.leaderboard.events.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${golfclub.leaderboard.events.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${golfclub.leaderboard.events.heartbeat:15s}")
+    private Duration heartbeat;
+
+    @Value("${golfclub.leaderboard.events.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${golfclub.leaderboard.events.max-sender-threads:32}")
+    private int maxSenderThreads;
+
+    @Value("${golfclub.leaderboard.events.send-timeout:10s}")
+    private Duration sendTimeout;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    private final Set<Subscriber> sending = ConcurrentHashMap.newKeySet();
+
+    private ThreadPoolExecutor senders;
+
+    private ThreadPoolExecutor closers;
+
+    private ScheduledExecutorService watchdog;
+
+    /**
+     * Starts the sender threads, the heartbeat and the watchdog of the sends.
+     */
+    @PostConstruct
+    void init() {
+        senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), daemonThreads("leaderboard-events-"));
+        closers = new ThreadPoolExecutor(maxSenderThreads, maxSenderThreads, 1, TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(), daemonThreads("leaderboard-events-close-"));
+        closers.allowCoreThreadTimeOut(true);
+        watchdog = Executors.newSingleThreadScheduledExecutor(daemonThreads("leaderboard-events-watchdog-"));
+        watchdog.scheduleAtFixedRate(() -> broadcast(Message.HEARTBEAT), heartbeat.toMillis(), heartbeat.toMillis(),
+                TimeUnit.MILLISECONDS);
+        long checkInterval = Math.max(1, sendTimeout.toMillis() / 2);
+        watchdog.scheduleAtFixedRate(this::dropStuckSubscribers, checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Completes all subscriptions and stops the threads.
+     */
+    @PreDestroy
+    void shutdown() {
+        watchdog.shutdownNow();
+        senders.shutdownNow();
+        closers.shutdownNow();
+        subscribers.values().forEach(set -> set.forEach(subscriber -> drop(subscriber, false)));
+    }
+
+    /**
+     * Subscribes to the events of a Tournament. The first event sent is the
+     * given snapshot; to receive every later change, the caller has to hold
+     * the lock that also guards the publishing of the Tournament's events.
+     *
+     * @param tournamentId the id of the Tournament
+     * @param name the name of the snapshot event
+     * @param snapshot the current state the events apply to
+     * @return the emitter of the subscription
+     */
+    public SseEmitter subscribe(long tournamentId, String name, Object snapshot) {
+        Subscriber subscriber = new Subscriber(tournamentId, createEmitter(timeout), bufferSize);
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(error -> remove(subscriber));
+        subscribers.computeIfAbsent(tournamentId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        offer(subscriber, new Message(name, toJson(snapshot)));
+        return subscriber.emitter;
+    }
+
+    /**
+     * Sends an event to all subscribers of a Tournament without waiting for
+     * the delivery.
+     *
+     * @param tournamentId the id of the Tournament
+     * @param name the name of the event
+     * @param event the event data, serialized as JSON
+     */
+    public void publish(long tournamentId, String name, Object event) {
+        Set<Subscriber> recipients = subscribers.getOrDefault(tournamentId, Collections.emptySet());
+        if (recipients.isEmpty()) {
+            return;
+        }
+        Message message = new Message(name, toJson(event));
+        recipients.forEach(subscriber -> offer(subscriber, message));
+    }
+
+    /**
+     * Gets the number of subscribers of a Tournament.
+     *
+     * @param tournamentId the id of the Tournament
+     * @return the number of subscribers
+     */
+    public int subscriberCount(long tournamentId) {
+        return subscribers.getOrDefault(tournamentId, Collections.emptySet()).size();
+    }
+
+    /**
+     * Creates the emitter of a new subscription.
+     *
+     * @param timeout the time after which the subscription ends
+     * @return the emitter
+     */
+    SseEmitter createEmitter(Duration timeout) {
+        return new SseEmitter(timeout.toMillis());
+    }
+
+    private void broadcast(Message message) {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> offer(subscriber, message)));
+    }
+
+    private void offer(Subscriber subscriber, Message message) {
+        if (!subscriber.queue.offer(message)) {
+            LOG.info("Dropping a subscriber of tournament {}, {} events are not delivered", subscriber.tournamentId,
+                    bufferSize);
+            drop(subscriber, true);
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            for (Message message = subscriber.queue.poll(); message != null; message = subscriber.queue.poll()) {
+                if (!send(subscriber, message)) {
+                    return;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // the client went away, or the emitter was completed meanwhile
+            remove(subscriber);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // an event offered after the last poll but before the flag was reset would be stranded
+        if (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    /**
+     * Sends a message, watched by the watchdog.
+     *
+     * @return false if the send took too long and the sender thread was written off
+     */
+    private boolean send(Subscriber subscriber, Message message) throws IOException {
+        subscriber.sendStartedAt = System.nanoTime();
+        subscriber.sendState.set(Subscriber.SENDING);
+        sending.add(subscriber);
+        boolean writtenOff;
+        try {
+            subscriber.emitter.send(message.toEvent());
+        } finally {
+            sending.remove(subscriber);
+            int state = subscriber.sendState.getAndSet(Subscriber.IDLE);
+            writtenOff = state != Subscriber.SENDING;
+            if (state == Subscriber.REPLACED) {
+                // the subscriber was dropped meanwhile, and this thread replaced by another one
+                resizeSenders(-1);
+            }
+        }
+        return !writtenOff;
+    }
+
+    private void dropStuckSubscribers() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : sending) {
+            if (now - subscriber.sendStartedAt > sendTimeout.toNanos()
+                    && subscriber.sendState.compareAndSet(Subscriber.SENDING, Subscriber.DROPPED)) {
+                LOG.info("Dropping a subscriber of tournament {}, a send is stuck for more than {}",
+                        subscriber.tournamentId, sendTimeout);
+                drop(subscriber, true);
+                // if the send returned meanwhile, its thread is free again
+                if (resizeSenders(1) && !subscriber.sendState.compareAndSet(Subscriber.DROPPED, Subscriber.REPLACED)) {
+                    resizeSenders(-1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds or removes sender threads, never beyond the maximum.
+     *
+     * @return false if the pool is at the maximum or shut down
+     */
+    private synchronized boolean resizeSenders(int delta) {
+        int size = senders.getCorePoolSize() + delta;
+        if (senders.isShutdown() || size > maxSenderThreads) {
+            return false;
+        }
+        // the core size must never exceed the maximum size
+        if (delta > 0) {
+            senders.setMaximumPoolSize(size);
+            senders.setCorePoolSize(size);
+        } else {
+            senders.setCorePoolSize(size);
+            senders.setMaximumPoolSize(size);
+        }
+        return true;
+    }
+
+    private void drop(Subscriber subscriber, boolean slow) {
+        remove(subscriber);
+        subscriber.queue.clear();
+        // the emitter is locked while a send is stuck on a slow client, so complete it on a thread of its own
+        Runnable complete = slow
+                ? () -> subscriber.emitter.completeWithError(new IOException("subscriber too slow"))
+                : subscriber.emitter::complete;
+        if (closers.isShutdown()) {
+            complete.run();
+        } else {
+            closers.execute(complete);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.tournamentId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threads = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private String toJson(Object data) {
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("cannot serialize " + data.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Subscription of one client with its bounded buffer.
+     */
+    private static final class Subscriber {
+
+        private static final int IDLE = 0;
+
+        private static final int SENDING = 1;
+
+        private static final int DROPPED = 2;
+
+        private static final int REPLACED = 3;
+
+        private final long tournamentId;
+
+        private final SseEmitter emitter;
+
+        private final BlockingQueue<Message> queue;
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private final AtomicInteger sendState = new AtomicInteger(IDLE);
+
+        private volatile long sendStartedAt;
+
+        private Subscriber(long tournamentId, SseEmitter emitter, int bufferSize) {
+            this.tournamentId = tournamentId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+
+    /**
+     * Event serialized once and shared by all subscribers; the event builders
+     * of the emitter are stateful, so one is created per delivery.
+     */
+    private static final class Message {
+
+        private static final Message HEARTBEAT = new Message(null, null);
+
+        private final String name;
+
+        private final String json;
+
+        private Message(String name, String json) {
+            this.name = name;
+            this.json = json;
+        }
+
+        private SseEmitter.SseEventBuilder toEvent() {
+            return name == null
+                    ? SseEmitter.event().comment("heartbeat")
+                    : SseEmitter.event().name(name).data(json, MediaType.APPLICATION_JSON);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.hse.golfclubmanagement.config.ClubContext;
+import de.hse.golfclubmanagement.dto.LeaderboardEvent;
+import de.hse.golfclubmanagement.dto.LeaderboardView;
+import de.hse.golfclubmanagement.dto.ScorecardView;
+import de.hse.golfclubmanagement.models.Scorecard;
+import de.hse.golfclubmanagement.repositories.ScorecardRepository;
+import de.hse.golfclubmanagement.repositories.TournamentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Service class keeping the live Leaderboards of the Tournaments in memory.
+ * A Leaderboard is loaded from the Scorecards in the database when it is first
+ * needed and afterwards changed by every committed stroke submission only, so
+ * polling the standings never touches the database. The Leaderboards of the
+ * Tournaments of the current days are loaded once the application has started;
+ * Leaderboards not read or changed for the idle timeout are dropped and loaded
+ * again on demand. Every change is pushed to the subscribers of the Tournament.
+ * The Leaderboards are shared by all clubs; each knows the club of its
+ * Tournament, and a club only reads and subscribes to its own.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@Service
+public class LeaderboardService {
+
+    /**
+     * The name of the event carrying the standings a subscription starts from.
+     */
+    public static final String SNAPSHOT_EVENT = "leaderboard";
+
+    /**
+     * The name of the events carrying the change of one player.
+     */
+    public static final String SCORE_EVENT = "score";
+
+    private static final Logger LOG = LoggerFactory.getLogger(LeaderboardService.class);
+
+    @Autowired
+    private ScorecardRepository scorecardRepository;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private CourseLayoutService courseLayoutService;
+
+    @Autowired
+    private LeaderboardBroadcaster broadcaster;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${golfclub.leaderboard.idle-timeout:6h}")
+    private Duration idleTimeout;
+
+    @Value("${golfclub.leaderboard.preload-days:2}")
+    private int preloadDays;
+
+    private TransactionTemplate loadTransaction;
+
+    private Cache<Long, Leaderboard> leaderboards;
+
+    /**
+     * Creates the Leaderboard store and the template loading a Leaderboard.
+     */
+    @PostConstruct
+    void init() {
+        loadTransaction = new TransactionTemplate(transactionManager);
+        leaderboards = Caffeine.newBuilder().expireAfterAccess(idleTimeout).build();
+    }
+
+    /**
+     * Loads the Leaderboards of the Tournaments dated today and the days
+     * before within the preload days once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        long start = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        List<TournamentRepository.CalendarEntry> tournaments = tournamentRepository.findCalendarEntries(
+                Date.valueOf(today.minusDays(Math.max(preloadDays - 1, 0))), Date.valueOf(today));
+        int players = 0;
+        for (TournamentRepository.CalendarEntry tournament : tournaments) {
+            players += leaderboards.get(tournament.getId(), this::load).size();
+        }
+        LOG.info("Loaded {} leaderboards with {} players in {} ms", tournaments.size(), players,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Retrieves the current standings of a Tournament.
+     *
+     * @param tournamentId the id of the Tournament
+     * @param ranking the scores to rank by
+     * @param limit the maximum number of standings, 0 for all
+     * @return the standings, or null if there is no Tournament with the id
+     */
+    public LeaderboardView getLeaderboard(long tournamentId, LeaderboardView.Ranking ranking, int limit) {
+        Leaderboard leaderboard = find(tournamentId);
+        return leaderboard == null ? null : leaderboard.view(ranking, limit);
+    }
+
+    /**
+     * Subscribes to the live changes of a Tournament. The subscription starts
+     * with the current standings, followed by a score event for every change.
+     *
+     * @param tournamentId the id of the Tournament
+     * @param ranking the scores the initial standings are ranked by
+     * @return the emitter of the subscription, or null if there is no Tournament with the id
+     */
+    public SseEmitter subscribe(long tournamentId, LeaderboardView.Ranking ranking) {
+        Leaderboard leaderboard = find(tournamentId);
+        if (leaderboard == null) {
+            return null;
+        }
+        // the lock of the leaderboard orders the snapshot against the published changes
+        synchronized (leaderboard) {
+            return broadcaster.subscribe(tournamentId, SNAPSHOT_EVENT, leaderboard.view(ranking, 0));
+        }
+    }
+
+    /**
+     * Applies a committed change of a Scorecard to the Leaderboard of its
+     * Tournament. If the Leaderboard is not in memory yet, it is loaded first;
+     * the load already sees the change, which is then skipped by its version.
+     *
+     * @param scorecard the committed Scorecard
+     */
+    public void update(ScorecardView scorecard) {
+        Leaderboard leaderboard = leaderboards.get(scorecard.getTournamentId(), this::load);
+        // publishing under the lock keeps the events of concurrent submissions in the order applied
+        synchronized (leaderboard) {
+            LeaderboardEvent event = leaderboard.update(scorecard);
+            if (event != null) {
+                broadcaster.publish(scorecard.getTournamentId(), SCORE_EVENT, event);
+            }
+        }
+    }
+
+    /**
+     * Drops all Leaderboards, so they are loaded from the database again.
+     */
+    public void clear() {
+        leaderboards.invalidateAll();
+    }
+
+    /**
+     * Finds the Leaderboard of a Tournament of the club of the current thread.
+     * The club is checked on every call, as a Leaderboard in memory may have
+     * been loaded for another club.
+     */
+    private Leaderboard find(long tournamentId) {
+        Leaderboard leaderboard = leaderboards.getIfPresent(tournamentId);
+        if (leaderboard == null) {
+            if (!tournamentRepository.existsById(tournamentId)) {
+                return null;
+            }
+            leaderboard = leaderboards.get(tournamentId, this::load);
+        }
+        return ClubContext.isVisible(leaderboard.getClubId()) ? leaderboard : null;
+    }
+
+    /**
+     * Loads a Leaderboard in a transaction which is not read-only, so it is
+     * read from the primary: it is kept for the idle timeout and only updated
+     * with the scores entered later, so a replica lagging behind would leave
+     * it without the latest scores.
+     */
+    private Leaderboard load(long tournamentId) {
+        return loadTransaction.execute(status -> {
+            Long clubId = tournamentRepository.findClubIdById(tournamentId);
+            Leaderboard leaderboard = new Leaderboard(tournamentId,
+                    clubId != null ? clubId : ClubContext.getClubIdOrDefault());
+            for (Scorecard scorecard : scorecardRepository.findByTournamentIdOrderByIdAsc(tournamentId)) {
+                CourseLayout layout = courseLayoutService.getLayout(scorecard.getGolfCourseId());
+                if (layout == null) {
+                    LOG.warn("Skipping scorecard {}, golf course {} does not exist", scorecard.getId(),
+                            scorecard.getGolfCourseId());
+                    continue;
+                }
+                leaderboard.update(ScoringService.toView(scorecard, layout));
+            }
+            return leaderboard;
+        });
+    }
+}
@@ -0,0 +1,260 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import de.hse.golfclubmanagement.config.ClubContext;
+import de.hse.golfclubmanagement.dto.MemberSuggestion;
+import de.hse.golfclubmanagement.models.Member;
+import de.hse.golfclubmanagement.repositories.MemberRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory prefix index over the names of all Members, serving the
+ * autocomplete of the member search without a database round trip.
+ * <p>
+ * Names are normalised (lower case, German umlauts transliterated, other
+ * diacritics removed), so "Müller", "MÜLLER" and "Mueller" share one key.
+ * Every word of a name is indexed, so "Anna Müller" is found by "anna" and
+ * by "mue". The keys are kept in a sorted concurrent map, a lookup is a
+ * range scan starting at the prefix. The keys start with the club of the
+ * Member, so a lookup only finds Members of the club of the current thread.
+ * <p>
+ * A rebuild fills new maps and swaps them in at once, so lookups keep using
+ * the old ones meanwhile. Changes made during a rebuild are applied to both
+ * and replayed on the new maps before the swap, so none is lost.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@Component
+public class MemberNameIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MemberNameIndex.class);
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * Separates the normalised name from the id in a key; it sorts before
+     * every character of a name, so all keys of one name are adjacent.
+     */
+    private static final char ID_SEPARATOR = '\u0000';
+
+    /**
+     * Separates the club from the normalised name in a key.
+     */
+    private static final char CLUB_SEPARATOR = ':';
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Index index = new Index();
+
+    /**
+     * The changes made while a rebuild runs, replayed on the new maps; null
+     * if no rebuild runs. Guarded by this.
+     */
+    private List<Consumer<Index>> changesDuringRebuild;
+
+    /**
+     * Loads the names of all Members once the application has started.
+     * It runs outside of a club, as it has to read the Members of all clubs.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.nanoTime();
+        List<Consumer<Index>> changes = new ArrayList<>();
+        synchronized (this) {
+            changesDuringRebuild = changes;
+        }
+        Index rebuilt = new Index();
+        try (Stream<Member> members = memberRepository.streamAll()) {
+            members.forEach(member -> {
+                rebuilt.put(member);
+                entityManager.detach(member); // keep the persistence context from holding every Member
+            });
+        } finally {
+            synchronized (this) {
+                changesDuringRebuild = null;
+                changes.forEach(change -> change.accept(rebuilt));
+                index = rebuilt;
+            }
+        }
+        LOG.info("Indexed {} member names in {} ms", rebuilt.keysById.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Adds a Member to the index or replaces the entries of its previous name.
+     *
+     * @param member the saved Member, ignored if it has no id
+     */
+    public void put(Member member) {
+        if (member == null || member.getId() == null) {
+            return;
+        }
+        // resolve the club now, a replay may run on another thread
+        long clubId = member.getClubId() != null ? member.getClubId() : ClubContext.getClubIdOrDefault();
+        long id = member.getId();
+        String name = member.getName();
+        change(index -> index.put(id, name, clubId));
+    }
+
+    /**
+     * Removes a Member from the index.
+     *
+     * @param id the id of the Member
+     */
+    public void remove(long id) {
+        change(index -> index.remove(id));
+    }
+
+    private synchronized void change(Consumer<Index> change) {
+        change.accept(index);
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+    }
+
+    /**
+     * Finds the Members of the club of the current thread, or of the default club
+     * for a thread without one, of which the name or one of its words starts with the prefix.
+     *
+     * @param prefix the prefix typed by the user, case and diacritics are ignored
+     * @param limit the maximum number of suggestions
+     * @return the suggestions ordered by the matching part of the name
+     */
+    public List<MemberSuggestion> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        List<MemberSuggestion> suggestions = new ArrayList<>(Math.min(limit, 16));
+        if (normalized.isEmpty() || limit <= 0) {
+            return suggestions;
+        }
+        String start = clubPrefix(ClubContext.getClubIdOrDefault()) + normalized;
+        NavigableMap<String, MemberSuggestion> matches = index.entries.subMap(start, true, start + Character.MAX_VALUE, false);
+        Set<Long> seen = new HashSet<>();
+        for (MemberSuggestion suggestion : matches.values()) {
+            if (seen.add(suggestion.getId())) {
+                suggestions.add(suggestion);
+                if (suggestions.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Gets the number of indexed Members.
+     *
+     * @return the number of indexed Members
+     */
+    public int size() {
+        return index.keysById.size();
+    }
+
+    /**
+     * Normalises a name for the index: lower case, ä/ö/ü/ß transliterated to
+     * ae/oe/ue/ss, remaining diacritics removed and whitespace collapsed.
+     *
+     * @param name the name to normalise, may be null
+     * @return the normalised name, empty if the name is null or blank
+     */
+    static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        String lower = Normalizer.normalize(name, Normalizer.Form.NFC).toLowerCase(Locale.ROOT)
+                .replace("ä", "ae")
+                .replace("ö", "oe")
+                .replace("ü", "ue")
+                .replace("ß", "ss");
+        String stripped = DIACRITICS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(stripped).replaceAll(" ").trim();
+    }
+
+    private static String clubPrefix(long clubId) {
+        return Long.toString(clubId) + CLUB_SEPARATOR;
+    }
+
+    private static int nextWord(String normalized, int from) {
+        int blank = normalized.indexOf(' ', from);
+        return blank < 0 ? -1 : blank + 1;
+    }
+
+    /**
+     * The keys of all indexed Members and the keys of each Member.
+     */
+    private static final class Index {
+
+        private final ConcurrentSkipListMap<String, MemberSuggestion> entries = new ConcurrentSkipListMap<>();
+
+        private final Map<Long, List<String>> keysById = new ConcurrentHashMap<>();
+
+        private void put(Member member) {
+            if (member.getId() != null) {
+                put(member.getId(), member.getName(),
+                        member.getClubId() != null ? member.getClubId() : ClubContext.getClubIdOrDefault());
+            }
+        }
+
+        private void put(long id, String name, long clubId) {
+            remove(id);
+            String normalized = normalize(name);
+            if (normalized.isEmpty()) {
+                return;
+            }
+            MemberSuggestion suggestion = new MemberSuggestion(id, name);
+            String club = clubPrefix(clubId);
+            List<String> keys = new ArrayList<>(2);
+            for (int start = 0; start >= 0; start = nextWord(normalized, start)) {
+                String key = club + normalized.substring(start) + ID_SEPARATOR + id;
+                entries.put(key, suggestion);
+                keys.add(key);
+            }
+            keysById.put(id, keys);
+        }
+
+        private void remove(long id) {
+            List<String> keys = keysById.remove(id);
+            if (keys != null) {
+                keys.forEach(entries::remove);
+            }
+        }
+    }
+}
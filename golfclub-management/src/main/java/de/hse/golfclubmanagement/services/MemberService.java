@@ -12,12 +12,29 @@
  */
 package de.hse.golfclubmanagement.services;
 
+import de.hse.golfclubmanagement.config.CacheConfig;
+import de.hse.golfclubmanagement.config.ClubContext;
+import de.hse.golfclubmanagement.dto.HandicapHistogram;
+import de.hse.golfclubmanagement.dto.KeysetPage;
+import de.hse.golfclubmanagement.dto.MemberSuggestion;
 import de.hse.golfclubmanagement.models.Member;
 import de.hse.golfclubmanagement.repositories.MemberRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service class for managing Member entities.
@@ -31,14 +48,61 @@ public class MemberService {
     @Autowired
     private MemberRepository memberRepository;
 
+    @Autowired
+    private MemberNameIndex memberNameIndex;
+
+    @Autowired
+    private ChangeVersions changeVersions;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     /**
      * Adds a new Member entity to the database.
+     * The saved entity replaces the cached lookup result for its name. Updating an
+     * existing entity clears the name lookup cache, as its old name is unknown here.
+     * The name of the saved entity is added to the autocomplete index, the entity
+     * is queued for the search index and the version of the Members is incremented.
+     * A Member with an id is only saved if the club of the current thread has a
+     * Member with that id.
      *
      * @param member the Member entity to add
-     * @return the saved Member entity
+     * @return the saved Member entity, or null if there is no Member with its id
      */
+    @Caching(
+            evict = @CacheEvict(cacheNames = CacheConfig.MEMBER_BY_NAME, allEntries = true, beforeInvocation = true,
+                    condition = "#member?.id != null"),
+            put = @CachePut(cacheNames = CacheConfig.MEMBER_BY_NAME, key = "#result.name", condition = "#result?.name != null"))
     public Member addMember(Member member) {
-        return memberRepository.save(member);
+        Long clubId = ClubContext.getClubId();
+        if (member != null && member.getId() != null) {
+            if (!memberRepository.existsById(member.getId())) {
+                return null; // unknown, or a Member of another club
+            }
+            if (clubId != null) {
+                member.setClubId(clubId);
+            }
+        }
+        Member savedMember = memberRepository.save(member);
+        memberNameIndex.put(savedMember);
+        eventPublisher.publishEvent(SearchIndex.EntitySaved.of(savedMember));
+        changeVersions.increment(ChangeVersions.MEMBERS);
+        return savedMember;
+    }
+
+    /**
+     * Suggests Members of which the name or one of its words starts with the prefix.
+     * The suggestions are served from the in-memory name index.
+     *
+     * @param prefix the prefix typed by the user, case and diacritics are ignored
+     * @param limit the maximum number of suggestions
+     * @return the suggestions ordered by name
+     */
+    public List<MemberSuggestion> suggestByName(String prefix, int limit) {
+        return memberNameIndex.suggest(prefix, limit);
     }
 
     /**
@@ -46,17 +110,116 @@ public class MemberService {
      *
      * @return a list of all Member entities
      */
+    @Transactional(readOnly = true)
     public List<Member> getAllMembers() {
         return memberRepository.findAll();
     }
 
     /**
      * Finds a Member by their name.
+     * Results, including names without a match, are cached by name.
      *
      * @param name the name of the Member to find
      * @return the Member with the specified name, or null if not found
      */
+    @Cacheable(cacheNames = CacheConfig.MEMBER_BY_NAME)
+    @Transactional(readOnly = true)
     public Member findByName(String name) {
         return memberRepository.findByName(name);
     }
+
+    /**
+     * Retrieves one page of Member entities ordered by id (keyset pagination).
+     *
+     * @param after the id after which the page starts, 0 for the first page
+     * @param size the maximum number of Member entities on the page
+     * @return the page including the cursor of the next page
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<Member> getMembersPage(long after, int size) {
+        List<Member> members = memberRepository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, size));
+        return KeysetPage.of(members, size, Member::getId);
+    }
+
+    /**
+     * Streams all Member entities ordered by id to the given consumer.
+     * The entities are read from a database cursor and detached once consumed,
+     * so the memory used does not grow with the number of rows.
+     *
+     * @param consumer the consumer receiving each Member entity
+     */
+    @Transactional(readOnly = true)
+    public void streamAllMembers(Consumer<Member> consumer) {
+        try (Stream<Member> members = memberRepository.streamAll()) {
+            members.forEach(row -> {
+                consumer.accept(row);
+                entityManager.detach(row);
+            });
+        }
+    }
+
+    /**
+     * Streams the Members with a handicap in the given range, ordered by handicap
+     * and id, to the given consumer. The entities are read from a database cursor
+     * and detached once consumed, so the memory used does not grow with the
+     * number of rows.
+     *
+     * @param status the membership status of the Members, or null for all Members
+     * @param min the lowest handicap, inclusive
+     * @param max the highest handicap, inclusive
+     * @param consumer the consumer receiving each Member entity
+     * @throws IllegalArgumentException if min is greater than max
+     */
+    @Transactional(readOnly = true)
+    public void streamMembersByHandicap(String status, int min, int max, Consumer<Member> consumer) {
+        if (min > max) {
+            throw new IllegalArgumentException("min must not be greater than max");
+        }
+        try (Stream<Member> members = status == null
+                ? memberRepository.streamByHandicapBetween(min, max)
+                : memberRepository.streamByStatusAndHandicapBetween(status, min, max)) {
+            members.forEach(row -> {
+                consumer.accept(row);
+                entityManager.detach(row);
+            });
+        }
+    }
+
+    /**
+     * Computes the distribution of the handicaps of the Members. The Members are
+     * counted per handicap by the database; the service only merges the counts
+     * into buckets starting at multiples of the bucket width.
+     *
+     * @param status the membership status of the Members, or null for all Members
+     * @param bucketWidth the number of handicaps counted in one bucket
+     * @return the histogram containing the buckets with at least one Member
+     * @throws IllegalArgumentException if the bucket width is less than 1
+     */
+    @Transactional(readOnly = true)
+    public HandicapHistogram getHandicapHistogram(String status, int bucketWidth) {
+        if (bucketWidth < 1) {
+            throw new IllegalArgumentException("bucketWidth must be at least 1");
+        }
+        List<MemberRepository.HandicapCount> counts = status == null
+                ? memberRepository.countGroupByHandicap()
+                : memberRepository.countByStatusGroupByHandicap(status);
+        List<HandicapHistogram.Bucket> buckets = new ArrayList<>();
+        long total = 0;
+        int from = 0;
+        long members = 0;
+        for (MemberRepository.HandicapCount count : counts) {
+            int bucket = Math.floorDiv(count.getHandicap(), bucketWidth) * bucketWidth;
+            if (members > 0 && bucket != from) {
+                buckets.add(new HandicapHistogram.Bucket(from, from + bucketWidth - 1, members));
+                members = 0;
+            }
+            from = bucket;
+            members += count.getMembers();
+            total += count.getMembers();
+        }
+        if (members > 0) {
+            buckets.add(new HandicapHistogram.Bucket(from, from + bucketWidth - 1, members));
+        }
+        return new HandicapHistogram(status, bucketWidth, total, buckets);
+    }
 }
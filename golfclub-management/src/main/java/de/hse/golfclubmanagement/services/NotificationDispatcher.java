@@ -0,0 +1,297 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.hse.golfclubmanagement.models.OutboxMessage;
+import de.hse.golfclubmanagement.repositories.OutboxMessageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Delivers the notifications of the outbox to the notification-service on a
+ * background thread. The oldest due notifications are read in batches; each
+ * one is posted to {@code /notifications}, and the batch is settled in one
+ * transaction: delivered notifications are deleted, failed ones are retried
+ * after an exponentially growing, jittered delay until they run out of
+ * attempts. A rejected notification (4xx) is not retried.
+ * <p>
+ * After too many failures in a row a circuit breaker stops the delivery for a
+ * while, so an unavailable notification-service is not called for every
+ * notification. The outbox is drained when notifications are committed and
+ * in a fixed interval.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@Component
+public class NotificationDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${golfclub.notification.enabled:true}")
+    private boolean enabled;
+
+    @Value("${golfclub.notification.url:http://notification-service:8082}")
+    private String url;
+
+    @Value("${golfclub.notification.timeout:2s}")
+    private Duration timeout;
+
+    @Value("${golfclub.notification.batch-size:100}")
+    private int batchSize;
+
+    @Value("${golfclub.notification.poll-interval:5s}")
+    private Duration pollInterval;
+
+    @Value("${golfclub.notification.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${golfclub.notification.initial-backoff:1s}")
+    private Duration initialBackoff;
+
+    @Value("${golfclub.notification.max-backoff:10m}")
+    private Duration maxBackoff;
+
+    @Value("${golfclub.notification.circuit-breaker.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${golfclub.notification.circuit-breaker.open-duration:30s}")
+    private Duration openDuration;
+
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+
+    private HttpClient httpClient;
+
+    private URI endpoint;
+
+    private CircuitBreaker circuitBreaker;
+
+    private TransactionTemplate readTemplate;
+
+    private TransactionTemplate writeTemplate;
+
+    private ScheduledExecutorService executor;
+
+    /**
+     * Creates the HTTP client and, if enabled, starts the dispatcher thread.
+     */
+    @PostConstruct
+    void init() {
+        httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+        endpoint = URI.create(url.replaceAll("/+$", "") + "/notifications");
+        circuitBreaker = new CircuitBreaker(failureThreshold, openDuration, Clock.systemUTC());
+        readTemplate = new TransactionTemplate(transactionManager);
+        readTemplate.setReadOnly(true);
+        writeTemplate = new TransactionTemplate(transactionManager);
+        if (enabled) {
+            executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "notification-dispatcher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.scheduleWithFixedDelay(this::dispatchQuietly, pollInterval.toMillis(), pollInterval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the dispatcher thread.
+     */
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Drains the outbox as soon as new notifications are committed. Wake-ups
+     * arriving while one is pending are merged.
+     *
+     * @param event the notifications added
+     */
+    @TransactionalEventListener
+    public void onMessagesAdded(NotificationOutbox.MessagesAdded event) {
+        if (executor != null && wakeUpPending.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                wakeUpPending.set(false);
+                dispatchQuietly();
+            });
+        }
+    }
+
+    /**
+     * Delivers the due notifications batch by batch until the outbox holds no
+     * more due ones, a delivery fails or the circuit breaker is open.
+     *
+     * @return the number of notifications delivered
+     */
+    public int dispatch() {
+        int delivered = 0;
+        while (circuitBreaker.allowRequest()) {
+            List<OutboxMessage> batch = readTemplate.execute(status -> outboxMessageRepository
+                    .findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(OutboxMessage.Status.PENDING, Instant.now(),
+                            PageRequest.of(0, batchSize)));
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<Long> sent = new ArrayList<>(batch.size());
+            Map<OutboxMessage, String> failed = new LinkedHashMap<>();
+            Map<OutboxMessage, String> rejected = new LinkedHashMap<>();
+            for (OutboxMessage message : batch) {
+                if (!circuitBreaker.allowRequest()) {
+                    break;
+                }
+                try {
+                    int status = post(message);
+                    if (status / 100 == 2) {
+                        circuitBreaker.recordSuccess();
+                        sent.add(message.getId());
+                    } else if (status / 100 == 4 && status != 408 && status != 429) {
+                        circuitBreaker.recordSuccess();
+                        rejected.put(message, "rejected with status " + status);
+                    } else {
+                        circuitBreaker.recordFailure();
+                        failed.put(message, "failed with status " + status);
+                    }
+                } catch (IOException e) {
+                    circuitBreaker.recordFailure();
+                    failed.put(message, e.toString());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            settle(sent, failed, rejected);
+            delivered += sent.size();
+            if (sent.size() < batch.size()) {
+                break;
+            }
+        }
+        return delivered;
+    }
+
+    /**
+     * Gets the circuit breaker in front of the notification-service.
+     *
+     * @return the circuit breaker
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    private void dispatchQuietly() {
+        try {
+            dispatch();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Dispatching notifications failed", e);
+        }
+    }
+
+    private int post(OutboxMessage message) throws IOException, InterruptedException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("user_id", message.getMemberId());
+        body.put("message", message.getMessage());
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /**
+     * Deletes the delivered notifications and records the failed attempts in one transaction.
+     */
+    private void settle(List<Long> sent, Map<OutboxMessage, String> failed, Map<OutboxMessage, String> rejected) {
+        Instant now = Instant.now();
+        writeTemplate.executeWithoutResult(status -> {
+            if (!sent.isEmpty()) {
+                outboxMessageRepository.deleteAllByIdInBatch(sent);
+            }
+            failed.forEach((message, error) -> {
+                int attempts = message.getAttempts() + 1;
+                if (attempts >= maxAttempts) {
+                    LOGGER.warn("Giving up notification {} after {} attempts: {}", message.getId(), attempts, error);
+                    outboxMessageRepository.recordFailure(message.getId(), OutboxMessage.Status.FAILED, now, cut(error));
+                } else {
+                    outboxMessageRepository.recordFailure(message.getId(), OutboxMessage.Status.PENDING,
+                            now.plus(backoff(attempts)), cut(error));
+                }
+            });
+            rejected.forEach((message, error) -> {
+                LOGGER.warn("Notification {} {}", message.getId(), error);
+                outboxMessageRepository.recordFailure(message.getId(), OutboxMessage.Status.FAILED, now, cut(error));
+            });
+        });
+    }
+
+    /**
+     * The delay before the next attempt: the initial backoff doubled with
+     * every failed attempt up to the maximum, of which a random half is waited
+     * on top of the other half, so failed notifications do not return in lockstep.
+     */
+    Duration backoff(int attempts) {
+        long delay = Math.min(initialBackoff.toMillis() << Math.min(attempts - 1, 30), maxBackoff.toMillis());
+        return Duration.ofMillis(delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
+    }
+
+    private static String cut(String error) {
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
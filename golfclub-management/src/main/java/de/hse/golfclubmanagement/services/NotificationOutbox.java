@@ -0,0 +1,75 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import de.hse.golfclubmanagement.models.OutboxMessage;
+import de.hse.golfclubmanagement.repositories.OutboxMessageRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Service class writing notifications for the Members into the outbox. A
+ * notification joins the transaction of the change it reports and is
+ * delivered by the NotificationDispatcher after the commit, so the request
+ * never waits for the notification-service and a rolled back change is never
+ * reported.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@Service
+public class NotificationOutbox {
+
+    /**
+     * The longest notification text stored.
+     */
+    static final int MAX_MESSAGE_LENGTH = 1000;
+
+    /**
+     * Published with every notification written; delivered to listeners after the commit.
+     */
+    public static final class MessagesAdded {
+    }
+
+    private static final MessagesAdded MESSAGES_ADDED = new MessagesAdded();
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Writes a notification for a Member in the current transaction.
+     *
+     * @param memberId the id of the Member
+     * @param message the text of the notification, cut to 1000 characters
+     * @throws org.springframework.transaction.IllegalTransactionStateException if there is no transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(long memberId, String message) {
+        Instant now = Instant.now();
+        OutboxMessage outboxMessage = new OutboxMessage();
+        outboxMessage.setMemberId(memberId);
+        outboxMessage.setMessage(message.length() > MAX_MESSAGE_LENGTH ? message.substring(0, MAX_MESSAGE_LENGTH) : message);
+        outboxMessage.setStatus(OutboxMessage.Status.PENDING);
+        outboxMessage.setCreatedAt(now);
+        outboxMessage.setNextAttemptAt(now);
+        outboxMessageRepository.save(outboxMessage);
+        eventPublisher.publishEvent(MESSAGES_ADDED);
+    }
+}
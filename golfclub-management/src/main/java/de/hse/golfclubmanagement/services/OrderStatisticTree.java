@@ -0,0 +1,247 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+/**
+ * Sorted set counting the elements ahead of any element in O(log n), kept as
+ * a treap: a binary search tree on the elements and a heap on random
+ * priorities, so it stays balanced in expectation whatever the order of the
+ * changes. Every node knows the size of its subtree.
+ * <p>
+ * Not thread-safe.
+ * @param <E> the type of the elements
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+final class OrderStatisticTree<E> implements Iterable<E> {
+
+    private final Comparator<? super E> comparator;
+
+    private final SplittableRandom priorities = new SplittableRandom();
+
+    private Node<E> root;
+
+    /**
+     * Creates an empty tree.
+     *
+     * @param comparator the total order of the elements
+     */
+    OrderStatisticTree(Comparator<? super E> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Adds an element, which must not be in the tree yet.
+     *
+     * @param element the element
+     */
+    void add(E element) {
+        root = insert(root, new Node<>(element, priorities.nextInt()));
+    }
+
+    /**
+     * Removes an element.
+     *
+     * @param element the element
+     * @return true if the element was in the tree
+     */
+    boolean remove(E element) {
+        int size = size();
+        root = delete(root, element);
+        return size() < size;
+    }
+
+    /**
+     * Gets the number of elements.
+     *
+     * @return the number of elements
+     */
+    int size() {
+        return size(root);
+    }
+
+    /**
+     * Counts the elements ordered before a value, which need not be in the tree.
+     *
+     * @param value the value
+     * @return the number of elements less than the value
+     */
+    int countLess(E value) {
+        int count = 0;
+        for (Node<E> node = root; node != null; ) {
+            if (comparator.compare(node.element, value) < 0) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Finds the greatest element ordered before a value, which need not be in the tree.
+     *
+     * @param value the value
+     * @return the element, or null if there is none
+     */
+    E lower(E value) {
+        E lower = null;
+        for (Node<E> node = root; node != null; ) {
+            if (comparator.compare(node.element, value) < 0) {
+                lower = node.element;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return lower;
+    }
+
+    /**
+     * Iterates over the elements in ascending order.
+     *
+     * @return the iterator
+     */
+    @Override
+    public Iterator<E> iterator() {
+        Deque<Node<E>> path = new ArrayDeque<>();
+        for (Node<E> node = root; node != null; node = node.left) {
+            path.push(node);
+        }
+        return new Iterator<E>() {
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public E next() {
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node<E> next = path.pop();
+                for (Node<E> node = next.right; node != null; node = node.left) {
+                    path.push(node);
+                }
+                return next.element;
+            }
+        };
+    }
+
+    private Node<E> insert(Node<E> node, Node<E> added) {
+        if (node == null) {
+            return added;
+        }
+        if (added.priority > node.priority) {
+            split(node, added.element, added);
+            return resize(added);
+        }
+        if (comparator.compare(added.element, node.element) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return resize(node);
+    }
+
+    /**
+     * Splits a subtree into the elements less than the key, which become the
+     * left subtree of the parent, and the others, which become its right one.
+     */
+    private void split(Node<E> node, E key, Node<E> parent) {
+        if (node == null) {
+            parent.left = null;
+            parent.right = null;
+        } else if (comparator.compare(node.element, key) < 0) {
+            split(node.right, key, parent);
+            node.right = parent.left;
+            parent.left = resize(node);
+        } else {
+            split(node.left, key, parent);
+            node.left = parent.right;
+            parent.right = resize(node);
+        }
+    }
+
+    private Node<E> delete(Node<E> node, E element) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = comparator.compare(element, node.element);
+        if (comparison == 0) {
+            return merge(node.left, node.right);
+        }
+        if (comparison < 0) {
+            node.left = delete(node.left, element);
+        } else {
+            node.right = delete(node.right, element);
+        }
+        return resize(node);
+    }
+
+    /**
+     * Merges two subtrees whose elements are all less than those of the second.
+     */
+    private Node<E> merge(Node<E> left, Node<E> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return resize(left);
+        }
+        right.left = merge(left, right.left);
+        return resize(right);
+    }
+
+    private static <E> Node<E> resize(Node<E> node) {
+        node.size = size(node.left) + size(node.right) + 1;
+        return node;
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Node of the tree with the size of its subtree.
+     */
+    private static final class Node<E> {
+
+        private final E element;
+
+        private final int priority;
+
+        private int size = 1;
+
+        private Node<E> left;
+
+        private Node<E> right;
+
+        private Node(E element, int priority) {
+            this.element = element;
+            this.priority = priority;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import de.hse.golfclubmanagement.config.CacheConfig;
+import de.hse.golfclubmanagement.dto.RegistrationRequest;
+import de.hse.golfclubmanagement.dto.RegistrationView;
+import de.hse.golfclubmanagement.models.Registration;
+import de.hse.golfclubmanagement.models.Tournament;
+import de.hse.golfclubmanagement.repositories.MemberRepository;
+import de.hse.golfclubmanagement.repositories.RegistrationRepository;
+import de.hse.golfclubmanagement.repositories.TournamentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Service class managing the registrations of Members and guests for the
+ * Tournaments. A Tournament with a capacity confirms at most that many
+ * registrations; later ones join a waitlist and are confirmed in the order
+ * of registration as soon as a place becomes free.
+ * <p>
+ * Every change to the registrations of a Tournament runs in its own
+ * transaction that first locks the row of the Tournament in the database, so
+ * counting the confirmed places and taking one cannot interleave, not even
+ * across several instances of the application. Within an instance, changes
+ * also queue on a striped lock before they open a transaction, so they do not
+ * hold a connection while waiting for the row: Tournaments share a fixed
+ * number of locks by id, so registrations for different Tournaments rarely
+ * wait for each other and no lock is created per Tournament. Members are
+ * notified through the outbox when they are confirmed or waitlisted.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@Service
+public class RegistrationService {
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private NotificationOutbox notificationOutbox;
+
+    @Autowired
+    private ChangeVersions changeVersions;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${golfclub.registration.lock-stripes:64}")
+    private int lockStripes;
+
+    private ReentrantLock[] locks;
+
+    private TransactionTemplate transactionTemplate;
+
+    private TransactionTemplate readTemplate;
+
+    /**
+     * Creates the locks and the templates running every change and read in a transaction.
+     */
+    @PostConstruct
+    void init() {
+        if (lockStripes < 1) {
+            throw new IllegalStateException("golfclub.registration.lock-stripes must be positive");
+        }
+        locks = new ReentrantLock[lockStripes];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        readTemplate = new TransactionTemplate(transactionManager);
+        readTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Registers a Member or a guest for a Tournament. The registration is
+     * confirmed if the field has a free place and waitlisted otherwise.
+     *
+     * @param tournamentId the id of the Tournament
+     * @param request the Member or the name of the guest
+     * @return the registration, or null if there is no Tournament with the id
+     * @throws IllegalArgumentException if neither or both a Member and a guest
+     *         are given, the Member does not exist or is already registered
+     */
+    public RegistrationView register(long tournamentId, RegistrationRequest request) {
+        if (request == null || (request.getMemberId() == null) == (request.getGuestName() == null
+                || request.getGuestName().isBlank())) {
+            throw new IllegalArgumentException("either memberId or guestName is required");
+        }
+        if (request.getGuestName() != null && request.getGuestName().length() > 255) {
+            throw new IllegalArgumentException("guestName must not be longer than 255 characters");
+        }
+        return locked(tournamentId, tournament -> {
+            if (tournament == null) {
+                return null;
+            }
+            Registration registration = new Registration();
+            registration.setTournamentId(tournamentId);
+            if (request.getMemberId() != null) {
+                if (!memberRepository.existsById(request.getMemberId())) {
+                    throw new IllegalArgumentException("member " + request.getMemberId() + " does not exist");
+                }
+                if (registrationRepository.existsByTournamentIdAndMemberId(tournamentId, request.getMemberId())) {
+                    throw new IllegalArgumentException("member " + request.getMemberId()
+                            + " is already registered for tournament " + tournamentId);
+                }
+                registration.setMemberId(request.getMemberId());
+            } else {
+                registration.setGuestName(request.getGuestName().trim());
+            }
+            boolean full = tournament.getCapacity() != null && registrationRepository.countByTournamentIdAndStatus(
+                    tournamentId, Registration.Status.CONFIRMED) >= tournament.getCapacity();
+            registration.setStatus(full ? Registration.Status.WAITLISTED : Registration.Status.CONFIRMED);
+            registration.setRegisteredAt(Instant.now());
+            RegistrationView view = view(registrationRepository.save(registration));
+            if (view.getMemberId() != null) {
+                notificationOutbox.enqueue(view.getMemberId(), view.getStatus() == Registration.Status.CONFIRMED
+                        ? "Your registration for " + name(tournament) + " is confirmed."
+                        : "The field of " + name(tournament) + " is full. You are number "
+                                + view.getWaitlistPosition() + " on the waitlist.");
+            }
+            return view;
+        });
+    }
+
+    /**
+     * Withdraws a registration. A place that becomes free goes to the first
+     * registration on the waitlist.
+     *
+     * @param tournamentId the id of the Tournament
+     * @param registrationId the id of the registration
+     * @return true if the registration was withdrawn, false if the Tournament has no registration with the id
+     */
+    public boolean withdraw(long tournamentId, long registrationId) {
+        return locked(tournamentId, tournament -> {
+            Registration registration = tournament == null ? null
+                    : registrationRepository.findById(registrationId).orElse(null);
+            if (registration == null || registration.getTournamentId() != tournamentId) {
+                return false;
+            }
+            registrationRepository.delete(registration);
+            if (registration.getStatus() == Registration.Status.CONFIRMED) {
+                promote(tournament);
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Changes the capacity of a Tournament. Places added go to the waitlist in
+     * order; confirmed registrations keep their places if the capacity shrinks.
+     * The name lookup cache is cleared and the version of the Tournaments is
+     * incremented, as both cover the Tournament with its capacity.
+     *
+     * @param tournamentId the id of the Tournament
+     * @param capacity the new capacity, null if the field is not limited
+     * @return the registrations after the change, or null if there is no Tournament with the id
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    @CacheEvict(cacheNames = CacheConfig.TOURNAMENT_BY_NAME, allEntries = true)
+    public List<RegistrationView> setCapacity(long tournamentId, Integer capacity) {
+        if (capacity != null && capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative");
+        }
+        return locked(tournamentId, tournament -> {
+            if (tournament == null) {
+                return null;
+            }
+            tournament.setCapacity(capacity);
+            promote(tournament);
+            changeVersions.increment(ChangeVersions.TOURNAMENTS);
+            return views(tournamentId);
+        });
+    }
+
+    /**
+     * Retrieves the registrations of a Tournament, the confirmed ones first.
+     *
+     * @param tournamentId the id of the Tournament
+     * @return the registrations in the order of registration, or null if there is no Tournament with the id
+     */
+    public List<RegistrationView> getRegistrations(long tournamentId) {
+        return readTemplate.execute(status -> tournamentRepository.existsById(tournamentId) ? views(tournamentId) : null);
+    }
+
+    /**
+     * Runs a change to the registrations of a Tournament in a transaction
+     * holding the row lock of the Tournament until it commits.
+     *
+     * @param change the change, given the locked Tournament or null if there is no Tournament with the id
+     */
+    private <T> T locked(long tournamentId, Function<Tournament, T> change) {
+        ReentrantLock lock = locks[Math.floorMod(Long.hashCode(tournamentId), locks.length)];
+        lock.lock();
+        try {
+            return transactionTemplate.execute(status -> change.apply(
+                    tournamentRepository.findByIdForUpdate(tournamentId).orElse(null)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Confirms the first registrations on the waitlist until the field is full.
+     */
+    private void promote(Tournament tournament) {
+        long free = tournament.getCapacity() == null ? Integer.MAX_VALUE : tournament.getCapacity()
+                - registrationRepository.countByTournamentIdAndStatus(tournament.getId(), Registration.Status.CONFIRMED);
+        if (free > 0) {
+            for (Registration registration : registrationRepository.findByTournamentIdAndStatusOrderByIdAsc(
+                    tournament.getId(), Registration.Status.WAITLISTED, PageRequest.of(0, (int) free))) {
+                registration.setStatus(Registration.Status.CONFIRMED);
+                if (registration.getMemberId() != null) {
+                    notificationOutbox.enqueue(registration.getMemberId(), "A place in " + name(tournament)
+                            + " became free. Your registration is confirmed.");
+                }
+            }
+        }
+    }
+
+    private static String name(Tournament tournament) {
+        return tournament.getName() != null ? tournament.getName() : "tournament " + tournament.getId();
+    }
+
+    private RegistrationView view(Registration registration) {
+        if (registration.getStatus() == Registration.Status.CONFIRMED) {
+            return new RegistrationView(registration, null);
+        }
+        return new RegistrationView(registration, 1 + (int) registrationRepository.countByTournamentIdAndStatusAndIdLessThan(
+                registration.getTournamentId(), Registration.Status.WAITLISTED, registration.getId()));
+    }
+
+    private List<RegistrationView> views(long tournamentId) {
+        List<RegistrationView> confirmed = new ArrayList<>();
+        List<RegistrationView> waitlisted = new ArrayList<>();
+        for (Registration registration : registrationRepository.findByTournamentIdOrderByIdAsc(tournamentId)) {
+            if (registration.getStatus() == Registration.Status.CONFIRMED) {
+                confirmed.add(new RegistrationView(registration, null));
+            } else {
+                waitlisted.add(new RegistrationView(registration, waitlisted.size() + 1));
+            }
+        }
+        confirmed.addAll(waitlisted);
+        return confirmed;
+    }
+}
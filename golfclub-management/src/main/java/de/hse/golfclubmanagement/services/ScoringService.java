@@ -0,0 +1,338 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import de.hse.golfclubmanagement.dto.RoundResult;
+import de.hse.golfclubmanagement.dto.ScorecardRequest;
+import de.hse.golfclubmanagement.dto.ScorecardView;
+import de.hse.golfclubmanagement.models.Member;
+import de.hse.golfclubmanagement.models.Scorecard;
+import de.hse.golfclubmanagement.repositories.MemberRepository;
+import de.hse.golfclubmanagement.repositories.ScorecardRepository;
+import de.hse.golfclubmanagement.repositories.TournamentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service class recording the strokes of the Tournament participants hole by hole.
+ * A stroke submission reads the Scorecard by its unique index and writes it
+ * back with an optimistic version check; the holes of the GolfCourse come from
+ * the cached CourseLayout. Submissions that lose a race for the same card are
+ * retried, so markers recording different holes of one card concurrently do
+ * not lose strokes. Every committed change is passed on to the live
+ * Leaderboard of the Tournament.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@Service
+public class ScoringService {
+
+    /**
+     * The highest number of strokes accepted on one hole.
+     */
+    static final int MAX_STROKES_PER_HOLE = 20;
+
+    /**
+     * How often a submission is attempted if the card was changed concurrently.
+     */
+    static final int MAX_ATTEMPTS = 5;
+
+    @Autowired
+    private ScorecardRepository scorecardRepository;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private CourseLayoutService courseLayoutService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Creates the template running every submission attempt in a transaction.
+     */
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Opens a Scorecard for a Member in a Tournament. The current handicap of
+     * the Member is stored with the card and used for its net scores.
+     *
+     * @param tournamentId the id of the Tournament
+     * @param request the Member and the GolfCourse played
+     * @return the new Scorecard, or null if there is no Tournament with the id
+     * @throws IllegalArgumentException if the Member or the GolfCourse does not exist
+     */
+    public ScorecardView openScorecard(long tournamentId, ScorecardRequest request) {
+        if (request == null || request.getMemberId() == null || request.getGolfCourseId() == null) {
+            throw new IllegalArgumentException("memberId and golfCourseId are required");
+        }
+        ScorecardView opened = transactionTemplate.execute(status -> {
+            if (!tournamentRepository.existsById(tournamentId)) {
+                return null;
+            }
+            CourseLayout layout = courseLayoutService.getLayout(request.getGolfCourseId());
+            if (layout == null || layout.getHoleCount() == 0) {
+                throw new IllegalArgumentException("golf course " + request.getGolfCourseId() + " does not exist or has no holes");
+            }
+            Member member = memberRepository.findById(request.getMemberId()).orElseThrow(
+                    () -> new IllegalArgumentException("member " + request.getMemberId() + " does not exist"));
+            Scorecard scorecard = new Scorecard();
+            scorecard.setTournamentId(tournamentId);
+            scorecard.setMemberId(member.getId());
+            scorecard.setGolfCourseId(layout.getGolfCourseId());
+            scorecard.setHandicap(member.getHandicap());
+            scorecard.setStrokes(new byte[layout.getHoleCount()]);
+            return toView(scorecardRepository.save(scorecard), layout);
+        });
+        return published(opened);
+    }
+
+    /**
+     * Retrieves the Scorecards of a Tournament.
+     *
+     * @param tournamentId the id of the Tournament
+     * @return the Scorecards ordered by id, or null if there is no Tournament with the id
+     */
+    @Transactional(readOnly = true)
+    public List<ScorecardView> getScorecards(long tournamentId) {
+        if (!tournamentRepository.existsById(tournamentId)) {
+            return null;
+        }
+        List<ScorecardView> views = new ArrayList<>();
+        for (Scorecard scorecard : scorecardRepository.findByTournamentIdOrderByIdAsc(tournamentId)) {
+            views.add(toView(scorecard, layoutOf(scorecard)));
+        }
+        return views;
+    }
+
+    /**
+     * Retrieves the Scorecard of a Member in a Tournament.
+     *
+     * @param tournamentId the id of the Tournament
+     * @param memberId the id of the Member
+     * @return the Scorecard, or null if there is no Tournament with the id or the Member has none in it
+     */
+    @Transactional(readOnly = true)
+    public ScorecardView getScorecard(long tournamentId, long memberId) {
+        Scorecard scorecard = scorecardRepository.findByTournamentIdAndMemberId(tournamentId, memberId);
+        return scorecard == null ? null : toView(scorecard, layoutOf(scorecard));
+    }
+
+    /**
+     * Computes the net scores and Stableford points of all participants of a
+     * Tournament, the field of each GolfCourse in one pass over the stroke
+     * arrays of its Scorecards.
+     *
+     * @param tournamentId the id of the Tournament
+     * @return the results ordered by Stableford points, best first, or null if there is no Tournament with the id
+     */
+    @Transactional(readOnly = true)
+    public List<RoundResult> getResults(long tournamentId) {
+        if (!tournamentRepository.existsById(tournamentId)) {
+            return null;
+        }
+        Map<Long, List<Scorecard>> fields = new LinkedHashMap<>();
+        for (Scorecard scorecard : scorecardRepository.findByTournamentIdOrderByIdAsc(tournamentId)) {
+            fields.computeIfAbsent(scorecard.getGolfCourseId(), id -> new ArrayList<>()).add(scorecard);
+        }
+        int largest = fields.values().stream().mapToInt(List::size).max().orElse(0);
+        FieldScores scores = new FieldScores(largest);
+        int[] playingHandicaps = new int[largest];
+        byte[][] strokes = new byte[largest][];
+        List<RoundResult> results = new ArrayList<>();
+        for (List<Scorecard> field : fields.values()) {
+            CourseLayout layout = layoutOf(field.get(0));
+            for (int player = 0; player < field.size(); player++) {
+                playingHandicaps[player] = layout.playingHandicap(field.get(player).getHandicap());
+                strokes[player] = field.get(player).getStrokes();
+            }
+            scores.score(layout, playingHandicaps, strokes, field.size());
+            for (int player = 0; player < field.size(); player++) {
+                results.add(new RoundResult(field.get(player).getMemberId(), layout.getGolfCourseId(),
+                        playingHandicaps[player], scores.holesPlayed(player), scores.gross(player),
+                        scores.net(player), scores.net(player) - scores.par(player), scores.points(player)));
+            }
+        }
+        results.sort(Comparator.comparingInt(RoundResult::getStablefordPoints).reversed()
+                .thenComparingInt(RoundResult::getNetToPar)
+                .thenComparingLong(RoundResult::getMemberId));
+        return results;
+    }
+
+    /**
+     * Records the strokes of a Member on one hole.
+     *
+     * @param tournamentId the id of the Tournament
+     * @param memberId the id of the Member
+     * @param holeNumber the number of the hole
+     * @param strokes the strokes played on the hole, 0 to clear the hole
+     * @return the updated Scorecard, or null if there is no Tournament with the id or the Member has none in it
+     * @throws IllegalArgumentException if the strokes are out of range or the course has no such hole
+     * @throws OptimisticLockingFailureException if the card kept changing concurrently
+     */
+    public ScorecardView recordStrokes(long tournamentId, long memberId, int holeNumber, int strokes) {
+        requireValidStrokes(strokes);
+        return update(tournamentId, memberId, (scorecard, layout) -> {
+            int index = layout.indexOf(holeNumber);
+            if (index < 0) {
+                throw new IllegalArgumentException("the golf course has no hole " + holeNumber);
+            }
+            byte[] updated = Arrays.copyOf(scorecard.getStrokes(), layout.getHoleCount());
+            updated[index] = (byte) strokes;
+            scorecard.setStrokes(updated);
+        });
+    }
+
+    /**
+     * Records the strokes of a Member on all holes at once, e.g. from a paper card.
+     *
+     * @param tournamentId the id of the Tournament
+     * @param memberId the id of the Member
+     * @param strokes the strokes per hole in the order of the hole numbers, 0 for holes not played
+     * @return the updated Scorecard, or null if there is no Tournament with the id or the Member has none in it
+     * @throws IllegalArgumentException if a value is out of range or the number of holes does not match
+     * @throws OptimisticLockingFailureException if the card kept changing concurrently
+     */
+    public ScorecardView recordScorecard(long tournamentId, long memberId, int[] strokes) {
+        if (strokes == null) {
+            throw new IllegalArgumentException("strokes are required");
+        }
+        for (int value : strokes) {
+            requireValidStrokes(value);
+        }
+        return update(tournamentId, memberId, (scorecard, layout) -> {
+            if (strokes.length != layout.getHoleCount()) {
+                throw new IllegalArgumentException("the golf course has " + layout.getHoleCount() + " holes");
+            }
+            byte[] updated = new byte[strokes.length];
+            for (int i = 0; i < strokes.length; i++) {
+                updated[i] = (byte) strokes[i];
+            }
+            scorecard.setStrokes(updated);
+        });
+    }
+
+    /**
+     * Computes the totals of a Scorecard over the holes played so far.
+     *
+     * @param scorecard the Scorecard
+     * @param layout the layout of the GolfCourse played
+     * @return the view of the Scorecard
+     */
+    static ScorecardView toView(Scorecard scorecard, CourseLayout layout) {
+        int holes = layout.getHoleCount();
+        byte[] stored = scorecard.getStrokes();
+        int playingHandicap = layout.playingHandicap(scorecard.getHandicap());
+        byte[] allocation = layout.strokeAllocation(playingHandicap);
+        int[] holeNumbers = new int[holes];
+        int[] strokes = new int[holes];
+        int played = 0;
+        int gross = 0;
+        int par = 0;
+        int handicapStrokes = 0;
+        int points = 0;
+        for (int i = 0; i < holes; i++) {
+            holeNumbers[i] = layout.holeNumber(i);
+            strokes[i] = i < stored.length ? stored[i] : 0;
+            if (strokes[i] > 0) {
+                played++;
+                gross += strokes[i];
+                par += layout.par(i);
+                handicapStrokes += allocation[i];
+                points += FieldScores.stablefordPoints(layout.par(i), strokes[i] - allocation[i]);
+            }
+        }
+        return new ScorecardView(scorecard.getId(), scorecard.getTournamentId(), scorecard.getMemberId(),
+                scorecard.getGolfCourseId(), scorecard.getHandicap(), playingHandicap, holeNumbers, strokes, played,
+                gross, gross - par, gross - handicapStrokes, gross - par - handicapStrokes, points, scorecard.getVersion());
+    }
+
+    private ScorecardView update(long tournamentId, long memberId, CardUpdate update) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return published(transactionTemplate.execute(status -> {
+                    Scorecard scorecard = scorecardRepository.findByTournamentIdAndMemberId(tournamentId, memberId);
+                    if (scorecard == null) {
+                        return null;
+                    }
+                    CourseLayout layout = layoutOf(scorecard);
+                    update.apply(scorecard, layout);
+                    scorecardRepository.flush();
+                    return toView(scorecard, layout);
+                }));
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Passes a committed Scorecard on to the Leaderboard of its Tournament.
+     */
+    private ScorecardView published(ScorecardView scorecard) {
+        if (scorecard != null) {
+            leaderboardService.update(scorecard);
+        }
+        return scorecard;
+    }
+
+    private CourseLayout layoutOf(Scorecard scorecard) {
+        CourseLayout layout = courseLayoutService.getLayout(scorecard.getGolfCourseId());
+        if (layout == null) {
+            throw new IllegalStateException("golf course " + scorecard.getGolfCourseId() + " of scorecard "
+                    + scorecard.getId() + " does not exist");
+        }
+        return layout;
+    }
+
+    private static void requireValidStrokes(int strokes) {
+        if (strokes < 0 || strokes > MAX_STROKES_PER_HOLE) {
+            throw new IllegalArgumentException("strokes must be between 0 and " + MAX_STROKES_PER_HOLE);
+        }
+    }
+
+    /**
+     * Change applied to a Scorecard inside the transaction of a submission.
+     */
+    @FunctionalInterface
+    private interface CardUpdate {
+
+        void apply(Scorecard scorecard, CourseLayout layout);
+    }
+}
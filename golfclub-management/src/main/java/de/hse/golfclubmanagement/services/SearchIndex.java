@@ -0,0 +1,592 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import de.hse.golfclubmanagement.config.ClubContext;
+import de.hse.golfclubmanagement.dto.SearchHit;
+import de.hse.golfclubmanagement.models.GolfCourse;
+import de.hse.golfclubmanagement.models.Member;
+import de.hse.golfclubmanagement.models.Tournament;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.charfilter.MappingCharFilter;
+import org.apache.lucene.analysis.charfilter.NormalizeCharMap;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.AlreadyClosedException;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory Lucene index over the names of the Members, GolfCourses and
+ * Tournaments and the locations of the GolfCourses, serving the full-text
+ * search of all clubs.
+ * <p>
+ * Text is split into words, lower cased, German umlauts transliterated and
+ * other diacritics removed, so "Müller" and "Mueller" are the same word.
+ * Every word of the query has to match a word of the name or the location,
+ * exactly, as prefix or with one or two typos. Exact matches are scored by
+ * BM25 and also count as prefix and typo, prefixes and typos score a constant
+ * each, so exact matches rank above prefixes, prefixes above typos and names
+ * above locations.
+ * <p>
+ * Saved entities are published by the services and indexed on a thread of
+ * its own after their transaction committed; searches see them once the
+ * queue is drained. A rebuild reads the tables with JDBC in id segments on
+ * several threads into a new index, which replaces the current one only when
+ * complete, so searches never see a partial index.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@Component
+public class SearchIndex {
+
+    /**
+     * The type of the hits of Members.
+     */
+    public static final String MEMBER = "member";
+
+    /**
+     * The type of the hits of GolfCourses.
+     */
+    public static final String GOLF_COURSE = "golfCourse";
+
+    /**
+     * The type of the hits of Tournaments.
+     */
+    public static final String TOURNAMENT = "tournament";
+
+    private static final Logger LOG = LoggerFactory.getLogger(SearchIndex.class);
+
+    private static final String KEY = "key";
+
+    private static final String TYPE = "type";
+
+    private static final String ID = "id";
+
+    private static final String CLUB = "club";
+
+    private static final String NAME = "name";
+
+    private static final String LOCATION = "location";
+
+    private static final float EXACT_BOOST = 4f;
+
+    private static final float PREFIX_BOOST = 2f;
+
+    private static final float FUZZY_BOOST = 1f;
+
+    private static final float LOCATION_BOOST = 0.5f;
+
+    /**
+     * Words shorter than this are only matched exactly or as prefix, with a
+     * typo they would match too many other words.
+     */
+    private static final int MIN_FUZZY_LENGTH = 3;
+
+    private static final NormalizeCharMap UMLAUTS;
+
+    static {
+        NormalizeCharMap.Builder builder = new NormalizeCharMap.Builder();
+        builder.add("ä", "ae");
+        builder.add("ö", "oe");
+        builder.add("ü", "ue");
+        builder.add("Ä", "Ae");
+        builder.add("Ö", "Oe");
+        builder.add("Ü", "Ue");
+        builder.add("ß", "ss");
+        UMLAUTS = builder.build();
+    }
+
+    /**
+     * The tables read by a rebuild, in the order of their columns: id, club, name and, for GolfCourses, location.
+     */
+    private static final Map<String, String> REBUILD_QUERIES = Map.of(
+            MEMBER, "SELECT id, club_id, name, NULL FROM club_member WHERE id >= ? AND id < ?",
+            GOLF_COURSE, "SELECT id, club_id, name, location FROM golf_course WHERE id >= ? AND id < ?",
+            TOURNAMENT, "SELECT id, club_id, name, NULL FROM tournament WHERE id >= ? AND id < ?");
+
+    private static final Map<String, String> TABLES = Map.of(
+            MEMBER, "club_member",
+            GOLF_COURSE, "golf_course",
+            TOURNAMENT, "tournament");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${golfclub.search.rebuild.threads:0}")
+    private int rebuildThreads;
+
+    @Value("${golfclub.search.rebuild.segment-size:10000}")
+    private int segmentSize;
+
+    private final Analyzer analyzer = new Analyzer() {
+        @Override
+        protected Reader initReader(String fieldName, Reader reader) {
+            return new MappingCharFilter(UMLAUTS, reader);
+        }
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer tokenizer = new StandardTokenizer();
+            TokenStream stream = new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer));
+            return new TokenStreamComponents(tokenizer, stream);
+        }
+    };
+
+    private final AtomicLong pendingChanges = new AtomicLong();
+
+    private volatile Generation current;
+
+    private ThreadPoolExecutor indexer;
+
+    private CompletableFuture<Void> queuedRebuild; // guarded by this
+
+    /**
+     * Creates the empty index and starts the indexer thread.
+     *
+     * @throws IOException if the index cannot be created
+     */
+    @PostConstruct
+    void init() throws IOException {
+        current = new Generation(analyzer);
+        indexer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "search-indexer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Stops the indexer thread and releases the index.
+     */
+    @PreDestroy
+    void shutdown() {
+        indexer.shutdownNow();
+        current.close();
+    }
+
+    /**
+     * Builds the index once the application has started. The rebuild runs in
+     * the background; until it completes, searches find nothing.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        requestRebuild();
+    }
+
+    /**
+     * Queues a saved entity for indexing once its transaction committed.
+     *
+     * @param change the saved entity, ignored if it has no id
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntitySaved(EntitySaved change) {
+        if (change.id == null) {
+            return;
+        }
+        pendingChanges.incrementAndGet();
+        indexer.execute(() -> {
+            try {
+                current.writer.updateDocument(new Term(KEY, change.key()), change.toDocument());
+            } catch (IOException | RuntimeException e) {
+                LOG.error("Failed to index {}", change.key(), e);
+            } finally {
+                pendingChanges.decrementAndGet();
+            }
+            refreshIfIdle();
+        });
+    }
+
+    /**
+     * Queues a rebuild of the index from the tables. Changes queued before are
+     * applied to the current index, changes queued later to the rebuilt one.
+     * Requests arriving while a rebuild is queued but not started yet are
+     * served by that rebuild, as it reads the tables only once it starts; so
+     * at most one rebuild runs and one waits, however often it is requested.
+     *
+     * @return completes once the rebuilt index is searchable
+     */
+    public synchronized Future<?> requestRebuild() {
+        if (queuedRebuild != null) {
+            return queuedRebuild;
+        }
+        CompletableFuture<Void> rebuilt = new CompletableFuture<>();
+        indexer.execute(() -> {
+            startRebuild();
+            try {
+                rebuild();
+            } catch (IOException | RuntimeException e) {
+                LOG.error("Failed to rebuild the search index, keeping the current one", e);
+            } finally {
+                rebuilt.complete(null);
+            }
+        });
+        queuedRebuild = rebuilt;
+        return rebuilt;
+    }
+
+    /**
+     * Lets later requests queue a rebuild of their own, as the starting one
+     * may read the tables before their changes.
+     */
+    private synchronized void startRebuild() {
+        queuedRebuild = null;
+    }
+
+    /**
+     * Waits for all changes queued so far.
+     *
+     * @return completes once the changes queued before are searchable
+     */
+    public Future<?> flush() {
+        return indexer.submit(this::refreshIfIdle);
+    }
+
+    /**
+     * Gets the number of saved entities not yet indexed.
+     *
+     * @return the number of queued changes
+     */
+    public long getPendingChanges() {
+        return pendingChanges.get();
+    }
+
+    /**
+     * Searches the Members, GolfCourses and Tournaments of the club of the
+     * current thread, or of the default club for a thread without one.
+     *
+     * @param text the words to search for, case and diacritics are ignored
+     * @param limit the maximum number of hits
+     * @return the hits ordered by relevance, empty if the text holds no words
+     */
+    public List<SearchHit> search(String text, int limit) {
+        List<String> words = analyze(text);
+        List<SearchHit> hits = new ArrayList<>();
+        if (words.isEmpty() || limit <= 0) {
+            return hits;
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(CLUB, Long.toString(ClubContext.getClubIdOrDefault()))),
+                        BooleanClause.Occur.FILTER);
+        for (String word : words) {
+            BooleanQuery.Builder matches = new BooleanQuery.Builder();
+            addMatches(matches, NAME, word, 1f);
+            addMatches(matches, LOCATION, word, LOCATION_BOOST);
+            query.add(matches.build(), BooleanClause.Occur.MUST);
+        }
+        Query built = query.build();
+        while (true) {
+            Generation generation = current;
+            IndexSearcher searcher;
+            try {
+                searcher = generation.searchers.acquire();
+            } catch (AlreadyClosedException e) {
+                if (generation == current) {
+                    throw e;
+                }
+                continue; // replaced by a rebuild in the meantime
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            try {
+                TopDocs topDocs = searcher.search(built, limit);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    Document document = searcher.doc(scoreDoc.doc);
+                    hits.add(new SearchHit(document.get(TYPE), document.getField(ID).numericValue().longValue(),
+                            document.get(NAME), document.get(LOCATION), scoreDoc.score));
+                }
+                return hits;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                release(generation, searcher);
+            }
+        }
+    }
+
+    /**
+     * Replaces the index by one built from the tables, reading each table in
+     * segments of ids on a pool of threads.
+     */
+    private void rebuild() throws IOException {
+        long start = System.nanoTime();
+        int threads = rebuildThreads > 0 ? rebuildThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "search-rebuild-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Generation rebuilt = new Generation(analyzer);
+        try {
+            List<Future<Integer>> segments = new ArrayList<>();
+            for (Map.Entry<String, String> table : TABLES.entrySet()) {
+                String type = table.getKey();
+                Map<String, Object> range = jdbcTemplate.queryForMap(
+                        "SELECT MIN(id) AS first_id, MAX(id) AS last_id FROM " + table.getValue());
+                if (range.get("first_id") == null) {
+                    continue;
+                }
+                long first = ((Number) range.get("first_id")).longValue();
+                long last = ((Number) range.get("last_id")).longValue();
+                for (long from = first; from <= last; from += segmentSize) {
+                    long segmentFrom = from;
+                    long segmentTo = Math.min(from + segmentSize, last + 1);
+                    segments.add(workers.submit(() -> indexSegment(rebuilt.writer, type, segmentFrom, segmentTo)));
+                }
+            }
+            long documents = 0;
+            for (Future<Integer> segment : segments) {
+                documents += segment.get();
+            }
+            rebuilt.writer.commit();
+            rebuilt.searchers.maybeRefreshBlocking();
+            Generation replaced = current;
+            current = rebuilt;
+            replaced.close();
+            LOG.info("Indexed {} entities in {} segments on {} threads in {} ms", documents, segments.size(), threads,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rebuilt.close();
+        } catch (ExecutionException e) {
+            rebuilt.close();
+            throw new IllegalStateException(e.getCause());
+        } catch (IOException | RuntimeException e) {
+            rebuilt.close();
+            throw e;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private int indexSegment(IndexWriter writer, String type, long from, long to) {
+        AtomicInteger documents = new AtomicInteger();
+        jdbcTemplate.query(REBUILD_QUERIES.get(type), row -> {
+            EntitySaved entity = new EntitySaved(type, row.getLong(1), row.getLong(2), row.getString(3),
+                    row.getString(4));
+            try {
+                writer.addDocument(entity.toDocument());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            documents.incrementAndGet();
+        }, from, to);
+        return documents.get();
+    }
+
+    private void refreshIfIdle() {
+        if (indexer.getQueue().isEmpty()) {
+            try {
+                current.searchers.maybeRefresh();
+            } catch (IOException e) {
+                LOG.error("Failed to refresh the search index", e);
+            }
+        }
+    }
+
+    private static void addMatches(BooleanQuery.Builder matches, String field, String word, float boost) {
+        Term term = new Term(field, word);
+        matches.add(new BoostQuery(new TermQuery(term), EXACT_BOOST * boost), BooleanClause.Occur.SHOULD);
+        matches.add(new BoostQuery(new ConstantScoreQuery(new PrefixQuery(term)), PREFIX_BOOST * boost),
+                BooleanClause.Occur.SHOULD);
+        if (word.length() >= MIN_FUZZY_LENGTH) {
+            int maxEdits = word.length() <= 5 ? 1 : 2;
+            matches.add(new BoostQuery(new ConstantScoreQuery(new FuzzyQuery(term, maxEdits)), FUZZY_BOOST * boost),
+                    BooleanClause.Occur.SHOULD);
+        }
+    }
+
+    /**
+     * Splits a text into the words as they are indexed.
+     */
+    List<String> analyze(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        try (TokenStream stream = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                words.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return words;
+    }
+
+    private static void release(Generation generation, IndexSearcher searcher) {
+        try {
+            generation.searchers.release(searcher);
+        } catch (IOException e) {
+            LOG.warn("Failed to release a searcher", e);
+        }
+    }
+
+    /**
+     * An index with its writer and the searchers opened from it.
+     */
+    private static final class Generation {
+
+        private final IndexWriter writer;
+
+        private final SearcherManager searchers;
+
+        Generation(Analyzer analyzer) throws IOException {
+            writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyzer));
+            searchers = new SearcherManager(writer, null);
+        }
+
+        void close() {
+            try {
+                searchers.close();
+                writer.close();
+            } catch (IOException e) {
+                LOG.warn("Failed to close the search index", e);
+            }
+        }
+    }
+
+    /**
+     * A saved Member, GolfCourse or Tournament, published by the service saving it.
+     */
+    public static final class EntitySaved {
+
+        private final String type;
+
+        private final Long id;
+
+        private final long clubId;
+
+        private final String name;
+
+        private final String location;
+
+        EntitySaved(String type, Long id, long clubId, String name, String location) {
+            this.type = type;
+            this.id = id;
+            this.clubId = clubId;
+            this.name = name;
+            this.location = location;
+        }
+
+        /**
+         * Creates the event of a saved Member.
+         *
+         * @param member the saved Member
+         * @return the event
+         */
+        public static EntitySaved of(Member member) {
+            return new EntitySaved(MEMBER, member.getId(), clubOf(member.getClubId()), member.getName(), null);
+        }
+
+        /**
+         * Creates the event of a saved GolfCourse.
+         *
+         * @param golfCourse the saved GolfCourse
+         * @return the event
+         */
+        public static EntitySaved of(GolfCourse golfCourse) {
+            return new EntitySaved(GOLF_COURSE, golfCourse.getId(), clubOf(golfCourse.getClubId()), golfCourse.getName(),
+                    golfCourse.getLocation());
+        }
+
+        /**
+         * Creates the event of a saved Tournament.
+         *
+         * @param tournament the saved Tournament
+         * @return the event
+         */
+        public static EntitySaved of(Tournament tournament) {
+            return new EntitySaved(TOURNAMENT, tournament.getId(), clubOf(tournament.getClubId()), tournament.getName(),
+                    null);
+        }
+
+        private static long clubOf(Long clubId) {
+            return clubId != null ? clubId : ClubContext.getClubIdOrDefault();
+        }
+
+        String key() {
+            return type + ':' + id;
+        }
+
+        Document toDocument() {
+            Document document = new Document();
+            document.add(new StringField(KEY, key(), Field.Store.NO));
+            document.add(new StringField(TYPE, type, Field.Store.YES));
+            document.add(new StoredField(ID, id.longValue()));
+            document.add(new StringField(CLUB, Long.toString(clubId), Field.Store.NO));
+            if (name != null) {
+                document.add(new TextField(NAME, name, Field.Store.YES));
+            }
+            if (location != null) {
+                document.add(new TextField(LOCATION, location, Field.Store.YES));
+            }
+            return document;
+        }
+    }
+}
@@ -0,0 +1,335 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import de.hse.golfclubmanagement.dto.StartSchedule;
+import de.hse.golfclubmanagement.dto.StartScheduleRequest;
+import de.hse.golfclubmanagement.models.Member;
+import de.hse.golfclubmanagement.models.Scorecard;
+import de.hse.golfclubmanagement.models.StartAssignment;
+import de.hse.golfclubmanagement.models.Tournament;
+import de.hse.golfclubmanagement.repositories.MemberRepository;
+import de.hse.golfclubmanagement.repositories.ScorecardRepository;
+import de.hse.golfclubmanagement.repositories.StartAssignmentRepository;
+import de.hse.golfclubmanagement.repositories.TournamentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Service class assigning the participants of a Tournament to flights, tee
+ * times and start holes. The participants and their handicaps are read in one
+ * transaction, the TeeTimeScheduler searches the assignment outside of it, and
+ * the result replaces the stored starts of the Tournament in another one,
+ * which also notifies every participant of the new start through the outbox.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@Service
+public class StartTimeService {
+
+    /**
+     * The largest number of players in a flight.
+     */
+    static final int MAX_FLIGHT_SIZE = 4;
+
+    /**
+     * The longest search a request may ask for.
+     */
+    static final Duration MAX_TIME_BUDGET = Duration.ofSeconds(10);
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    /**
+     * How the flights of a Tournament tee off.
+     */
+    enum Mode {
+        /**
+         * One flight after another from the first hole.
+         */
+        SEQUENTIAL,
+        /**
+         * All flights at the same time, each from its own hole; two flights share a hole if needed.
+         */
+        SHOTGUN
+    }
+
+    @Autowired
+    private StartAssignmentRepository startAssignmentRepository;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private ScorecardRepository scorecardRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private CourseLayoutService courseLayoutService;
+
+    @Autowired
+    private TeeTimeScheduler teeTimeScheduler;
+
+    @Autowired
+    private NotificationOutbox notificationOutbox;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${golfclub.scheduler.time-budget:500ms}")
+    private Duration defaultTimeBudget;
+
+    private TransactionTemplate readTemplate;
+
+    private TransactionTemplate writeTemplate;
+
+    /**
+     * Creates the templates of the read and the write transaction.
+     */
+    @PostConstruct
+    void init() {
+        readTemplate = new TransactionTemplate(transactionManager);
+        readTemplate.setReadOnly(true);
+        writeTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Schedules the start times of a Tournament, replacing the stored ones.
+     * Flights hold at most the flight size and differ in size by at most one
+     * player. The search keeps requested partners together, tees players off
+     * inside their time windows and balances the average playing handicap of
+     * the flights, in this order of priority.
+     *
+     * @param tournamentId the id of the Tournament
+     * @param request the GolfCourse, the start mode and the participants
+     * @return the schedule with the metrics of the search, or null if there is no Tournament with the id
+     * @throws IllegalArgumentException if the request is incomplete or names Members that do not exist
+     */
+    public StartSchedule scheduleStartTimes(long tournamentId, StartScheduleRequest request) {
+        if (request == null || request.getGolfCourseId() == null || request.getFirstTeeTime() == null) {
+            throw new IllegalArgumentException("golfCourseId and firstTeeTime are required");
+        }
+        Mode mode = mode(request.getMode());
+        if (request.getFlightSize() < 1 || request.getFlightSize() > MAX_FLIGHT_SIZE) {
+            throw new IllegalArgumentException("flightSize must be between 1 and " + MAX_FLIGHT_SIZE);
+        }
+        if (mode == Mode.SEQUENTIAL && request.getIntervalMinutes() < 1) {
+            throw new IllegalArgumentException("intervalMinutes must be positive");
+        }
+        Duration budget = request.getTimeBudgetMillis() == null
+                ? defaultTimeBudget : Duration.ofMillis(request.getTimeBudgetMillis());
+        if (budget.isNegative() || budget.isZero() || budget.compareTo(MAX_TIME_BUDGET) > 0) {
+            throw new IllegalArgumentException("timeBudgetMillis must be between 1 and " + MAX_TIME_BUDGET.toMillis());
+        }
+        CourseLayout layout = courseLayoutService.getLayout(request.getGolfCourseId());
+        if (layout == null || layout.getHoleCount() == 0) {
+            throw new IllegalArgumentException("golf course " + request.getGolfCourseId() + " does not exist or has no holes");
+        }
+
+        List<StartScheduleRequest.Participant> participants = readTemplate.execute(status ->
+                tournamentRepository.existsById(tournamentId) ? participants(tournamentId, request) : null);
+        if (participants == null) {
+            return null;
+        }
+        int[] handicaps = readTemplate.execute(status -> handicaps(participants, layout));
+
+        int players = participants.size();
+        int flights = (players + request.getFlightSize() - 1) / request.getFlightSize();
+        if (mode == Mode.SHOTGUN && flights > 2 * layout.getHoleCount()) {
+            throw new IllegalArgumentException(flights + " flights do not fit a shotgun start on "
+                    + layout.getHoleCount() + " holes");
+        }
+        int[] flightSizes = new int[flights];
+        int[] flightTimes = new int[flights];
+        int[] startHoles = new int[flights];
+        int first = request.getFirstTeeTime().toSecondOfDay() / 60;
+        for (int flight = 0; flight < flights; flight++) {
+            flightSizes[flight] = players / flights + (flight < players % flights ? 1 : 0);
+            if (mode == Mode.SHOTGUN) {
+                flightTimes[flight] = first;
+                startHoles[flight] = layout.holeNumber(flight % layout.getHoleCount());
+            } else {
+                flightTimes[flight] = first + flight * request.getIntervalMinutes();
+                startHoles[flight] = layout.holeNumber(0);
+            }
+        }
+        if (flightTimes[flights - 1] >= MINUTES_PER_DAY) {
+            throw new IllegalArgumentException("the last flight would tee off after midnight");
+        }
+
+        TeeTimeScheduler.Schedule schedule = teeTimeScheduler.schedule(
+                field(participants, handicaps, flightSizes, flightTimes), budget, tournamentId);
+
+        List<List<Long>> members = new ArrayList<>(flights);
+        for (int flight = 0; flight < flights; flight++) {
+            members.add(new ArrayList<>(flightSizes[flight]));
+        }
+        for (int player = 0; player < players; player++) {
+            members.get(schedule.flightOf(player)).add(participants.get(player).getMemberId());
+        }
+        List<StartSchedule.Flight> result = new ArrayList<>(flights);
+        List<StartAssignment> assignments = new ArrayList<>(players);
+        for (int flight = 0; flight < flights; flight++) {
+            LocalTime teeTime = LocalTime.ofSecondOfDay(flightTimes[flight] * 60L);
+            result.add(new StartSchedule.Flight(flight + 1, teeTime, startHoles[flight], members.get(flight)));
+            for (Long memberId : members.get(flight)) {
+                StartAssignment assignment = new StartAssignment();
+                assignment.setTournamentId(tournamentId);
+                assignment.setMemberId(memberId);
+                assignment.setGolfCourseId(layout.getGolfCourseId());
+                assignment.setFlight(flight + 1);
+                assignment.setTeeTime(teeTime);
+                assignment.setStartHole(startHoles[flight]);
+                assignments.add(assignment);
+            }
+        }
+        writeTemplate.executeWithoutResult(status -> {
+            startAssignmentRepository.deleteByTournamentId(tournamentId);
+            startAssignmentRepository.saveAll(assignments);
+            String name = tournamentRepository.findById(tournamentId).map(Tournament::getName)
+                    .orElse("tournament " + tournamentId);
+            for (StartAssignment assignment : assignments) {
+                notificationOutbox.enqueue(assignment.getMemberId(), "Your start in " + name + ": flight "
+                        + assignment.getFlight() + ", tee time " + assignment.getTeeTime() + ", hole "
+                        + assignment.getStartHole() + ".");
+            }
+        });
+
+        StartSchedule.Metrics metrics = new StartSchedule.Metrics(players, flights, schedule.getThreads(),
+                schedule.getMoves(), Duration.ofNanos(schedule.getRuntimeNanos()).toMillis(), schedule.getCost(),
+                schedule.getHandicapSpread(), schedule.getMissedPartnerRequests(), schedule.getTimeWindowViolations());
+        return new StartSchedule(tournamentId, layout.getGolfCourseId(), result, metrics);
+    }
+
+    /**
+     * Retrieves the stored start times of a Tournament.
+     *
+     * @param tournamentId the id of the Tournament
+     * @return the schedule without metrics, or null if there is no Tournament with the id
+     */
+    @Transactional(readOnly = true)
+    public StartSchedule getStartTimes(long tournamentId) {
+        if (!tournamentRepository.existsById(tournamentId)) {
+            return null;
+        }
+        Long golfCourseId = null;
+        Map<Integer, StartSchedule.Flight> flights = new LinkedHashMap<>();
+        for (StartAssignment assignment : startAssignmentRepository.findByTournamentIdOrderByFlightAscIdAsc(tournamentId)) {
+            golfCourseId = assignment.getGolfCourseId();
+            flights.computeIfAbsent(assignment.getFlight(), number -> new StartSchedule.Flight(number,
+                    assignment.getTeeTime(), assignment.getStartHole(), new ArrayList<>()))
+                    .getMemberIds().add(assignment.getMemberId());
+        }
+        return new StartSchedule(tournamentId, golfCourseId, new ArrayList<>(flights.values()), null);
+    }
+
+    private static Mode mode(String mode) {
+        try {
+            return Mode.valueOf(mode == null ? "" : mode.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("mode must be sequential or shotgun");
+        }
+    }
+
+    /**
+     * The participants of the request, or a participant without wishes for
+     * every Member with a Scorecard in the Tournament.
+     */
+    private List<StartScheduleRequest.Participant> participants(long tournamentId, StartScheduleRequest request) {
+        List<StartScheduleRequest.Participant> participants = request.getParticipants();
+        if (participants == null || participants.isEmpty()) {
+            participants = new ArrayList<>();
+            for (Scorecard scorecard : scorecardRepository.findByTournamentIdOrderByIdAsc(tournamentId)) {
+                StartScheduleRequest.Participant participant = new StartScheduleRequest.Participant();
+                participant.setMemberId(scorecard.getMemberId());
+                participants.add(participant);
+            }
+        }
+        if (participants.isEmpty()) {
+            throw new IllegalArgumentException("tournament " + tournamentId + " has no participants to schedule");
+        }
+        return participants;
+    }
+
+    private int[] handicaps(List<StartScheduleRequest.Participant> participants, CourseLayout layout) {
+        Map<Long, Integer> handicapById = new HashMap<>();
+        List<Long> ids = new ArrayList<>(participants.size());
+        for (StartScheduleRequest.Participant participant : participants) {
+            if (participant == null || participant.getMemberId() == null) {
+                throw new IllegalArgumentException("every participant needs a memberId");
+            }
+            ids.add(participant.getMemberId());
+        }
+        for (Member member : memberRepository.findAllById(ids)) {
+            handicapById.put(member.getId(), member.getHandicap());
+        }
+        int[] handicaps = new int[participants.size()];
+        for (int player = 0; player < handicaps.length; player++) {
+            Integer handicap = handicapById.get(ids.get(player));
+            if (handicap == null) {
+                throw new IllegalArgumentException("member " + ids.get(player) + " does not exist");
+            }
+            handicaps[player] = layout.playingHandicap(handicap);
+        }
+        return handicaps;
+    }
+
+    private static TeeTimeScheduler.Field field(List<StartScheduleRequest.Participant> participants, int[] handicaps,
+            int[] flightSizes, int[] flightTimes) {
+        Map<Long, Integer> playerById = new HashMap<>();
+        for (int player = 0; player < participants.size(); player++) {
+            if (playerById.put(participants.get(player).getMemberId(), player) != null) {
+                throw new IllegalArgumentException("member " + participants.get(player).getMemberId() + " is listed twice");
+            }
+        }
+        int[][] partners = new int[participants.size()][];
+        int[] earliest = new int[participants.size()];
+        int[] latest = new int[participants.size()];
+        for (int player = 0; player < participants.size(); player++) {
+            StartScheduleRequest.Participant participant = participants.get(player);
+            List<Long> requested = participant.getPartners() == null ? List.of() : participant.getPartners();
+            partners[player] = new int[requested.size()];
+            for (int i = 0; i < requested.size(); i++) {
+                Integer partner = playerById.get(requested.get(i));
+                if (partner == null) {
+                    throw new IllegalArgumentException("partner " + requested.get(i) + " of member "
+                            + participant.getMemberId() + " is not a participant");
+                }
+                partners[player][i] = partner;
+            }
+            earliest[player] = participant.getEarliest() == null
+                    ? Integer.MIN_VALUE : participant.getEarliest().toSecondOfDay() / 60;
+            latest[player] = participant.getLatest() == null
+                    ? Integer.MAX_VALUE : participant.getLatest().toSecondOfDay() / 60;
+            if (earliest[player] > latest[player]) {
+                throw new IllegalArgumentException("the time window of member " + participant.getMemberId() + " is empty");
+            }
+        }
+        return new TeeTimeScheduler.Field(handicaps, partners, earliest, latest, flightSizes, flightTimes);
+    }
+}
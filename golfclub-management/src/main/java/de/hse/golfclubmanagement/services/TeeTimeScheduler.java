@@ -0,0 +1,636 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Assigns the players of a field to flights whose tee times and sizes are
+ * given, minimizing a weighted cost of
+ * <ul>
+ *     <li>requested partners playing in different flights,</li>
+ *     <li>minutes a tee time lies outside the earliest/latest time of a player, and</li>
+ *     <li>the deviation of the flights' average handicap from the field's.</li>
+ * </ul>
+ * The search is simulated annealing over swaps of two players, of a pair of
+ * partners with two players of another flight and, for flights of the same
+ * size, of two whole flights. One search per worker thread runs from its
+ * own start for the time budget; the best result wins. All state of a
+ * search is held in primitive arrays and every move is evaluated
+ * incrementally, so a search performs millions of moves per second.
+ * @author  Dennis Grewe
+ * @since   0.1
+ */
+@Component
+public class TeeTimeScheduler {
+
+    /**
+     * Cost of a pair of requested partners in different flights.
+     */
+    static final double PARTNER_WEIGHT = 1_000;
+
+    /**
+     * Cost of every minute a tee time lies outside the time window of a player.
+     */
+    static final double TIME_WEIGHT = 10;
+
+    private static final double START_TEMPERATURE = 2;
+
+    private static final double END_TEMPERATURE = 0.005;
+
+    /**
+     * The number of moves between two looks at the clock.
+     */
+    private static final int CLOCK_INTERVAL = 1_024;
+
+    @Value("${golfclub.scheduler.threads:0}")
+    private int configuredThreads;
+
+    private int threads;
+
+    private ExecutorService workers;
+
+    /**
+     * Starts the worker threads, one per core unless configured otherwise.
+     */
+    @PostConstruct
+    void init() {
+        threads = configuredThreads > 0 ? configuredThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger count = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "tee-time-scheduler-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Stops the worker threads.
+     */
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Searches the assignment of the players to the flights for the time budget.
+     *
+     * @param field the players and flights
+     * @param budget the time to search for
+     * @param seed the seed of the random starts, the same seed and budget give comparable results
+     * @return the best assignment found
+     * @throws IllegalStateException if the search is interrupted
+     */
+    public Schedule schedule(Field field, Duration budget, long seed) {
+        long start = System.nanoTime();
+        long deadline = start + budget.toNanos();
+        List<Callable<Search>> searches = new ArrayList<>(threads);
+        for (int worker = 0; worker < threads; worker++) {
+            long workerSeed = seed + worker;
+            searches.add(() -> new Search(field, workerSeed).run(deadline));
+        }
+        Search best = null;
+        long moves = 0;
+        try {
+            for (Future<Search> future : workers.invokeAll(searches)) {
+                Search search = future.get();
+                moves += search.moves;
+                if (best == null || search.bestCost < best.bestCost) {
+                    best = search;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("scheduling was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("scheduling failed", e.getCause());
+        }
+        return new Schedule(field, best.bestFlightOf, best.bestCost, threads, moves, System.nanoTime() - start);
+    }
+
+    /**
+     * The players and flights to schedule. Players and flights are identified
+     * by their position in the arrays; times are minutes since midnight.
+     */
+    public static final class Field {
+
+        private final int[] handicaps;
+
+        private final int[][] partners;
+
+        private final int[] earliest;
+
+        private final int[] latest;
+
+        private final int[] flightSizes;
+
+        private final int[] flightTimes;
+
+        private final int[] flightStart;
+
+        private final double mean;
+
+        /**
+         * Creates a field.
+         *
+         * @param handicaps the handicap of each player
+         * @param partners the players each player wants to play with, the requests are made mutual
+         * @param earliest the earliest tee time of each player, {@link Integer#MIN_VALUE} if none
+         * @param latest the latest tee time of each player, {@link Integer#MAX_VALUE} if none
+         * @param flightSizes the number of players of each flight, adding up to the number of players
+         * @param flightTimes the tee time of each flight
+         * @throws IllegalArgumentException if the arrays do not match
+         */
+        public Field(int[] handicaps, int[][] partners, int[] earliest, int[] latest, int[] flightSizes,
+                int[] flightTimes) {
+            int players = handicaps.length;
+            if (partners.length != players || earliest.length != players || latest.length != players
+                    || flightSizes.length != flightTimes.length || Arrays.stream(flightSizes).sum() != players) {
+                throw new IllegalArgumentException("players and flights do not match");
+            }
+            this.handicaps = handicaps;
+            this.partners = mutual(partners);
+            this.earliest = earliest;
+            this.latest = latest;
+            this.flightSizes = flightSizes;
+            this.flightTimes = flightTimes;
+            this.flightStart = new int[flightSizes.length];
+            for (int flight = 1; flight < flightSizes.length; flight++) {
+                flightStart[flight] = flightStart[flight - 1] + flightSizes[flight - 1];
+            }
+            this.mean = players == 0 ? 0 : Arrays.stream(handicaps).average().orElse(0);
+        }
+
+        /**
+         * Gets the number of players.
+         *
+         * @return the number of players
+         */
+        public int players() {
+            return handicaps.length;
+        }
+
+        /**
+         * Gets the number of flights.
+         *
+         * @return the number of flights
+         */
+        public int flights() {
+            return flightSizes.length;
+        }
+
+        private int outside(int player, int time) {
+            if (time < earliest[player]) {
+                return earliest[player] - time;
+            }
+            return time > latest[player] ? time - latest[player] : 0;
+        }
+
+        private double balance(int flight, double sum) {
+            double deviation = sum / flightSizes[flight] - mean;
+            return deviation * deviation * flightSizes[flight];
+        }
+
+        private static int[][] mutual(int[][] partners) {
+            List<List<Integer>> lists = new ArrayList<>(partners.length);
+            for (int player = 0; player < partners.length; player++) {
+                lists.add(new ArrayList<>());
+            }
+            for (int player = 0; player < partners.length; player++) {
+                for (int partner : partners[player]) {
+                    if (partner != player && !lists.get(player).contains(partner)) {
+                        lists.get(player).add(partner);
+                        lists.get(partner).add(player);
+                    }
+                }
+            }
+            int[][] result = new int[partners.length][];
+            for (int player = 0; player < partners.length; player++) {
+                result[player] = lists.get(player).stream().mapToInt(Integer::intValue).toArray();
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The best assignment found and the metrics of the search.
+     */
+    public static final class Schedule {
+
+        private final int[] flightOf;
+
+        private final double cost;
+
+        private final int threads;
+
+        private final long moves;
+
+        private final long runtimeNanos;
+
+        private final int missedPartnerRequests;
+
+        private final int timeWindowViolations;
+
+        private final double handicapSpread;
+
+        private Schedule(Field field, int[] flightOf, double cost, int threads, long moves, long runtimeNanos) {
+            this.flightOf = flightOf;
+            this.cost = cost;
+            this.threads = threads;
+            this.moves = moves;
+            this.runtimeNanos = runtimeNanos;
+            int missed = 0;
+            int violations = 0;
+            double[] sums = new double[field.flights()];
+            for (int player = 0; player < flightOf.length; player++) {
+                for (int partner : field.partners[player]) {
+                    if (partner > player && flightOf[partner] != flightOf[player]) {
+                        missed++;
+                    }
+                }
+                if (field.outside(player, field.flightTimes[flightOf[player]]) > 0) {
+                    violations++;
+                }
+                sums[flightOf[player]] += field.handicaps[player];
+            }
+            double lowest = Double.MAX_VALUE;
+            double highest = -Double.MAX_VALUE;
+            for (int flight = 0; flight < sums.length; flight++) {
+                double average = sums[flight] / field.flightSizes[flight];
+                lowest = Math.min(lowest, average);
+                highest = Math.max(highest, average);
+            }
+            this.missedPartnerRequests = missed;
+            this.timeWindowViolations = violations;
+            this.handicapSpread = sums.length == 0 ? 0 : highest - lowest;
+        }
+
+        /**
+         * Gets the flight of a player.
+         *
+         * @param player the position of the player in the field
+         * @return the position of the flight
+         */
+        public int flightOf(int player) {
+            return flightOf[player];
+        }
+
+        /**
+         * Gets the weighted cost of the assignment, 0 if all players are in
+         * flights of the average handicap with their partners and in their time windows.
+         *
+         * @return the cost
+         */
+        public double getCost() {
+            return cost;
+        }
+
+        /**
+         * Gets the number of searches run in parallel.
+         *
+         * @return the number of threads
+         */
+        public int getThreads() {
+            return threads;
+        }
+
+        /**
+         * Gets the number of moves evaluated by all searches.
+         *
+         * @return the number of moves
+         */
+        public long getMoves() {
+            return moves;
+        }
+
+        /**
+         * Gets the time the search took.
+         *
+         * @return the runtime in nanoseconds
+         */
+        public long getRuntimeNanos() {
+            return runtimeNanos;
+        }
+
+        /**
+         * Gets the number of partner requests not met.
+         *
+         * @return the number of pairs of partners in different flights
+         */
+        public int getMissedPartnerRequests() {
+            return missedPartnerRequests;
+        }
+
+        /**
+         * Gets the number of players starting outside their time window.
+         *
+         * @return the number of players
+         */
+        public int getTimeWindowViolations() {
+            return timeWindowViolations;
+        }
+
+        /**
+         * Gets the difference between the highest and the lowest average handicap of a flight.
+         *
+         * @return the handicap spread
+         */
+        public double getHandicapSpread() {
+            return handicapSpread;
+        }
+    }
+
+    /**
+     * One simulated annealing run, confined to one worker thread.
+     */
+    private static final class Search {
+
+        private final Field field;
+
+        private final SplittableRandom random;
+
+        private final int[] seatPlayer;
+
+        private final int[] playerSeat;
+
+        private final int[] flightOf;
+
+        private final double[] flightSum;
+
+        private final boolean equalTimes;
+
+        private double cost;
+
+        private int[] bestFlightOf;
+
+        private double bestCost;
+
+        private long moves;
+
+        private Search(Field field, long seed) {
+            this.field = field;
+            this.random = new SplittableRandom(seed);
+            int players = field.players();
+            this.seatPlayer = new int[players];
+            this.playerSeat = new int[players];
+            this.flightOf = new int[players];
+            this.flightSum = new double[field.flights()];
+            this.equalTimes = Arrays.stream(field.flightTimes).distinct().count() <= 1;
+            // a snake draft of the players by handicap over the flights in
+            // random order gives a balanced start that differs by worker
+            int[] shuffled = shuffled(players);
+            long[] byHandicap = new long[players];
+            for (int i = 0; i < players; i++) {
+                byHandicap[i] = ((long) field.handicaps[shuffled[i]] << 32) | shuffled[i];
+            }
+            Arrays.sort(byHandicap);
+            int flights = field.flights();
+            int[] flightOrder = shuffled(flights);
+            int[] filled = new int[flights];
+            int next = 0;
+            for (int round = 0; next < players; round++) {
+                for (int i = 0; i < flights && next < players; i++) {
+                    int flight = flightOrder[round % 2 == 0 ? i : flights - 1 - i];
+                    if (filled[flight] < field.flightSizes[flight]) {
+                        int player = (int) byHandicap[next++];
+                        int seat = field.flightStart[flight] + filled[flight]++;
+                        seatPlayer[seat] = player;
+                        playerSeat[player] = seat;
+                        flightOf[player] = flight;
+                        flightSum[flight] += field.handicaps[player];
+                    }
+                }
+            }
+            this.cost = fullCost();
+            this.bestCost = cost;
+            this.bestFlightOf = flightOf.clone();
+        }
+
+        private int[] shuffled(int length) {
+            int[] values = new int[length];
+            for (int i = 0; i < length; i++) {
+                values[i] = i;
+            }
+            for (int i = length - 1; i > 0; i--) {
+                int other = random.nextInt(i + 1);
+                int value = values[i];
+                values[i] = values[other];
+                values[other] = value;
+            }
+            return values;
+        }
+
+        private Search run(long deadline) {
+            int players = field.players();
+            if (field.flights() < 2 || players < 2) {
+                return this;
+            }
+            long start = System.nanoTime();
+            double span = Math.max(deadline - start, 1);
+            double temperature = START_TEMPERATURE;
+            while (true) {
+                if (moves % CLOCK_INTERVAL == 0) {
+                    long now = System.nanoTime();
+                    if (now >= deadline || bestCost == 0) {
+                        return this;
+                    }
+                    temperature = START_TEMPERATURE * Math.pow(END_TEMPERATURE / START_TEMPERATURE, (now - start) / span);
+                }
+                moves++;
+                int move = random.nextInt(10);
+                if (move == 0 && !equalTimes) {
+                    trySwapFlights(temperature);
+                } else if (move == 1) {
+                    trySwapPartners(temperature);
+                } else {
+                    trySwapPlayers(temperature);
+                }
+            }
+        }
+
+        private void trySwapPlayers(double temperature) {
+            int seatA = random.nextInt(seatPlayer.length);
+            int seatB = random.nextInt(seatPlayer.length);
+            if (flightOf[seatPlayer[seatA]] == flightOf[seatPlayer[seatB]]) {
+                return;
+            }
+            double delta = swapDelta(seatA, seatB);
+            if (accept(delta, temperature)) {
+                swap(seatA, seatB);
+                improved(delta);
+            }
+        }
+
+        /**
+         * Swaps a player and a partner in the same flight with two players of
+         * another flight. Single swaps cannot move a pair of partners without
+         * breaking it first, which is almost never accepted.
+         */
+        private void trySwapPartners(double temperature) {
+            int seatA = random.nextInt(seatPlayer.length);
+            int a = seatPlayer[seatA];
+            int[] partners = field.partners[a];
+            if (partners.length == 0) {
+                return;
+            }
+            int partner = partners[random.nextInt(partners.length)];
+            int flightA = flightOf[a];
+            int flightB = random.nextInt(field.flights());
+            int sizeB = field.flightSizes[flightB];
+            if (flightOf[partner] != flightA || flightB == flightA || sizeB < 2) {
+                return;
+            }
+            int seatB = field.flightStart[flightB] + random.nextInt(sizeB);
+            int seatC = field.flightStart[flightB] + (seatB - field.flightStart[flightB] + 1 + random.nextInt(sizeB - 1)) % sizeB;
+            int seatPartner = playerSeat[partner];
+            double delta = swapDelta(seatA, seatB);
+            swap(seatA, seatB);
+            delta += swapDelta(seatPartner, seatC);
+            swap(seatPartner, seatC);
+            if (accept(delta, temperature)) {
+                improved(delta);
+            } else {
+                swap(seatPartner, seatC);
+                swap(seatA, seatB);
+            }
+        }
+
+        /**
+         * Change of the cost if the players on two seats of different flights swap.
+         */
+        private double swapDelta(int seatA, int seatB) {
+            int a = seatPlayer[seatA];
+            int b = seatPlayer[seatB];
+            int flightA = flightOf[a];
+            int flightB = flightOf[b];
+            int difference = field.handicaps[b] - field.handicaps[a];
+            double delta = field.balance(flightA, flightSum[flightA] + difference)
+                    + field.balance(flightB, flightSum[flightB] - difference)
+                    - field.balance(flightA, flightSum[flightA]) - field.balance(flightB, flightSum[flightB]);
+            int timeA = field.flightTimes[flightA];
+            int timeB = field.flightTimes[flightB];
+            delta += TIME_WEIGHT * (field.outside(a, timeB) + field.outside(b, timeA)
+                    - field.outside(a, timeA) - field.outside(b, timeB));
+            return delta + PARTNER_WEIGHT * (partnerChange(a, b, flightA, flightB) + partnerChange(b, a, flightB, flightA));
+        }
+
+        private void swap(int seatA, int seatB) {
+            int a = seatPlayer[seatA];
+            int b = seatPlayer[seatB];
+            int flightA = flightOf[a];
+            int flightB = flightOf[b];
+            int difference = field.handicaps[b] - field.handicaps[a];
+            seatPlayer[seatA] = b;
+            seatPlayer[seatB] = a;
+            playerSeat[a] = seatB;
+            playerSeat[b] = seatA;
+            flightOf[a] = flightB;
+            flightOf[b] = flightA;
+            flightSum[flightA] += difference;
+            flightSum[flightB] -= difference;
+        }
+
+        /**
+         * Change of the partners of a player in another flight if the player moves.
+         */
+        private int partnerChange(int player, int swapped, int from, int to) {
+            int change = 0;
+            for (int partner : field.partners[player]) {
+                if (partner != swapped) {
+                    int flight = flightOf[partner];
+                    change += (flight != to ? 1 : 0) - (flight != from ? 1 : 0);
+                }
+            }
+            return change;
+        }
+
+        private void trySwapFlights(double temperature) {
+            int flightA = random.nextInt(field.flights());
+            int flightB = random.nextInt(field.flights());
+            int size = field.flightSizes[flightA];
+            if (flightA == flightB || size != field.flightSizes[flightB]) {
+                return;
+            }
+            int timeA = field.flightTimes[flightA];
+            int timeB = field.flightTimes[flightB];
+            int startA = field.flightStart[flightA];
+            int startB = field.flightStart[flightB];
+            int minutes = 0;
+            for (int i = 0; i < size; i++) {
+                int a = seatPlayer[startA + i];
+                int b = seatPlayer[startB + i];
+                minutes += field.outside(a, timeB) - field.outside(a, timeA) + field.outside(b, timeA) - field.outside(b, timeB);
+            }
+            double delta = TIME_WEIGHT * minutes;
+            if (accept(delta, temperature)) {
+                for (int i = 0; i < size; i++) {
+                    int a = seatPlayer[startA + i];
+                    int b = seatPlayer[startB + i];
+                    seatPlayer[startA + i] = b;
+                    seatPlayer[startB + i] = a;
+                    playerSeat[a] = startB + i;
+                    playerSeat[b] = startA + i;
+                    flightOf[a] = flightB;
+                    flightOf[b] = flightA;
+                }
+                double sum = flightSum[flightA];
+                flightSum[flightA] = flightSum[flightB];
+                flightSum[flightB] = sum;
+                improved(delta);
+            }
+        }
+
+        private boolean accept(double delta, double temperature) {
+            return delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature);
+        }
+
+        private void improved(double delta) {
+            cost += delta;
+            if (cost < bestCost - 1e-9) {
+                bestCost = Math.max(cost, 0);
+                System.arraycopy(flightOf, 0, bestFlightOf, 0, flightOf.length);
+            }
+        }
+
+        private double fullCost() {
+            double total = 0;
+            for (int flight = 0; flight < field.flights(); flight++) {
+                total += field.balance(flight, flightSum[flight]);
+            }
+            for (int player = 0; player < flightOf.length; player++) {
+                total += TIME_WEIGHT * field.outside(player, field.flightTimes[flightOf[player]]);
+                for (int partner : field.partners[player]) {
+                    if (partner > player && flightOf[partner] != flightOf[player]) {
+                        total += PARTNER_WEIGHT;
+                    }
+                }
+            }
+            return total;
+        }
+    }
+}
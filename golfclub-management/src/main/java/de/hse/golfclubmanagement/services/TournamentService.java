@@ -12,12 +12,32 @@
  */
 package de.hse.golfclubmanagement.services;
 
+import de.hse.golfclubmanagement.config.CacheConfig;
+import de.hse.golfclubmanagement.config.ClubContext;
+import de.hse.golfclubmanagement.dto.KeysetPage;
+import de.hse.golfclubmanagement.dto.TournamentCalendar;
 import de.hse.golfclubmanagement.models.Tournament;
 import de.hse.golfclubmanagement.repositories.TournamentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service class for managing Tournament entities.
@@ -28,17 +48,56 @@ import java.util.List;
 @Service
 public class TournamentService {
 
+    /**
+     * The longest date range covered by one calendar, in months.
+     */
+    static final int MAX_CALENDAR_MONTHS = 24;
+
     @Autowired
     private TournamentRepository tournamentRepository;
 
+    @Autowired
+    private ChangeVersions changeVersions;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     /**
      * Adds a new Tournament entity to the database.
+     * The saved entity replaces the cached lookup result for its name. Updating an
+     * existing entity clears the name lookup cache, as its old name is unknown here.
+     * The cached calendars are cleared, as the entity may appear in any of them,
+     * the entity is queued for the search index and the version of the Tournaments
+     * is incremented. A Tournament with an id is only saved if the club of the
+     * current thread has a Tournament with that id.
      *
      * @param tournament the Tournament entity to add
-     * @return the saved Tournament entity
+     * @return the saved Tournament entity, or null if there is no Tournament with its id
      */
+    @Caching(
+            evict = {
+                @CacheEvict(cacheNames = CacheConfig.TOURNAMENT_BY_NAME, allEntries = true, beforeInvocation = true,
+                        condition = "#tournament?.id != null"),
+                @CacheEvict(cacheNames = CacheConfig.TOURNAMENT_CALENDAR, allEntries = true)
+            },
+            put = @CachePut(cacheNames = CacheConfig.TOURNAMENT_BY_NAME, key = "#result.name", condition = "#result?.name != null"))
     public Tournament addTournament(Tournament tournament) {
-        return tournamentRepository.save(tournament);
+        Long clubId = ClubContext.getClubId();
+        if (tournament != null && tournament.getId() != null) {
+            if (!tournamentRepository.existsById(tournament.getId())) {
+                return null; // unknown, or a Tournament of another club
+            }
+            if (clubId != null) {
+                tournament.setClubId(clubId);
+            }
+        }
+        Tournament savedTournament = tournamentRepository.save(tournament);
+        eventPublisher.publishEvent(SearchIndex.EntitySaved.of(savedTournament));
+        changeVersions.increment(ChangeVersions.TOURNAMENTS);
+        return savedTournament;
     }
 
     /**
@@ -46,17 +105,92 @@ public class TournamentService {
      *
      * @return a list of all Tournament entities
      */
+    @Transactional(readOnly = true)
     public List<Tournament> getAllTournaments() {
         return tournamentRepository.findAll();
     }
 
     /**
      * Finds a Tournament by its name.
+     * Results, including names without a match, are cached by name.
      *
      * @param name the name of the Tournament to find
      * @return the Tournament with the specified name, or null if not found
      */
+    @Cacheable(cacheNames = CacheConfig.TOURNAMENT_BY_NAME)
+    @Transactional(readOnly = true)
     public Tournament findByName(String name) {
         return tournamentRepository.findByName(name);
     }
+
+    /**
+     * Retrieves one page of Tournament entities ordered by id (keyset pagination).
+     *
+     * @param after the id after which the page starts, 0 for the first page
+     * @param size the maximum number of Tournament entities on the page
+     * @return the page including the cursor of the next page
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<Tournament> getTournamentsPage(long after, int size) {
+        List<Tournament> tournaments = tournamentRepository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, size));
+        return KeysetPage.of(tournaments, size, Tournament::getId);
+    }
+
+    /**
+     * Streams all Tournament entities ordered by id to the given consumer.
+     * The entities are read from a database cursor and detached once consumed,
+     * so the memory used does not grow with the number of rows.
+     *
+     * @param consumer the consumer receiving each Tournament entity
+     */
+    @Transactional(readOnly = true)
+    public void streamAllTournaments(Consumer<Tournament> consumer) {
+        try (Stream<Tournament> tournaments = tournamentRepository.streamAll()) {
+            tournaments.forEach(row -> {
+                consumer.accept(row);
+                entityManager.detach(row);
+            });
+        }
+    }
+
+    /**
+     * Retrieves the Tournaments within a date range grouped by month. Only the
+     * columns shown in the calendar are read, using the index on the date.
+     * Calendars are cached per date range until a Tournament is added or changed.
+     *
+     * @param from the first day, inclusive
+     * @param to the last day, inclusive
+     * @return the calendar listing every month of the range
+     * @throws IllegalArgumentException if the range is inverted or longer than 24 months
+     */
+    @Cacheable(cacheNames = CacheConfig.TOURNAMENT_CALENDAR)
+    @Transactional(readOnly = true)
+    public TournamentCalendar getCalendar(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        YearMonth first = YearMonth.from(from);
+        YearMonth last = YearMonth.from(to);
+        if (first.plusMonths(MAX_CALENDAR_MONTHS).isBefore(last.plusMonths(1))) {
+            throw new IllegalArgumentException("the calendar must not cover more than " + MAX_CALENDAR_MONTHS + " months");
+        }
+        List<TournamentRepository.CalendarEntry> entries =
+                tournamentRepository.findCalendarEntries(Date.valueOf(from), Date.valueOf(to));
+        Iterator<TournamentRepository.CalendarEntry> next = entries.iterator();
+        TournamentRepository.CalendarEntry entry = next.hasNext() ? next.next() : null;
+        List<TournamentCalendar.Month> months = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            List<TournamentCalendar.Entry> tournaments = new ArrayList<>();
+            while (entry != null && YearMonth.from(toLocalDate(entry.getDate())).equals(month)) {
+                tournaments.add(new TournamentCalendar.Entry(entry.getId(), entry.getName(), toLocalDate(entry.getDate())));
+                entry = next.hasNext() ? next.next() : null;
+            }
+            months.add(new TournamentCalendar.Month(month, tournaments));
+        }
+        return new TournamentCalendar(from, to, entries.size(), months);
+    }
+
+    private static LocalDate toLocalDate(java.util.Date date) {
+        return date instanceof Date ? ((Date) date).toLocalDate() : new Date(date.getTime()).toLocalDate();
+    }
 }
@@ -0,0 +1,11 @@
+-- Copyright (c) 2024. All rights reserved.
+-- Heartbeat written to the primary database every few seconds. Read from a
+-- replica, its age is the replication lag of the replica.
+
+CREATE TABLE replication_heartbeat (
+    id      INT    NOT NULL,
+    beat_at BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, 0);
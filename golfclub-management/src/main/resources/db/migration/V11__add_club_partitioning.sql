@@ -0,0 +1,28 @@
+-- Copyright (c) 2024. All rights reserved.
+-- Members, golf courses and tournaments belong to a club. The existing rows
+-- belong to the default club 1. Every lookup of a club filters by club_id, so
+-- the lookup indexes are replaced by indexes leading with club_id; the
+-- (club_id, id) indexes serve the pages and streams ordered by id.
+
+ALTER TABLE club_member ADD COLUMN club_id BIGINT DEFAULT 1 NOT NULL;
+ALTER TABLE golf_course ADD COLUMN club_id BIGINT DEFAULT 1 NOT NULL;
+ALTER TABLE tournament ADD COLUMN club_id BIGINT DEFAULT 1 NOT NULL;
+
+-- Golf course names are unique within a club only
+CREATE UNIQUE INDEX ux_golf_course_club_name ON golf_course (club_id, name);
+DROP INDEX ux_golf_course_name ON golf_course;
+CREATE INDEX ix_golf_course_club_id ON golf_course (club_id, id);
+
+CREATE INDEX ix_club_member_club_name ON club_member (club_id, name);
+CREATE INDEX ix_club_member_club_status_handicap ON club_member (club_id, membership_status, handicap);
+CREATE INDEX ix_club_member_club_handicap ON club_member (club_id, handicap);
+CREATE INDEX ix_club_member_club_id ON club_member (club_id, id);
+DROP INDEX ix_club_member_name ON club_member;
+DROP INDEX ix_club_member_status_handicap ON club_member;
+DROP INDEX ix_club_member_handicap ON club_member;
+
+CREATE INDEX ix_tournament_club_name ON tournament (club_id, name);
+CREATE INDEX ix_tournament_club_date ON tournament (club_id, date);
+CREATE INDEX ix_tournament_club_id ON tournament (club_id, id);
+DROP INDEX ix_tournament_name ON tournament;
+DROP INDEX ix_tournament_date ON tournament;
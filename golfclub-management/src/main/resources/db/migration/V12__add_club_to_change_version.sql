@@ -0,0 +1,9 @@
+-- Copyright (c) 2024. All rights reserved.
+-- The versions of the list endpoints are kept per club, so the writers of
+-- different clubs do not update the same row. The existing versions become
+-- those of the default club 1; the row of another club is created with its
+-- first change.
+
+ALTER TABLE change_version ADD COLUMN club_id BIGINT DEFAULT 1 NOT NULL;
+ALTER TABLE change_version DROP PRIMARY KEY;
+ALTER TABLE change_version ADD PRIMARY KEY (club_id, table_name);
@@ -0,0 +1,52 @@
+-- Copyright (c) 2024. All rights reserved.
+-- Initial schema of the golf club management service.
+-- The statements are kept portable between MySQL 8 and the H2 test database.
+-- Tables are only created if missing, so databases created by
+-- ddl-auto=update can be baselined and migrated in place.
+
+CREATE TABLE IF NOT EXISTS golf_course (
+    id       BIGINT       NOT NULL,
+    name     VARCHAR(255),
+    location VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS hole (
+    id            BIGINT  NOT NULL,
+    number        INTEGER NOT NULL,
+    length        INTEGER NOT NULL,
+    par           INTEGER NOT NULL,
+    golfcourse_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_hole_golf_course FOREIGN KEY (golfcourse_id) REFERENCES golf_course (id)
+);
+
+-- MEMBER is a reserved word in MySQL 8
+CREATE TABLE IF NOT EXISTS club_member (
+    id                BIGINT       NOT NULL,
+    name              VARCHAR(255),
+    membership_status VARCHAR(255),
+    handicap          INTEGER      NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS tournament (
+    id   BIGINT       NOT NULL,
+    name VARCHAR(255),
+    date DATE,
+    PRIMARY KEY (id)
+);
+
+-- Id blocks handed out by the table generators of the entities
+CREATE TABLE IF NOT EXISTS id_allocator (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val      BIGINT,
+    PRIMARY KEY (sequence_name)
+);
+
+-- Start every allocator after the ids already in use
+DELETE FROM id_allocator WHERE sequence_name IN ('golf_course', 'hole', 'member', 'tournament');
+INSERT INTO id_allocator (sequence_name, next_val) SELECT 'golf_course', COALESCE(MAX(id), 0) + 1 FROM golf_course;
+INSERT INTO id_allocator (sequence_name, next_val) SELECT 'hole', COALESCE(MAX(id), 0) + 1 FROM hole;
+INSERT INTO id_allocator (sequence_name, next_val) SELECT 'member', COALESCE(MAX(id), 0) + 1 FROM club_member;
+INSERT INTO id_allocator (sequence_name, next_val) SELECT 'tournament', COALESCE(MAX(id), 0) + 1 FROM tournament;
@@ -0,0 +1,13 @@
+-- Copyright (c) 2024. All rights reserved.
+-- Indexes behind the lookups of the repositories.
+
+-- GolfCourseRepository.findByName returns a single course, so names are unique
+CREATE UNIQUE INDEX ux_golf_course_name ON golf_course (name);
+
+-- Holes are loaded per course; a course has every hole number once
+CREATE UNIQUE INDEX ux_hole_golf_course_number ON hole (golfcourse_id, number);
+
+-- Members and tournaments may share names, their lookups only need to avoid a scan
+CREATE INDEX ix_club_member_name ON club_member (name);
+CREATE INDEX ix_tournament_name ON tournament (name);
+CREATE INDEX ix_tournament_date ON tournament (date);
@@ -0,0 +1,7 @@
+-- Copyright (c) 2024. All rights reserved.
+-- Indexes behind the handicap range queries and the handicap histogram.
+-- The primary key is appended to every InnoDB index, so both indexes
+-- also deliver the rows in (handicap, id) order.
+
+CREATE INDEX ix_club_member_status_handicap ON club_member (membership_status, handicap);
+CREATE INDEX ix_club_member_handicap ON club_member (handicap);
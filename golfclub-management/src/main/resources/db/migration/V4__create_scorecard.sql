@@ -0,0 +1,19 @@
+-- Copyright (c) 2024. All rights reserved.
+-- Scorecards of the tournament participants, one byte of strokes per hole.
+
+CREATE TABLE scorecard (
+    id             BIGINT        NOT NULL,
+    tournament_id  BIGINT        NOT NULL,
+    member_id      BIGINT        NOT NULL,
+    golf_course_id BIGINT        NOT NULL,
+    handicap       INTEGER       NOT NULL,
+    strokes        VARBINARY(64) NOT NULL,
+    version        INTEGER       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_scorecard_tournament FOREIGN KEY (tournament_id) REFERENCES tournament (id),
+    CONSTRAINT fk_scorecard_member FOREIGN KEY (member_id) REFERENCES club_member (id),
+    CONSTRAINT fk_scorecard_golf_course FOREIGN KEY (golf_course_id) REFERENCES golf_course (id)
+);
+
+-- One card per participant and tournament; also serves the lookups by tournament
+CREATE UNIQUE INDEX ux_scorecard_tournament_member ON scorecard (tournament_id, member_id);
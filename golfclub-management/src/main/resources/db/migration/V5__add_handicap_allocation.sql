@@ -0,0 +1,8 @@
+-- Copyright (c) 2024. All rights reserved.
+-- Stroke index per hole and course/slope rating per course, used to allocate
+-- the handicap strokes of a player to the holes. Existing rows stay without
+-- values; their handicap strokes are allocated in the order of the hole numbers.
+
+ALTER TABLE hole ADD COLUMN stroke_index INTEGER NULL;
+ALTER TABLE golf_course ADD COLUMN course_rating DOUBLE NULL;
+ALTER TABLE golf_course ADD COLUMN slope_rating INTEGER NULL;
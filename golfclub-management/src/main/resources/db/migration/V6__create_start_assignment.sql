@@ -0,0 +1,19 @@
+-- Copyright (c) 2024. All rights reserved.
+-- Start times of the tournament participants: flight, tee time and starting hole.
+
+CREATE TABLE start_assignment (
+    id             BIGINT  NOT NULL,
+    tournament_id  BIGINT  NOT NULL,
+    member_id      BIGINT  NOT NULL,
+    golf_course_id BIGINT  NOT NULL,
+    flight         INTEGER NOT NULL,
+    tee_time       TIME    NOT NULL,
+    start_hole     INTEGER NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_start_assignment_tournament FOREIGN KEY (tournament_id) REFERENCES tournament (id),
+    CONSTRAINT fk_start_assignment_member FOREIGN KEY (member_id) REFERENCES club_member (id),
+    CONSTRAINT fk_start_assignment_golf_course FOREIGN KEY (golf_course_id) REFERENCES golf_course (id)
+);
+
+-- One start per participant and tournament; also serves the lookups by tournament
+CREATE UNIQUE INDEX ux_start_assignment_tournament_member ON start_assignment (tournament_id, member_id);
@@ -0,0 +1,23 @@
+-- Copyright (c) 2024. All rights reserved.
+-- Registrations of members and guests for a tournament. A tournament with a
+-- capacity confirms that many registrations; later ones wait in the order of
+-- their ids and are confirmed when a place becomes free.
+
+ALTER TABLE tournament ADD COLUMN capacity INTEGER NULL;
+
+CREATE TABLE registration (
+    id            BIGINT       NOT NULL,
+    tournament_id BIGINT       NOT NULL,
+    member_id     BIGINT       NULL,
+    guest_name    VARCHAR(255) NULL,
+    status        VARCHAR(16)  NOT NULL,
+    registered_at TIMESTAMP    NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_registration_tournament FOREIGN KEY (tournament_id) REFERENCES tournament (id),
+    CONSTRAINT fk_registration_member FOREIGN KEY (member_id) REFERENCES club_member (id)
+);
+
+-- One registration per member and tournament; guests have no member id
+CREATE UNIQUE INDEX ux_registration_tournament_member ON registration (tournament_id, member_id);
+-- Counting the confirmed registrations and finding the head of the waitlist
+CREATE INDEX ix_registration_tournament_status ON registration (tournament_id, status, id);
@@ -0,0 +1,20 @@
+-- Copyright (c) 2024. All rights reserved.
+-- Notifications to the members, written in the same transaction as the change
+-- they report and delivered to the notification-service in the background.
+-- Delivered notifications are deleted; those that could not be delivered are
+-- kept as FAILED.
+
+CREATE TABLE notification_outbox (
+    id              BIGINT        NOT NULL,
+    member_id       BIGINT        NOT NULL,
+    message         VARCHAR(1000) NOT NULL,
+    status          VARCHAR(16)   NOT NULL,
+    attempts        INTEGER       NOT NULL,
+    created_at      TIMESTAMP     NOT NULL,
+    next_attempt_at TIMESTAMP     NOT NULL,
+    last_error      VARCHAR(255)  NULL,
+    PRIMARY KEY (id)
+);
+
+-- Finding the pending notifications that are due
+CREATE INDEX ix_notification_outbox_due ON notification_outbox (status, next_attempt_at);
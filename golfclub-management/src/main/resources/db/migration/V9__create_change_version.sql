@@ -0,0 +1,15 @@
+-- Copyright (c) 2024. All rights reserved.
+-- One version per table of the list endpoints, incremented with every change
+-- of the table. The version and the time of the last change are the
+-- validators of the conditional requests (ETag, Last-Modified).
+
+CREATE TABLE change_version (
+    table_name VARCHAR(64) NOT NULL,
+    version    BIGINT      NOT NULL,
+    changed_at TIMESTAMP   NOT NULL,
+    PRIMARY KEY (table_name)
+);
+
+INSERT INTO change_version (table_name, version, changed_at) VALUES ('club_member', 0, CURRENT_TIMESTAMP);
+INSERT INTO change_version (table_name, version, changed_at) VALUES ('golf_course', 0, CURRENT_TIMESTAMP);
+INSERT INTO change_version (table_name, version, changed_at) VALUES ('tournament', 0, CURRENT_TIMESTAMP);
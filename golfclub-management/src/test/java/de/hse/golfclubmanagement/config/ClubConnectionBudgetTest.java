@@ -0,0 +1,168 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class tests the ClubConnectionBudget class against a mocked data source.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+public class ClubConnectionBudgetTest {
+
+    private final DataSource target = mock(DataSource.class);
+
+    private ClubConnectionBudget budget;
+
+    /**
+     * Creates a budget of two connections per club.
+     */
+    @BeforeEach
+    public void setUp() throws Exception {
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        budget = new ClubConnectionBudget(target, 2, Duration.ofMillis(100));
+    }
+
+    /**
+     * Resets the club of the thread.
+     */
+    @AfterEach
+    public void tearDown() {
+        ClubContext.setClubId(null);
+    }
+
+    /**
+     * Opens a connection for a club on another thread, which keeps it open.
+     */
+    private static Connection openElsewhere(ClubConnectionBudget budget, long clubId) throws Exception {
+        return CompletableFuture.supplyAsync(() -> {
+            ClubContext.setClubId(clubId);
+            try {
+                return budget.getConnection();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            } finally {
+                ClubContext.setClubId(null);
+            }
+        }).get(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Test that a club gets no more connections than its budget until one is closed.
+     */
+    @Test
+    public void testConnectionsOfClubAreBounded() throws Exception {
+        Connection first = openElsewhere(budget, 1);
+        openElsewhere(budget, 1);
+        assertEquals(0, budget.getAvailableConnections(1));
+
+        // Boundary value: one connection more than the budget
+        ExecutionException refused = assertThrows(ExecutionException.class, () -> openElsewhere(budget, 1));
+        assertTrue(refused.getCause().getCause() instanceof SQLTransientConnectionException);
+
+        // Equivalence class: another club is not affected
+        assertNotNull(openElsewhere(budget, 2));
+
+        // Equivalence class: closing a connection returns its permit, closing again does not
+        first.close();
+        first.close();
+        assertEquals(1, budget.getAvailableConnections(1));
+        assertNotNull(openElsewhere(budget, 1));
+        assertEquals(0, budget.getAvailableConnections(1));
+    }
+
+    /**
+     * Test that further connections of a thread share the permit of its first one.
+     */
+    @Test
+    public void testNestedConnectionsSharePermit() throws Exception {
+        ClubContext.setClubId(1L);
+        Connection outer = budget.getConnection();
+        Connection inner = budget.getConnection();
+
+        // Equivalence class: nested connection of the same thread
+        assertEquals(1, budget.getAvailableConnections(1));
+        inner.close();
+        assertEquals(1, budget.getAvailableConnections(1));
+        outer.close();
+        assertEquals(2, budget.getAvailableConnections(1));
+        verify(target, times(2)).getConnection();
+    }
+
+    /**
+     * Test that threads without a club are not bounded.
+     */
+    @Test
+    public void testThreadsWithoutClubAreNotBounded() throws Exception {
+        // Equivalence class: no club
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(budget.getConnection());
+        }
+        assertEquals(2, budget.getAvailableConnections(1));
+    }
+
+    /**
+     * Test that a failing connection attempt returns the permit.
+     */
+    @Test
+    public void testFailedConnectionReturnsPermit() throws Exception {
+        when(target.getConnection()).thenThrow(new SQLTransientConnectionException("Pool exhausted"));
+        ClubContext.setClubId(1L);
+
+        // Equivalence class: the data source refuses the connection
+        assertThrows(SQLTransientConnectionException.class, () -> budget.getConnection());
+        assertEquals(2, budget.getAvailableConnections(1));
+    }
+
+    /**
+     * Test that behind a lazy data source a permit is only taken once a
+     * statement needs a connection of the pool.
+     */
+    @Test
+    public void testLazyDataSourceTakesPermitWithConnection() throws Exception {
+        LazyConnectionDataSourceProxy lazy = new LazyConnectionDataSourceProxy(target);
+        Object processed = TenancyConfig.clubConnectionBudgetPostProcessor(new MockEnvironment())
+                .postProcessAfterInitialization(lazy, "dataSource");
+        assertSame(lazy, processed, "The lazy data source should stay in front");
+        ClubConnectionBudget lazyBudget = (ClubConnectionBudget) lazy.getTargetDataSource();
+        ClubContext.setClubId(1L);
+
+        // Equivalence class: transaction without a statement
+        Connection connection = lazy.getConnection();
+        connection.setAutoCommit(false);
+        connection.commit();
+        assertEquals(4, lazyBudget.getAvailableConnections(1), "No permit should be taken");
+
+        // Equivalence class: first statement
+        connection.createStatement();
+        assertEquals(3, lazyBudget.getAvailableConnections(1), "The statement should take a permit");
+        connection.close();
+        assertEquals(4, lazyBudget.getAvailableConnections(1), "Closing should return the permit");
+    }
+}
@@ -0,0 +1,112 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class tests the response of the ContentLengthFilter holding back small bodies.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+public class ContentLengthFilterTest {
+
+    private static final int THRESHOLD = 2048;
+
+    /**
+     * Test that small bodies are held back until the request is processed.
+     */
+    @Test
+    public void testSmallBodyHeldBack() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ContentLengthFilter.BufferingResponse bufferingResponse =
+                new ContentLengthFilter.BufferingResponse(response, THRESHOLD);
+
+        // Equivalence class: body below the threshold
+        bufferingResponse.getOutputStream().write("[]".getBytes(StandardCharsets.US_ASCII));
+        bufferingResponse.getOutputStream().flush();
+        assertEquals(0, response.getContentAsByteArray().length, "The body should be held back");
+        bufferingResponse.finish();
+        assertEquals(2, response.getContentLength(), "The length of the body should be sent");
+    }
+
+    /**
+     * Test that the events of an event stream are passed on when flushed.
+     */
+    @Test
+    public void testEventStreamNotHeldBack() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ContentLengthFilter.BufferingResponse bufferingResponse =
+                new ContentLengthFilter.BufferingResponse(response, THRESHOLD);
+        bufferingResponse.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+
+        // Equivalence class: event below the threshold
+        bufferingResponse.getOutputStream().write("data:1\n\n".getBytes(StandardCharsets.US_ASCII));
+        bufferingResponse.getOutputStream().flush();
+        assertEquals("data:1\n\n", response.getContentAsString(), "The event should be passed on");
+    }
+
+    /**
+     * Test that requests for an event stream are not filtered at all.
+     */
+    @Test
+    public void testEventStreamRequestNotFiltered() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/leaderboards/1/events");
+        request.addHeader(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE);
+
+        // Equivalence class: event stream requested
+        assertTrue(new ContentLengthFilter().shouldNotFilter(request), "Event streams should not be filtered");
+
+        // Equivalence class: JSON requested
+        request = new MockHttpServletRequest("GET", "/api/v1/members");
+        request.addHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+        assertFalse(new ContentLengthFilter().shouldNotFilter(request), "Other responses should be filtered");
+    }
+
+    /**
+     * Test that non-blocking writes go to the stream of the response.
+     */
+    @Test
+    public void testNonBlockingWritesDelegated() throws IOException {
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        ServletOutputStream outputStream = mock(ServletOutputStream.class);
+        when(response.getOutputStream()).thenReturn(outputStream);
+        when(outputStream.isReady()).thenReturn(false);
+        ContentLengthFilter.BufferingResponse bufferingResponse =
+                new ContentLengthFilter.BufferingResponse(response, THRESHOLD);
+        WriteListener writeListener = mock(WriteListener.class);
+
+        // Equivalence class: body held back, the buffer is always ready
+        bufferingResponse.getOutputStream().write('[');
+        assertTrue(bufferingResponse.getOutputStream().isReady(), "The buffer should accept writes");
+
+        // Equivalence class: write listener set
+        bufferingResponse.getOutputStream().setWriteListener(writeListener);
+        verify(outputStream).setWriteListener(writeListener);
+        verify(outputStream).write(any(byte[].class), eq(0), eq(1));
+        assertFalse(bufferingResponse.getOutputStream().isReady(), "The readiness of the response should be passed on");
+    }
+}
@@ -0,0 +1,204 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import de.hse.golfclubmanagement.models.Member;
+import de.hse.golfclubmanagement.models.OutboxMessage;
+import de.hse.golfclubmanagement.repositories.MemberRepository;
+import de.hse.golfclubmanagement.repositories.OutboxMessageRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the routing between a primary and a replica database,
+ * played by two in-memory databases which do not replicate. The tests run
+ * without a surrounding transaction, so each one chooses its database, and
+ * within a request unless they test background work.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:routing-primary",
+    "golfclub.datasource.replicas[0].url=" + DataSourceRoutingConfigTest.REPLICA_URL,
+    "golfclub.datasource.check-interval=1h"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(DataSourceRoutingConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+public class DataSourceRoutingConfigTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    private static final JdbcTemplate REPLICA = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private ReplicaMonitor replicaMonitor;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+
+    private TransactionTemplate readWrite;
+
+    /**
+     * Creates the schema of the replica before the application starts checking it.
+     */
+    @BeforeAll
+    public static void createReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").locations("classpath:db/migration").load().migrate();
+        REPLICA.update("DELETE FROM club_member");
+        REPLICA.update("INSERT INTO club_member (id, name, membership_status, handicap) VALUES (900001, 'Replica Only', 'active', 10)");
+        REPLICA.update("DELETE FROM notification_outbox");
+        REPLICA.update("INSERT INTO notification_outbox (id, member_id, message, status, attempts, created_at, next_attempt_at) "
+                + "VALUES (900001, 1, 'Already sent', 'PENDING', 0, ?, ?)",
+                Timestamp.from(Instant.EPOCH), Timestamp.from(Instant.EPOCH));
+    }
+
+    /**
+     * Marks the replica as up to date and starts a request.
+     */
+    @BeforeEach
+    public void setUp() {
+        ReplicaRoutingDataSource.beginRequest(false);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+        REPLICA.update("UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1", System.currentTimeMillis());
+        replicaMonitor.check();
+    }
+
+    /**
+     * Ends the request and deletes the Members saved by the test.
+     */
+    @AfterEach
+    public void tearDown() {
+        ReplicaRoutingDataSource.endRequest();
+        memberRepository.deleteAll();
+    }
+
+    /**
+     * Test that read-only transactions read from the replica.
+     */
+    @Test
+    public void testReadOnlyTransactionReadsReplica() {
+        // Equivalence class: replica available
+        assertTrue(replicaMonitor.isAvailable("replica-0"));
+        assertNotNull(readOnly.execute(status -> memberRepository.findByName("Replica Only")));
+        assertNull(readWrite.execute(status -> memberRepository.findByName("Replica Only")));
+    }
+
+    /**
+     * Test that writes go to the primary.
+     */
+    @Test
+    public void testWriteGoesToPrimary() {
+        Member member = new Member();
+        member.setName("Primary Only");
+        member.setMembershipStatus("active");
+        memberRepository.save(member);
+
+        // Equivalence class: written rows are on the primary only
+        assertNotNull(readWrite.execute(status -> memberRepository.findByName("Primary Only")));
+        assertNull(readOnly.execute(status -> memberRepository.findByName("Primary Only")));
+    }
+
+    /**
+     * Test that a replica lagging more than the maximum lag is not read from.
+     */
+    @Test
+    public void testLaggingReplicaIsSkipped() {
+        REPLICA.update("UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1", System.currentTimeMillis() - 60000);
+        replicaMonitor.check();
+
+        // Boundary value: lag above the maximum lag
+        assertFalse(replicaMonitor.isAvailable("replica-0"));
+        assertNull(readOnly.execute(status -> memberRepository.findByName("Replica Only")));
+    }
+
+    /**
+     * Test that a request pinned to the primary does not read from the replica.
+     */
+    @Test
+    public void testPinnedRequestReadsPrimary() {
+        ReplicaRoutingDataSource.beginRequest(true);
+        try {
+            // Equivalence class: request after a write of the client
+            assertNull(readOnly.execute(status -> memberRepository.findByName("Replica Only")));
+        } finally {
+            ReplicaRoutingDataSource.endRequest();
+        }
+    }
+
+    /**
+     * Test that background work outside of a request, like the polling of the
+     * notification outbox, reads the primary. The replica still has a
+     * notification as pending which the primary already delivered.
+     */
+    @Test
+    public void testOutboxPollOutsideRequestReadsPrimary() {
+        ReplicaRoutingDataSource.endRequest();
+
+        // Equivalence class: read-only transaction of a background thread
+        assertTrue(replicaMonitor.isAvailable("replica-0"));
+        assertTrue(readOnly.execute(status -> outboxMessageRepository
+                .findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(OutboxMessage.Status.PENDING, Instant.now(),
+                        PageRequest.of(0, 10))).isEmpty(), "A lagging replica must not deliver a notification twice");
+        assertNull(readOnly.execute(status -> memberRepository.findByName("Replica Only")));
+    }
+
+    /**
+     * Test that reads fail over to the primary if the replica cannot be reached.
+     */
+    @Test
+    @DirtiesContext
+    public void testUnreachableReplicaFailsOver() {
+        ((HikariDataSource) replicaRoutingDataSource.getResolvedDataSources().get("replica-0")).close();
+
+        // Equivalence class: replica not reachable
+        assertNull(readOnly.execute(status -> memberRepository.findByName("Replica Only")));
+        assertFalse(replicaMonitor.isAvailable("replica-0"), "The replica should be skipped until checked again");
+    }
+}
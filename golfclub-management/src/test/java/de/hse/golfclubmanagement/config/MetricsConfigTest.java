@@ -0,0 +1,125 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.config;
+
+import de.hse.golfclubmanagement.models.GolfCourse;
+import de.hse.golfclubmanagement.services.ChangeVersions;
+import de.hse.golfclubmanagement.services.GolfCourseService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the service timers and the statements per request
+ * recorded by the classes configured in MetricsConfig.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+@DataJpaTest
+@Import({MetricsConfig.class, QueryCounter.class, QueryCountFilter.class, ServiceMetricsAspect.class,
+        GolfCourseService.class, ChangeVersions.class, SimpleMeterRegistry.class})
+@ImportAutoConfiguration(AopAutoConfiguration.class)
+@ActiveProfiles("test")
+public class MetricsConfigTest {
+
+    @Autowired
+    private GolfCourseService golfCourseService;
+
+    @Autowired
+    private QueryCountFilter queryCountFilter;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    /**
+     * Removes the meters of the other test methods.
+     */
+    @BeforeEach
+    public void setUp() {
+        meterRegistry.clear();
+    }
+
+    /**
+     * Test that the service calls are timed per method.
+     */
+    @Test
+    public void testServiceCallsAreTimed() {
+        golfCourseService.getAllGolfCourses();
+        golfCourseService.getAllGolfCourses();
+
+        assertEquals(2, meterRegistry.get(ServiceMetricsAspect.METRIC_NAME)
+                .tags("class", "GolfCourseService", "method", "getAllGolfCourses", "exception", "none")
+                .timer().count());
+    }
+
+    /**
+     * Test that a failed service call is timed with its exception.
+     */
+    @Test
+    public void testFailedServiceCallIsTagged() {
+        // Equivalence class: invalid argument
+        RuntimeException e = assertThrows(RuntimeException.class, () -> golfCourseService.saveGolfCourse(null));
+
+        assertEquals(1, meterRegistry.get(ServiceMetricsAspect.METRIC_NAME)
+                .tags("method", "saveGolfCourse", "exception", e.getClass().getSimpleName())
+                .timer().count());
+    }
+
+    /**
+     * Test that the statements of a request are counted per URI template.
+     */
+    @Test
+    public void testQueriesPerRequestAreRecorded() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            GolfCourse golfCourse = new GolfCourse();
+            golfCourse.setName("Course " + i);
+            entityManager.persist(golfCourse);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/golfcourses");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/golfcourses");
+
+        queryCountFilter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> golfCourseService.getAllGolfCourses().forEach(course -> course.getHoles().size()));
+
+        DistributionSummary queries = meterRegistry.get(QueryCountFilter.METRIC_NAME)
+                .tags("method", "GET", "uri", "/api/v1/golfcourses").summary();
+        assertEquals(1, queries.count());
+        assertEquals(1, queries.totalAmount(), "Courses and holes should be loaded with one query");
+
+        // Boundary value: statements outside of a request are not counted
+        golfCourseService.getAllGolfCourses();
+        assertEquals(0, queryCounter.stop());
+    }
+}
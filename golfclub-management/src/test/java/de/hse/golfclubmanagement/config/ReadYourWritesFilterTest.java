@@ -0,0 +1,142 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.servlet.http.Cookie;
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class tests the ReadYourWritesFilter class together with the routing
+ * decisions of the ReplicaRoutingDataSource within a read-only transaction.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+public class ReadYourWritesFilterTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-01T10:00:00Z");
+
+    private final ReplicaMonitor monitor = mock(ReplicaMonitor.class);
+
+    private ReplicaRoutingDataSource routing;
+
+    private ReadYourWritesFilter filter;
+
+    /**
+     * Creates a routing data source with two available replicas.
+     */
+    @BeforeEach
+    public void setUp() {
+        Map<String, DataSource> replicas = new HashMap<>();
+        replicas.put("replica-0", mock(DataSource.class));
+        replicas.put("replica-1", mock(DataSource.class));
+        routing = new ReplicaRoutingDataSource(mock(DataSource.class), replicas, monitor);
+        routing.afterPropertiesSet();
+        when(monitor.isAvailable(anyString())).thenReturn(true);
+        filter = new ReadYourWritesFilter(Duration.ofSeconds(5), Clock.fixed(NOW, ZoneOffset.UTC));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    /**
+     * Resets the transaction state of the thread.
+     */
+    @AfterEach
+    public void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    /**
+     * Test that a read without a previous write goes to one replica for the whole request.
+     */
+    @Test
+    public void testReadGoesToSameReplica() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Object[] keys = new Object[2];
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/members"), response, (req, res) -> {
+            keys[0] = routing.determineCurrentLookupKey();
+            keys[1] = routing.determineCurrentLookupKey();
+        });
+
+        // Equivalence class: read request without cookie
+        assertTrue(keys[0].toString().startsWith("replica-"));
+        assertEquals(keys[0], keys[1], "A request should stay on its replica");
+        assertNull(response.getCookie(ReadYourWritesFilter.COOKIE_NAME), "A read should not set the cookie");
+    }
+
+    /**
+     * Test that a write goes to the primary and opens the read-your-writes window.
+     */
+    @Test
+    public void testWriteSetsCookie() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Object[] key = new Object[1];
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/members"), response,
+                (req, res) -> key[0] = routing.determineCurrentLookupKey());
+
+        // Equivalence class: write request
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, key[0]);
+        Cookie cookie = response.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertNotNull(cookie);
+        assertEquals(Long.toString(NOW.toEpochMilli() + 5000), cookie.getValue());
+        assertEquals(5, cookie.getMaxAge());
+    }
+
+    /**
+     * Test that reads go to the primary until the window has passed.
+     */
+    @Test
+    public void testReadWithinWindowGoesToPrimary() throws Exception {
+        // Boundary value: last millisecond of the window
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routeRead(NOW.toEpochMilli() + 1));
+        // Boundary value: window has passed
+        assertNotEquals(ReplicaRoutingDataSource.PRIMARY, routeRead(NOW.toEpochMilli()));
+        // Equivalence class: cookie not written by the filter
+        assertNotEquals(ReplicaRoutingDataSource.PRIMARY, routeRead("garbage"));
+    }
+
+    /**
+     * Test that reads go to the primary while no replica is available.
+     */
+    @Test
+    public void testNoReplicaAvailable() throws Exception {
+        when(monitor.isAvailable(anyString())).thenReturn(false);
+
+        // Equivalence class: all replicas unavailable
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routeRead(0));
+    }
+
+    private Object routeRead(Object primaryUntil) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/members");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, primaryUntil.toString()));
+        Object[] key = new Object[1];
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> key[0] = routing.determineCurrentLookupKey());
+        return key[0];
+    }
+}
@@ -0,0 +1,192 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the content negotiation of the response formats and the
+ * response compression against an embedded Tomcat.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+@SpringBootTest(classes = ResponseFormatConfigTest.Config.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ResponseFormatConfigTest {
+
+    @LocalServerPort
+    private int port;
+
+    private final ObjectMapper json = new ObjectMapper();
+
+    /**
+     * Provides the web layer with the response formats and a controller
+     * answering with a weak ETag, like the conditional list endpoints.
+     */
+    @Configuration
+    @ImportAutoConfiguration({ServletWebServerFactoryAutoConfiguration.class, DispatcherServletAutoConfiguration.class,
+        WebMvcAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class, JacksonAutoConfiguration.class})
+    @Import({ResponseFormatConfig.class, ContentLengthFilter.class, HolesController.class})
+    static class Config {
+    }
+
+    /**
+     * Answers with a list of holes of the requested size.
+     */
+    @RestController
+    static class HolesController {
+
+        @GetMapping("/holes")
+        ResponseEntity<List<Map<String, Object>>> holes(@RequestParam int count) {
+            List<Map<String, Object>> holes = new ArrayList<>();
+            for (int number = 1; number <= count; number++) {
+                Map<String, Object> hole = new LinkedHashMap<>();
+                hole.put("number", number);
+                hole.put("length", 120 + 17 * number);
+                hole.put("par", 3 + number % 3);
+                holes.add(hole);
+            }
+            return ResponseEntity.ok().eTag("W/\"holes-" + count + "\"").body(holes);
+        }
+
+        @GetMapping("/holes/stream")
+        ResponseEntity<StreamingResponseBody> streamHoles(@RequestParam int count) {
+            return ResponseEntity.ok().contentType(MediaType.TEXT_PLAIN).body(out -> {
+                for (int number = 1; number <= count; number++) {
+                    out.write((number + "\n").getBytes(StandardCharsets.US_ASCII));
+                }
+            });
+        }
+    }
+
+    private HttpURLConnection get(int count, String accept, String acceptEncoding) throws IOException {
+        return get("/holes?count=" + count, accept, acceptEncoding);
+    }
+
+    private HttpURLConnection get(String path, String accept, String acceptEncoding) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port + path).openConnection();
+        if (accept != null) {
+            connection.setRequestProperty(HttpHeaders.ACCEPT, accept);
+        }
+        if (acceptEncoding != null) {
+            connection.setRequestProperty(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        assertEquals(200, connection.getResponseCode(), "Response should have status 200 OK");
+        return connection;
+    }
+
+    private static byte[] body(HttpURLConnection connection) throws IOException {
+        try (InputStream in = "gzip".equals(connection.getContentEncoding())
+                ? new GZIPInputStream(connection.getInputStream()) : connection.getInputStream()) {
+            return StreamUtils.copyToByteArray(in);
+        }
+    }
+
+    /**
+     * Test that JSON is sent unless the client asks for a binary format.
+     */
+    @Test
+    public void testJsonIsDefault() throws IOException {
+        // Equivalence class: any format accepted
+        HttpURLConnection connection = get(18, "*/*", null);
+        assertTrue(connection.getContentType().startsWith("application/json"), "JSON should be the default format");
+        assertEquals(18, json.readTree(body(connection)).size(), "Every hole should be sent");
+    }
+
+    /**
+     * Test that CBOR and Smile are sent on request and carry the same document as JSON.
+     */
+    @Test
+    public void testBinaryFormatsOnRequest() throws IOException {
+        JsonNode expected = json.readTree(body(get(18, "application/json", null)));
+
+        // Equivalence class: CBOR requested
+        HttpURLConnection cbor = get(18, "application/cbor", null);
+        assertEquals("application/cbor", cbor.getContentType());
+        byte[] cborBody = body(cbor);
+        assertEquals(expected, new ObjectMapper(new CBORFactory()).readTree(cborBody), "CBOR should encode the same document");
+
+        // Equivalence class: Smile requested
+        HttpURLConnection smile = get(18, "application/x-jackson-smile", null);
+        assertEquals("application/x-jackson-smile", smile.getContentType());
+        assertEquals(expected, new ObjectMapper(new SmileFactory()).readTree(body(smile)), "Smile should encode the same document");
+
+        assertTrue(cborBody.length < json.writeValueAsBytes(expected).length, "CBOR should be smaller than JSON");
+    }
+
+    /**
+     * Test that large responses are compressed despite their ETag, small ones are not.
+     */
+    @Test
+    public void testCompressionAboveMinimumSize() throws IOException {
+        // Equivalence class: large response, gzip accepted
+        HttpURLConnection large = get(500, null, "gzip");
+        assertEquals("gzip", large.getContentEncoding(), "The response should be compressed");
+        assertEquals("W/\"holes-500\"", large.getHeaderField(HttpHeaders.ETAG), "The ETag should be kept");
+        assertEquals(500, json.readTree(body(large)).size(), "Every hole should be sent");
+
+        // Equivalence class: large response, gzip not accepted
+        assertNull(get(500, null, "identity").getContentEncoding(), "The response should not be compressed");
+
+        // Boundary value: response below the minimum size
+        HttpURLConnection small = get(1, null, "gzip");
+        assertNull(small.getContentEncoding(), "Small responses should not be compressed");
+        assertEquals(body(small).length, small.getContentLengthLong(), "The length of small responses should be sent");
+    }
+
+    /**
+     * Test that streamed responses pass the filter holding back small bodies intact.
+     */
+    @Test
+    public void testStreamedResponseIsComplete() throws IOException {
+        // Equivalence class: body written after the request thread returned
+        String body = new String(body(get("/holes/stream?count=2000", null, "gzip")), StandardCharsets.US_ASCII);
+        String[] lines = body.split("\n");
+        assertEquals(2000, lines.length, "Every line should be sent");
+        assertEquals("2000", lines[1999], "The lines should be sent in order");
+    }
+}
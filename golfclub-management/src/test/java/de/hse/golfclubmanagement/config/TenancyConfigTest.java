@@ -0,0 +1,324 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.config;
+
+import de.hse.golfclubmanagement.dto.LeaderboardView;
+import de.hse.golfclubmanagement.dto.ScorecardRequest;
+import de.hse.golfclubmanagement.models.GolfCourse;
+import de.hse.golfclubmanagement.models.Hole;
+import de.hse.golfclubmanagement.models.Member;
+import de.hse.golfclubmanagement.models.Tournament;
+import de.hse.golfclubmanagement.repositories.GolfCourseRepository;
+import de.hse.golfclubmanagement.repositories.MemberRepository;
+import de.hse.golfclubmanagement.repositories.TournamentRepository;
+import de.hse.golfclubmanagement.services.CourseLayoutService;
+import de.hse.golfclubmanagement.services.LeaderboardBroadcaster;
+import de.hse.golfclubmanagement.services.LeaderboardService;
+import de.hse.golfclubmanagement.services.ScoringService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the partitioning of the rows and caches by club. The tests
+ * run without a surrounding transaction, so every transaction opens its
+ * EntityManager for the club set before.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:tenancy")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TenancyConfig.class, CacheConfig.class, LeaderboardService.class, LeaderboardBroadcaster.class,
+    CourseLayoutService.class, ScoringService.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+public class TenancyConfigTest {
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private GolfCourseRepository golfCourseRepository;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private ScoringService scoringService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    /**
+     * Resets the club of the thread.
+     */
+    @AfterEach
+    public void tearDown() {
+        ClubContext.setClubId(null);
+    }
+
+    /**
+     * Runs a transaction for a club.
+     *
+     * @param clubId the id of the club, null for all clubs
+     * @param work the work of the transaction
+     * @param <T> the type of the result
+     * @return the result of the work
+     */
+    private <T> T inClub(Long clubId, Supplier<T> work) {
+        ClubContext.setClubId(clubId);
+        try {
+            return new TransactionTemplate(transactionManager).execute(status -> work.get());
+        } finally {
+            ClubContext.setClubId(null);
+        }
+    }
+
+    private static Member member(String name) {
+        Member member = new Member();
+        member.setName(name);
+        member.setMembershipStatus("active");
+        return member;
+    }
+
+    /**
+     * Test that new Members belong to the club of the thread, or to the default club.
+     */
+    @Test
+    public void testNewMembersBelongToClub() {
+        // Equivalence class: thread of a club
+        assertEquals(7L, inClub(7L, () -> memberRepository.save(member("Club Member"))).getClubId());
+        // Equivalence class: thread without a club
+        assertEquals(ClubContext.DEFAULT_CLUB_ID, inClub(null, () -> memberRepository.save(member("Default Member")))
+                .getClubId());
+    }
+
+    /**
+     * Test that the queries of a club only return its own rows, while threads without a club see all.
+     */
+    @Test
+    public void testQueriesOnlyReturnRowsOfClub() {
+        Member first = inClub(11L, () -> memberRepository.save(member("Shared Name")));
+        Member second = inClub(12L, () -> memberRepository.save(member("Shared Name")));
+
+        // Equivalence class: lookups of each club
+        assertEquals(first.getId(), inClub(11L, () -> memberRepository.findByName("Shared Name")).getId());
+        assertEquals(second.getId(), inClub(12L, () -> memberRepository.findByName("Shared Name")).getId());
+        assertEquals(List.of(first.getId()), inClub(11L, () -> memberRepository.findAll().stream()
+                .map(Member::getId).collect(Collectors.toList())));
+
+        // Equivalence class: lookup by an id of another club
+        assertFalse(inClub(12L, () -> memberRepository.findById(first.getId())).isPresent());
+        assertFalse(inClub(12L, () -> memberRepository.existsById(first.getId())));
+
+        // Equivalence class: thread without a club
+        assertTrue(inClub(null, () -> memberRepository.findAll()).size() >= 2);
+    }
+
+    /**
+     * Test that golf courses of different clubs may share a name and are found by it per club.
+     */
+    @Test
+    public void testGolfCourseNamesPerClub() {
+        GolfCourse first = new GolfCourse();
+        first.setName("Lakeside");
+        GolfCourse second = new GolfCourse();
+        second.setName("Lakeside");
+        Long firstId = inClub(21L, () -> golfCourseRepository.save(first)).getId();
+        Long secondId = inClub(22L, () -> golfCourseRepository.save(second)).getId();
+
+        // Equivalence class: same name, different clubs
+        assertEquals(firstId, inClub(21L, () -> golfCourseRepository.findByName("Lakeside")).getId());
+        assertEquals(secondId, inClub(22L, () -> golfCourseRepository.findByName("Lakeside")).getId());
+        assertNull(inClub(23L, () -> golfCourseRepository.findByName("Lakeside")));
+    }
+
+    /**
+     * Test that the caches keep the entries of the clubs apart.
+     */
+    @Test
+    public void testCacheEntriesPerClub() {
+        Cache cache = cacheManager.getCache(CacheConfig.MEMBER_BY_NAME);
+        ClubContext.setClubId(31L);
+        cache.put("Anna", "first");
+        ClubContext.setClubId(32L);
+        cache.put("Anna", "second");
+
+        // Equivalence class: same key, different clubs
+        assertEquals("second", cache.get("Anna").get());
+        ClubContext.setClubId(31L);
+        assertEquals("first", cache.get("Anna").get());
+        ClubContext.setClubId(33L);
+        assertNull(cache.get("Anna"));
+
+        // Equivalence class: evicting removes the entry of the club only
+        ClubContext.setClubId(31L);
+        cache.evict("Anna");
+        assertNull(cache.get("Anna"));
+        ClubContext.setClubId(32L);
+        assertEquals("second", cache.get("Anna").get());
+    }
+
+    /**
+     * Test that a Leaderboard in memory is only read and subscribed to by the club of its Tournament.
+     */
+    @Test
+    public void testLeaderboardOfClubOnly() {
+        Tournament tournament = new Tournament();
+        tournament.setName("Club Cup");
+        long tournamentId = inClub(41L, () -> tournamentRepository.save(tournament)).getId();
+        LeaderboardView.Ranking gross = LeaderboardView.Ranking.GROSS;
+
+        // Equivalence class: another club, Leaderboard not in memory
+        assertNull(inClub(42L, () -> leaderboardService.getLeaderboard(tournamentId, gross, 0)));
+        // Equivalence class: club of the Tournament, loading the Leaderboard
+        assertNotNull(inClub(41L, () -> leaderboardService.getLeaderboard(tournamentId, gross, 0)));
+        // Equivalence class: another club, Leaderboard in memory
+        assertNull(inClub(42L, () -> leaderboardService.getLeaderboard(tournamentId, gross, 0)));
+        assertNull(inClub(42L, () -> leaderboardService.subscribe(tournamentId, gross)));
+        // Equivalence class: thread without a club
+        assertNotNull(inClub(null, () -> leaderboardService.getLeaderboard(tournamentId, gross, 0)));
+    }
+
+    /**
+     * Test that the Scorecards of a Tournament are hidden from other clubs, as if the Tournament did not exist.
+     */
+    @Test
+    public void testScorecardsOfClubOnly() {
+        GolfCourse golfCourse = new GolfCourse();
+        golfCourse.setName("Scoring Course");
+        golfCourse.setHoles(new ArrayList<>());
+        for (int number = 1; number <= 9; number++) {
+            Hole hole = new Hole();
+            hole.setNummer(number);
+            hole.setPar(4);
+            hole.setGolfCourse(golfCourse);
+            golfCourse.getHoles().add(hole);
+        }
+        Tournament tournament = new Tournament();
+        tournament.setName("Scoring Cup");
+        ScorecardRequest request = new ScorecardRequest();
+        request.setGolfCourseId(inClub(51L, () -> golfCourseRepository.save(golfCourse)).getId());
+        request.setMemberId(inClub(51L, () -> memberRepository.save(member("Scoring Member"))).getId());
+        long tournamentId = inClub(51L, () -> tournamentRepository.save(tournament)).getId();
+        long memberId = request.getMemberId();
+        assertNotNull(inClub(51L, () -> scoringService.openScorecard(tournamentId, request)));
+
+        // Equivalence class: club of the Tournament
+        assertEquals(1, inClub(51L, () -> scoringService.getScorecards(tournamentId)).size());
+        assertNotNull(inClub(51L, () -> scoringService.recordStrokes(tournamentId, memberId, 1, 5)));
+
+        // Equivalence class: another club
+        assertNull(inClub(52L, () -> scoringService.getScorecards(tournamentId)));
+        assertNull(inClub(52L, () -> scoringService.getScorecard(tournamentId, memberId)));
+        assertNull(inClub(52L, () -> scoringService.recordStrokes(tournamentId, memberId, 1, 3)));
+        assertNull(inClub(52L, () -> scoringService.recordScorecard(tournamentId, memberId, new int[9])));
+        assertEquals(5, inClub(51L, () -> scoringService.getScorecard(tournamentId, memberId)).getStrokes()[0]);
+    }
+
+    /**
+     * Test that the data source of the application is bounded per club.
+     */
+    @Test
+    public void testDataSourceIsBoundedPerClub() {
+        assertTrue(dataSource instanceof ClubConnectionBudget, "The data source should be wrapped: " + dataSource);
+    }
+
+    /**
+     * Test that the filter resolves the club from the header and rejects
+     * invalid ids and clubs the user is no member of.
+     */
+    @Test
+    public void testFilterResolvesClub() throws Exception {
+        ClubFilter filter = new ClubFilter();
+        Long[] seen = new Long[1];
+        MockFilterChain chain = new MockFilterChain() {
+            @Override
+            public void doFilter(javax.servlet.ServletRequest request, javax.servlet.ServletResponse response) {
+                seen[0] = ClubContext.getClubId();
+            }
+        };
+
+        // Equivalence class: header with a club of the user
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/members");
+        request.addHeader(ClubFilter.HEADER, "42");
+        request.setUserPrincipal(() -> "anna");
+        request.addUserRole(ClubFilter.ROLE_PREFIX + "42");
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        assertEquals(42L, seen[0]);
+        assertNull(ClubContext.getClubId(), "The club should be reset after the request");
+
+        // Equivalence class: header with a club of another user
+        seen[0] = null;
+        request = new MockHttpServletRequest("GET", "/api/v1/members");
+        request.addHeader(ClubFilter.HEADER, "43");
+        request.setUserPrincipal(() -> "anna");
+        request.addUserRole(ClubFilter.ROLE_PREFIX + "42");
+        MockHttpServletResponse forbidden = new MockHttpServletResponse();
+        filter.doFilter(request, forbidden, chain);
+        assertEquals(403, forbidden.getStatus());
+        assertNull(seen[0]);
+
+        // Equivalence class: header with a club, no authenticated user
+        request = new MockHttpServletRequest("GET", "/api/v1/members");
+        request.addHeader(ClubFilter.HEADER, "42");
+        forbidden = new MockHttpServletResponse();
+        filter.doFilter(request, forbidden, chain);
+        assertEquals(403, forbidden.getStatus());
+        assertNull(seen[0]);
+
+        // Equivalence class: no header
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/members"), new MockHttpServletResponse(), chain);
+        assertEquals(ClubContext.DEFAULT_CLUB_ID, seen[0]);
+
+        // Boundary value: zero is not a club
+        seen[0] = null;
+        request = new MockHttpServletRequest("GET", "/api/v1/members");
+        request.addHeader(ClubFilter.HEADER, "0");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        assertEquals(400, response.getStatus());
+        assertNull(seen[0]);
+    }
+}
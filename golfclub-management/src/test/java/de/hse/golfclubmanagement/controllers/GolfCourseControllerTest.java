@@ -12,20 +12,31 @@
  */
 package de.hse.golfclubmanagement.controllers;
 
+import de.hse.golfclubmanagement.config.PaginationProperties;
+import de.hse.golfclubmanagement.dto.KeysetPage;
 import de.hse.golfclubmanagement.models.GolfCourse;
+import de.hse.golfclubmanagement.services.ChangeVersions;
 import de.hse.golfclubmanagement.services.GolfCourseService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 /**
@@ -38,9 +49,18 @@ public class GolfCourseControllerTest {
     @Mock
     private GolfCourseService golfCourseService; // Mocked service for GolfCourse
 
+    @Mock
+    private ChangeVersions changeVersions; // Mocked versions of the tables
+
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties(); // Default page size settings
+
     @InjectMocks
     private GolfCourseController golfCourseController; // Controller instance with mocked service injected
 
+    private final ChangeVersions.Version version =
+            new ChangeVersions.Version(ChangeVersions.GOLF_COURSES, 7, Instant.parse("2024-05-01T10:15:30Z"));
+
     /**
      * Set up the test environment before each test method.
      * Initializes mocks and prepares the controller for testing.
@@ -48,6 +68,16 @@ public class GolfCourseControllerTest {
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this); // Initialize mocks
+        when(changeVersions.current(ChangeVersions.GOLF_COURSES)).thenReturn(version);
+        when(changeVersions.cached(ChangeVersions.GOLF_COURSES)).thenReturn(version);
+    }
+
+    private static ServletWebRequest request(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/golfcourses");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
     }
 
     /**
@@ -88,11 +118,84 @@ public class GolfCourseControllerTest {
 
         // Equivalence class: retrieving all courses
         when(golfCourseService.getAllGolfCourses()).thenReturn(courses);
-        ResponseEntity<List<GolfCourse>> response = golfCourseController.getAllGolfCourses();
+        ResponseEntity<List<GolfCourse>> response = golfCourseController.getAllGolfCourses(request(null));
 
         assertEquals(200, response.getStatusCodeValue(), "Response should have status 200 OK");
         assertNotNull(response.getBody(), "Response body should not be null");
         assertEquals(2, response.getBody().size(), "Should return a list of 2 GolfCourses");
+        assertEquals(version.getETag(), response.getHeaders().getETag(), "The version should be sent as ETag");
+        assertEquals(version.getChangedAt().toEpochMilli(), response.getHeaders().getLastModified(),
+                "The time of the last change should be sent as Last-Modified");
+    }
+
+    /**
+     * Test that a client holding the current version gets a 304 without the
+     * courses or the version being read from the database.
+     */
+    @Test
+    public void testGetAllGolfCoursesNotModified() {
+        // Equivalence class: current version
+        ResponseEntity<List<GolfCourse>> response = golfCourseController.getAllGolfCourses(request(version.getETag()));
+
+        assertEquals(304, response.getStatusCodeValue(), "Response should have status 304 Not Modified");
+        assertNull(response.getBody(), "The response body should be empty");
+        verify(golfCourseService, never()).getAllGolfCourses();
+        verify(changeVersions, never()).current(ChangeVersions.GOLF_COURSES);
+    }
+
+    /**
+     * Test that a version kept in memory which is older than the one in the
+     * database is not sent with the courses.
+     */
+    @Test
+    public void testGetAllGolfCoursesWithOutdatedCachedVersion() {
+        when(golfCourseService.getAllGolfCourses()).thenReturn(new ArrayList<>());
+        when(changeVersions.cached(ChangeVersions.GOLF_COURSES)).thenReturn(
+                new ChangeVersions.Version(ChangeVersions.GOLF_COURSES, 6, Instant.parse("2024-05-01T10:15:00Z")));
+        String oldest = new ChangeVersions.Version(ChangeVersions.GOLF_COURSES, 5, Instant.parse("2024-05-01T10:00:00Z"))
+                .getETag();
+
+        // Equivalence class: version kept in memory missed a change of another instance
+        ResponseEntity<List<GolfCourse>> response = golfCourseController.getAllGolfCourses(request(oldest));
+
+        assertEquals(200, response.getStatusCodeValue(), "Response should have status 200 OK");
+        assertEquals(version.getETag(), response.getHeaders().getETag(), "The version read should be sent as ETag");
+    }
+
+    /**
+     * Test that a client holding an older version gets the courses.
+     */
+    @Test
+    public void testGetAllGolfCoursesModified() {
+        when(golfCourseService.getAllGolfCourses()).thenReturn(new ArrayList<>());
+        String older = new ChangeVersions.Version(ChangeVersions.GOLF_COURSES, 6, Instant.parse("2024-05-01T10:15:00Z"))
+                .getETag();
+
+        // Equivalence class: outdated version
+        ResponseEntity<List<GolfCourse>> response = golfCourseController.getAllGolfCourses(request(older));
+
+        assertEquals(200, response.getStatusCodeValue(), "Response should have status 200 OK");
+        assertEquals(version.getETag(), response.getHeaders().getETag(), "The current version should be sent as ETag");
+        verify(golfCourseService).getAllGolfCourses();
+    }
+
+    /**
+     * Test that the representations in different formats have different ETags.
+     */
+    @Test
+    public void testETagDependsOnFormat() {
+        when(golfCourseService.getAllGolfCourses()).thenReturn(new ArrayList<>());
+        ServletWebRequest json = request(null);
+        ((MockHttpServletRequest) json.getRequest()).addHeader(HttpHeaders.ACCEPT, "application/json");
+        ServletWebRequest cbor = request(null);
+        ((MockHttpServletRequest) cbor.getRequest()).addHeader(HttpHeaders.ACCEPT, "application/cbor");
+
+        String jsonETag = golfCourseController.getAllGolfCourses(json).getHeaders().getETag();
+        ResponseEntity<List<GolfCourse>> response = golfCourseController.getAllGolfCourses(cbor);
+
+        // Equivalence class: different Accept header
+        assertNotEquals(jsonETag, response.getHeaders().getETag(), "The formats should not share an ETag");
+        assertTrue(response.getHeaders().getVary().contains(HttpHeaders.ACCEPT), "Caches should vary by Accept");
     }
 
     /**
@@ -105,7 +208,7 @@ public class GolfCourseControllerTest {
 
         // Equivalence class: valid name
         when(golfCourseService.findByName("Sunny Golf Course")).thenReturn(golfCourse);
-        ResponseEntity<GolfCourse> response = golfCourseController.findByName("Sunny Golf Course");
+        ResponseEntity<GolfCourse> response = golfCourseController.findByName("Sunny Golf Course", request(null));
 
         assertEquals(200, response.getStatusCodeValue(), "Response should have status 200 OK");
         assertEquals(golfCourse, response.getBody(), "The found GolfCourse should match the requested name");
@@ -118,9 +221,31 @@ public class GolfCourseControllerTest {
     public void testFindByNameNotFound() {
         // Equivalence class: name not found
         when(golfCourseService.findByName("Non-existent Course")).thenReturn(null);
-        ResponseEntity<GolfCourse> response = golfCourseController.findByName("Non-existent Course");
+        ResponseEntity<GolfCourse> response = golfCourseController.findByName("Non-existent Course", request(null));
 
         assertEquals(404, response.getStatusCodeValue(), "Response should have status 404 Not Found");
         assertNull(response.getBody(), "The response body should be null for a non-existent course");
     }
+
+    /**
+     * Test retrieving a page of GolfCourse entities with and without a page size.
+     */
+    @Test
+    public void testGetGolfCoursesPageSize() {
+        KeysetPage<GolfCourse> page = new KeysetPage<>(new ArrayList<>(), null);
+        when(golfCourseService.getGolfCoursesPage(anyLong(), anyInt())).thenReturn(page);
+
+        // Equivalence class: no page size requested
+        ResponseEntity<KeysetPage<GolfCourse>> response = golfCourseController.getGolfCoursesPage(0L, null, request(null));
+        assertEquals(200, response.getStatusCodeValue(), "Response should have status 200 OK");
+        verify(golfCourseService).getGolfCoursesPage(0L, 50);
+
+        // Boundary value: page size above the maximum
+        golfCourseController.getGolfCoursesPage(0L, 100000, request(null));
+        verify(golfCourseService).getGolfCoursesPage(0L, 500);
+
+        // Boundary value: page size below the minimum
+        golfCourseController.getGolfCoursesPage(0L, 0, request(null));
+        verify(golfCourseService).getGolfCoursesPage(0L, 1);
+    }
 }
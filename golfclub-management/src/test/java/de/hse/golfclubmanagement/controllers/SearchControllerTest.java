@@ -0,0 +1,67 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.controllers;
+
+import de.hse.golfclubmanagement.services.SearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class tests the SearchController class.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+public class SearchControllerTest {
+
+    @Mock
+    private SearchIndex searchIndex; // Mocked search index
+
+    @InjectMocks
+    private SearchController searchController; // Controller instance with mocked index injected
+
+    /**
+     * Set up the test environment before each test method.
+     * Initializes mocks and prepares the controller for testing.
+     */
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this); // Initialize mocks
+    }
+
+    /**
+     * Test that only admins may rebuild the index.
+     */
+    @Test
+    public void testRebuildRequiresAdmin() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/search/rebuild");
+
+        // Equivalence class: user without the admin role
+        ResponseEntity<Void> response = searchController.rebuild(request);
+        assertEquals(403, response.getStatusCodeValue(), "Response should have status 403 Forbidden");
+        verify(searchIndex, never()).requestRebuild();
+
+        // Equivalence class: admin
+        request.addUserRole(SearchController.ADMIN_ROLE);
+        response = searchController.rebuild(request);
+        assertEquals(202, response.getStatusCodeValue(), "Response should have status 202 Accepted");
+        verify(searchIndex).requestRebuild();
+    }
+}
@@ -0,0 +1,141 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.dataset;
+
+import de.hse.golfclubmanagement.models.GolfCourse;
+import de.hse.golfclubmanagement.models.Hole;
+import de.hse.golfclubmanagement.models.Member;
+import de.hse.golfclubmanagement.models.Tournament;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the DatasetGenerator class.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+public class DatasetGeneratorTest {
+
+    private final DatasetGenerator generator = new DatasetGenerator(42);
+
+    /**
+     * Test that the same seed and id always give the same entity.
+     */
+    @Test
+    public void testDeterministic() {
+        Member member = generator.member(4711);
+        Member again = new DatasetGenerator(42).member(4711);
+
+        assertEquals(4711L, member.getId());
+        assertEquals(member.getName(), again.getName());
+        assertEquals(member.getHandicap(), again.getHandicap());
+        assertEquals(member.getMembershipStatus(), again.getMembershipStatus());
+        assertEquals(generator.golfCourse(7).getHoles().get(3).getLength(),
+                new DatasetGenerator(42).golfCourse(7).getHoles().get(3).getLength());
+
+        // Equivalence class: another seed gives another dataset
+        DatasetGenerator other = new DatasetGenerator(43);
+        long differentNames = Arrays.stream(new int[] {1, 2, 3, 4, 5})
+                .filter(id -> !other.memberName(id).equals(generator.memberName(id))).count();
+        assertTrue(differentNames > 0);
+    }
+
+    /**
+     * Test that Member names are unique, beyond the number of name combinations as well.
+     */
+    @Test
+    public void testMemberNamesAreUnique() {
+        Set<String> names = new HashSet<>();
+        for (long id = 1; id <= 100_000; id++) {
+            assertTrue(names.add(generator.memberName(id)), "Duplicate name for id " + id);
+        }
+        Set<String> golfCourses = new HashSet<>();
+        Set<String> tournaments = new HashSet<>();
+        for (long id = 1; id <= 1000; id++) {
+            assertTrue(golfCourses.add(generator.golfCourseName(id)));
+            assertTrue(tournaments.add(generator.tournamentName(id)));
+        }
+    }
+
+    /**
+     * Test that the handicaps are skewed like the ones of a club.
+     */
+    @Test
+    public void testHandicapDistribution() {
+        int[] handicaps = new int[20_000];
+        for (int i = 0; i < handicaps.length; i++) {
+            handicaps[i] = generator.member(i + 1).getHandicap();
+        }
+        Arrays.sort(handicaps);
+        double mean = Arrays.stream(handicaps).average().orElse(0);
+        int median = handicaps[handicaps.length / 2];
+
+        // Boundary value: the handicap limits
+        assertTrue(handicaps[0] >= -5, "No handicap should be better than +5");
+        assertEquals(54, handicaps[handicaps.length - 1]);
+        assertTrue(median >= 12 && median <= 22, "Median was " + median);
+        assertTrue(mean > median, "The distribution should have its long tail at the high handicaps");
+        assertTrue(handicaps[handicaps.length / 100] < 5, "A few players should play close to scratch");
+    }
+
+    /**
+     * Test that a GolfCourse is consistent: numbered holes, a stroke index
+     * permutation and the usual mix of pars.
+     */
+    @Test
+    public void testGolfCourse() {
+        for (long id = 1; id <= 200; id++) {
+            GolfCourse golfCourse = generator.golfCourse(id);
+            int holeCount = generator.holeCount(id);
+
+            assertEquals(holeCount, golfCourse.getHoles().size());
+            assertTrue(Set.of(9, 18, 27, 36).contains(holeCount));
+            assertEquals(holeCount / 9 * 36, golfCourse.getHoles().stream().mapToInt(Hole::getPar).sum(),
+                    "Par 36 for every nine holes");
+            Set<Integer> strokeIndexes = golfCourse.getHoles().stream().map(Hole::getStrokeIndex).collect(Collectors.toSet());
+            assertEquals(holeCount, strokeIndexes.size());
+            for (int number = 1; number <= holeCount; number++) {
+                Hole hole = golfCourse.getHoles().get(number - 1);
+                assertEquals(number, hole.getNumber());
+                assertTrue(strokeIndexes.contains(number));
+                assertSame(golfCourse, hole.getGolfcourse());
+            }
+            assertTrue(golfCourse.getSlopeRating() >= 113 && golfCourse.getSlopeRating() <= 145);
+            assertTrue(golfCourse.getCourseRating() > 60 && golfCourse.getCourseRating() < 80);
+        }
+    }
+
+    /**
+     * Test that Tournaments are played in the season.
+     */
+    @Test
+    public void testTournamentsInSeason() {
+        for (long id = 1; id <= 1000; id++) {
+            Tournament tournament = generator.tournament(id);
+            LocalDate date = ((java.sql.Date) tournament.getDate()).toLocalDate();
+
+            // Boundary value: first and last day of the season
+            assertTrue(!date.isBefore(LocalDate.of(date.getYear(), Month.APRIL, 1)), "Before the season: " + date);
+            assertTrue(!date.isAfter(LocalDate.of(date.getYear(), Month.OCTOBER, 31)), "After the season: " + date);
+            assertEquals(2025 + (id - 1) / 200, date.getYear());
+        }
+    }
+}
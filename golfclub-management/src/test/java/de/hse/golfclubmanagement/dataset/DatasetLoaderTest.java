@@ -0,0 +1,122 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.dataset;
+
+import de.hse.golfclubmanagement.models.GolfCourse;
+import de.hse.golfclubmanagement.models.Member;
+import de.hse.golfclubmanagement.models.Tournament;
+import de.hse.golfclubmanagement.repositories.GolfCourseRepository;
+import de.hse.golfclubmanagement.repositories.MemberRepository;
+import de.hse.golfclubmanagement.repositories.TournamentRepository;
+import de.hse.golfclubmanagement.services.ChangeVersions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the DatasetLoader class against the in-memory database.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+@DataJpaTest(properties = "golfclub.dataset.batch-size=500")
+@Import({DatasetLoader.class, ChangeVersions.class})
+@ActiveProfiles("test")
+public class DatasetLoaderTest {
+
+    private final DatasetGenerator generator = new DatasetGenerator(7);
+
+    @Autowired
+    private DatasetLoader datasetLoader;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private GolfCourseRepository golfCourseRepository;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Test that loaded Members can be read through JPA and new Members get other ids.
+     */
+    @Test
+    public void testLoadMembers() {
+        long count = memberRepository.count();
+
+        long firstId = datasetLoader.loadMembers(generator, 2_345);
+
+        assertEquals(count + 2_345, memberRepository.count());
+        // Boundary value: first and last loaded Member
+        Member first = memberRepository.findByName(generator.memberName(firstId));
+        assertEquals(firstId, first.getId());
+        assertEquals(generator.member(firstId).getHandicap(), first.getHandicap());
+        assertEquals(firstId + 2_344, memberRepository.findByName(generator.memberName(firstId + 2_344)).getId());
+
+        // Equivalence class: a Member saved through JPA does not collide with the loaded ones
+        Member member = new Member();
+        member.setName("Saved Member");
+        Member saved = memberRepository.saveAndFlush(member);
+        assertTrue(saved.getId() < firstId || saved.getId() >= firstId + 2_345, "Id " + saved.getId() + " is taken");
+
+        // Equivalence class: a second load continues after the first one
+        assertTrue(datasetLoader.loadMembers(generator, 10) >= firstId + 2_345);
+    }
+
+    /**
+     * Test that loaded GolfCourses come with their Holes, also for names looked up before.
+     */
+    @Test
+    public void testLoadGolfCourses() {
+        Long nextId = jdbcTemplate.queryForObject(
+                "SELECT next_val FROM id_allocator WHERE sequence_name = 'golf_course'", Long.class);
+        String firstName = generator.golfCourse(nextId).getName();
+        assertNull(golfCourseRepository.findByName(firstName)); // result kept in the query cache
+        long firstId = datasetLoader.loadGolfCourses(generator, 120);
+
+        // Equivalence class: name looked up before the load
+        assertEquals(nextId, firstId);
+        assertNotNull(golfCourseRepository.findByName(firstName));
+
+        for (long id = firstId; id < firstId + 120; id += 17) {
+            GolfCourse expected = generator.golfCourse(id);
+            GolfCourse golfCourse = golfCourseRepository.findByName(expected.getName());
+            assertEquals(id, golfCourse.getId());
+            assertEquals(expected.getHoles().size(), golfCourse.getHoles().size());
+            assertEquals(expected.getHoles().get(0).getLength(), golfCourse.getHoles().get(0).getLength());
+            assertEquals(expected.getSlopeRating(), golfCourse.getSlopeRating());
+        }
+    }
+
+    /**
+     * Test that loaded Tournaments can be read through JPA.
+     */
+    @Test
+    public void testLoadTournaments() {
+        long firstId = datasetLoader.loadTournaments(generator, 50);
+
+        Tournament expected = generator.tournament(firstId + 49);
+        Tournament tournament = tournamentRepository.findById(firstId + 49).orElseThrow();
+        assertEquals(expected.getName(), tournament.getName());
+        assertEquals(expected.getDate().toString(), tournament.getDate().toString());
+        assertEquals(expected.getCapacity(), tournament.getCapacity());
+    }
+}
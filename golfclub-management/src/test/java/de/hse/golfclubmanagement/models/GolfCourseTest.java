@@ -13,12 +13,15 @@
 package de.hse.golfclubmanagement.models;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
@@ -130,4 +133,26 @@ public class GolfCourseTest {
         assertEquals(holes.size(), golfCourse.getHoles().size());
     }
 
+    @Test
+    public void testJsonRoundTripWithoutBackReferenceCycle() throws Exception {
+        GolfCourse golfCourse = new GolfCourse();
+        golfCourse.setName("Sunny Golf Course");
+        Hole hole = new Hole();
+        hole.setNummer(1);
+        hole.setPar(4);
+        hole.setGolfCourse(golfCourse);
+        List<Hole> holes = new ArrayList<>();
+        holes.add(hole);
+        golfCourse.setHoles(holes);
+
+        // Equivalence class: bidirectional relation is serialized one way only
+        ObjectMapper objectMapper = new ObjectMapper();
+        String json = objectMapper.writeValueAsString(golfCourse);
+        assertFalse(json.contains("golfcourse"), "Holes should not serialize their golf course");
+
+        // Equivalence class: back-reference is restored when deserializing
+        GolfCourse parsed = objectMapper.readValue(json, GolfCourse.class);
+        assertEquals(1, parsed.getHoles().size(), "The hole should be deserialized");
+        assertSame(parsed, parsed.getHoles().get(0).getGolfcourse(), "The hole should reference its golf course");
+    }
 }
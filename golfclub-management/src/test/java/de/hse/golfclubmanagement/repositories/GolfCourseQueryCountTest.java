@@ -0,0 +1,143 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.repositories;
+
+import de.hse.golfclubmanagement.models.GolfCourse;
+import de.hse.golfclubmanagement.models.Hole;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class verifies the number of SQL statements issued by the
+ * GolfCourse read paths against the in-memory database.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+public class GolfCourseQueryCountTest {
+
+    private static final int COURSES = 30;
+
+    private static final int HOLES_PER_COURSE = 18;
+
+    @Autowired
+    private GolfCourseRepository golfCourseRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    /**
+     * Persists the test courses and resets the statistics afterwards, so only
+     * the statements of the read path under test are counted.
+     */
+    @BeforeEach
+    public void setUp() {
+        for (int c = 0; c < COURSES; c++) {
+            GolfCourse golfCourse = new GolfCourse();
+            golfCourse.setName("Course " + c);
+            golfCourse.setLocation("Esslingen");
+            List<Hole> holes = new ArrayList<>();
+            for (int h = HOLES_PER_COURSE; h >= 1; h--) {
+                Hole hole = new Hole();
+                hole.setNummer(h);
+                hole.setPar(4);
+                hole.setLength(350);
+                hole.setGolfCourse(golfCourse);
+                holes.add(hole);
+            }
+            golfCourse.setHoles(holes);
+            entityManager.persist(golfCourse);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Test that all courses and their holes are loaded with a single statement.
+     */
+    @Test
+    public void testFindAllWithHolesUsesSingleQuery() {
+        List<GolfCourse> courses = golfCourseRepository.findAllWithHoles();
+
+        assertEquals(COURSES, courses.size(), "Every course should be returned exactly once");
+        for (GolfCourse course : courses) {
+            assertEquals(HOLES_PER_COURSE, course.getHoles().size(), "Every hole should be loaded");
+            assertEquals(1, course.getHoles().get(0).getNumber(), "Holes should be ordered by number");
+        }
+        assertEquals(1, statistics.getPrepareStatementCount(), "Courses and holes should be loaded with one query");
+    }
+
+    /**
+     * Test that a course found by name comes with its holes in a single statement.
+     */
+    @Test
+    public void testFindByNameFetchesHoles() {
+        GolfCourse course = golfCourseRepository.findByName("Course 7");
+
+        assertNotNull(course, "The course should be found");
+        assertEquals(HOLES_PER_COURSE, course.getHoles().size(), "Every hole should be loaded");
+        assertEquals(1, statistics.getPrepareStatementCount(), "Course and holes should be loaded with one query");
+    }
+
+    /**
+     * Test that a keyset page of courses and their holes is loaded with two statements.
+     */
+    @Test
+    public void testKeysetPageUsesTwoQueries() {
+        List<Long> ids = golfCourseRepository.findIdsAfter(0, PageRequest.of(0, 10));
+        List<GolfCourse> courses = golfCourseRepository.findAllWithHolesByIdIn(ids);
+
+        assertEquals(10, courses.size(), "The page should contain the requested number of courses");
+        courses.forEach(course -> assertEquals(HOLES_PER_COURSE, course.getHoles().size(), "Every hole should be loaded"));
+        assertEquals(2, statistics.getPrepareStatementCount(), "Ids and courses should be loaded with two queries");
+    }
+
+    /**
+     * Test that the cursor stream emits every course once with all of its holes.
+     */
+    @Test
+    public void testStreamAllWithHolesEmitsCompleteCourses() {
+        List<GolfCourse> courses;
+        try (Stream<GolfCourse> stream = golfCourseRepository.streamAllWithHoles()) {
+            courses = stream.collect(Collectors.toList());
+        }
+
+        assertEquals(COURSES, courses.size(), "Every course should be emitted exactly once");
+        courses.forEach(course -> assertEquals(HOLES_PER_COURSE, course.getHoles().size(), "Every hole should be loaded"));
+        assertEquals(1, statistics.getPrepareStatementCount(), "Courses and holes should be streamed from one query");
+    }
+}
@@ -0,0 +1,162 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.repositories;
+
+import de.hse.golfclubmanagement.config.SecondLevelCacheRegionFactory;
+import de.hse.golfclubmanagement.models.GolfCourse;
+import de.hse.golfclubmanagement.models.Hole;
+import de.hse.golfclubmanagement.services.ChangeVersions;
+import de.hse.golfclubmanagement.services.CourseLayout;
+import de.hse.golfclubmanagement.services.CourseLayoutService;
+import de.hse.golfclubmanagement.services.GolfCourseService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the second-level cache of the GolfCourses and their holes
+ * against the in-memory database. The tests run without a surrounding
+ * transaction, so the entities are cached once committed.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({GolfCourseService.class, CourseLayoutService.class, ChangeVersions.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+public class GolfCourseSecondLevelCacheTest {
+
+    private static final int HOLES_PER_COURSE = 18;
+
+    @Autowired
+    private GolfCourseService golfCourseService;
+
+    @Autowired
+    private CourseLayoutService courseLayoutService;
+
+    @Autowired
+    private GolfCourseRepository golfCourseRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private GolfCourse golfCourse;
+
+    /**
+     * Saves the test course and starts with empty regions and statistics.
+     */
+    @BeforeEach
+    public void setUp() {
+        golfCourse = golfCourseService.saveGolfCourse(newGolfCourse("Cached Course"));
+
+        entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class).evictAllRegions();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Deletes the courses saved by the test.
+     */
+    @AfterEach
+    public void tearDown() {
+        golfCourseRepository.deleteAll();
+    }
+
+    /**
+     * Test that a course and its holes are read from the database only once.
+     */
+    @Test
+    public void testLayoutIsServedFromCache() {
+        CourseLayout first = courseLayoutService.getLayout(golfCourse.getId());
+        long statements = statistics.getPrepareStatementCount();
+        CourseLayout second = courseLayoutService.getLayout(golfCourse.getId());
+
+        // Equivalence class: course and holes found in the second-level cache
+        assertEquals(HOLES_PER_COURSE, first.getHoleCount());
+        assertEquals(HOLES_PER_COURSE, second.getHoleCount());
+        assertEquals(statements, statistics.getPrepareStatementCount(), "The second read should not query the database");
+        assertEquals(1, statistics.getDomainDataRegionStatistics(SecondLevelCacheRegionFactory.GOLF_COURSE).getHitCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(SecondLevelCacheRegionFactory.GOLF_COURSE_HOLES).getHitCount());
+        assertEquals(HOLES_PER_COURSE, statistics.getDomainDataRegionStatistics(SecondLevelCacheRegionFactory.HOLE).getHitCount());
+    }
+
+    /**
+     * Test that the result of findByName is taken from the query cache, with the holes initialized.
+     */
+    @Test
+    public void testFindByNameUsesQueryCache() {
+        golfCourseService.findByName("Cached Course");
+        long statements = statistics.getPrepareStatementCount();
+        GolfCourse cached = golfCourseService.findByName("Cached Course");
+
+        // Equivalence class: result found in the query cache
+        assertEquals(golfCourse.getId(), cached.getId());
+        assertEquals(HOLES_PER_COURSE, cached.getHoles().size(), "The holes should be usable outside of the transaction");
+        assertEquals(statements, statistics.getPrepareStatementCount(), "The second lookup should not query the database");
+        assertEquals(1, statistics.getQueryRegionStatistics(SecondLevelCacheRegionFactory.GOLF_COURSE_QUERY).getHitCount());
+    }
+
+    /**
+     * Test that saving a course evicts its cached entries and the cached query results.
+     */
+    @Test
+    public void testSaveEvictsCachedCourse() {
+        courseLayoutService.getLayout(golfCourse.getId());
+        GolfCourse renamed = golfCourseService.findByName("Cached Course");
+        assertNull(golfCourseService.findByName("Renamed Course"));
+
+        renamed.setName("Renamed Course");
+        renamed.getHoles().forEach(hole -> hole.setPar(3));
+        golfCourseService.saveGolfCourse(renamed);
+
+        // Equivalence class: cached course and query results replaced by the saved ones
+        GolfCourse found = golfCourseService.findByName("Renamed Course");
+        assertNotNull(found, "The cached miss for the new name should be evicted");
+        assertNull(golfCourseService.findByName("Cached Course"), "The cached hit for the old name should be evicted");
+        CourseLayout layout = courseLayoutService.getLayout(golfCourse.getId());
+        assertEquals(HOLES_PER_COURSE, found.getHoles().size());
+        assertEquals(HOLES_PER_COURSE * 3, layout.getTotalPar());
+    }
+
+    private static GolfCourse newGolfCourse(String name) {
+        GolfCourse golfCourse = new GolfCourse();
+        golfCourse.setName(name);
+        golfCourse.setLocation("Esslingen");
+        List<Hole> holes = new ArrayList<>();
+        for (int h = 1; h <= HOLES_PER_COURSE; h++) {
+            Hole hole = new Hole();
+            hole.setNummer(h);
+            hole.setPar(4);
+            hole.setLength(350);
+            holes.add(hole);
+        }
+        golfCourse.setHoles(holes);
+        return golfCourse;
+    }
+}
@@ -0,0 +1,190 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.repositories;
+
+import de.hse.golfclubmanagement.models.GolfCourse;
+import de.hse.golfclubmanagement.models.Hole;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class verifies that the schema created by the Flyway migrations serves
+ * the repository lookups from indexes, using the query plans of H2.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+public class SchemaIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private GolfCourseRepository golfCourseRepository;
+
+    /**
+     * Returns the query plan H2 chooses for the given statement.
+     *
+     * @param sql the statement to explain
+     * @return the query plan in upper case
+     */
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class).toUpperCase();
+    }
+
+    /**
+     * Test that GolfCourseRepository.findByName of a club uses the unique name index.
+     */
+    @Test
+    public void testGolfCourseNameLookupUsesIndex() {
+        String plan = explain("SELECT * FROM golf_course WHERE club_id = 1 AND name = 'Sunny Golf Course'");
+
+        assertTrue(plan.contains("UX_GOLF_COURSE_CLUB_NAME"), "The lookup should use the name index: " + plan);
+        assertFalse(plan.contains("TABLESCAN"), "The lookup should not scan the table: " + plan);
+    }
+
+    /**
+     * Test that the holes of a course are looked up by the course index.
+     */
+    @Test
+    public void testHolesByCourseUseIndex() {
+        String plan = explain("SELECT * FROM hole WHERE golfcourse_id = 1 ORDER BY number");
+
+        // H2 may pick the index backing the foreign key instead of the unique index
+        assertFalse(plan.contains("TABLESCAN"), "The lookup should not scan the table: " + plan);
+        assertTrue(plan.contains("GOLFCOURSE_ID = "), "The lookup should use an index on the course: " + plan);
+    }
+
+    /**
+     * Test that MemberRepository.findByName of a club uses the name index.
+     */
+    @Test
+    public void testMemberNameLookupUsesIndex() {
+        String plan = explain("SELECT * FROM club_member WHERE club_id = 1 AND name = 'Anna Mueller'");
+
+        assertTrue(plan.contains("IX_CLUB_MEMBER_CLUB_NAME"), "The lookup should use the name index: " + plan);
+    }
+
+    /**
+     * Test that TournamentRepository.findByName and findByDate of a club use their indexes.
+     */
+    @Test
+    public void testTournamentLookupsUseIndexes() {
+        String byName = explain("SELECT * FROM tournament WHERE club_id = 1 AND name = 'Highwind'");
+        String byDate = explain("SELECT * FROM tournament WHERE club_id = 1 AND date = DATE '2024-12-24'");
+
+        assertTrue(byName.contains("IX_TOURNAMENT_CLUB_NAME"), "The lookup should use the name index: " + byName);
+        assertTrue(byDate.contains("IX_TOURNAMENT_CLUB_DATE"), "The lookup should use the date index: " + byDate);
+    }
+
+    /**
+     * Test that the calendar query of TournamentRepository.findCalendarEntries uses the date index.
+     */
+    @Test
+    public void testTournamentDateRangeUsesIndex() {
+        String plan = explain("SELECT id, name, date FROM tournament "
+                + "WHERE club_id = 1 AND date BETWEEN DATE '2025-04-01' AND DATE '2025-10-31' ORDER BY date, id");
+
+        assertTrue(plan.contains("IX_TOURNAMENT_CLUB_DATE"), "The range should use the date index: " + plan);
+    }
+
+    /**
+     * Test that the handicap range queries and the histogram use the handicap indexes.
+     */
+    @Test
+    public void testHandicapQueriesUseIndexes() {
+        String byStatus = explain("SELECT * FROM club_member WHERE club_id = 1 AND membership_status = 'active' "
+                + "AND handicap BETWEEN 10 AND 20 ORDER BY handicap, id");
+        String byHandicap = explain("SELECT * FROM club_member WHERE club_id = 1 AND handicap BETWEEN 10 AND 20 "
+                + "ORDER BY handicap, id");
+        String histogram = explain("SELECT handicap, COUNT(*) FROM club_member WHERE club_id = 1 "
+                + "AND membership_status = 'active' GROUP BY handicap ORDER BY handicap");
+
+        assertTrue(byStatus.contains("IX_CLUB_MEMBER_CLUB_STATUS_HANDICAP"), "The range should use the index: " + byStatus);
+        assertTrue(byHandicap.contains("IX_CLUB_MEMBER_CLUB_HANDICAP"), "The range should use the index: " + byHandicap);
+        assertTrue(histogram.contains("IX_CLUB_MEMBER_CLUB_STATUS_HANDICAP"), "The count should use the index: " + histogram);
+    }
+
+    /**
+     * Test that the pages and streams of a club ordered by id use the club indexes.
+     */
+    @Test
+    public void testClubPagesUseIndexes() {
+        String members = explain("SELECT * FROM club_member WHERE club_id = 2 AND id > 100 ORDER BY id");
+        String golfCourses = explain("SELECT id FROM golf_course WHERE club_id = 2 AND id > 100 ORDER BY id");
+        String tournaments = explain("SELECT * FROM tournament WHERE club_id = 2 AND id > 100 ORDER BY id");
+
+        assertTrue(members.contains("IX_CLUB_MEMBER_CLUB_ID"), "The page should use the index: " + members);
+        assertTrue(golfCourses.contains("IX_GOLF_COURSE_CLUB_ID"), "The page should use the index: " + golfCourses);
+        assertTrue(tournaments.contains("IX_TOURNAMENT_CLUB_ID"), "The page should use the index: " + tournaments);
+    }
+
+    /**
+     * Test that a second GolfCourse with the same name is rejected.
+     */
+    @Test
+    public void testGolfCourseNameIsUnique() {
+        GolfCourse first = new GolfCourse();
+        first.setName("Sunny Golf Course");
+        golfCourseRepository.saveAndFlush(first);
+
+        // Equivalence class: duplicate name
+        GolfCourse second = new GolfCourse();
+        second.setName("Sunny Golf Course");
+        assertThrows(DataIntegrityViolationException.class, () -> golfCourseRepository.saveAndFlush(second));
+    }
+
+    /**
+     * Test that GolfCourses of different clubs may share a name.
+     */
+    @Test
+    public void testGolfCourseNameIsUniquePerClub() {
+        GolfCourse first = new GolfCourse();
+        first.setName("Sunny Golf Course");
+        golfCourseRepository.saveAndFlush(first);
+
+        // Equivalence class: same name in another club
+        GolfCourse second = new GolfCourse();
+        second.setName("Sunny Golf Course");
+        second.setClubId(2L);
+        assertNotNull(golfCourseRepository.saveAndFlush(second).getId());
+    }
+
+    /**
+     * Test that a hole number occurs only once per GolfCourse.
+     */
+    @Test
+    public void testHoleNumberIsUniquePerCourse() {
+        GolfCourse golfCourse = new GolfCourse();
+        golfCourse.setName("Short Course");
+        Hole first = new Hole();
+        first.setNummer(1);
+        first.setGolfCourse(golfCourse);
+        Hole second = new Hole();
+        second.setNummer(1);
+        second.setGolfCourse(golfCourse);
+        golfCourse.setHoles(List.of(first, second));
+
+        // Equivalence class: duplicate hole number within one course
+        assertThrows(DataIntegrityViolationException.class, () -> golfCourseRepository.saveAndFlush(golfCourse));
+    }
+}
@@ -0,0 +1,243 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import de.hse.golfclubmanagement.config.CacheConfig;
+import de.hse.golfclubmanagement.dto.BulkImportResult;
+import de.hse.golfclubmanagement.models.GolfCourse;
+import de.hse.golfclubmanagement.models.Member;
+import de.hse.golfclubmanagement.repositories.GolfCourseRepository;
+import de.hse.golfclubmanagement.repositories.MemberRepository;
+import de.hse.golfclubmanagement.repositories.TournamentRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the BulkImportService class against the in-memory database.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({BulkImportService.class, MemberNameIndex.class, ChangeVersions.class, CacheConfig.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // every chunk commits on its own
+public class BulkImportServiceTest {
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private GolfCourseRepository golfCourseRepository;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MemberNameIndex memberNameIndex;
+
+    /**
+     * Removes the imported rows after each test method.
+     */
+    @AfterEach
+    public void tearDown() {
+        memberRepository.deleteAllInBatch();
+        tournamentRepository.deleteAllInBatch();
+        golfCourseRepository.deleteAll();
+    }
+
+    /**
+     * Test importing Members from JSON with one invalid row.
+     */
+    @Test
+    public void testImportMembersReportsInvalidRows() {
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Member member = new Member();
+            member.setName("Member " + i);
+            member.setHandicap(i * 10);
+            members.add(member);
+        }
+
+        // Boundary value: handicap above the maximum in the fourth row
+        members.get(3).setHandicap(55);
+        BulkImportResult result = bulkImportService.importMembers(members);
+
+        assertEquals(5, result.getReceived());
+        assertEquals(4, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(4, result.getErrors().get(0).getRow(), "The error should name the fourth row");
+        assertEquals(4, memberRepository.count());
+    }
+
+    /**
+     * Test that imported Members are written with JDBC batches.
+     */
+    @Test
+    public void testImportMembersUsesBatchInserts() {
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Member member = new Member();
+            member.setName("Member " + i);
+            member.setMembershipStatus("active");
+            members.add(member);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BulkImportResult result = bulkImportService.importMembers(members);
+
+        assertEquals(2000, result.getImported());
+        assertEquals(2000, memberRepository.count());
+        assertTrue(statistics.getPrepareStatementCount() < 200,
+                "2000 rows should need far fewer statements than rows, found " + statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Test importing Members from CSV with a malformed handicap.
+     */
+    @Test
+    public void testImportMembersCsv() throws IOException {
+        String csv = "name,membershipStatus,handicap\n"
+                + "\"Müller, Anna\",active,12\n"
+                + "Ben Maier,active,twelve\n"
+                + "Clara Schulz,inactive,\n";
+
+        BulkImportResult result = bulkImportService.importMembersCsv(new StringReader(csv));
+
+        assertEquals(3, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertEquals(3, result.getErrors().get(0).getRow(), "The error should name the third line");
+        assertNotNull(memberRepository.findByName("Müller, Anna"));
+        assertEquals("Müller, Anna", memberNameIndex.suggest("mueller", 1).get(0).getName(),
+                "Imported Members should be added to the name index");
+    }
+
+    /**
+     * Test that a CSV file without a name column is rejected as a whole.
+     */
+    @Test
+    public void testImportCsvWithoutNameColumn() {
+        assertThrows(IllegalArgumentException.class,
+                () -> bulkImportService.importMembersCsv(new StringReader("handicap\n12\n")));
+    }
+
+    /**
+     * Test importing GolfCourses with holes from CSV.
+     */
+    @Test
+    public void testImportGolfCoursesCsvWiresHoles() throws IOException {
+        StringBuilder csv = new StringBuilder("name,location,hole,length,par\n");
+        for (int hole = 1; hole <= 18; hole++) {
+            csv.append("Sunny Golf Course,California,").append(hole).append(",350,4\n");
+        }
+        for (int hole = 1; hole <= 9; hole++) {
+            csv.append("Short Course,Esslingen,").append(hole).append(",120,3\n");
+        }
+        csv.append("Broken Course,Esslingen,1,300,9\n");
+
+        BulkImportResult result = bulkImportService.importGolfCoursesCsv(new StringReader(csv.toString()));
+
+        assertEquals(3, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertEquals(29, result.getErrors().get(0).getRow(), "The error should name the first line of the course");
+        List<GolfCourse> courses = golfCourseRepository.findAllWithHoles();
+        assertEquals(2, courses.size());
+        assertEquals(18, courses.get(0).getHoles().size(), "Holes should reference their course");
+        assertEquals(9, courses.get(1).getHoles().size(), "Holes should reference their course");
+    }
+
+    /**
+     * Test importing the stroke indexes and ratings of GolfCourses from CSV.
+     */
+    @Test
+    public void testImportGolfCoursesCsvWithRatings() throws IOException {
+        String csv = "name,location,hole,length,par,stroke_index,course_rating,slope_rating\n"
+                + "Rated Course,Esslingen,1,300,4,2,35.4,128\n"
+                + "Rated Course,Esslingen,2,150,3,1,,\n"
+                + "Duplicate Index,Esslingen,1,300,4,1,,\n"
+                + "Duplicate Index,Esslingen,2,300,4,1,,\n"
+                + "Steep Course,Esslingen,1,300,4,1,70.1,160\n";
+
+        BulkImportResult result = bulkImportService.importGolfCoursesCsv(new StringReader(csv));
+
+        assertEquals(1, result.getImported());
+        // Equivalence class: stroke index used twice, slope rating out of range
+        assertEquals(4, result.getErrors().get(0).getRow());
+        assertEquals(6, result.getErrors().get(1).getRow());
+        GolfCourse course = golfCourseRepository.findByName("Rated Course");
+        assertEquals(35.4, course.getCourseRating());
+        assertEquals(128, course.getSlopeRating());
+        assertEquals(2, course.getHoles().get(0).getStrokeIndex());
+        assertEquals(1, course.getHoles().get(1).getStrokeIndex());
+    }
+
+    /**
+     * Test that a rejected GolfCourse does not take its name from a later valid one.
+     */
+    @Test
+    public void testRejectedGolfCourseKeepsNameFree() {
+        List<GolfCourse> golfCourses = new ArrayList<>();
+        for (int slopeRating : new int[] {160, 128, 128}) {
+            GolfCourse golfCourse = new GolfCourse();
+            golfCourse.setName("Twice Course");
+            golfCourse.setLocation("Esslingen");
+            golfCourse.setSlopeRating(slopeRating);
+            golfCourses.add(golfCourse);
+        }
+
+        BulkImportResult result = bulkImportService.importGolfCourses(golfCourses);
+
+        // Equivalence class: slope rating out of range, then a valid course and a duplicate of the same name
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(1, result.getErrors().get(0).getRow());
+        assertEquals(3, result.getErrors().get(1).getRow());
+        assertEquals(128, golfCourseRepository.findByName("Twice Course").getSlopeRating());
+    }
+
+    /**
+     * Test importing Tournaments from CSV with an invalid date.
+     */
+    @Test
+    public void testImportTournamentsCsv() throws IOException {
+        String csv = "name,date\nSpring Cup,2025-04-12\nSummer Cup,12.07.2025\n";
+
+        BulkImportResult result = bulkImportService.importTournamentsCsv(new StringReader(csv));
+
+        assertEquals(1, result.getImported());
+        assertEquals(3, result.getErrors().get(0).getRow());
+        assertEquals(1, tournamentRepository.count());
+    }
+}
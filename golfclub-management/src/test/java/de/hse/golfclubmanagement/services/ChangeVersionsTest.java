@@ -0,0 +1,136 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import de.hse.golfclubmanagement.config.ClubContext;
+import de.hse.golfclubmanagement.models.Member;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the ChangeVersions class against the in-memory database.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+@DataJpaTest
+@Import({ChangeVersions.class, MemberService.class, MemberNameIndex.class})
+@ActiveProfiles("test")
+public class ChangeVersionsTest {
+
+    @Autowired
+    private ChangeVersions changeVersions;
+
+    @Autowired
+    private MemberService memberService;
+
+    /**
+     * Reset the club of the thread after each test method.
+     */
+    @AfterEach
+    public void tearDown() {
+        ClubContext.setClubId(null);
+    }
+
+    /**
+     * Test that every table of the list endpoints has a version of its own.
+     */
+    @Test
+    public void testEveryTableHasVersion() {
+        String members = changeVersions.current(ChangeVersions.MEMBERS).getETag();
+        String golfCourses = changeVersions.current(ChangeVersions.GOLF_COURSES).getETag();
+        String tournaments = changeVersions.current(ChangeVersions.TOURNAMENTS).getETag();
+
+        assertNotEquals(members, golfCourses, "The tables should not share entity tags");
+        assertNotEquals(golfCourses, tournaments, "The tables should not share entity tags");
+        assertTrue(members.startsWith("W/\"") && members.endsWith("\""), "The entity tag should be weak and quoted");
+    }
+
+    /**
+     * Test that incrementing a version changes its entity tag but not the others.
+     */
+    @Test
+    public void testIncrementChangesVersion() {
+        ChangeVersions.Version before = changeVersions.current(ChangeVersions.TOURNAMENTS);
+        String golfCourses = changeVersions.current(ChangeVersions.GOLF_COURSES).getETag();
+
+        changeVersions.increment(ChangeVersions.TOURNAMENTS);
+
+        ChangeVersions.Version after = changeVersions.current(ChangeVersions.TOURNAMENTS);
+        assertNotEquals(before.getETag(), after.getETag(), "The entity tag should change");
+        assertFalse(after.getChangedAt().isBefore(before.getChangedAt()), "The time of the change should not go back");
+        assertEquals(golfCourses, changeVersions.current(ChangeVersions.GOLF_COURSES).getETag(),
+                "Other tables should keep their versions");
+    }
+
+    /**
+     * Test that adding a Member increments the version of the Members.
+     */
+    @Test
+    public void testAddMemberIncrementsVersion() {
+        String before = changeVersions.current(ChangeVersions.MEMBERS).getETag();
+        Member member = new Member();
+        member.setName("Erika Mustermann");
+        member.setMembershipStatus("active");
+
+        // Equivalence class: new Member
+        memberService.addMember(member);
+        assertNotEquals(before, changeVersions.current(ChangeVersions.MEMBERS).getETag(), "The version should change");
+    }
+
+    /**
+     * Test that the versions of a club are kept apart from those of the other clubs.
+     */
+    @Test
+    public void testVersionsPerClub() {
+        ClubContext.setClubId(2L);
+        String before = changeVersions.current(ChangeVersions.TOURNAMENTS).getETag();
+        ClubContext.setClubId(ClubContext.DEFAULT_CLUB_ID);
+        String defaultClub = changeVersions.current(ChangeVersions.TOURNAMENTS).getETag();
+
+        // Equivalence class: change of one club
+        ClubContext.setClubId(2L);
+        changeVersions.increment(ChangeVersions.TOURNAMENTS);
+        assertNotEquals(before, changeVersions.current(ChangeVersions.TOURNAMENTS).getETag(),
+                "The version of the changed club should change");
+        changeVersions.increment(ChangeVersions.TOURNAMENTS); // Boundary value: row of the club exists
+        ClubContext.setClubId(ClubContext.DEFAULT_CLUB_ID);
+        assertEquals(defaultClub, changeVersions.current(ChangeVersions.TOURNAMENTS).getETag(),
+                "Other clubs should keep their versions");
+    }
+
+    /**
+     * Test that the version kept in memory is replaced once the table changes.
+     * It runs without the transaction of the test, as the version is only
+     * replaced after the commit.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void testCachedVersionEvictedByIncrement() {
+        ChangeVersions.Version before = changeVersions.cached(ChangeVersions.GOLF_COURSES);
+        assertEquals(before.getETag(), changeVersions.cached(ChangeVersions.GOLF_COURSES).getETag(),
+                "The version should be kept");
+
+        // Equivalence class: change without a club, i.e. of all clubs
+        changeVersions.increment(ChangeVersions.GOLF_COURSES);
+        assertNotEquals(before.getETag(), changeVersions.cached(ChangeVersions.GOLF_COURSES).getETag(),
+                "The version kept should be replaced");
+    }
+}
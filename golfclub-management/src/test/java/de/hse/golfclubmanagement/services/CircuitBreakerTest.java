@@ -0,0 +1,112 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the CircuitBreaker class.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+public class CircuitBreakerTest {
+
+    /**
+     * A clock that only moves when told to.
+     */
+    private static final class ManualClock extends Clock {
+
+        private Instant now = Instant.parse("2024-05-01T08:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private final ManualClock clock = new ManualClock();
+
+    private final CircuitBreaker breaker = new CircuitBreaker(3, Duration.ofSeconds(30), clock);
+
+    /**
+     * Test that the breaker opens after the threshold of failures in a row.
+     */
+    @Test
+    public void testOpensAfterFailuresInARow() {
+        breaker.recordFailure();
+        breaker.recordFailure();
+        breaker.recordSuccess();
+        breaker.recordFailure();
+        breaker.recordFailure();
+
+        // Boundary value: one failure below the threshold after a success
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.allowRequest());
+
+        breaker.recordFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+    }
+
+    /**
+     * Test that an open breaker lets a trial through after the open duration.
+     */
+    @Test
+    public void testHalfOpenTrial() {
+        for (int i = 0; i < 3; i++) {
+            breaker.recordFailure();
+        }
+
+        // Boundary value: just before the open duration has passed
+        clock.advance(Duration.ofSeconds(29));
+        assertFalse(breaker.allowRequest());
+
+        clock.advance(Duration.ofSeconds(1));
+        assertTrue(breaker.allowRequest());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        // Equivalence class: failed trial opens the breaker again at once
+        breaker.recordFailure();
+        assertFalse(breaker.allowRequest());
+
+        // Equivalence class: successful trial closes the breaker
+        clock.advance(Duration.ofSeconds(30));
+        assertTrue(breaker.allowRequest());
+        breaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        breaker.recordFailure();
+        assertTrue(breaker.allowRequest(), "The failures should be counted from zero again");
+    }
+}
@@ -0,0 +1,76 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the CsvReader class.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+public class CsvReaderTest {
+
+    @Test
+    public void testHeaderColumns() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("Name,membershipStatus,HANDICAP\n"));
+
+        // Equivalence class: header names are matched ignoring case
+        assertEquals(0, reader.column("name"));
+        assertEquals(1, reader.column("MembershipStatus"));
+        assertEquals(2, reader.column("handicap"));
+
+        // Equivalence class: unknown column
+        assertEquals(-1, reader.column("location"));
+        assertNull(reader.next(), "There should be no record after the header");
+    }
+
+    @Test
+    public void testQuotedFields() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(
+                "name,location\r\n\"Golfclub \"\"Am See\"\"\",\"Esslingen, Neckar\"\r\n"));
+
+        // Equivalence class: quoted field with escaped quotes and comma
+        assertArrayEquals(new String[] {"Golfclub \"Am See\"", "Esslingen, Neckar"}, reader.next());
+        assertEquals(2, reader.getLineNumber());
+    }
+
+    @Test
+    public void testLineNumbersWithBlankAndMultilineRecords() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("name\nA\n\n\"B\nC\"\nD"));
+
+        // Equivalence class: record after a blank line
+        assertArrayEquals(new String[] {"A"}, reader.next());
+        assertEquals(2, reader.getLineNumber());
+        assertArrayEquals(new String[] {"B\nC"}, reader.next());
+        assertEquals(4, reader.getLineNumber());
+
+        // Boundary value: last record without a trailing line break
+        assertArrayEquals(new String[] {"D"}, reader.next());
+        assertEquals(6, reader.getLineNumber());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void testEmptyFields() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a,b,c\n,,\n"));
+
+        // Boundary value: all fields empty
+        assertArrayEquals(new String[] {"", "", ""}, reader.next());
+    }
+}
@@ -0,0 +1,126 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import de.hse.golfclubmanagement.models.GolfCourse;
+import de.hse.golfclubmanagement.models.Hole;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the FieldScores class.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+public class FieldScoresTest {
+
+    private static final int HOLES = 18;
+
+    /**
+     * Creates an 18 hole par 72 course with the stroke index equal to the hole number.
+     */
+    private static CourseLayout layout() {
+        GolfCourse golfCourse = new GolfCourse();
+        golfCourse.setId(7L);
+        List<Hole> holes = new ArrayList<>();
+        for (int number = 1; number <= HOLES; number++) {
+            Hole hole = new Hole();
+            hole.setNummer(number);
+            hole.setPar(4);
+            hole.setStrokeIndex(number);
+            holes.add(hole);
+        }
+        golfCourse.setHoles(holes);
+        return CourseLayout.of(golfCourse);
+    }
+
+    private static byte[] card(int strokes, int holesPlayed) {
+        byte[] card = new byte[HOLES];
+        for (int hole = 0; hole < holesPlayed; hole++) {
+            card[hole] = (byte) strokes;
+        }
+        return card;
+    }
+
+    /**
+     * Test the net scores and Stableford points of a small field.
+     */
+    @Test
+    public void testScoreField() {
+        FieldScores scores = new FieldScores(2);
+        int[] handicaps = {0, 18, 20, 0};
+        byte[][] strokes = {card(4, 18), card(5, 18), card(5, 9), card(9, 18)};
+
+        // Boundary value: the field is larger than the capacity
+        scores.score(layout(), handicaps, strokes, 4);
+
+        assertEquals(4, scores.size());
+        assertEquals(36, scores.points(0), "Par on every hole should score 2 points per hole");
+        assertEquals(72, scores.net(0));
+        assertEquals(36, scores.points(1), "Bogey on every hole with one stroke per hole is a net par");
+        assertEquals(72, scores.net(1));
+
+        // Equivalence class: round in progress, holes 1 and 2 receive a second stroke
+        assertEquals(9, scores.holesPlayed(2));
+        assertEquals(45, scores.gross(2));
+        assertEquals(34, scores.net(2));
+        assertEquals(36, scores.par(2));
+        assertEquals(20, scores.points(2));
+
+        // Equivalence class: no points below a net double bogey
+        assertEquals(0, scores.points(3));
+        assertEquals(162, scores.net(3));
+    }
+
+    /**
+     * Test that scoring a field again allocates nothing once the allocation
+     * tables of its playing handicaps exist.
+     */
+    @Test
+    public void testScoringDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled()) {
+            return;
+        }
+        CourseLayout layout = layout();
+        int players = 150;
+        Random random = new Random(42);
+        int[] handicaps = new int[players];
+        byte[][] strokes = new byte[players][HOLES];
+        for (int player = 0; player < players; player++) {
+            handicaps[player] = random.nextInt(60) - 6;
+            for (int hole = 0; hole < HOLES; hole++) {
+                strokes[player][hole] = (byte) (3 + random.nextInt(5));
+            }
+        }
+        FieldScores scores = new FieldScores(players);
+        for (int round = 0; round < 1_000; round++) {
+            scores.score(layout, handicaps, strokes, players); // warm up, builds the tables
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int round = 0; round < 1_000; round++) {
+            scores.score(layout, handicaps, strokes, players);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(allocated < 1_024, "Scoring a field should not allocate, allocated " + allocated + " bytes");
+    }
+}
@@ -0,0 +1,172 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import de.hse.golfclubmanagement.config.CacheConfig;
+import de.hse.golfclubmanagement.models.GolfCourse;
+import de.hse.golfclubmanagement.repositories.GolfCourseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class tests the name lookup cache in front of GolfCourseService.findByName.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+@SpringBootTest(classes = {CacheConfig.class, GolfCourseService.class})
+@TestPropertySource(properties = "golfclub.cache.name-lookup.negative-ttl=100ms")
+public class GolfCourseServiceCacheTest {
+
+    @MockBean
+    private GolfCourseRepository golfCourseRepository; // Mocked repository counting the database lookups
+
+    @MockBean
+    private EntityManagerFactory entityManagerFactory; // Required by the persistence context of the service
+
+    @MockBean
+    private ChangeVersions changeVersions; // Versions of the tables, not under test here
+
+    @Autowired
+    private GolfCourseService golfCourseService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Clears the cache before each test method.
+     */
+    @BeforeEach
+    public void setUp() {
+        cacheManager.getCache(CacheConfig.GOLF_COURSE_BY_NAME).clear();
+    }
+
+    /**
+     * Test that repeated lookups of an existing name hit the repository once.
+     */
+    @Test
+    public void testFindByNameIsCached() {
+        GolfCourse golfCourse = new GolfCourse();
+        golfCourse.setName("Sunny Golf Course");
+        when(golfCourseRepository.findByName("Sunny Golf Course")).thenReturn(golfCourse);
+
+        // Equivalence class: existing name
+        assertSame(golfCourse, golfCourseService.findByName("Sunny Golf Course"));
+        assertSame(golfCourse, golfCourseService.findByName("Sunny Golf Course"));
+        verify(golfCourseRepository, times(1)).findByName("Sunny Golf Course");
+    }
+
+    /**
+     * Test that misses are cached until the negative time to live has passed.
+     */
+    @Test
+    public void testMissIsCachedBriefly() throws InterruptedException {
+        when(golfCourseRepository.findByName("Non-existent Course")).thenReturn(null);
+
+        // Equivalence class: name not found
+        assertNull(golfCourseService.findByName("Non-existent Course"));
+        assertNull(golfCourseService.findByName("Non-existent Course"));
+        verify(golfCourseRepository, times(1)).findByName("Non-existent Course");
+
+        // Boundary value: negative time to live has passed
+        Thread.sleep(200);
+        assertNull(golfCourseService.findByName("Non-existent Course"));
+        verify(golfCourseRepository, times(2)).findByName("Non-existent Course");
+    }
+
+    /**
+     * Test that saving a new GolfCourse replaces a cached miss for its name.
+     */
+    @Test
+    public void testSaveRefreshesEntry() {
+        GolfCourse golfCourse = new GolfCourse();
+        golfCourse.setName("New Course");
+        when(golfCourseRepository.findByName("New Course")).thenReturn(null);
+        when(golfCourseRepository.save(any(GolfCourse.class))).thenReturn(golfCourse);
+
+        assertNull(golfCourseService.findByName("New Course"));
+        golfCourseService.saveGolfCourse(golfCourse);
+
+        // Equivalence class: the saved course is served from the cache
+        assertSame(golfCourse, golfCourseService.findByName("New Course"));
+        verify(golfCourseRepository, times(1)).findByName("New Course");
+    }
+
+    /**
+     * Test that updating an existing GolfCourse drops the entry of its old name.
+     */
+    @Test
+    public void testUpdateEvictsOldName() {
+        GolfCourse golfCourse = new GolfCourse();
+        golfCourse.setId(1L);
+        golfCourse.setName("Old Name");
+        when(golfCourseRepository.findByName("Old Name")).thenReturn(golfCourse);
+        golfCourseService.findByName("Old Name");
+
+        GolfCourse renamed = new GolfCourse();
+        renamed.setId(1L);
+        renamed.setName("New Name");
+        when(golfCourseRepository.existsById(1L)).thenReturn(true);
+        when(golfCourseRepository.save(any(GolfCourse.class))).thenReturn(renamed);
+        when(golfCourseRepository.findByName("Old Name")).thenReturn(null);
+        golfCourseService.saveGolfCourse(renamed);
+
+        // Equivalence class: renamed course is no longer found under its old name
+        assertNull(golfCourseService.findByName("Old Name"));
+        assertSame(renamed, golfCourseService.findByName("New Name"));
+    }
+
+    /**
+     * Test that hits and misses are counted.
+     */
+    @Test
+    public void testStatisticsAreRecorded() {
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(CacheConfig.GOLF_COURSE_BY_NAME);
+        long hits = cache.getNativeCache().stats().hitCount();
+        long misses = cache.getNativeCache().stats().missCount();
+
+        golfCourseService.findByName("Counted Course");
+        golfCourseService.findByName("Counted Course");
+
+        assertEquals(misses + 1, cache.getNativeCache().stats().missCount(), "The first lookup should be a miss");
+        assertEquals(hits + 1, cache.getNativeCache().stats().hitCount(), "The second lookup should be a hit");
+    }
+
+    /**
+     * Test that a GolfCourse with an unknown id is not saved and does not fail on
+     * the cache, but still drops the cached names.
+     */
+    @Test
+    public void testSaveWithUnknownIdKeepsCacheConsistent() {
+        GolfCourse golfCourse = new GolfCourse();
+        golfCourse.setId(2L);
+        golfCourse.setName("Foreign Course");
+        when(golfCourseRepository.existsById(2L)).thenReturn(false);
+
+        // Equivalence class: id unknown, or of another club
+        assertNull(golfCourseService.saveGolfCourse(golfCourse));
+        assertNull(cacheManager.getCache(CacheConfig.GOLF_COURSE_BY_NAME).get("Foreign Course"),
+                "Nothing should be cached for the rejected course");
+    }
+}
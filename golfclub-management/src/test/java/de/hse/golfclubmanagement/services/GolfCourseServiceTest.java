@@ -12,19 +12,26 @@
  */
 package de.hse.golfclubmanagement.services;
 
+import de.hse.golfclubmanagement.dto.KeysetPage;
+import de.hse.golfclubmanagement.config.ClubContext;
 import de.hse.golfclubmanagement.models.GolfCourse;
+import de.hse.golfclubmanagement.models.Hole;
 import de.hse.golfclubmanagement.repositories.GolfCourseRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -37,6 +44,12 @@ public class GolfCourseServiceTest {
     @Mock
     private GolfCourseRepository golfCourseRepository; // Mocked repository for GolfCourse
 
+    @Mock
+    private ChangeVersions changeVersions; // Mocked versions of the tables
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher; // Mocked publisher of the search index changes
+
     @InjectMocks
     private GolfCourseService golfCourseService; // Service instance with mocked repository injected
 
@@ -49,6 +62,14 @@ public class GolfCourseServiceTest {
         MockitoAnnotations.openMocks(this); // Initialize mocks
     }
 
+    /**
+     * Reset the club of the thread after each test method.
+     */
+    @AfterEach
+    public void tearDown() {
+        ClubContext.setClubId(null);
+    }
+
     /**
      * Test saving a valid GolfCourse.
      */
@@ -63,6 +84,31 @@ public class GolfCourseServiceTest {
         GolfCourse savedCourse = golfCourseService.saveGolfCourse(golfCourse);
         assertEquals("Sunny Golf Course", savedCourse.getName(), "The saved course name should match");
         assertEquals("California", savedCourse.getLocation(), "The saved course location should match");
+        verify(changeVersions).increment(ChangeVersions.GOLF_COURSES);
+        verify(eventPublisher).publishEvent(any(SearchIndex.EntitySaved.class));
+    }
+
+    /**
+     * Test that a GolfCourse with an id unknown to the club is neither
+     * updated nor added as a new GolfCourse.
+     */
+    @Test
+    public void testSaveGolfCourseWithUnknownId() {
+        Hole hole = new Hole();
+        hole.setId(5L);
+        GolfCourse golfCourse = new GolfCourse();
+        golfCourse.setId(42L);
+        golfCourse.setName("Foreign Course");
+        golfCourse.setHoles(new ArrayList<>(List.of(hole)));
+        ClubContext.setClubId(2L);
+
+        // Equivalence class: id unknown, or of another club
+        when(golfCourseRepository.existsById(42L)).thenReturn(false);
+        assertNull(golfCourseService.saveGolfCourse(golfCourse), "The GolfCourse should not be saved");
+        assertEquals(42L, golfCourse.getId(), "The id should be kept");
+        assertEquals(5L, hole.getId(), "The ids of the holes should be kept");
+        verify(golfCourseRepository, never()).save(any());
+        verify(changeVersions, never()).increment(any());
     }
 
     /**
@@ -73,6 +119,8 @@ public class GolfCourseServiceTest {
         // Equivalence class: null GolfCourse
         when(golfCourseRepository.save(null)).thenThrow(new IllegalArgumentException("GolfCourse cannot be null"));
         assertThrows(IllegalArgumentException.class, () -> golfCourseService.saveGolfCourse(null), "Should throw IllegalArgumentException for null GolfCourse");
+        verify(changeVersions, never()).increment(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     /**
@@ -85,10 +133,10 @@ public class GolfCourseServiceTest {
         courses.add(new GolfCourse());
 
         // Equivalence class: retrieving all courses
-        when(golfCourseRepository.findAll()).thenReturn(courses);
+        when(golfCourseRepository.findAllWithHoles()).thenReturn(courses);
         List<GolfCourse> result = golfCourseService.getAllGolfCourses();
         assertEquals(2, result.size(), "Should return a list of 2 GolfCourses");
-        verify(golfCourseRepository, times(1)).findAll(); // Verify that findAll was called once
+        verify(golfCourseRepository, times(1)).findAllWithHoles(); // Verify that the fetch join query was called once
     }
 
     /**
@@ -115,4 +163,35 @@ public class GolfCourseServiceTest {
         GolfCourse notFoundCourse = golfCourseService.findByName("Non-existent Course");
         assertNull(notFoundCourse, "Should return null for a non-existent course");
     }
+
+    /**
+     * Test retrieving a full page of GolfCourse entities.
+     */
+    @Test
+    public void testGetGolfCoursesPageFull() {
+        GolfCourse first = new GolfCourse();
+        first.setId(11L);
+        GolfCourse second = new GolfCourse();
+        second.setId(12L);
+
+        // Equivalence class: page is full, so a next page may exist
+        when(golfCourseRepository.findIdsAfter(eq(10L), any(Pageable.class))).thenReturn(List.of(11L, 12L));
+        when(golfCourseRepository.findAllWithHolesByIdIn(List.of(11L, 12L))).thenReturn(List.of(first, second));
+        KeysetPage<GolfCourse> page = golfCourseService.getGolfCoursesPage(10L, 2);
+        assertEquals(2, page.getItems().size(), "The page should contain 2 GolfCourses");
+        assertEquals(12L, page.getNextCursor(), "The cursor should be the id of the last GolfCourse");
+    }
+
+    /**
+     * Test retrieving the last page of GolfCourse entities.
+     */
+    @Test
+    public void testGetGolfCoursesPageLast() {
+        // Equivalence class: no more GolfCourses after the cursor
+        when(golfCourseRepository.findIdsAfter(eq(12L), any(Pageable.class))).thenReturn(List.of());
+        KeysetPage<GolfCourse> page = golfCourseService.getGolfCoursesPage(12L, 2);
+        assertTrue(page.getItems().isEmpty(), "The last page should be empty");
+        assertNull(page.getNextCursor(), "There should be no cursor after the last page");
+        verify(golfCourseRepository, never()).findAllWithHolesByIdIn(any()); // No query for an empty id list
+    }
 }
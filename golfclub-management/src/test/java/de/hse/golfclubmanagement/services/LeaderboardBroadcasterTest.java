@@ -0,0 +1,233 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the fan-out of the LeaderboardBroadcaster class with
+ * emitters recording the events instead of writing to a connection.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+@SpringBootTest(classes = {LeaderboardBroadcasterTest.Config.class, JacksonAutoConfiguration.class}, properties = {
+        "golfclub.leaderboard.events.buffer-size=4",
+        "golfclub.leaderboard.events.heartbeat=1h",
+        "golfclub.leaderboard.events.sender-threads=" + LeaderboardBroadcasterTest.SENDER_THREADS,
+        "golfclub.leaderboard.events.max-sender-threads=" + LeaderboardBroadcasterTest.MAX_SENDER_THREADS,
+        "golfclub.leaderboard.events.send-timeout=200ms"})
+public class LeaderboardBroadcasterTest {
+
+    static final int SENDER_THREADS = 2;
+
+    static final int MAX_SENDER_THREADS = 3 * SENDER_THREADS;
+
+    private static final long TOURNAMENT_ID = 2L;
+
+    private static final long SLOW_TOURNAMENT_ID = 3L;
+
+    private static final long STUCK_TOURNAMENT_ID = 4L;
+
+    private static final long CAPPED_TOURNAMENT_ID = 5L;
+
+    @Autowired
+    private LeaderboardBroadcaster broadcaster;
+
+    /**
+     * Emitter recording the events sent; while blocked, a send waits like a
+     * write to a client that does not read.
+     */
+    static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+
+        private final CountDownLatch unblocked = new CountDownLatch(1);
+
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        private volatile boolean blocked;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (blocked) {
+                try {
+                    unblocked.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            events.add(builder.build().stream().map(data -> data.getData().toString()).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            completed.countDown();
+        }
+
+        private boolean awaitEvents(int count) throws InterruptedException {
+            for (int i = 0; i < 100 && events.size() < count; i++) {
+                Thread.sleep(20);
+            }
+            return events.size() >= count;
+        }
+    }
+
+    /**
+     * Provides a broadcaster creating recording emitters.
+     */
+    @Configuration
+    static class Config {
+
+        @Bean
+        LeaderboardBroadcaster leaderboardBroadcaster() {
+            return new LeaderboardBroadcaster() {
+                @Override
+                SseEmitter createEmitter(Duration timeout) {
+                    return new RecordingEmitter();
+                }
+            };
+        }
+    }
+
+    /**
+     * Test that a subscriber receives the snapshot first and then the events in order.
+     */
+    @Test
+    public void testEventsInOrder() throws InterruptedException {
+        RecordingEmitter emitter = (RecordingEmitter) broadcaster.subscribe(TOURNAMENT_ID, "leaderboard", Map.of("players", 0));
+        RecordingEmitter other = (RecordingEmitter) broadcaster.subscribe(TOURNAMENT_ID + 100, "leaderboard", Map.of());
+        for (int hole = 1; hole <= 3; hole++) {
+            broadcaster.publish(TOURNAMENT_ID, "score", Map.of("hole", hole));
+        }
+
+        assertTrue(emitter.awaitEvents(4));
+        assertEquals("event:leaderboard\ndata:{\"players\":0}\n\n", emitter.events.get(0));
+        for (int hole = 1; hole <= 3; hole++) {
+            assertTrue(emitter.events.get(hole).contains("{\"hole\":" + hole + "}"), "Events should arrive in order");
+        }
+        // Equivalence class: subscriber of another Tournament
+        assertTrue(other.awaitEvents(1));
+        assertEquals(1, other.events.size(), "Only the snapshot should be sent to another Tournament");
+        other.complete();
+        emitter.complete();
+    }
+
+    /**
+     * Test that a subscriber falling behind is dropped without blocking the
+     * publisher or the other subscribers.
+     */
+    @Test
+    public void testSlowSubscriberIsDropped() throws InterruptedException {
+        RecordingEmitter slow = (RecordingEmitter) broadcaster.subscribe(SLOW_TOURNAMENT_ID, "leaderboard", Map.of());
+        slow.awaitEvents(1);
+        slow.blocked = true;
+        RecordingEmitter fast = (RecordingEmitter) broadcaster.subscribe(SLOW_TOURNAMENT_ID, "leaderboard", Map.of());
+        assertEquals(2, broadcaster.subscriberCount(SLOW_TOURNAMENT_ID));
+
+        long start = System.nanoTime();
+        for (int hole = 1; hole <= 18; hole++) {
+            broadcaster.publish(SLOW_TOURNAMENT_ID, "score", Map.of("hole", hole));
+            // Boundary value: the fast subscriber keeps up with the buffer size
+            fast.awaitEvents(hole + 1);
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(slow.completed.await(5, TimeUnit.SECONDS), "The slow subscriber should be disconnected");
+        assertEquals(1, broadcaster.subscriberCount(SLOW_TOURNAMENT_ID));
+        assertEquals(19, fast.events.size(), "The fast subscriber should receive every event");
+        assertTrue(elapsedMillis < 5_000, "Publishing should not wait for the slow subscriber");
+        slow.unblocked.countDown();
+        fast.complete();
+    }
+
+    /**
+     * Test that more stuck subscribers than sender threads are dropped after
+     * the send timeout and do not keep the events of others from being sent.
+     */
+    @Test
+    public void testStuckSubscribersDoNotStarveOthers() throws InterruptedException {
+        List<RecordingEmitter> stuck = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 2 * SENDER_THREADS; i++) {
+            RecordingEmitter emitter = (RecordingEmitter) broadcaster.subscribe(STUCK_TOURNAMENT_ID, "leaderboard", Map.of());
+            assertTrue(emitter.awaitEvents(1));
+            emitter.blocked = true;
+            stuck.add(emitter);
+        }
+        // Boundary value: every sender thread is stuck, with stuck subscribers waiting for one
+        broadcaster.publish(STUCK_TOURNAMENT_ID, "score", Map.of("hole", 1));
+
+        RecordingEmitter other = (RecordingEmitter) broadcaster.subscribe(TOURNAMENT_ID + 200, "leaderboard", Map.of());
+        broadcaster.publish(TOURNAMENT_ID + 200, "score", Map.of("hole", 1));
+
+        assertTrue(other.awaitEvents(2), "Stuck subscribers should not block the others");
+        for (RecordingEmitter emitter : stuck) {
+            assertTrue(emitter.completed.await(5, TimeUnit.SECONDS), "A stuck subscriber should be disconnected");
+        }
+        assertEquals(0, broadcaster.subscriberCount(STUCK_TOURNAMENT_ID));
+        stuck.forEach(emitter -> emitter.unblocked.countDown());
+        other.complete();
+    }
+
+    /**
+     * Test that stuck sends add sender threads only up to the maximum; stuck
+     * subscribers beyond it are dropped without adding threads.
+     */
+    @Test
+    public void testSenderThreadsCapped() throws InterruptedException {
+        List<RecordingEmitter> stuck = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < MAX_SENDER_THREADS + SENDER_THREADS; i++) {
+            RecordingEmitter emitter = (RecordingEmitter) broadcaster.subscribe(CAPPED_TOURNAMENT_ID, "leaderboard", Map.of());
+            assertTrue(emitter.awaitEvents(1));
+            emitter.blocked = true;
+            stuck.add(emitter);
+        }
+        broadcaster.publish(CAPPED_TOURNAMENT_ID, "score", Map.of("hole", 1));
+
+        // Boundary value: one stuck send per thread up to the maximum
+        for (int i = 0; i < 100 && completed(stuck) < MAX_SENDER_THREADS; i++) {
+            Thread.sleep(20);
+        }
+        Thread.sleep(600);
+        assertEquals(MAX_SENDER_THREADS, completed(stuck), "No thread should be added beyond the maximum");
+        assertEquals(SENDER_THREADS, broadcaster.subscriberCount(CAPPED_TOURNAMENT_ID),
+                "The subscribers waiting for a thread should not be dropped");
+        stuck.forEach(emitter -> emitter.unblocked.countDown());
+        stuck.forEach(RecordingEmitter::complete);
+    }
+
+    private static long completed(List<RecordingEmitter> emitters) {
+        return emitters.stream().filter(emitter -> emitter.completed.getCount() == 0).count();
+    }
+}
@@ -0,0 +1,283 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import de.hse.golfclubmanagement.dto.LeaderboardEvent;
+import de.hse.golfclubmanagement.dto.LeaderboardView;
+import de.hse.golfclubmanagement.dto.LeaderboardView.Ranking;
+import de.hse.golfclubmanagement.dto.LeaderboardView.Standing;
+import de.hse.golfclubmanagement.dto.ScorecardView;
+import de.hse.golfclubmanagement.models.GolfCourse;
+import de.hse.golfclubmanagement.models.Hole;
+import de.hse.golfclubmanagement.models.Scorecard;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the ordering and the countback of the Leaderboard class.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+public class LeaderboardTest {
+
+    private static final long TOURNAMENT_ID = 2L;
+
+    private static final CourseLayout PAR_72 = layout(18);
+
+    private static CourseLayout layout(int holeCount) {
+        GolfCourse golfCourse = new GolfCourse();
+        golfCourse.setId(7L);
+        List<Hole> holes = new ArrayList<>();
+        for (int number = 1; number <= holeCount; number++) {
+            Hole hole = new Hole();
+            hole.setNummer(number);
+            hole.setPar(4);
+            holes.add(hole);
+        }
+        golfCourse.setHoles(holes);
+        return CourseLayout.of(golfCourse);
+    }
+
+    private static ScorecardView card(long memberId, int version, int handicap, int... strokes) {
+        Scorecard scorecard = new Scorecard();
+        scorecard.setId(memberId);
+        scorecard.setTournamentId(TOURNAMENT_ID);
+        scorecard.setMemberId(memberId);
+        scorecard.setGolfCourseId(7L);
+        scorecard.setHandicap(handicap);
+        scorecard.setVersion(version);
+        byte[] stored = new byte[PAR_72.getHoleCount()];
+        for (int i = 0; i < strokes.length; i++) {
+            stored[i] = (byte) strokes[i];
+        }
+        scorecard.setStrokes(stored);
+        return ScoringService.toView(scorecard, PAR_72);
+    }
+
+    /**
+     * Creates a complete round of fours with the given strokes on the last holes.
+     */
+    private static ScorecardView round(long memberId, int handicap, int... lastHoles) {
+        int[] strokes = new int[18];
+        Arrays.fill(strokes, 4);
+        System.arraycopy(lastHoles, 0, strokes, 18 - lastHoles.length, lastHoles.length);
+        return card(memberId, 1, handicap, strokes);
+    }
+
+    private static long[] memberIds(LeaderboardView view) {
+        return view.getStandings().stream().mapToLong(Standing::getMemberId).toArray();
+    }
+
+    /**
+     * Test that players are ordered by score and players without a hole come last.
+     */
+    @Test
+    public void testOrderedByScore() {
+        Leaderboard leaderboard = new Leaderboard(TOURNAMENT_ID);
+        leaderboard.update(card(1, 1, 0, 5, 5));
+        leaderboard.update(card(2, 1, 0, 3, 4));
+        leaderboard.update(card(3, 0, 0));
+        leaderboard.update(card(4, 1, 0, 4, 4, 4));
+
+        LeaderboardView view = leaderboard.view(Ranking.GROSS, 0);
+
+        assertArrayEquals(new long[] {2, 4, 1, 3}, memberIds(view));
+        assertEquals(-1, view.getStandings().get(0).getToPar());
+        assertEquals(7, view.getStandings().get(0).getStrokes());
+        assertEquals(4, view.getPlayers());
+    }
+
+    /**
+     * Test that a submission moves the entry of its player only.
+     */
+    @Test
+    public void testUpdateMovesPlayer() {
+        Leaderboard leaderboard = new Leaderboard(TOURNAMENT_ID);
+        leaderboard.update(card(1, 1, 0, 3));
+        leaderboard.update(card(2, 1, 0, 4));
+
+        assertNotNull(leaderboard.update(card(1, 2, 0, 3, 6)));
+
+        assertArrayEquals(new long[] {2, 1}, memberIds(leaderboard.view(Ranking.GROSS, 0)));
+        assertEquals(2, leaderboard.size(), "The player should be listed once");
+    }
+
+    /**
+     * Test that an update reports the changed hole and the new positions of the player.
+     */
+    @Test
+    public void testUpdateEvent() {
+        Leaderboard leaderboard = new Leaderboard(TOURNAMENT_ID);
+        leaderboard.update(card(1, 1, 0, 3, 4));
+        leaderboard.update(card(2, 1, 36, 5, 5));
+
+        // Equivalence class: new card without strokes
+        LeaderboardEvent opened = leaderboard.update(card(3, 0, 0));
+        assertNull(opened.getHole());
+        assertEquals(3, opened.getPosition());
+
+        LeaderboardEvent event = leaderboard.update(card(3, 1, 0, 3));
+        assertEquals(3L, event.getMemberId());
+        assertEquals(1, event.getHole());
+        assertEquals(3, event.getStrokes());
+        assertEquals(-1, event.getToPar());
+        assertEquals(1, event.getPosition(), "Level with player 1, both rounds in progress");
+        assertEquals(2, event.getNetPosition(), "Player 2 leads net with -2");
+
+        // Equivalence class: clearing a hole
+        event = leaderboard.update(card(3, 2, 0));
+        assertEquals(1, event.getHole());
+        assertEquals(0, event.getStrokes());
+        assertEquals(3, event.getPosition());
+    }
+
+    /**
+     * Test that submissions older than the applied version are ignored.
+     */
+    @Test
+    public void testStaleVersionIgnored() {
+        Leaderboard leaderboard = new Leaderboard(TOURNAMENT_ID);
+        leaderboard.update(card(1, 3, 0, 4, 4, 4));
+
+        // Boundary value: same version
+        assertNull(leaderboard.update(card(1, 3, 0, 4, 4)));
+
+        // Equivalence class: older version
+        assertNull(leaderboard.update(card(1, 2, 0, 9)));
+        assertEquals(3, leaderboard.view(Ranking.GROSS, 0).getStandings().get(0).getHolesPlayed());
+    }
+
+    /**
+     * Test that level complete rounds are separated by countback over the last 9, 6, 3 and 1 holes.
+     */
+    @Test
+    public void testCountback() {
+        Leaderboard leaderboard = new Leaderboard(TOURNAMENT_ID);
+        // all on 72: player 1 better on the last 9, player 2 on the last 3, players 3 and 4 level
+        leaderboard.update(round(1, 0, 5, 3, 4, 4, 4, 4, 4, 4, 4, 4));
+        leaderboard.update(round(2, 0, 5, 4, 4, 4, 4, 4, 3, 4, 4));
+        leaderboard.update(round(3, 0, 5, 4, 4, 4, 4, 3, 5, 4, 3));
+        leaderboard.update(round(4, 0, 5, 4, 4, 4, 4, 3, 5, 4, 3));
+
+        LeaderboardView view = leaderboard.view(Ranking.GROSS, 0);
+
+        assertArrayEquals(new long[] {1, 2, 3, 4}, memberIds(view));
+        assertEquals(1, view.getStandings().get(0).getPosition());
+        assertEquals(2, view.getStandings().get(1).getPosition());
+        assertFalse(view.getStandings().get(1).isTied());
+
+        // Equivalence class: level after countback
+        assertEquals(3, view.getStandings().get(2).getPosition());
+        assertEquals(3, view.getStandings().get(3).getPosition());
+        assertTrue(view.getStandings().get(2).isTied());
+        assertTrue(view.getStandings().get(3).isTied());
+    }
+
+    /**
+     * Test that the net countback deducts the share of the handicap of the holes compared.
+     */
+    @Test
+    public void testNetCountback() {
+        Leaderboard leaderboard = new Leaderboard(TOURNAMENT_ID);
+        // both net 54: player 1 scores 1 stroke less on the last 9, but gets 2.5 handicap strokes less there
+        leaderboard.update(round(1, 17, 4, 4, 4, 4, 4, 4, 4, 4, 3));
+        int[] strokes = new int[18];
+        Arrays.fill(strokes, 4);
+        strokes[0] = 6;
+        strokes[1] = 6;
+        leaderboard.update(card(2, 1, 22, strokes));
+
+        LeaderboardView net = leaderboard.view(Ranking.NET, 0);
+
+        assertEquals(net.getStandings().get(0).getToPar(), net.getStandings().get(1).getToPar());
+        assertArrayEquals(new long[] {2, 1}, memberIds(net), "Last 9 net: 36 - 11 = 25 beats 35 - 8.5 = 26.5");
+        assertArrayEquals(new long[] {1, 2}, memberIds(leaderboard.view(Ranking.GROSS, 0)));
+    }
+
+    /**
+     * Test that rounds in progress on the same score share a position.
+     */
+    @Test
+    public void testRoundsInProgressShareScore() {
+        Leaderboard leaderboard = new Leaderboard(TOURNAMENT_ID);
+        leaderboard.update(card(1, 1, 0, 4, 3));
+        leaderboard.update(card(2, 1, 0, 3, 4, 4, 4));
+
+        LeaderboardView view = leaderboard.view(Ranking.GROSS, 0);
+
+        assertEquals(1, view.getStandings().get(0).getPosition());
+        assertEquals(1, view.getStandings().get(1).getPosition());
+        assertTrue(view.getStandings().get(0).isTied());
+    }
+
+    /**
+     * Test that the limit cuts the standings but not the number of players.
+     */
+    @Test
+    public void testLimit() {
+        Leaderboard leaderboard = new Leaderboard(TOURNAMENT_ID);
+        leaderboard.update(card(1, 1, 0, 3));
+        leaderboard.update(card(2, 1, 0, 4));
+        leaderboard.update(card(3, 1, 0, 4));
+
+        LeaderboardView view = leaderboard.view(Ranking.GROSS, 2);
+
+        assertArrayEquals(new long[] {1, 2}, memberIds(view));
+        assertTrue(view.getStandings().get(1).isTied(), "The cut player should still be marked as tied");
+        assertEquals(3, view.getPlayers());
+    }
+
+    /**
+     * Test that the positions of every event match the standings, with many
+     * players level on score, in progress and completed.
+     */
+    @Test
+    public void testEventPositionsMatchStandings() {
+        Leaderboard leaderboard = new Leaderboard(TOURNAMENT_ID);
+        Random random = new Random(3);
+        int[] versions = new int[41];
+        for (int i = 0; i < 2000; i++) {
+            int memberId = 1 + random.nextInt(40);
+            // Equivalence class: from no hole to a complete round, strokes close to par
+            int[] strokes = new int[random.nextInt(19)];
+            for (int hole = 0; hole < strokes.length; hole++) {
+                strokes[hole] = 3 + random.nextInt(3);
+            }
+            LeaderboardEvent event = leaderboard.update(card(memberId, ++versions[memberId], random.nextInt(3) * 9,
+                    strokes));
+
+            assertEquals(positionOf(leaderboard.view(Ranking.GROSS, 0), memberId), event.getPosition());
+            assertEquals(positionOf(leaderboard.view(Ranking.NET, 0), memberId), event.getNetPosition());
+        }
+    }
+
+    private static int positionOf(LeaderboardView view, long memberId) {
+        return view.getStandings().stream().filter(standing -> standing.getMemberId() == memberId)
+                .findFirst().orElseThrow(AssertionError::new).getPosition();
+    }
+
+    /**
+     * Test that cards of another Tournament are rejected.
+     */
+    @Test
+    public void testOtherTournamentRejected() {
+        Leaderboard leaderboard = new Leaderboard(TOURNAMENT_ID + 1);
+        assertThrows(IllegalArgumentException.class, () -> leaderboard.update(card(1, 1, 0, 4)));
+    }
+}
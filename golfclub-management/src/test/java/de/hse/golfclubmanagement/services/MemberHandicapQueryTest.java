@@ -0,0 +1,141 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import de.hse.golfclubmanagement.dto.HandicapHistogram;
+import de.hse.golfclubmanagement.models.Member;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the handicap range queries and the handicap histogram of
+ * the MemberService class against the in-memory database.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+@DataJpaTest
+@Import({MemberService.class, MemberNameIndex.class, ChangeVersions.class})
+@ActiveProfiles("test")
+public class MemberHandicapQueryTest {
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    /**
+     * Persists one active and one inactive Member for every handicap from -2 to 20.
+     */
+    @BeforeEach
+    public void setUp() {
+        for (int handicap = 20; handicap >= -2; handicap--) {
+            entityManager.persist(member("Active " + handicap, "active", handicap));
+            entityManager.persist(member("Inactive " + handicap, "inactive", handicap));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static Member member(String name, String status, int handicap) {
+        Member member = new Member();
+        member.setName(name);
+        member.setMembershipStatus(status);
+        member.setHandicap(handicap);
+        return member;
+    }
+
+    /**
+     * Test the range query filtered by membership status.
+     */
+    @Test
+    public void testStreamActiveMembersByHandicap() {
+        List<Member> members = new ArrayList<>();
+        memberService.streamMembersByHandicap("active", 5, 9, members::add);
+
+        // Equivalence class: closed range within the data
+        assertEquals(5, members.size(), "Both bounds should be inclusive");
+        for (int i = 0; i < members.size(); i++) {
+            assertEquals(5 + i, members.get(i).getHandicap(), "Members should be ordered by handicap");
+            assertEquals("active", members.get(i).getMembershipStatus());
+        }
+    }
+
+    /**
+     * Test the range query over all Members.
+     */
+    @Test
+    public void testStreamAllMembersByHandicap() {
+        List<Member> members = new ArrayList<>();
+        memberService.streamMembersByHandicap(null, Integer.MIN_VALUE, 0, members::add);
+
+        // Boundary value: unbounded lower end including plus handicaps
+        assertEquals(6, members.size());
+        assertEquals(-2, members.get(0).getHandicap());
+        assertTrue(members.get(0).getId() < members.get(1).getId(), "Equal handicaps should be ordered by id");
+    }
+
+    /**
+     * Test that an inverted range is rejected.
+     */
+    @Test
+    public void testInvertedRange() {
+        assertThrows(IllegalArgumentException.class,
+                () -> memberService.streamMembersByHandicap(null, 10, 5, member -> { }));
+    }
+
+    /**
+     * Test the histogram with buckets of five handicaps.
+     */
+    @Test
+    public void testHistogramBuckets() {
+        HandicapHistogram histogram = memberService.getHandicapHistogram("active", 5);
+
+        assertEquals(23, histogram.getTotal());
+        List<HandicapHistogram.Bucket> buckets = histogram.getBuckets();
+        assertEquals(6, buckets.size());
+
+        // Boundary value: plus handicaps fall into the bucket below zero
+        assertEquals(-5, buckets.get(0).getFrom());
+        assertEquals(-1, buckets.get(0).getTo());
+        assertEquals(2, buckets.get(0).getMembers());
+        assertEquals(5, buckets.get(1).getMembers());
+        assertEquals(20, buckets.get(5).getFrom());
+        assertEquals(1, buckets.get(5).getMembers());
+    }
+
+    /**
+     * Test the histogram over all Members and an invalid bucket width.
+     */
+    @Test
+    public void testHistogramOfAllMembers() {
+        HandicapHistogram histogram = memberService.getHandicapHistogram(null, 1);
+
+        assertEquals(46, histogram.getTotal());
+        assertEquals(23, histogram.getBuckets().size());
+        assertEquals(2, histogram.getBuckets().get(0).getMembers());
+
+        // Boundary value: bucket width below 1
+        assertThrows(IllegalArgumentException.class, () -> memberService.getHandicapHistogram(null, 0));
+    }
+}
@@ -0,0 +1,163 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import de.hse.golfclubmanagement.dto.MemberSuggestion;
+import de.hse.golfclubmanagement.models.Member;
+import de.hse.golfclubmanagement.repositories.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class tests the MemberNameIndex class.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+public class MemberNameIndexTest {
+
+    @Mock
+    private MemberRepository memberRepository; // Mocked repository for the initial load
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private MemberNameIndex memberNameIndex;
+
+    /**
+     * Set up the test environment before each test method.
+     * Initializes mocks and loads three Members into the index.
+     */
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(memberRepository.streamAll()).thenReturn(Stream.of(
+                member(1L, "Anna Müller"),
+                member(2L, "Jürgen Mueller"),
+                member(3L, "Zoë Ångström")));
+        memberNameIndex.rebuild();
+    }
+
+    private static Member member(long id, String name) {
+        Member member = new Member();
+        member.setId(id);
+        member.setName(name);
+        return member;
+    }
+
+    private List<String> names(String prefix) {
+        return memberNameIndex.suggest(prefix, 10).stream()
+                .map(MemberSuggestion::getName)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Test that lookups keep finding the Members during a rebuild and that
+     * changes made meanwhile survive it.
+     */
+    @Test
+    public void testChangesDuringRebuildAreKept() {
+        clearInvocations(entityManager);
+        when(memberRepository.streamAll()).thenReturn(Stream.of(
+                member(1L, "Anna Müller"),
+                member(2L, "Jürgen Mueller")).peek(member -> {
+                    if (member.getId() == 1L) {
+                        // Equivalence class: lookup and changes while the new maps are filled
+                        assertEquals(List.of("Anna Müller"), names("anna"));
+                        memberNameIndex.put(member(9L, "Paula Neu"));
+                        memberNameIndex.remove(2L);
+                    }
+                }));
+
+        memberNameIndex.rebuild();
+
+        assertEquals(List.of("Paula Neu"), names("paula"));
+        assertEquals(List.of("Anna Müller"), names("mue"), "A Member removed during the rebuild should stay removed");
+        assertEquals(2, memberNameIndex.size());
+        verify(entityManager, times(2)).detach(any(Member.class));
+    }
+
+    /**
+     * Test that umlauts and their transliteration find the same Members.
+     */
+    @Test
+    public void testUmlautsAndTransliterationMatch() {
+        // Equivalence class: prefix with umlaut
+        assertEquals(List.of("Anna Müller", "Jürgen Mueller"), names("Mül"));
+
+        // Equivalence class: transliterated prefix in upper case
+        assertEquals(List.of("Anna Müller", "Jürgen Mueller"), names("MUEL"));
+    }
+
+    /**
+     * Test that other diacritics are ignored and every word is searchable.
+     */
+    @Test
+    public void testDiacriticsAndWordStarts() {
+        assertEquals(List.of("Zoë Ångström"), names("zoe"));
+        assertEquals(List.of("Zoë Ångström"), names("angs"));
+        assertEquals(List.of("Jürgen Mueller"), names("juergen m"));
+
+        // Equivalence class: prefix in the middle of a word
+        assertTrue(names("ller").isEmpty(), "Only word starts should match");
+    }
+
+    /**
+     * Test the limit and blank prefixes.
+     */
+    @Test
+    public void testLimitAndBlankPrefix() {
+        assertEquals(1, memberNameIndex.suggest("m", 1).size(), "The limit should be respected");
+
+        // Boundary value: blank prefix
+        assertTrue(names("  ").isEmpty(), "A blank prefix should not match anything");
+        assertTrue(names(null).isEmpty(), "A missing prefix should not match anything");
+    }
+
+    /**
+     * Test that a renamed Member is only found under its new name.
+     */
+    @Test
+    public void testPutReplacesPreviousName() {
+        memberNameIndex.put(member(1L, "Anna Schmidt"));
+
+        assertEquals(List.of("Jürgen Mueller"), names("mue"));
+        assertEquals(List.of("Anna Schmidt"), names("schm"));
+        assertEquals(3, memberNameIndex.size());
+
+        memberNameIndex.remove(1L);
+        assertTrue(names("anna").isEmpty(), "A removed Member should not be suggested");
+        verify(memberRepository, times(1)).streamAll();
+    }
+
+    /**
+     * Test that a Member is suggested only once if several of its words match.
+     */
+    @Test
+    public void testMemberIsSuggestedOnce() {
+        memberNameIndex.put(member(4L, "Max Max"));
+
+        assertEquals(List.of("Max Max"), names("max"));
+    }
+}
@@ -0,0 +1,248 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import de.hse.golfclubmanagement.models.OutboxMessage;
+import de.hse.golfclubmanagement.repositories.OutboxMessageRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the NotificationOutbox and NotificationDispatcher classes
+ * against the in-memory database and a local stub of the notification-service.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+@DataJpaTest(properties = {
+        "golfclub.notification.batch-size=10",
+        "golfclub.notification.max-attempts=3",
+        "golfclub.notification.initial-backoff=400ms",
+        "golfclub.notification.max-backoff=400ms",
+        "golfclub.notification.circuit-breaker.failure-threshold=3",
+        "golfclub.notification.circuit-breaker.open-duration=200ms"})
+@Import({NotificationOutbox.class, NotificationDispatcher.class, JacksonAutoConfiguration.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // notifications commit on their own
+public class NotificationDispatcherTest {
+
+    private static final List<String> RECEIVED = new CopyOnWriteArrayList<>();
+
+    private static final AtomicInteger RESPONSE_STATUS = new AtomicInteger(201);
+
+    private static final HttpServer NOTIFICATION_SERVICE = startNotificationService();
+
+    @Autowired
+    private NotificationOutbox notificationOutbox;
+
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Starts the stub answering every POST to /notifications with the configured status.
+     */
+    private static HttpServer startNotificationService() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/notifications", exchange -> {
+                RECEIVED.add(new String(exchange.getRequestBody().readAllBytes()));
+                exchange.sendResponseHeaders(RESPONSE_STATUS.get(), -1);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Points the dispatcher to the stub.
+     */
+    @DynamicPropertySource
+    static void notificationServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("golfclub.notification.url",
+                () -> "http://localhost:" + NOTIFICATION_SERVICE.getAddress().getPort());
+    }
+
+    /**
+     * Stops the stub.
+     */
+    @AfterAll
+    public static void stopNotificationService() {
+        NOTIFICATION_SERVICE.stop(0);
+    }
+
+    /**
+     * Resets the stub and closes the circuit breaker.
+     */
+    @BeforeEach
+    public void setUp() {
+        RECEIVED.clear();
+        RESPONSE_STATUS.set(201);
+        notificationDispatcher.getCircuitBreaker().recordSuccess();
+    }
+
+    /**
+     * Removes the rows of the test.
+     */
+    @AfterEach
+    public void tearDown() {
+        outboxMessageRepository.deleteAllInBatch();
+    }
+
+    private void enqueue(int count) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int i = 0; i < count; i++) {
+                notificationOutbox.enqueue(i + 1, "Message " + i);
+            }
+        });
+    }
+
+    /**
+     * Test that the outbox is drained in batches, in order, and delivered notifications are deleted.
+     */
+    @Test
+    public void testDeliversAllInOrder() throws IOException {
+        enqueue(25);
+
+        assertEquals(25, notificationDispatcher.dispatch());
+
+        assertEquals(25, RECEIVED.size());
+        JsonNode first = objectMapper.readTree(RECEIVED.get(0));
+        assertEquals(1, first.get("user_id").asLong());
+        assertEquals("Message 0", first.get("message").asText());
+        assertEquals("Message 24", objectMapper.readTree(RECEIVED.get(24)).get("message").asText());
+        assertEquals(0, outboxMessageRepository.count());
+    }
+
+    /**
+     * Test that a failed delivery is retried after the backoff and given up after the last attempt.
+     */
+    @Test
+    public void testFailedDeliveryIsRetriedWithBackoff() throws InterruptedException {
+        enqueue(1);
+        RESPONSE_STATUS.set(503);
+        Instant before = Instant.now();
+
+        assertEquals(0, notificationDispatcher.dispatch());
+        OutboxMessage message = outboxMessageRepository.findAll().get(0);
+        assertEquals(1, message.getAttempts());
+        assertEquals(OutboxMessage.Status.PENDING, message.getStatus());
+        assertTrue(message.getNextAttemptAt().isAfter(before.plusMillis(199)), "The retry should wait for the backoff");
+        assertEquals("failed with status 503", message.getLastError());
+
+        // Equivalence class: not due yet
+        notificationDispatcher.dispatch();
+        assertEquals(1, RECEIVED.size());
+
+        // Boundary value: the last attempt fails
+        Thread.sleep(450);
+        notificationDispatcher.dispatch();
+        Thread.sleep(450);
+        notificationDispatcher.dispatch();
+        assertEquals(3, RECEIVED.size());
+        message = outboxMessageRepository.findAll().get(0);
+        assertEquals(3, message.getAttempts());
+        assertEquals(OutboxMessage.Status.FAILED, message.getStatus());
+    }
+
+    /**
+     * Test that a rejected notification is not retried.
+     */
+    @Test
+    public void testRejectedNotificationIsNotRetried() {
+        enqueue(1);
+        RESPONSE_STATUS.set(400);
+
+        assertEquals(0, notificationDispatcher.dispatch());
+
+        assertEquals(OutboxMessage.Status.FAILED, outboxMessageRepository.findAll().get(0).getStatus());
+        assertEquals(1, outboxMessageRepository.countByStatus(OutboxMessage.Status.FAILED));
+        assertEquals(CircuitBreaker.State.CLOSED, notificationDispatcher.getCircuitBreaker().getState(),
+                "A rejection should not count as failure of the service");
+    }
+
+    /**
+     * Test that the circuit breaker stops the delivery after failures in a
+     * row and the outbox is drained once the service is back.
+     */
+    @Test
+    public void testCircuitBreakerStopsDelivery() throws InterruptedException {
+        enqueue(5);
+        RESPONSE_STATUS.set(500);
+
+        notificationDispatcher.dispatch();
+        assertEquals(3, RECEIVED.size(), "The breaker should open after three failures");
+        assertEquals(CircuitBreaker.State.OPEN, notificationDispatcher.getCircuitBreaker().getState());
+
+        RESPONSE_STATUS.set(201);
+        assertEquals(0, notificationDispatcher.dispatch(), "The open breaker should refuse every delivery");
+
+        Thread.sleep(450); // past the open duration and the backoff of the failed deliveries
+        assertEquals(5, notificationDispatcher.dispatch());
+        assertEquals(CircuitBreaker.State.CLOSED, notificationDispatcher.getCircuitBreaker().getState());
+        assertEquals(0, outboxMessageRepository.count());
+    }
+
+    /**
+     * Test that notifications can only be written as part of a transaction.
+     */
+    @Test
+    public void testEnqueueRequiresTransaction() {
+        assertThrows(IllegalTransactionStateException.class, () -> notificationOutbox.enqueue(1, "Lost"));
+
+        // Equivalence class: rolled back change is not reported
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.executeWithoutResult(status -> {
+            notificationOutbox.enqueue(1, "Rolled back");
+            status.setRollbackOnly();
+        });
+        assertEquals(0, outboxMessageRepository.count());
+    }
+}
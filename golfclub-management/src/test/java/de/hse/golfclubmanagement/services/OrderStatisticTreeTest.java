@@ -0,0 +1,75 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the OrderStatisticTree class against a TreeSet.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+public class OrderStatisticTreeTest {
+
+    /**
+     * Test that an empty tree has no elements.
+     */
+    @Test
+    public void testEmpty() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+
+        // Boundary value: no elements
+        assertEquals(0, tree.size());
+        assertEquals(0, tree.countLess(5));
+        assertNull(tree.lower(5));
+        assertFalse(tree.iterator().hasNext());
+        assertFalse(tree.remove(5));
+    }
+
+    /**
+     * Test that random additions and removals keep the order, the counts and
+     * the lower elements of a TreeSet.
+     */
+    @Test
+    public void testMatchesTreeSet() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 5000; i++) {
+            int value = random.nextInt(500);
+            if (expected.contains(value)) {
+                assertTrue(tree.remove(value));
+                expected.remove(value);
+            } else {
+                // Equivalence class: element not in the tree yet
+                tree.add(value);
+                expected.add(value);
+            }
+            int probe = random.nextInt(520) - 10;
+            assertEquals(expected.headSet(probe).size(), tree.countLess(probe));
+            assertEquals(expected.lower(probe), tree.lower(probe));
+            assertEquals(expected.size(), tree.size());
+        }
+        List<Integer> elements = new ArrayList<>();
+        tree.forEach(elements::add);
+        assertEquals(new ArrayList<>(expected), elements);
+    }
+}
@@ -0,0 +1,347 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import de.hse.golfclubmanagement.config.CacheConfig;
+import de.hse.golfclubmanagement.dto.RegistrationRequest;
+import de.hse.golfclubmanagement.dto.RegistrationView;
+import de.hse.golfclubmanagement.models.Member;
+import de.hse.golfclubmanagement.models.OutboxMessage;
+import de.hse.golfclubmanagement.models.Registration;
+import de.hse.golfclubmanagement.models.Tournament;
+import de.hse.golfclubmanagement.repositories.MemberRepository;
+import de.hse.golfclubmanagement.repositories.OutboxMessageRepository;
+import de.hse.golfclubmanagement.repositories.RegistrationRepository;
+import de.hse.golfclubmanagement.repositories.TournamentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the RegistrationService class against the in-memory
+ * database, including many registrations for the same Tournament at once.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+@DataJpaTest
+@Import({RegistrationService.class, NotificationOutbox.class, ChangeVersions.class, CacheConfig.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // registrations commit on their own
+public class RegistrationServiceTest {
+
+    private static final int CAPACITY = 50;
+
+    private static final int MEMBERS = 200;
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    private RegistrationService registrationService;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    private long tournamentId;
+
+    private final List<Long> memberIds = new ArrayList<>();
+
+    /**
+     * Persists a Tournament for 50 participants and 200 Members.
+     */
+    @BeforeEach
+    public void setUp() {
+        Tournament tournament = new Tournament();
+        tournament.setName("Spring Cup");
+        tournament.setCapacity(CAPACITY);
+        tournamentId = tournamentRepository.save(tournament).getId();
+
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < MEMBERS; i++) {
+            Member member = new Member();
+            member.setName("Member " + i);
+            member.setHandicap(18);
+            members.add(member);
+        }
+        memberRepository.saveAll(members).forEach(member -> memberIds.add(member.getId()));
+    }
+
+    /**
+     * Removes the rows of the test.
+     */
+    @AfterEach
+    public void tearDown() {
+        registrationRepository.deleteAllInBatch();
+        outboxMessageRepository.deleteAllInBatch();
+        tournamentRepository.deleteAllInBatch();
+        memberRepository.deleteAllInBatch();
+    }
+
+    private RegistrationView register(long memberId) {
+        RegistrationRequest request = new RegistrationRequest();
+        request.setMemberId(memberId);
+        return registrationService.register(tournamentId, request);
+    }
+
+    private RegistrationView registerGuest(String name) {
+        RegistrationRequest request = new RegistrationRequest();
+        request.setGuestName(name);
+        return registrationService.register(tournamentId, request);
+    }
+
+    /**
+     * Runs the tasks on many threads, all starting at the same moment.
+     */
+    private static <T> List<T> runConcurrently(List<Callable<T>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (Callable<T> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<RegistrationView> withStatus(Registration.Status status) {
+        return registrationService.getRegistrations(tournamentId).stream()
+                .filter(registration -> registration.getStatus() == status).collect(Collectors.toList());
+    }
+
+    /**
+     * Test that registrations beyond the capacity are waitlisted.
+     */
+    @Test
+    public void testRegistrationBeyondCapacityIsWaitlisted() {
+        Tournament tournament = tournamentRepository.findById(tournamentId).orElseThrow();
+        tournament.setCapacity(1);
+        tournamentRepository.save(tournament);
+
+        RegistrationView first = register(memberIds.get(0));
+        RegistrationView second = registerGuest("Guest One");
+        RegistrationView third = register(memberIds.get(1));
+
+        assertEquals(Registration.Status.CONFIRMED, first.getStatus());
+        assertNull(first.getWaitlistPosition());
+        // Boundary value: the first registration beyond the capacity
+        assertEquals(Registration.Status.WAITLISTED, second.getStatus());
+        assertEquals(1, second.getWaitlistPosition());
+        assertEquals("Guest One", second.getGuestName());
+        assertEquals(2, third.getWaitlistPosition());
+
+        // Equivalence class: a confirmed participant withdraws, the head of the waitlist moves up
+        assertTrue(registrationService.withdraw(tournamentId, first.getId()));
+        List<RegistrationView> registrations = registrationService.getRegistrations(tournamentId);
+        assertEquals(List.of(second.getId(), third.getId()),
+                registrations.stream().map(RegistrationView::getId).collect(Collectors.toList()));
+        assertEquals(Registration.Status.CONFIRMED, registrations.get(0).getStatus());
+        assertEquals(1, registrations.get(1).getWaitlistPosition());
+
+        // Equivalence class: a waitlisted participant withdraws, nobody moves up
+        assertTrue(registrationService.withdraw(tournamentId, third.getId()));
+        assertEquals(1, registrationService.getRegistrations(tournamentId).size());
+
+        // the two Members were notified of their registrations, the guest has no user id
+        List<String> messages = outboxMessageRepository.findAll().stream()
+                .sorted(Comparator.comparing(OutboxMessage::getId)).map(OutboxMessage::getMessage)
+                .collect(Collectors.toList());
+        assertEquals(List.of("Your registration for Spring Cup is confirmed.",
+                "The field of Spring Cup is full. You are number 2 on the waitlist."), messages);
+    }
+
+    /**
+     * Test that a larger capacity confirms the waitlist in order and a smaller one keeps confirmed places.
+     */
+    @Test
+    public void testCapacityChanges() {
+        for (int i = 0; i < CAPACITY + 10; i++) {
+            register(memberIds.get(i));
+        }
+
+        List<RegistrationView> registrations = registrationService.setCapacity(tournamentId, CAPACITY + 4);
+        assertEquals(CAPACITY + 4, withStatus(Registration.Status.CONFIRMED).size());
+        assertEquals(memberIds.get(CAPACITY + 3), registrations.get(CAPACITY + 3).getMemberId());
+        assertEquals(memberIds.get(CAPACITY + 4), registrations.get(CAPACITY + 4).getMemberId());
+        assertEquals(1, registrations.get(CAPACITY + 4).getWaitlistPosition());
+
+        // Equivalence class: shrinking the field
+        registrationService.setCapacity(tournamentId, 10);
+        assertEquals(CAPACITY + 4, withStatus(Registration.Status.CONFIRMED).size());
+        assertEquals(Registration.Status.WAITLISTED, register(memberIds.get(CAPACITY + 10)).getStatus());
+
+        // Equivalence class: no limit
+        registrationService.setCapacity(tournamentId, null);
+        assertEquals(CAPACITY + 11, withStatus(Registration.Status.CONFIRMED).size());
+
+        // Boundary value: negative capacity
+        assertThrows(IllegalArgumentException.class, () -> registrationService.setCapacity(tournamentId, -1));
+    }
+
+    /**
+     * Test the registrations that are rejected or refer to a missing Tournament.
+     */
+    @Test
+    public void testInvalidRegistrations() {
+        register(memberIds.get(0));
+
+        // Equivalence class: Member registered twice
+        assertThrows(IllegalArgumentException.class, () -> register(memberIds.get(0)));
+        // Equivalence class: unknown Member
+        assertThrows(IllegalArgumentException.class, () -> register(-1L));
+        // Equivalence class: neither a Member nor a guest
+        assertThrows(IllegalArgumentException.class, () -> registerGuest(" "));
+        // Equivalence class: both a Member and a guest
+        RegistrationRequest both = new RegistrationRequest();
+        both.setMemberId(memberIds.get(1));
+        both.setGuestName("Guest");
+        assertThrows(IllegalArgumentException.class, () -> registrationService.register(tournamentId, both));
+
+        // Equivalence class: missing Tournament
+        RegistrationRequest request = new RegistrationRequest();
+        request.setMemberId(memberIds.get(1));
+        assertNull(registrationService.register(tournamentId + 1000, request));
+        assertNull(registrationService.getRegistrations(tournamentId + 1000));
+        assertNull(registrationService.setCapacity(tournamentId + 1000, 10));
+
+        // Equivalence class: registration of another Tournament
+        long registrationId = registrationService.getRegistrations(tournamentId).get(0).getId();
+        assertFalse(registrationService.withdraw(tournamentId + 1000, registrationId));
+        assertFalse(registrationService.withdraw(tournamentId, registrationId + 1000));
+        assertEquals(1, registrationRepository.count());
+    }
+
+    /**
+     * Test that 200 Members registering at the same moment fill exactly the
+     * capacity and the others are waitlisted in a gapless order.
+     */
+    @Test
+    public void testConcurrentRegistrationsNeverOversell() throws Exception {
+        List<Callable<RegistrationView>> tasks = new ArrayList<>();
+        for (Long memberId : memberIds) {
+            tasks.add(() -> register(memberId));
+        }
+
+        List<RegistrationView> results = runConcurrently(tasks);
+
+        assertEquals(CAPACITY, results.stream().filter(r -> r.getStatus() == Registration.Status.CONFIRMED).count());
+        List<Integer> positions = results.stream().map(RegistrationView::getWaitlistPosition)
+                .filter(position -> position != null).sorted().collect(Collectors.toList());
+        assertEquals(MEMBERS - CAPACITY, positions.size());
+        for (int i = 0; i < positions.size(); i++) {
+            assertEquals(i + 1, positions.get(i), "Every place on the waitlist should be taken once");
+        }
+        assertEquals(CAPACITY, registrationRepository.countByTournamentIdAndStatus(tournamentId,
+                Registration.Status.CONFIRMED));
+        // the waitlist follows the order in which the places were taken
+        long lastConfirmed = withStatus(Registration.Status.CONFIRMED).stream()
+                .mapToLong(RegistrationView::getId).max().orElseThrow();
+        withStatus(Registration.Status.WAITLISTED)
+                .forEach(registration -> assertTrue(registration.getId() > lastConfirmed));
+    }
+
+    /**
+     * Test that two instances of the service, each with locks of its own like
+     * two instances of the application, never oversell the Tournament.
+     */
+    @Test
+    public void testConcurrentRegistrationsOfTwoInstancesNeverOversell() throws Exception {
+        RegistrationService otherInstance = beanFactory.createBean(RegistrationService.class);
+        List<Callable<RegistrationView>> tasks = new ArrayList<>();
+        for (int i = 0; i < memberIds.size(); i++) {
+            RegistrationService service = i % 2 == 0 ? registrationService : otherInstance;
+            RegistrationRequest request = new RegistrationRequest();
+            request.setMemberId(memberIds.get(i));
+            tasks.add(() -> service.register(tournamentId, request));
+        }
+
+        List<RegistrationView> results = runConcurrently(tasks);
+
+        // Equivalence class: the in-memory locks do not see each other, only the row lock does
+        assertEquals(CAPACITY, results.stream().filter(r -> r.getStatus() == Registration.Status.CONFIRMED).count());
+        assertEquals(CAPACITY, registrationRepository.countByTournamentIdAndStatus(tournamentId,
+                Registration.Status.CONFIRMED));
+    }
+
+    /**
+     * Test that withdrawals racing with new registrations hand the free places
+     * to the waitlist in order and never to a newcomer.
+     */
+    @Test
+    public void testConcurrentWithdrawalsPromoteWaitlistInOrder() throws Exception {
+        List<RegistrationView> initial = new ArrayList<>();
+        for (int i = 0; i < CAPACITY + 30; i++) {
+            initial.add(register(memberIds.get(i)));
+        }
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            long withdrawn = initial.get(i).getId();
+            long newcomer = memberIds.get(CAPACITY + 30 + i);
+            tasks.add(() -> registrationService.withdraw(tournamentId, withdrawn));
+            tasks.add(() -> register(newcomer).getStatus() == Registration.Status.WAITLISTED);
+        }
+
+        runConcurrently(tasks).forEach(Assertions::assertTrue);
+
+        List<RegistrationView> confirmed = withStatus(Registration.Status.CONFIRMED);
+        assertEquals(CAPACITY, confirmed.size());
+        assertEquals(initial.subList(20, CAPACITY + 20).stream().map(RegistrationView::getId).collect(Collectors.toList()),
+                confirmed.stream().map(RegistrationView::getId).collect(Collectors.toList()),
+                "The first 20 on the waitlist should have moved up");
+        assertEquals(30, withStatus(Registration.Status.WAITLISTED).size());
+        assertEquals(20, outboxMessageRepository.findAll().stream()
+                .filter(message -> message.getMessage().contains("became free")).count());
+    }
+}
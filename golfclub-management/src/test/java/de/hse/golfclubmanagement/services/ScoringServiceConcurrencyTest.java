@@ -0,0 +1,294 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import de.hse.golfclubmanagement.config.CacheConfig;
+import de.hse.golfclubmanagement.dto.LeaderboardView;
+import de.hse.golfclubmanagement.dto.RoundResult;
+import de.hse.golfclubmanagement.dto.ScorecardRequest;
+import de.hse.golfclubmanagement.dto.ScorecardView;
+import de.hse.golfclubmanagement.models.GolfCourse;
+import de.hse.golfclubmanagement.models.Hole;
+import de.hse.golfclubmanagement.models.Member;
+import de.hse.golfclubmanagement.models.Tournament;
+import de.hse.golfclubmanagement.repositories.GolfCourseRepository;
+import de.hse.golfclubmanagement.repositories.MemberRepository;
+import de.hse.golfclubmanagement.repositories.ScorecardRepository;
+import de.hse.golfclubmanagement.repositories.TournamentRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the ScoringService class against the in-memory database,
+ * including concurrent submissions to the same scorecard.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ScoringService.class, CourseLayoutService.class, LeaderboardService.class, LeaderboardBroadcaster.class,
+        CacheConfig.class, JacksonAutoConfiguration.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // submissions commit on their own
+public class ScoringServiceConcurrencyTest {
+
+    private static final int HOLES = 18;
+
+    @Autowired
+    private ScoringService scoringService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private ScorecardRepository scorecardRepository;
+
+    @Autowired
+    private GolfCourseRepository golfCourseRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private long tournamentId;
+
+    private long memberId;
+
+    private long golfCourseId;
+
+    /**
+     * Persists an 18 hole course, a Member with handicap 18 and a Tournament.
+     */
+    @BeforeEach
+    public void setUp() {
+        GolfCourse golfCourse = new GolfCourse();
+        golfCourse.setName("Sunny Golf Course");
+        List<Hole> holes = new ArrayList<>();
+        for (int number = 1; number <= HOLES; number++) {
+            Hole hole = new Hole();
+            hole.setNummer(number);
+            hole.setPar(4);
+            hole.setLength(350);
+            hole.setGolfCourse(golfCourse);
+            holes.add(hole);
+        }
+        golfCourse.setHoles(holes);
+        golfCourseId = golfCourseRepository.save(golfCourse).getId();
+
+        Member member = new Member();
+        member.setName("Anna Müller");
+        member.setHandicap(18);
+        memberId = memberRepository.save(member).getId();
+
+        Tournament tournament = new Tournament();
+        tournament.setName("Spring Cup");
+        tournamentId = tournamentRepository.save(tournament).getId();
+    }
+
+    /**
+     * Removes the rows of the test.
+     */
+    @AfterEach
+    public void tearDown() {
+        scorecardRepository.deleteAllInBatch();
+        tournamentRepository.deleteAllInBatch();
+        memberRepository.deleteAllInBatch();
+        golfCourseRepository.deleteAll();
+    }
+
+    private ScorecardView open() {
+        ScorecardRequest request = new ScorecardRequest();
+        request.setMemberId(memberId);
+        request.setGolfCourseId(golfCourseId);
+        return scoringService.openScorecard(tournamentId, request);
+    }
+
+    /**
+     * Test opening a card and recording strokes hole by hole.
+     */
+    @Test
+    public void testRecordStrokes() {
+        ScorecardView opened = open();
+        assertEquals(18, opened.getHandicap(), "The handicap of the Member should be stored with the card");
+        assertEquals(HOLES, opened.getStrokes().length);
+
+        scoringService.recordStrokes(tournamentId, memberId, 1, 5);
+        ScorecardView view = scoringService.recordStrokes(tournamentId, memberId, 2, 3);
+
+        assertEquals(2, view.getHolesPlayed());
+        assertEquals(8, view.getGross());
+        assertEquals(0, view.getToPar());
+        assertEquals(6, view.getNet());
+
+        // Equivalence class: clearing a hole
+        view = scoringService.recordStrokes(tournamentId, memberId, 1, 0);
+        assertEquals(1, view.getHolesPlayed());
+    }
+
+    /**
+     * Test invalid submissions.
+     */
+    @Test
+    public void testInvalidSubmissions() {
+        open();
+
+        // Boundary value: strokes above the maximum
+        assertThrows(IllegalArgumentException.class, () -> scoringService.recordStrokes(tournamentId, memberId, 1, 21));
+
+        // Equivalence class: hole not on the course
+        assertThrows(IllegalArgumentException.class, () -> scoringService.recordStrokes(tournamentId, memberId, 19, 4));
+
+        // Equivalence class: Member without a card
+        assertNull(scoringService.recordStrokes(tournamentId, memberId + 1000, 1, 4));
+
+        // Equivalence class: card length does not match the course
+        assertThrows(IllegalArgumentException.class,
+                () -> scoringService.recordScorecard(tournamentId, memberId, new int[] {4, 4}));
+        assertEquals(0, scoringService.getScorecard(tournamentId, memberId).getHolesPlayed(),
+                "Rejected submissions should not change the card");
+    }
+
+    /**
+     * Test that a submission only reads and writes the card once the layout is cached.
+     */
+    @Test
+    public void testSubmissionDoesNotReloadHoles() {
+        open();
+        scoringService.recordStrokes(tournamentId, memberId, 1, 4);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        for (int number = 2; number <= HOLES; number++) {
+            scoringService.recordStrokes(tournamentId, memberId, number, 4);
+        }
+
+        assertEquals(2 * (HOLES - 1), statistics.getPrepareStatementCount(),
+                "Every submission should select and update the card only");
+    }
+
+    /**
+     * Test that concurrent submissions to different holes of one card never lose
+     * an acknowledged stroke.
+     */
+    @Test
+    public void testConcurrentSubmissionsDoNotLoseStrokes() throws InterruptedException {
+        open();
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<Integer> acknowledged = ConcurrentHashMap.newKeySet();
+        for (int number = 1; number <= HOLES; number++) {
+            int hole = number;
+            executor.submit(() -> {
+                start.await();
+                try {
+                    scoringService.recordStrokes(tournamentId, memberId, hole, 3 + hole % 3);
+                    acknowledged.add(hole);
+                } catch (OptimisticLockingFailureException e) {
+                    // gave up after the retries, the hole must stay empty
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        ScorecardView view = scoringService.getScorecard(tournamentId, memberId);
+        assertFalse(acknowledged.isEmpty());
+        for (int number = 1; number <= HOLES; number++) {
+            int expected = acknowledged.contains(number) ? 3 + number % 3 : 0;
+            assertEquals(expected, view.getStrokes()[number - 1], "Hole " + number + " should hold its submission");
+        }
+        LeaderboardView.Standing standing = leaderboardService.getLeaderboard(tournamentId, LeaderboardView.Ranking.GROSS, 0)
+                .getStandings().get(0);
+        assertEquals(view.getGross(), standing.getStrokes(), "The leaderboard should hold the last committed card");
+    }
+
+    /**
+     * Test that the results of the field deduct the handicap strokes by stroke index.
+     */
+    @Test
+    public void testResults() {
+        open();
+        int[] strokes = new int[HOLES];
+        Arrays.fill(strokes, 5);
+        scoringService.recordScorecard(tournamentId, memberId, strokes);
+
+        List<RoundResult> results = scoringService.getResults(tournamentId);
+
+        assertEquals(1, results.size());
+        assertEquals(18, results.get(0).getPlayingHandicap(), "The course has no ratings");
+        assertEquals(36, results.get(0).getStablefordPoints(), "Bogey on every hole with one stroke is a net par");
+        assertEquals(0, results.get(0).getNetToPar());
+        assertEquals(scoringService.getScorecard(tournamentId, memberId).getStablefordPoints(),
+                results.get(0).getStablefordPoints(), "The card and the results should agree");
+
+        // Equivalence class: unknown Tournament
+        assertNull(scoringService.getResults(tournamentId + 1000));
+    }
+
+    /**
+     * Test that the leaderboard follows the submissions without reading the
+     * database and is loaded again from the committed cards.
+     */
+    @Test
+    public void testLeaderboardFollowsSubmissions() {
+        open();
+        scoringService.recordStrokes(tournamentId, memberId, 1, 3);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        LeaderboardView leaderboard = leaderboardService.getLeaderboard(tournamentId, LeaderboardView.Ranking.NET, 0);
+
+        assertEquals(0, statistics.getPrepareStatementCount(), "The leaderboard should be served from memory");
+        assertEquals(1, leaderboard.getPlayers());
+        assertEquals(memberId, leaderboard.getStandings().get(0).getMemberId());
+        assertEquals(-2, leaderboard.getStandings().get(0).getToPar(), "Net birdie with one handicap stroke");
+
+        // Equivalence class: loaded from the database
+        leaderboardService.clear();
+        leaderboard = leaderboardService.getLeaderboard(tournamentId, LeaderboardView.Ranking.NET, 0);
+        assertEquals(-2, leaderboard.getStandings().get(0).getToPar());
+
+        // Equivalence class: unknown Tournament
+        assertNull(leaderboardService.getLeaderboard(tournamentId + 1000, LeaderboardView.Ranking.NET, 0));
+    }
+}
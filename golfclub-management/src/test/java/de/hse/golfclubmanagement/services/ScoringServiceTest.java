@@ -0,0 +1,220 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import de.hse.golfclubmanagement.dto.ScorecardView;
+import de.hse.golfclubmanagement.models.GolfCourse;
+import de.hse.golfclubmanagement.models.Hole;
+import de.hse.golfclubmanagement.models.Scorecard;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the CourseLayout class and the score totals of the ScoringService class.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+public class ScoringServiceTest {
+
+    /**
+     * Creates a course with the given pars, holes numbered from 1 and added in reverse order.
+     */
+    private static GolfCourse course(int... pars) {
+        GolfCourse golfCourse = new GolfCourse();
+        golfCourse.setId(7L);
+        List<Hole> holes = new ArrayList<>();
+        for (int i = pars.length - 1; i >= 0; i--) {
+            Hole hole = new Hole();
+            hole.setNummer(i + 1);
+            hole.setPar(pars[i]);
+            holes.add(hole);
+        }
+        golfCourse.setHoles(holes);
+        return golfCourse;
+    }
+
+    private static Scorecard scorecard(int handicap, int... strokes) {
+        Scorecard scorecard = new Scorecard();
+        scorecard.setId(1L);
+        scorecard.setTournamentId(2L);
+        scorecard.setMemberId(3L);
+        scorecard.setGolfCourseId(7L);
+        scorecard.setHandicap(handicap);
+        byte[] stored = new byte[strokes.length];
+        for (int i = 0; i < strokes.length; i++) {
+            stored[i] = (byte) strokes[i];
+        }
+        scorecard.setStrokes(stored);
+        return scorecard;
+    }
+
+    /**
+     * Test that the layout orders the holes by number.
+     */
+    @Test
+    public void testLayoutOrdersHolesByNumber() {
+        CourseLayout layout = CourseLayout.of(course(4, 3, 5, 4));
+
+        assertEquals(4, layout.getHoleCount());
+        assertEquals(16, layout.getTotalPar());
+        assertEquals(1, layout.holeNumber(0));
+        assertEquals(2, layout.indexOf(3));
+        assertEquals(5, layout.par(2));
+
+        // Equivalence class: hole number not on the course
+        assertEquals(-1, layout.indexOf(5));
+        assertEquals(-1, layout.indexOf(0));
+    }
+
+    /**
+     * Test that duplicate hole numbers are rejected.
+     */
+    @Test
+    public void testLayoutRejectsDuplicateHoleNumbers() {
+        GolfCourse golfCourse = course(4, 4);
+        golfCourse.getHoles().get(0).setNummer(1);
+
+        assertThrows(IllegalArgumentException.class, () -> CourseLayout.of(golfCourse));
+    }
+
+    /**
+     * Test the totals of a complete card.
+     */
+    @Test
+    public void testTotalsOfCompleteCard() {
+        CourseLayout layout = CourseLayout.of(course(4, 3, 5, 4));
+        ScorecardView view = ScoringService.toView(scorecard(8, 5, 3, 6, 4), layout);
+
+        assertEquals(4, view.getHolesPlayed());
+        assertEquals(18, view.getGross());
+        assertEquals(2, view.getToPar());
+        assertEquals(10, view.getNet(), "The full handicap should be deducted");
+        assertEquals(-6, view.getNetToPar());
+        assertArrayEquals(new int[] {1, 2, 3, 4}, view.getHoleNumbers());
+    }
+
+    /**
+     * Test that a partly played card only counts the holes played.
+     */
+    @Test
+    public void testTotalsOfPartlyPlayedCard() {
+        CourseLayout layout = CourseLayout.of(course(4, 3, 5, 4));
+        ScorecardView view = ScoringService.toView(scorecard(8, 5, 0, 6, 0), layout);
+
+        // Equivalence class: holes not played yet
+        assertEquals(2, view.getHolesPlayed());
+        assertEquals(11, view.getGross());
+        assertEquals(2, view.getToPar(), "Only the par of the holes played should count");
+        assertEquals(7, view.getNet(), "Half of the handicap should be deducted after half of the holes");
+        assertEquals(-2, view.getNetToPar());
+    }
+
+    /**
+     * Test that a card shorter than the course is padded with holes not played.
+     */
+    @Test
+    public void testCardShorterThanCourse() {
+        CourseLayout layout = CourseLayout.of(course(4, 3, 5, 4));
+        ScorecardView view = ScoringService.toView(scorecard(0, 4, 3), layout);
+
+        // Boundary value: course gained holes after the card was opened
+        assertEquals(4, view.getStrokes().length);
+        assertEquals(0, view.getToPar());
+    }
+
+    /**
+     * Test that handicap strokes go to the holes with the lowest stroke index first.
+     */
+    @Test
+    public void testStrokeAllocationFollowsStrokeIndex() {
+        GolfCourse golfCourse = course(4, 4, 4, 4);
+        int[] strokeIndexes = {3, 1, 4, 2}; // holes are stored in reverse order
+        for (int i = 0; i < strokeIndexes.length; i++) {
+            golfCourse.getHoles().get(i).setStrokeIndex(strokeIndexes[i]);
+        }
+        CourseLayout layout = CourseLayout.of(golfCourse);
+
+        // hole 1 has stroke index 2, hole 2 index 4, hole 3 index 1, hole 4 index 3
+        assertArrayEquals(new byte[] {1, 0, 1, 0}, layout.strokeAllocation(2));
+        assertArrayEquals(new byte[] {2, 1, 2, 2}, layout.strokeAllocation(7));
+        assertArrayEquals(new byte[] {0, 0, 0, 0}, layout.strokeAllocation(0));
+
+        // Equivalence class: plus handicap gives strokes back on the easiest holes
+        assertArrayEquals(new byte[] {0, -1, 0, 0}, layout.strokeAllocation(-1));
+
+        // Equivalence class: the table of a handicap is computed once
+        assertSame(layout.strokeAllocation(7), layout.strokeAllocation(7));
+    }
+
+    /**
+     * Test that holes without a stroke index receive their strokes after the others, by number.
+     */
+    @Test
+    public void testStrokeAllocationWithoutStrokeIndex() {
+        GolfCourse golfCourse = course(4, 4, 4, 4);
+        golfCourse.getHoles().get(0).setStrokeIndex(1); // hole 4
+
+        assertArrayEquals(new byte[] {1, 1, 0, 1}, CourseLayout.of(golfCourse).strokeAllocation(3));
+    }
+
+    /**
+     * Test that duplicate stroke indexes are rejected.
+     */
+    @Test
+    public void testLayoutRejectsDuplicateStrokeIndexes() {
+        GolfCourse golfCourse = course(4, 4);
+        golfCourse.getHoles().forEach(hole -> hole.setStrokeIndex(1));
+
+        assertThrows(IllegalArgumentException.class, () -> CourseLayout.of(golfCourse));
+    }
+
+    /**
+     * Test that the playing handicap follows the course and slope rating.
+     */
+    @Test
+    public void testPlayingHandicap() {
+        GolfCourse golfCourse = course(4, 3, 5, 4);
+
+        // Equivalence class: course without ratings
+        assertEquals(18, CourseLayout.of(golfCourse).playingHandicap(18));
+
+        golfCourse.setCourseRating(17.2);
+        golfCourse.setSlopeRating(130);
+        // 18 * 130 / 113 + (17.2 - 16) = 21.9
+        assertEquals(22, CourseLayout.of(golfCourse).playingHandicap(18));
+        // Boundary value: scratch player
+        assertEquals(1, CourseLayout.of(golfCourse).playingHandicap(0));
+    }
+
+    /**
+     * Test that the view deducts the allocated strokes and counts Stableford points.
+     */
+    @Test
+    public void testStablefordPointsOfCard() {
+        GolfCourse golfCourse = course(4, 3, 5, 4);
+        for (int i = 0; i < 4; i++) {
+            golfCourse.getHoles().get(i).setStrokeIndex(4 - i); // hole 1 is the hardest
+        }
+        CourseLayout layout = CourseLayout.of(golfCourse);
+        ScorecardView view = ScoringService.toView(scorecard(2, 5, 3, 8, 0), layout);
+
+        // hole 1: net 4 on par 4, hole 2: net 2 on par 3, hole 3: net 8 on par 5
+        assertEquals(2, view.getPlayingHandicap());
+        assertEquals(14, view.getNet());
+        assertEquals(2 + 3 + 0, view.getStablefordPoints(), "Net triple bogey should score no points");
+    }
+}
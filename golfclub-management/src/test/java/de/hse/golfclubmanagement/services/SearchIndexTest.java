@@ -0,0 +1,206 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import de.hse.golfclubmanagement.config.ClubContext;
+import de.hse.golfclubmanagement.dataset.DatasetGenerator;
+import de.hse.golfclubmanagement.dataset.DatasetLoader;
+import de.hse.golfclubmanagement.dto.SearchHit;
+import de.hse.golfclubmanagement.models.GolfCourse;
+import de.hse.golfclubmanagement.models.Member;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the SearchIndex class against the in-memory database. The
+ * tests run without a surrounding transaction, so the saved rows are committed
+ * and visible to the indexer and the rebuild threads.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+@DataJpaTest(properties = {"spring.datasource.url=jdbc:h2:mem:search", "golfclub.search.rebuild.threads=3",
+    "golfclub.search.rebuild.segment-size=500"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SearchIndex.class, MemberService.class, MemberNameIndex.class, GolfCourseService.class, ChangeVersions.class,
+    DatasetLoader.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+public class SearchIndexTest {
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private GolfCourseService golfCourseService;
+
+    @Autowired
+    private DatasetLoader datasetLoader;
+
+    /**
+     * Resets the club of the thread.
+     */
+    @AfterEach
+    public void tearDown() {
+        ClubContext.setClubId(null);
+    }
+
+    private Member addMember(String name) {
+        Member member = new Member();
+        member.setName(name);
+        member.setMembershipStatus("active");
+        return memberService.addMember(member);
+    }
+
+    private List<SearchHit> search(String text) throws Exception {
+        searchIndex.flush().get();
+        return searchIndex.search(text, 10);
+    }
+
+    private static List<String> names(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::getName).collect(Collectors.toList());
+    }
+
+    /**
+     * Test that saved entities are found by whole words, prefixes and words with typos.
+     */
+    @Test
+    public void testFindsWordsPrefixesAndTypos() throws Exception {
+        Member member = addMember("Annegret Müllerschön");
+        GolfCourse golfCourse = new GolfCourse();
+        golfCourse.setName("Seeblick Links");
+        golfCourse.setLocation("Überlingen");
+        golfCourse.setHoles(new ArrayList<>());
+        GolfCourse savedCourse = golfCourseService.saveGolfCourse(golfCourse);
+
+        // Equivalence class: whole word, case and umlauts ignored
+        List<SearchHit> hits = search("MUELLERSCHOEN");
+        assertEquals(1, hits.size());
+        assertEquals(SearchIndex.MEMBER, hits.get(0).getType());
+        assertEquals(member.getId(), hits.get(0).getId());
+        // Equivalence class: prefixes of all words
+        assertEquals(List.of("Annegret Müllerschön"), names(search("anneg müller")));
+        // Equivalence class: typo
+        assertEquals(List.of("Annegret Müllerschön"), names(search("Anegret")));
+        // Equivalence class: location of a GolfCourse
+        hits = search("uberlingen");
+        assertEquals(1, hits.size());
+        assertEquals(SearchIndex.GOLF_COURSE, hits.get(0).getType());
+        assertEquals(savedCourse.getId(), hits.get(0).getId());
+        assertEquals("Überlingen", hits.get(0).getLocation());
+        // Equivalence class: one of the words does not match
+        assertTrue(search("annegret zzzzzz").isEmpty());
+        // Boundary value: query without words
+        assertTrue(search(" ,. ").isEmpty());
+        assertTrue(search(null).isEmpty());
+    }
+
+    /**
+     * Test that exact matches rank above prefixes and prefixes above typos.
+     */
+    @Test
+    public void testRanksExactMatchesFirst() throws Exception {
+        addMember("Quirin Brandtner");
+        addMember("Quirin Brandt");
+        addMember("Quirin Brendt");
+
+        // Equivalence class: exact, prefix and typo of the same word
+        assertEquals(List.of("Quirin Brandt", "Quirin Brandtner", "Quirin Brendt"), names(search("brandt")));
+        // Boundary value: limit
+        searchIndex.flush().get();
+        assertEquals(1, searchIndex.search("quirin", 1).size());
+    }
+
+    /**
+     * Test that a search only finds the entities of the club of the thread.
+     */
+    @Test
+    public void testSearchesClubOnly() throws Exception {
+        ClubContext.setClubId(7L);
+        addMember("Ottilie Fairway");
+        ClubContext.setClubId(null);
+        addMember("Ottilie Bunker");
+
+        // Equivalence class: default club
+        assertEquals(List.of("Ottilie Bunker"), names(search("ottilie")));
+        // Equivalence class: another club
+        ClubContext.setClubId(7L);
+        assertEquals(List.of("Ottilie Fairway"), names(search("ottilie")));
+        ClubContext.setClubId(8L);
+        assertTrue(search("ottilie").isEmpty());
+    }
+
+    /**
+     * Test that rows loaded with JDBC are indexed by a rebuild in several segments,
+     * together with the entities saved before.
+     */
+    @Test
+    public void testRebuildIndexesAllRows() throws Exception {
+        Member saved = addMember("Wendelin Rebuildt");
+        DatasetGenerator generator = new DatasetGenerator(11);
+        long firstId = datasetLoader.loadMembers(generator, 2_345);
+        String name = generator.memberName(firstId + 1_234);
+
+        // Equivalence class: rebuild requested by the loader, loaded row of a segment in the middle
+        assertEquals(name, search(name).get(0).getName());
+
+        searchIndex.requestRebuild().get();
+
+        // Boundary value: last loaded row
+        String last = generator.memberName(firstId + 2_344);
+        assertTrue(searchIndex.search(last, 100).stream().anyMatch(hit -> hit.getId() == firstId + 2_344));
+        // Equivalence class: row saved through the service before
+        assertEquals(List.of(saved.getId()), search("rebuildt").stream().map(SearchHit::getId)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Test that rebuilds requested before a queued one starts are served by it.
+     * Holding the lock of the index keeps the indexer from starting the queued
+     * rebuild while the requests arrive.
+     */
+    @Test
+    public void testRebuildRequestsMerged() throws Exception {
+        Future<?> first;
+        Future<?> second;
+        synchronized (searchIndex) {
+            first = searchIndex.requestRebuild();
+            second = searchIndex.requestRebuild();
+        }
+
+        // Equivalence class: rebuild queued, not started
+        assertSame(first, second, "The requests should share the queued rebuild");
+        first.get();
+
+        // Equivalence class: rebuild completed
+        Future<?> third = searchIndex.requestRebuild();
+        assertNotSame(first, third, "A later request should rebuild again");
+        third.get();
+    }
+}
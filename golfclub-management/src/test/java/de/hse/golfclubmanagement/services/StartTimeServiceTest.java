@@ -0,0 +1,241 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import de.hse.golfclubmanagement.config.CacheConfig;
+import de.hse.golfclubmanagement.dto.StartSchedule;
+import de.hse.golfclubmanagement.dto.StartScheduleRequest;
+import de.hse.golfclubmanagement.models.GolfCourse;
+import de.hse.golfclubmanagement.models.Hole;
+import de.hse.golfclubmanagement.models.Member;
+import de.hse.golfclubmanagement.models.Tournament;
+import de.hse.golfclubmanagement.repositories.GolfCourseRepository;
+import de.hse.golfclubmanagement.repositories.MemberRepository;
+import de.hse.golfclubmanagement.repositories.OutboxMessageRepository;
+import de.hse.golfclubmanagement.repositories.StartAssignmentRepository;
+import de.hse.golfclubmanagement.repositories.TournamentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the StartTimeService class against the in-memory database.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+@DataJpaTest(properties = "golfclub.scheduler.time-budget=50ms")
+@Import({StartTimeService.class, TeeTimeScheduler.class, NotificationOutbox.class, CourseLayoutService.class,
+        CacheConfig.class})
+@ActiveProfiles("test")
+public class StartTimeServiceTest {
+
+    private static final int HOLES = 9;
+
+    private static final int MEMBERS = 10;
+
+    @Autowired
+    private StartTimeService startTimeService;
+
+    @Autowired
+    private StartAssignmentRepository startAssignmentRepository;
+
+    @Autowired
+    private GolfCourseRepository golfCourseRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    private long tournamentId;
+
+    private long golfCourseId;
+
+    private final List<Long> memberIds = new ArrayList<>();
+
+    /**
+     * Persists a 9 hole course, ten Members and a Tournament.
+     */
+    @BeforeEach
+    public void setUp() {
+        GolfCourse golfCourse = new GolfCourse();
+        golfCourse.setName("Sunny Golf Course");
+        List<Hole> holes = new ArrayList<>();
+        for (int number = 1; number <= HOLES; number++) {
+            Hole hole = new Hole();
+            hole.setNummer(number);
+            hole.setPar(4);
+            hole.setLength(350);
+            hole.setGolfCourse(golfCourse);
+            holes.add(hole);
+        }
+        golfCourse.setHoles(holes);
+        golfCourseId = golfCourseRepository.save(golfCourse).getId();
+
+        for (int i = 0; i < MEMBERS; i++) {
+            Member member = new Member();
+            member.setName("Member " + i);
+            member.setHandicap(i * 4);
+            memberIds.add(memberRepository.save(member).getId());
+        }
+
+        Tournament tournament = new Tournament();
+        tournament.setName("Spring Cup");
+        tournamentId = tournamentRepository.save(tournament).getId();
+    }
+
+    private StartScheduleRequest request(String mode) {
+        StartScheduleRequest request = new StartScheduleRequest();
+        request.setGolfCourseId(golfCourseId);
+        request.setMode(mode);
+        request.setFirstTeeTime(LocalTime.of(8, 0));
+        for (Long memberId : memberIds) {
+            StartScheduleRequest.Participant participant = new StartScheduleRequest.Participant();
+            participant.setMemberId(memberId);
+            request.getParticipants().add(participant);
+        }
+        return request;
+    }
+
+    /**
+     * Test that a sequential start is stored with partners together and windows met.
+     */
+    @Test
+    public void testSequentialStartIsStored() {
+        StartScheduleRequest request = request("sequential");
+        request.getParticipants().get(0).getPartners().add(memberIds.get(9));
+        request.getParticipants().get(5).setEarliest(LocalTime.of(8, 20));
+
+        StartSchedule schedule = startTimeService.scheduleStartTimes(tournamentId, request);
+
+        // ten players give flights of 4, 3 and 3
+        assertEquals(List.of(4, 3, 3), schedule.getFlights().stream()
+                .map(flight -> flight.getMemberIds().size()).collect(Collectors.toList()));
+        assertEquals(List.of(LocalTime.of(8, 0), LocalTime.of(8, 10), LocalTime.of(8, 20)), schedule.getFlights()
+                .stream().map(StartSchedule.Flight::getTeeTime).collect(Collectors.toList()));
+        schedule.getFlights().forEach(flight -> assertEquals(1, flight.getStartHole()));
+        assertEquals(MEMBERS, schedule.getMetrics().getPlayers());
+        assertEquals(0, schedule.getMetrics().getMissedPartnerRequests());
+        assertEquals(0, schedule.getMetrics().getTimeWindowViolations());
+        assertTrue(schedule.getFlights().get(2).getMemberIds().contains(memberIds.get(5)));
+
+        // every participant is notified of the start in the same transaction
+        assertEquals(MEMBERS, outboxMessageRepository.findAll().stream()
+                .filter(message -> message.getMessage().startsWith("Your start in Spring Cup: flight ")).count());
+
+        StartSchedule stored = startTimeService.getStartTimes(tournamentId);
+        assertNull(stored.getMetrics());
+        assertEquals(golfCourseId, stored.getGolfCourseId());
+        for (int flight = 0; flight < 3; flight++) {
+            assertEquals(new HashSet<>(schedule.getFlights().get(flight).getMemberIds()),
+                    new HashSet<>(stored.getFlights().get(flight).getMemberIds()));
+        }
+    }
+
+    /**
+     * Test that a shotgun start sends every flight to its own hole at the same time.
+     */
+    @Test
+    public void testShotgunStart() {
+        StartScheduleRequest request = request("Shotgun");
+        request.setFlightSize(2);
+
+        StartSchedule schedule = startTimeService.scheduleStartTimes(tournamentId, request);
+
+        assertEquals(5, schedule.getFlights().size());
+        Set<Integer> holes = new HashSet<>();
+        for (StartSchedule.Flight flight : schedule.getFlights()) {
+            assertEquals(LocalTime.of(8, 0), flight.getTeeTime());
+            holes.add(flight.getStartHole());
+        }
+        assertEquals(5, holes.size(), "Every flight should start on its own hole");
+
+        // Boundary value: more flights than holes
+        request.setFlightSize(1);
+        StartSchedule shared = startTimeService.scheduleStartTimes(tournamentId, request);
+        assertEquals(MEMBERS, shared.getFlights().size());
+        assertEquals(shared.getFlights().get(0).getStartHole(), shared.getFlights().get(HOLES).getStartHole(),
+                "The tenth flight should share the first hole");
+    }
+
+    /**
+     * Test that scheduling again replaces the stored start times.
+     */
+    @Test
+    public void testRescheduleReplacesStartTimes() {
+        startTimeService.scheduleStartTimes(tournamentId, request("sequential"));
+        StartScheduleRequest request = request("sequential");
+        request.getParticipants().subList(6, MEMBERS).clear();
+        startTimeService.scheduleStartTimes(tournamentId, request);
+
+        assertEquals(6, startAssignmentRepository.findByTournamentIdOrderByFlightAscIdAsc(tournamentId).size());
+        assertEquals(2, startTimeService.getStartTimes(tournamentId).getFlights().size());
+    }
+
+    /**
+     * Test the requests that are rejected or refer to a missing Tournament.
+     */
+    @Test
+    public void testInvalidRequests() {
+        // Equivalence class: missing Tournament
+        assertNull(startTimeService.scheduleStartTimes(tournamentId + 1000, request("sequential")));
+        assertNull(startTimeService.getStartTimes(tournamentId + 1000));
+
+        // Equivalence class: unknown Member
+        StartScheduleRequest unknown = request("sequential");
+        unknown.getParticipants().get(0).setMemberId(-1L);
+        assertThrows(IllegalArgumentException.class, () -> startTimeService.scheduleStartTimes(tournamentId, unknown));
+
+        // Equivalence class: partner who does not take part
+        StartScheduleRequest partner = request("sequential");
+        partner.getParticipants().remove(9);
+        partner.getParticipants().get(0).getPartners().add(memberIds.get(9));
+        assertThrows(IllegalArgumentException.class, () -> startTimeService.scheduleStartTimes(tournamentId, partner));
+
+        // Equivalence class: empty time window
+        StartScheduleRequest window = request("sequential");
+        window.getParticipants().get(0).setEarliest(LocalTime.of(9, 0));
+        window.getParticipants().get(0).setLatest(LocalTime.of(8, 0));
+        assertThrows(IllegalArgumentException.class, () -> startTimeService.scheduleStartTimes(tournamentId, window));
+
+        // Boundary value: flight size above four
+        StartScheduleRequest size = request("sequential");
+        size.setFlightSize(5);
+        assertThrows(IllegalArgumentException.class, () -> startTimeService.scheduleStartTimes(tournamentId, size));
+
+        // Equivalence class: unknown mode
+        assertThrows(IllegalArgumentException.class,
+                () -> startTimeService.scheduleStartTimes(tournamentId, request("crossover")));
+
+        // Equivalence class: no participants and no Scorecards
+        StartScheduleRequest empty = request("sequential");
+        empty.getParticipants().clear();
+        assertThrows(IllegalArgumentException.class, () -> startTimeService.scheduleStartTimes(tournamentId, empty));
+    }
+}
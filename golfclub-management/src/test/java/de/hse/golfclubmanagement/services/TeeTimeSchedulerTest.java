@@ -0,0 +1,192 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.  
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more 
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the TeeTimeScheduler class.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+public class TeeTimeSchedulerTest {
+
+    private static final int EIGHT_O_CLOCK = 8 * 60;
+
+    private TeeTimeScheduler scheduler;
+
+    /**
+     * Starts a scheduler with one search per core.
+     */
+    @BeforeEach
+    public void setUp() {
+        scheduler = new TeeTimeScheduler();
+        scheduler.init();
+    }
+
+    /**
+     * Stops the worker threads.
+     */
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    private static int[][] noPartners(int players) {
+        return new int[players][0];
+    }
+
+    private static int[] filled(int players, int value) {
+        int[] array = new int[players];
+        Arrays.fill(array, value);
+        return array;
+    }
+
+    /**
+     * Test that requested partners play in the same flight and the flights are balanced.
+     */
+    @Test
+    public void testPartnersPlayTogether() {
+        int[] handicaps = {2, 4, 14, 16, 24, 24, 12, 12};
+        int[][] partners = noPartners(8);
+        partners[0] = new int[] {1}; // the two best players ask for each other
+        partners[2] = new int[] {3}; // as do the next two
+        TeeTimeScheduler.Field field = new TeeTimeScheduler.Field(handicaps, partners,
+                filled(8, Integer.MIN_VALUE), filled(8, Integer.MAX_VALUE), new int[] {4, 4},
+                new int[] {EIGHT_O_CLOCK, EIGHT_O_CLOCK});
+
+        TeeTimeScheduler.Schedule schedule = scheduler.schedule(field, Duration.ofMillis(100), 1);
+
+        assertEquals(0, schedule.getMissedPartnerRequests());
+        assertEquals(schedule.flightOf(0), schedule.flightOf(1));
+        assertEquals(schedule.flightOf(2), schedule.flightOf(3));
+        assertNotEquals(schedule.flightOf(0), schedule.flightOf(2), "The two pairs should be split");
+        assertEquals(0, schedule.getHandicapSpread(), 1e-9, "Both flights should average a handicap of 13.5");
+    }
+
+    /**
+     * Test that players tee off inside their time windows.
+     */
+    @Test
+    public void testTimeWindowsAreRespected() {
+        int[] handicaps = {10, 10, 10, 10, 10, 10};
+        int[] earliest = filled(6, Integer.MIN_VALUE);
+        int[] latest = filled(6, Integer.MAX_VALUE);
+        latest[4] = EIGHT_O_CLOCK; // only the first flight fits
+        earliest[5] = EIGHT_O_CLOCK + 20; // only the last flight fits
+        earliest[0] = EIGHT_O_CLOCK + 5;
+        latest[0] = EIGHT_O_CLOCK + 15; // only the second flight fits
+        TeeTimeScheduler.Field field = new TeeTimeScheduler.Field(handicaps, noPartners(6), earliest, latest,
+                new int[] {2, 2, 2}, new int[] {EIGHT_O_CLOCK, EIGHT_O_CLOCK + 10, EIGHT_O_CLOCK + 20});
+
+        TeeTimeScheduler.Schedule schedule = scheduler.schedule(field, Duration.ofMillis(100), 1);
+
+        assertEquals(0, schedule.getTimeWindowViolations());
+        assertEquals(0, schedule.flightOf(4));
+        assertEquals(1, schedule.flightOf(0));
+        assertEquals(2, schedule.flightOf(5));
+        assertEquals(0, schedule.getCost(), 1e-9);
+    }
+
+    /**
+     * Creates a field of 200 players in 50 flights of four, every eighth player
+     * with a partner and every fifth player with a time window.
+     */
+    private static TeeTimeScheduler.Field largeField() {
+        int players = 200;
+        Random random = new Random(42);
+        int[] handicaps = new int[players];
+        int[][] partners = noPartners(players);
+        int[] earliest = filled(players, Integer.MIN_VALUE);
+        int[] latest = filled(players, Integer.MAX_VALUE);
+        for (int player = 0; player < players; player++) {
+            handicaps[player] = random.nextInt(37);
+            if (player % 8 == 1) {
+                partners[player] = new int[] {player - 1};
+            }
+            if (player % 10 == 2) {
+                latest[player] = EIGHT_O_CLOCK + 120;
+            } else if (player % 10 == 7) {
+                earliest[player] = EIGHT_O_CLOCK + 300;
+            }
+        }
+        int[] flightSizes = filled(players / 4, 4);
+        int[] flightTimes = new int[flightSizes.length];
+        for (int flight = 0; flight < flightTimes.length; flight++) {
+            flightTimes[flight] = EIGHT_O_CLOCK + flight * 10;
+        }
+        return new TeeTimeScheduler.Field(handicaps, partners, earliest, latest, flightSizes, flightTimes);
+    }
+
+    private static void assertFlightSizesKept(TeeTimeScheduler.Field field, TeeTimeScheduler.Schedule schedule) {
+        int[] counts = new int[field.flights()];
+        for (int player = 0; player < field.players(); player++) {
+            counts[schedule.flightOf(player)]++;
+        }
+        assertArrayEquals(filled(field.flights(), 4), counts, "Every flight should keep its size");
+    }
+
+    /**
+     * Test that a search of a field of 200 players stops at the time budget.
+     * The quality reached depends on the speed of the machine and is tested
+     * with a longer budget instead.
+     */
+    @Test
+    public void testLargeFieldWithinTimeBudget() {
+        TeeTimeScheduler.Field field = largeField();
+
+        TeeTimeScheduler.Schedule schedule = scheduler.schedule(field, Duration.ofMillis(300), 7);
+
+        // Boundary value: the search stops at the time budget
+        assertTrue(schedule.getRuntimeNanos() < Duration.ofSeconds(1).toNanos(),
+                "The field should be scheduled in under a second, took " + schedule.getRuntimeNanos() + " ns");
+        assertTrue(schedule.getMoves() > 0);
+        assertFlightSizesKept(field, schedule);
+    }
+
+    /**
+     * Test that a field of 200 players meets all partner requests and time
+     * windows with balanced flights. The budget is several times what a single
+     * search needs, so a slow or loaded machine still gets there.
+     */
+    @Test
+    public void testLargeFieldQuality() {
+        TeeTimeScheduler.Field field = largeField();
+
+        TeeTimeScheduler.Schedule schedule = scheduler.schedule(field, Duration.ofSeconds(2), 7);
+
+        assertEquals(0, schedule.getMissedPartnerRequests());
+        assertEquals(0, schedule.getTimeWindowViolations());
+        assertTrue(schedule.getHandicapSpread() < 1,
+                "The flight averages should be close, spread " + schedule.getHandicapSpread());
+        assertFlightSizesKept(field, schedule);
+    }
+
+    /**
+     * Test that flights not adding up to the players are rejected.
+     */
+    @Test
+    public void testFieldRejectsMismatchedFlights() {
+        // Equivalence class: one seat too few
+        assertThrows(IllegalArgumentException.class, () -> new TeeTimeScheduler.Field(new int[5], noPartners(5),
+                new int[5], new int[5], new int[] {2, 2}, new int[2]));
+    }
+}
@@ -0,0 +1,145 @@
+/** Copyright (c) 2024. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed for educational purposes only, but WITHOUT
+ * ANY WARRANTY; See the GNU General Public License version 3 for more
+ * details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ */
+package de.hse.golfclubmanagement.services;
+
+import de.hse.golfclubmanagement.config.CacheConfig;
+import de.hse.golfclubmanagement.dto.TournamentCalendar;
+import de.hse.golfclubmanagement.models.Tournament;
+import de.hse.golfclubmanagement.repositories.TournamentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class tests the season calendar of the TournamentService class and its cache.
+ * @author Dennis Grewe
+ * @since 0.1
+ */
+@SpringBootTest(classes = {CacheConfig.class, TournamentService.class})
+public class TournamentCalendarTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 4, 1);
+
+    private static final LocalDate TO = LocalDate.of(2025, 10, 31);
+
+    @MockBean
+    private TournamentRepository tournamentRepository; // Mocked repository counting the database queries
+
+    @MockBean
+    private EntityManagerFactory entityManagerFactory; // Required by the persistence context of the service
+
+    @MockBean
+    private ChangeVersions changeVersions; // Versions of the tables, not under test here
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Clears the cache and prepares three Tournaments in April and June.
+     */
+    @BeforeEach
+    public void setUp() {
+        cacheManager.getCache(CacheConfig.TOURNAMENT_CALENDAR).clear();
+        when(tournamentRepository.findCalendarEntries(Date.valueOf(FROM), Date.valueOf(TO))).thenReturn(List.of(
+                entry(1L, "Spring Cup", "2025-04-12"),
+                entry(2L, "Easter Scramble", "2025-04-20"),
+                entry(3L, "Summer Cup", "2025-06-07")));
+    }
+
+    private static TournamentRepository.CalendarEntry entry(long id, String name, String date) {
+        return new TournamentRepository.CalendarEntry() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public java.util.Date getDate() {
+                return Date.valueOf(date);
+            }
+        };
+    }
+
+    /**
+     * Test that the Tournaments are grouped by month and empty months are listed.
+     */
+    @Test
+    public void testTournamentsAreGroupedByMonth() {
+        TournamentCalendar calendar = tournamentService.getCalendar(FROM, TO);
+
+        assertEquals(3, calendar.getTotal());
+        assertEquals(7, calendar.getMonths().size(), "Every month from April to October should be listed");
+        assertEquals(YearMonth.of(2025, 4), calendar.getMonths().get(0).getMonth());
+        assertEquals(2, calendar.getMonths().get(0).getTournaments().size());
+
+        // Equivalence class: month without Tournaments
+        assertTrue(calendar.getMonths().get(1).getTournaments().isEmpty());
+        assertEquals("Summer Cup", calendar.getMonths().get(2).getTournaments().get(0).getName());
+        assertEquals(LocalDate.of(2025, 6, 7), calendar.getMonths().get(2).getTournaments().get(0).getDate());
+    }
+
+    /**
+     * Test that the calendar of a range is cached until a Tournament is added.
+     */
+    @Test
+    public void testCalendarIsCachedUntilTournamentIsAdded() {
+        tournamentService.getCalendar(FROM, TO);
+        tournamentService.getCalendar(FROM, TO);
+        verify(tournamentRepository, times(1)).findCalendarEntries(any(), any());
+
+        when(tournamentRepository.save(any(Tournament.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        Tournament tournament = new Tournament();
+        tournament.setName("Autumn Cup");
+        tournamentService.addTournament(tournament);
+
+        // Equivalence class: calendar requested again after a change
+        tournamentService.getCalendar(FROM, TO);
+        verify(tournamentRepository, times(2)).findCalendarEntries(any(), any());
+    }
+
+    /**
+     * Test that inverted and overlong ranges are rejected.
+     */
+    @Test
+    public void testInvalidRanges() {
+        // Equivalence class: inverted range
+        assertThrows(IllegalArgumentException.class, () -> tournamentService.getCalendar(TO, FROM));
+
+        // Boundary value: 24 months are accepted, 25 months are rejected
+        assertEquals(24, tournamentService.getCalendar(LocalDate.of(2025, 1, 31), LocalDate.of(2026, 12, 1))
+                .getMonths().size());
+        assertThrows(IllegalArgumentException.class,
+                () -> tournamentService.getCalendar(LocalDate.of(2025, 1, 31), LocalDate.of(2027, 1, 1)));
+    }
+}